@@ -24,11 +24,105 @@
 
 package central.starter.cache;
 
+import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /// 缓存配置
 ///
 /// @author Alan Yeh
+@Data
 @ConfigurationProperties("central.cache")
 public class CacheProperties {
+    /// 内存缓存配置
+    private Memory memory = new Memory();
+
+    /// 缓存加速配置
+    private Accelerator accelerator = new Accelerator();
+
+    /// 缓存加载配置
+    private Loading loading = new Loading();
+
+    /// 后台刷新配置
+    private Refresh refresh = new Refresh();
+
+    /// 缓存统计配置
+    private Statistics statistics = new Statistics();
+
+    /// 内存缓存配置
+    @Data
+    public static class Memory {
+        /// 最大缓存数量，小于等于 0 表示不限制
+        private long maximumSize = 0;
+        /// 最大权重，小于等于 0 表示不限制
+        ///
+        /// 默认按估算的内存字节数计算权重，可以通过声明 [central.util.cache.memory.Weigher] Bean 自定义
+        private long maximumWeight = 0;
+        /// 每个缓存键最多被多少个缓存依赖，小于等于 0 表示不限制
+        ///
+        /// 超出后新的缓存不会被保存，以保证依赖清除的正确性
+        private int maximumDependents = 10000;
+    }
+
+    /// 缓存加速配置
+    @Data
+    public static class Accelerator {
+        /// 加速模式
+        private AcceleratorMode mode = AcceleratorMode.NONE;
+        /// 每个作用域（请求级）或整个加速器（时间级）最多保存的缓存数量
+        private long maximumSize = 1000;
+        /// 时间级加速器中缓存的有效期
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    /// 缓存加载配置
+    @Data
+    public static class Loading {
+        /// 等待其它线程加载同一缓存的最长时间，超时后由当前线程自行加载
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+
+    /// 后台刷新配置
+    ///
+    /// 用于执行 [central.starter.cache.core.annotation.Cacheable#earlyRefresh()] 触发的提前刷新
+    @Data
+    public static class Refresh {
+        /// 刷新线程数
+        private int threads = 2;
+        /// 等待刷新的任务数量，超出后放弃刷新，等缓存过期后再重新加载
+        private int capacity = 1024;
+    }
+
+    /// 缓存统计配置
+    @Data
+    public static class Statistics {
+        /// 是否统计命中、加载、清除次数
+        private boolean enabled = true;
+        /// 是否开放统计接口（/__cache/statistics）
+        private boolean endpoint = false;
+        /// 热点缓存键统计
+        private HotKeys hotKeys = new HotKeys();
+    }
+
+    /// 热点缓存键统计配置
+    @Data
+    public static class HotKeys {
+        /// 是否统计热点缓存键
+        private boolean enabled = false;
+        /// 采样率，每 N 次访问统计一次
+        private int sampleRate = 16;
+        /// 保留的热点缓存键数量
+        private int size = 20;
+    }
+
+    /// 缓存加速模式
+    public enum AcceleratorMode {
+        /// 不加速
+        NONE,
+        /// 请求级加速，缓存只在作用域内有效
+        REQUEST,
+        /// 时间级加速，缓存在指定时间内有效
+        TIME
+    }
 }
@@ -24,10 +24,18 @@
 
 package central.starter.cache;
 
+import central.starter.cache.core.CacheAccelerator;
 import central.starter.cache.core.CacheAdvisor;
+import central.starter.cache.core.impl.accelerator.RequestAccelerator;
+import central.starter.cache.core.impl.accelerator.RequestAcceleratorFilter;
+import central.starter.cache.core.impl.accelerator.TimedAccelerator;
 import central.starter.cache.core.impl.menory.MemoryStorage;
 import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.*;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationAttributes;
@@ -54,4 +62,35 @@ public class StarterConfiguration implements ImportAware {
             return new CacheAdvisor(Ordered.HIGHEST_PRECEDENCE);
         }
     }
+
+    /// 请求级缓存加速
+    @Bean
+    @ConditionalOnMissingBean(CacheAccelerator.class)
+    @ConditionalOnProperty(name = "central.cache.accelerator.mode", havingValue = "request")
+    public CacheAccelerator requestAccelerator(CacheProperties properties) {
+        return new RequestAccelerator(properties.getAccelerator().getMaximumSize());
+    }
+
+    /// 请求级缓存加速过滤器
+    ///
+    /// Servlet 应用在整个 Web 请求期间开启加速作用域。非 Web 请求（如定时任务）中，仍由最外层的缓存方法开启作用域
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "central.cache.accelerator.mode", havingValue = "request")
+    public static class RequestAcceleratorConfiguration {
+        @Bean
+        public FilterRegistrationBean<RequestAcceleratorFilter> requestAcceleratorFilter(CacheAccelerator accelerator) {
+            var registration = new FilterRegistrationBean<>(new RequestAcceleratorFilter(accelerator));
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+            return registration;
+        }
+    }
+
+    /// 时间级缓存加速
+    @Bean
+    @ConditionalOnMissingBean(CacheAccelerator.class)
+    @ConditionalOnProperty(name = "central.cache.accelerator.mode", havingValue = "time")
+    public CacheAccelerator timedAccelerator(CacheProperties properties) {
+        return new TimedAccelerator(properties.getAccelerator().getMaximumSize(), properties.getAccelerator().getTimeout());
+    }
 }
@@ -24,10 +24,14 @@
 
 package central.starter.cache.core;
 
+import java.time.Duration;
+
 /// 缓存加速
 ///
 /// 通过临时缓存，将本次请求里面用到的缓存在内存里保存一份，这样就不需要去 Redis 这些远程缓存系统重复获取缓存了
 ///
+/// 加速器作为一级缓存位于 [CacheStorage] 之前，缓存被清除时（包括因依赖而级联清除的缓存）会同步清除加速器中的缓存
+///
 /// @author Alan Yeh
 public interface CacheAccelerator {
     /// 判断缓存是否存在
@@ -38,16 +42,35 @@ public interface CacheAccelerator {
     /// 获取缓存
     ///
     /// @param key 缓存键
-    String get(String key);
+    /// @param <T> 缓存类型
+    <T> T get(String key);
 
     /// 保存/覆盖缓存
     ///
-    /// @param key   缓存键
-    /// @param value 缓存值
-    void put(String key, String value);
+    /// @param key     缓存键
+    /// @param value   缓存值
+    /// @param expires 有效期。加速器中的缓存不会超过该有效期
+    void put(String key, Object value, Duration expires);
 
     /// 清除缓存
     ///
     /// @param keys 缓存键
     void evict(String... keys);
+
+    /// 开启加速作用域
+    ///
+    /// 请求级的加速器只在作用域内保存缓存，最外层的作用域关闭后清除这些缓存。作用域可以嵌套
+    default Scope open() {
+        return Scope.NONE;
+    }
+
+    /// 加速作用域
+    interface Scope extends AutoCloseable {
+        /// 不做任何处理的作用域
+        Scope NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
 }
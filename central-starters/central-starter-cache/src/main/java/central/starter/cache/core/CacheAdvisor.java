@@ -58,6 +58,12 @@ public class CacheAdvisor extends AbstractPointcutAdvisor implements Initializin
     @Setter(onMethod_ = @Autowired)
     private List<CacheProcessor> handlers;
 
+    @Setter(onMethod_ = @Autowired(required = false))
+    private CacheAccelerator accelerator;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheExpressions expressions;
+
     public CacheAdvisor(Integer order) {
         this.order = order;
     }
@@ -70,7 +76,14 @@ public class CacheAdvisor extends AbstractPointcutAdvisor implements Initializin
     @Nullable
     @Override
     public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
-        return new ProcessChain<>(this.handlers).process(invocation);
+        if (this.accelerator == null) {
+            return new ProcessChain<>(this.handlers).process(invocation);
+        }
+
+        // 嵌套调用共享同一个加速作用域
+        try (var ignored = this.accelerator.open()) {
+            return new ProcessChain<>(this.handlers).process(invocation);
+        }
     }
 
     @Override
@@ -82,9 +95,14 @@ public class CacheAdvisor extends AbstractPointcutAdvisor implements Initializin
     private final Pointcut pointcut = new StaticMethodMatcherPointcut() {
         @Override
         public boolean matches(@Nonnull Method method, @Nonnull Class<?> targetClass) {
-            return method.isAnnotationPresent(Cacheable.class) ||
+            var matches = method.isAnnotationPresent(Cacheable.class) ||
                     method.isAnnotationPresent(CacheEvict.class) || method.isAnnotationPresent(CacheEvict.List.class) ||
                     method.isAnnotationPresent(CachePut.class);
+            if (matches && expressions != null) {
+                // 在创建代理时预编译缓存表达式，避免每次调用时解析
+                expressions.compile(method);
+            }
+            return matches;
         }
     };
 }
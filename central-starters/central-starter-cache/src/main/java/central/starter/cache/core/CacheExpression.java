@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import central.starter.template.core.TemplateRender;
+import central.starter.template.core.impl.beetl.fn.Sign;
+import lombok.Getter;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/// 预编译的缓存键表达式
+///
+/// 模板在编译时被拆分为文本片段和占位符片段，常见的占位符直接通过访问器取值，不再需要每次调用都渲染模板:
+///
+/// - `${args[0]}`、`${it}`、`${result}`、`${target}`、`${method}`
+/// - 以上对象的属性，如 `${args[0].id}`、`${it.account.name}`
+/// - `${sign(args)}` 等签名函数
+///
+/// 其余的模板（如包含语句、运算符或其它函数），或者取值结果无法保证与模板引擎输出一致时（如取到空值、浮点数、日期），
+/// 仍然交给 [TemplateRender] 渲染，因此计算结果与直接渲染模板完全相同
+///
+/// @author Alan Yeh
+public class CacheExpression {
+
+    /// 占位符
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{\\s*(.*?)\\s*}");
+
+    /// 访问器表达式，如 `args`、`args[0].name`
+    private static final Pattern ACCESSOR = Pattern.compile("(args(?:\\[(\\d+)])?|it|result|target|method)((?:\\.[A-Za-z_$][\\w$]*)*)");
+
+    /// 签名函数，如 `sign(args)`
+    private static final Pattern SIGN = Pattern.compile("sign\\(\\s*(.*?)\\s*\\)");
+
+    /// 无法通过访问器取值，需要交给模板引擎渲染
+    private static final Object UNRESOLVED = new Object();
+
+    private static final Sign SIGN_FUNCTION = new Sign();
+
+    /// 模板
+    @Getter
+    private final String template;
+
+    /// 模板片段。为空时表示无法预编译，需要通过模板引擎渲染
+    private final Segment[] segments;
+
+    private final TemplateRender render;
+
+    private CacheExpression(String template, Segment[] segments, TemplateRender render) {
+        this.template = template;
+        this.segments = segments;
+        this.render = render;
+    }
+
+    /// 编译模板
+    ///
+    /// @param template  模板
+    /// @param render    模板引擎
+    /// @param accessors 是否允许通过访问器取值。只有模板引擎的输出规则与访问器一致时（Beetl）才允许
+    public static CacheExpression compile(String template, TemplateRender render, boolean accessors) {
+        if (!accessors || template.contains("<%")) {
+            return new CacheExpression(template, null, render);
+        }
+
+        var segments = new ArrayList<Segment>();
+        var matcher = PLACEHOLDER.matcher(template);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                segments.add(new Text(template.substring(last, matcher.start())));
+            }
+            var segment = compileSegment(matcher.group(1));
+            if (segment == null) {
+                return new CacheExpression(template, null, render);
+            }
+            segments.add(segment);
+            last = matcher.end();
+        }
+        if (last < template.length()) {
+            segments.add(new Text(template.substring(last)));
+        }
+        return new CacheExpression(template, segments.toArray(new Segment[0]), render);
+    }
+
+    private static Segment compileSegment(String expression) {
+        var sign = SIGN.matcher(expression);
+        if (sign.matches()) {
+            var accessor = compileAccessor(sign.group(1));
+            return accessor == null ? null : new Signature(accessor);
+        }
+        return compileAccessor(expression);
+    }
+
+    private static Accessor compileAccessor(String expression) {
+        var matcher = ACCESSOR.matcher(expression);
+        if (!matcher.matches()) {
+            return null;
+        }
+        var root = matcher.group(1).startsWith("args") ? Root.ARGS : Root.valueOf(matcher.group(1).toUpperCase());
+        var index = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : -1;
+        var properties = matcher.group(3).isEmpty() ? new String[0] : matcher.group(3).substring(1).split("\\.");
+        return new Accessor(root, index, properties);
+    }
+
+    /// 计算表达式
+    ///
+    /// @param invocation 调用过程
+    /// @param result     调用结果
+    /// @param it         当前枚举的对象
+    public String evaluate(MethodInvocation invocation, Object result, Object it) {
+        if (this.segments != null) {
+            var builder = new StringBuilder(this.template.length() + 32);
+            for (var segment : this.segments) {
+                if (!segment.append(builder, invocation, result, it)) {
+                    return this.render(invocation, result, it);
+                }
+            }
+            return builder.toString();
+        }
+        return this.render(invocation, result, it);
+    }
+
+    private String render(MethodInvocation invocation, Object result, Object it) {
+        var params = new HashMap<String, Object>();
+        params.put("args", invocation.getArguments());
+        params.put("method", invocation.getMethod());
+        params.put("target", invocation.getThis());
+        if (result != null) {
+            params.put("result", result);
+        }
+        if (it != null) {
+            params.put("it", it);
+        }
+        return this.render.render(this.template, params);
+    }
+
+    /// 模板片段
+    private interface Segment {
+        /// 输出片段
+        ///
+        /// @return 是否输出成功。返回 false 时需要交给模板引擎渲染
+        boolean append(StringBuilder builder, MethodInvocation invocation, Object result, Object it);
+    }
+
+    /// 文本片段
+    private record Text(String text) implements Segment {
+        @Override
+        public boolean append(StringBuilder builder, MethodInvocation invocation, Object result, Object it) {
+            builder.append(this.text);
+            return true;
+        }
+    }
+
+    /// 签名片段
+    private record Signature(Accessor accessor) implements Segment {
+        @Override
+        public boolean append(StringBuilder builder, MethodInvocation invocation, Object result, Object it) {
+            var value = this.accessor.get(invocation, result, it);
+            if (value == UNRESOLVED) {
+                return false;
+            }
+            builder.append(SIGN_FUNCTION.call(new Object[]{value}, null));
+            return true;
+        }
+    }
+
+    /// 访问器的根对象
+    private enum Root {
+        ARGS, IT, RESULT, TARGET, METHOD
+    }
+
+    /// 访问器片段
+    private record Accessor(Root root, int index, String[] properties) implements Segment {
+
+        @Override
+        public boolean append(StringBuilder builder, MethodInvocation invocation, Object result, Object it) {
+            var value = this.get(invocation, result, it);
+            if (value == UNRESOLVED || !isPlain(value)) {
+                return false;
+            }
+            builder.append(value);
+            return true;
+        }
+
+        /// 获取值
+        private Object get(MethodInvocation invocation, Object result, Object it) {
+            Object value = switch (this.root) {
+                case ARGS -> {
+                    var args = invocation.getArguments();
+                    if (this.index < 0) {
+                        yield args;
+                    }
+                    yield this.index < args.length ? args[this.index] : UNRESOLVED;
+                }
+                case IT -> it;
+                case RESULT -> result;
+                case TARGET -> invocation.getThis();
+                case METHOD -> invocation.getMethod();
+            };
+
+            for (var property : this.properties) {
+                if (value == null || value == UNRESOLVED) {
+                    return UNRESOLVED;
+                }
+                value = Properties.get(value, property);
+            }
+            return value == null ? UNRESOLVED : value;
+        }
+
+        /// 判断值的输出是否与模板引擎一致
+        private static boolean isPlain(Object value) {
+            return value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Short
+                    || value instanceof Byte || value instanceof BigInteger || value instanceof Boolean || value instanceof Character
+                    || value instanceof Enum<?>;
+        }
+    }
+
+    /// 属性访问
+    private static final class Properties {
+        private static final ClassValue<Map<String, Optional<MethodHandle>>> GETTERS = new ClassValue<>() {
+            @Override
+            protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        private static Object get(Object target, String property) {
+            if (target instanceof Map<?, ?> map) {
+                return map.get(property);
+            }
+
+            var getter = GETTERS.get(target.getClass()).computeIfAbsent(property, name -> find(target.getClass(), name));
+            if (getter.isEmpty()) {
+                return UNRESOLVED;
+            }
+            try {
+                return getter.get().invoke(target);
+            } catch (Throwable ignored) {
+                return UNRESOLVED;
+            }
+        }
+
+        private static Optional<MethodHandle> find(Class<?> type, String property) {
+            try {
+                for (var descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                    if (descriptor.getName().equals(property) && descriptor.getReadMethod() != null) {
+                        var method = descriptor.getReadMethod();
+                        method.setAccessible(true);
+                        return Optional.of(MethodHandles.lookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class)));
+                    }
+                }
+            } catch (Exception ignored) {
+                // 无法访问的属性交给模板引擎处理
+            }
+            return Optional.empty();
+        }
+    }
+}
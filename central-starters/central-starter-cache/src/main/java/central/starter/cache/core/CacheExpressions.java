@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import central.lang.Stringx;
+import central.starter.cache.core.annotation.CacheEvict;
+import central.starter.cache.core.annotation.CachePut;
+import central.starter.cache.core.annotation.Cacheable;
+import central.starter.template.core.TemplateRender;
+import central.starter.template.core.impl.beetl.BeetlRender;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// 缓存表达式
+///
+/// 按方法保存预编译的缓存键模板和 SpEL 表达式，每个表达式只解析一次。
+/// [CacheAdvisor] 在匹配切点时预先编译方法上的所有表达式，之后的调用直接使用编译结果
+///
+/// @author Alan Yeh
+@Component
+public class CacheExpressions {
+
+    @Setter(onMethod_ = @Autowired)
+    private TemplateRender render;
+
+    /// SpEL 解析器，启用混合编译模式，表达式被执行若干次后编译为字节码
+    private final SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, CacheExpressions.class.getClassLoader()));
+
+    private final Map<Method, Compiled> methods = new ConcurrentHashMap<>();
+
+    /// 预编译方法上缓存注解的所有表达式
+    ///
+    /// @param method 方法
+    public void compile(Method method) {
+        var compiled = this.getCompiled(method);
+
+        var cacheable = method.getDeclaredAnnotation(Cacheable.class);
+        if (cacheable != null) {
+            compiled.precompileTemplate(cacheable.key());
+            compiled.precompileTemplate(cacheable.condition());
+            for (var dependency : cacheable.dependencies()) {
+                compiled.precompileTemplate(dependency);
+            }
+        }
+
+        for (var put : method.getDeclaredAnnotationsByType(CachePut.class)) {
+            compiled.precompileTemplate(put.key());
+            compiled.precompileTemplate(put.condition());
+            for (var dependency : put.dependencies()) {
+                compiled.precompileTemplate(dependency);
+            }
+            for (var key : put.keys()) {
+                compiled.precompileTemplate(key.key());
+                compiled.precompileIterable(key.it());
+            }
+        }
+
+        for (var evict : method.getDeclaredAnnotationsByType(CacheEvict.class)) {
+            compiled.precompileTemplate(evict.key());
+            for (var key : evict.keys()) {
+                compiled.precompileTemplate(key.key());
+                compiled.precompileIterable(key.it());
+            }
+        }
+    }
+
+    /// 获取预编译的模板
+    ///
+    /// @param method   方法
+    /// @param template 模板
+    public CacheExpression getTemplate(Method method, String template) {
+        return this.getCompiled(method).template(template);
+    }
+
+    /// 获取预编译的 SpEL 表达式
+    ///
+    /// @param method     方法
+    /// @param expression 表达式
+    public Expression getIterable(Method method, String expression) {
+        return this.getCompiled(method).iterable(expression);
+    }
+
+    private Compiled getCompiled(Method method) {
+        var compiled = this.methods.get(method);
+        if (compiled == null) {
+            compiled = this.methods.computeIfAbsent(method, it -> new Compiled());
+        }
+        return compiled;
+    }
+
+    /// 方法的预编译表达式
+    private class Compiled {
+        private final Map<String, CacheExpression> templates = new ConcurrentHashMap<>();
+
+        private final Map<String, Expression> iterables = new ConcurrentHashMap<>();
+
+        private void precompileTemplate(String template) {
+            if (Stringx.isNotBlank(template)) {
+                this.template(template);
+            }
+        }
+
+        private void precompileIterable(String expression) {
+            if (Stringx.isNotBlank(expression)) {
+                this.iterable(expression);
+            }
+        }
+
+        private CacheExpression template(String template) {
+            var expression = this.templates.get(template);
+            if (expression == null) {
+                // 访问器的输出规则与 Beetl 一致，其它模板引擎全部交给模板引擎渲染
+                expression = this.templates.computeIfAbsent(template, it -> CacheExpression.compile(it, render, render instanceof BeetlRender));
+            }
+            return expression;
+        }
+
+        private Expression iterable(String expression) {
+            var parsed = this.iterables.get(expression);
+            if (parsed == null) {
+                parsed = this.iterables.computeIfAbsent(expression, parser::parseExpression);
+            }
+            return parsed;
+        }
+    }
+}
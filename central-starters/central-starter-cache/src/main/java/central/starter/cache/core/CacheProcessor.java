@@ -26,20 +26,17 @@ package central.starter.cache.core;
 
 import central.lang.Assertx;
 import central.pattern.chain.Processor;
-import central.starter.template.core.TemplateRender;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 
 /// 缓存处理
@@ -47,7 +44,7 @@ import java.util.List;
 public abstract class CacheProcessor implements Processor<MethodInvocation, Object> {
 
     @Setter(onMethod_ = @Autowired)
-    private TemplateRender render;
+    private CacheExpressions expressions;
 
 /// 构建表达式 Boolean 结果
 /// @param expression 表达式
@@ -65,17 +62,9 @@ public abstract class CacheProcessor implements Processor<MethodInvocation, Obje
 /// @param result
 /// @return
     protected String evaluate(String expression, MethodInvocation invocation, Object result) {
-        var params = new HashMap<String, Object>();
-        params.put("args", invocation.getArguments());
-        params.put("method", invocation.getMethod());
-        params.put("target", invocation.getThis());
-        if (result != null) {
-            params.put("result", result);
-        }
-
         try {
             // 计算表达式
-            return render.render(expression, params);
+            return this.expressions.getTemplate(invocation.getMethod(), expression).evaluate(invocation, result, null);
         } catch (Throwable throwable) {
             throw new RuntimeException("计算表达式出错，请检查表达式是否正确: " + expression, throwable);
         }
@@ -88,14 +77,6 @@ public abstract class CacheProcessor implements Processor<MethodInvocation, Obje
 /// @param iterableExpression
 /// @return
     protected List<String> evaluateKeys(String expression, MethodInvocation invocation, Object result, String iterableExpression) {
-        var params = new HashMap<String, Object>();
-        params.put("args", invocation.getArguments());
-        params.put("method", invocation.getMethod());
-        params.put("target", invocation.getThis());
-        if (result != null) {
-            params.put("result", result);
-        }
-
         try {
             var keys = new ArrayList<String>();
 
@@ -112,10 +93,9 @@ public abstract class CacheProcessor implements Processor<MethodInvocation, Obje
             }
 
             // 计算表达式
+            var template = this.expressions.getTemplate(invocation.getMethod(), expression);
             for (var it : iterable) {
-                params.put("it", it);
-                var key = render.render(expression, params);
-                keys.add(key);
+                keys.add(template.evaluate(invocation, result, it));
             }
             return keys;
         } catch (Throwable throwable) {
@@ -124,9 +104,6 @@ public abstract class CacheProcessor implements Processor<MethodInvocation, Obje
     }
 
     private Object evaluateIterableObject(String expression, MethodInvocation invocation, Object result) {
-        // 通过 SpEL 表达式获取待枚举对象
-        var parser = new SpelExpressionParser();
-
         // SpEL 上下文
         var context = new SpELContext(invocation.getArguments(), result, invocation.getMethod(), invocation.getThis());
 
@@ -135,16 +112,19 @@ public abstract class CacheProcessor implements Processor<MethodInvocation, Obje
 
         try {
             // 计算表达式
-            return parser.parseExpression(expression).getValue(ctx);
+            return this.expressions.getIterable(invocation.getMethod(), expression).getValue(ctx);
         } catch (Exception ex) {
             throw new RuntimeException("计算 SpEL 表达式出错: " + expression, ex);
         }
     }
 
+    /// SpEL 上下文
+    ///
+    /// 需要声明为 public，SpEL 编译模式才能直接访问其属性
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
-    private static class SpELContext {
+    public static class SpELContext {
         // 方法执行参数
         private Object[] args;
         // 方法执行结果
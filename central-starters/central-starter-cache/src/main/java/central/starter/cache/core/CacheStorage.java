@@ -25,6 +25,7 @@
 package central.starter.cache.core;
 
 import java.time.Duration;
+import java.util.Set;
 
 /// 缓存存储
 ///
@@ -41,16 +42,26 @@ public interface CacheStorage {
     /// @param <T> 缓存类型
     <T> T get(String key);
 
+    /// 获取缓存的剩余有效期
+    ///
+    /// @param key 缓存键
+    /// @return 剩余有效期，缓存不存在或存储不支持时返回 null
+    default Duration getExpire(String key) {
+        return null;
+    }
+
     /// 保存/覆盖缓存
     ///
     /// @param key          缓存键
     /// @param value        缓存值
     /// @param expires      有效期
     /// @param dependencies 依存依赖
-    void put(String key, Object value, Duration expires, String... dependencies);
+    /// @return 是否已保存。无法登记依赖关系（如依赖的键被依赖的数量达到上限）时不保存缓存，并返回 false
+    boolean put(String key, Object value, Duration expires, String... dependencies);
 
     /// 删除缓存
     ///
     /// @param keys 缓存键
-    void evict(String... keys);
+    /// @return 被删除的缓存键，包括因依赖而被级联删除的缓存键
+    Set<String> evict(String... keys);
 }
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/// 可提前刷新的缓存值
+///
+/// 在缓存值之外，记录了缓存的过期时间和生成缓存的耗时，用于判断是否需要提前刷新缓存
+///
+/// @author Alan Yeh
+/// @see central.starter.cache.core.annotation.Cacheable#earlyRefresh()
+public class RefreshableValue implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 3208570519352104861L;
+
+    /// 缓存值
+    @Getter
+    private final Object value;
+
+    /// 生成缓存的耗时（毫秒）
+    @Getter
+    private final long delta;
+
+    /// 过期时间戳（毫秒）
+    @Getter
+    private final long expireAt;
+
+    public RefreshableValue(Object value, long delta, long expireAt) {
+        this.value = value;
+        this.delta = delta;
+        this.expireAt = expireAt;
+    }
+
+    /// 判断是否需要提前刷新
+    ///
+    /// 采用概率提前过期算法（XFetch）：`now - delta * beta * ln(random) >= expireAt` 时刷新。
+    /// 越接近过期时间、生成缓存的耗时越长，刷新的概率越高
+    ///
+    /// @param beta 提前刷新系数
+    public boolean shouldRefresh(double beta) {
+        if (beta <= 0) {
+            return false;
+        }
+        var random = 1 - ThreadLocalRandom.current().nextDouble();
+        var gap = Math.max(this.delta, 1) * beta * -Math.log(random);
+        return System.currentTimeMillis() + gap >= this.expireAt;
+    }
+}
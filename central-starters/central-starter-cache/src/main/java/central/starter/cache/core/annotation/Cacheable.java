@@ -45,6 +45,9 @@ public @interface Cacheable {
     String key();
 
     /// 缓存有效期（毫秒）
+    ///
+    /// 迁移说明：旧版本的实现错误地按分钟解析该值（默认值因此约为 208 天）。
+    /// 如果原来按分钟设置了该值，需要换算为毫秒，如 `expires = 10` 改为 `expires = 10 * 60 * 1000L`
     long expires() default 30 * 60 * 1000L;
 
     /// 缓存依赖
@@ -54,4 +57,12 @@ public @interface Cacheable {
 
     /// 当满足条件时才保存缓存。支持通过模板语法，返回 true 时保存缓存
     String condition() default "";
+
+    /// 提前刷新系数
+    ///
+    /// 大于 0 时启用提前刷新：缓存临近过期时，按概率在后台重新执行方法并刷新缓存，期间继续返回旧的缓存（stale-while-revalidate），
+    /// 避免热点缓存过期时大量请求同时重新执行方法。
+    ///
+    /// 越接近过期、方法执行越耗时，刷新的概率越高。系数越大，越倾向于提前刷新，一般取 1 即可。默认为 0，表示不提前刷新
+    double earlyRefresh() default 0;
 }
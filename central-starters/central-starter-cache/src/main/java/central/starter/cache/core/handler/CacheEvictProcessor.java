@@ -28,9 +28,11 @@ import central.lang.Arrayx;
 import central.lang.Assertx;
 import central.lang.Stringx;
 import central.pattern.chain.ProcessChain;
+import central.starter.cache.core.CacheAccelerator;
 import central.starter.cache.core.CacheProcessor;
 import central.starter.cache.core.CacheStorage;
 import central.starter.cache.core.annotation.CacheEvict;
+import central.starter.cache.core.statistics.CacheStatistics;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInvocation;
@@ -40,6 +42,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 /// 清除缓存
 ///
@@ -53,6 +56,12 @@ public class CacheEvictProcessor extends CacheProcessor {
     @Setter(onMethod_ = @Autowired)
     private CacheStorage storage;
 
+    @Setter(onMethod_ = @Autowired(required = false))
+    private CacheAccelerator accelerator;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStatistics statistics;
+
     @Override
     public boolean predicate(MethodInvocation target) {
         return target.getMethod().isAnnotationPresent(CacheEvict.class) || target.getMethod().isAnnotationPresent(CacheEvict.List.class);
@@ -91,11 +100,24 @@ public class CacheEvictProcessor extends CacheProcessor {
                     }
                 }
 
-                for (var evictKey : evictKeys) {
-                    log.info("@CacheEvict: 在执行方法 {}.{} {}清除缓存[{}]", target.getMethod().getDeclaringClass().getSimpleName(), target.getMethod().getName(), before ? "前" : "后", evictKey);
+                if (log.isDebugEnabled()) {
+                    for (var evictKey : evictKeys) {
+                        log.debug("@CacheEvict: 在执行方法 {}.{} {}清除缓存[{}]", target.getMethod().getDeclaringClass().getSimpleName(), target.getMethod().getName(), before ? "前" : "后", evictKey);
+                    }
+                }
+
+                var evicted = storage.evict(evictKeys.toArray(new String[0]));
+
+                // 同步清除加速器中的缓存（包括因依赖而级联清除的缓存）
+                if (this.accelerator != null) {
+                    this.accelerator.evict(evicted.toArray(new String[0]));
                 }
 
-                storage.evict(evictKeys.toArray(new String[0]));
+                var stats = this.statistics.getStats(target.getMethod(), Stringx.isNotBlank(evict.key()) ? evict.key() : evict.keys()[0].key());
+                if (stats != null) {
+                    var requested = new HashSet<>(evictKeys);
+                    stats.recordEviction(requested.size(), evicted.stream().filter(it -> !requested.contains(it)).count());
+                }
             }
         }
     }
@@ -28,17 +28,25 @@ import central.bean.Null;
 import central.lang.Arrayx;
 import central.lang.Stringx;
 import central.pattern.chain.ProcessChain;
+import central.starter.cache.CacheProperties;
+import central.starter.cache.core.CacheAccelerator;
 import central.starter.cache.core.CacheProcessor;
 import central.starter.cache.core.CacheStorage;
+import central.starter.cache.core.RefreshableValue;
 import central.starter.cache.core.annotation.Cacheable;
+import central.starter.cache.core.statistics.CacheStatistics;
 import central.util.Guidx;
 import central.util.Objectx;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
@@ -46,19 +54,48 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
 
 /// 缓存
 ///
+/// 同一缓存键的并发加载会被合并，只有一个线程执行方法，其余线程等待该线程的执行结果。
+/// 启用 [Cacheable#earlyRefresh()] 后，临近过期的缓存会在后台刷新
+///
 /// @author Alan Yeh
 /// @see Cacheable
 @Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
-public class CacheableProcessor extends CacheProcessor {
+public class CacheableProcessor extends CacheProcessor implements InitializingBean, DisposableBean {
 
     @Setter(onMethod_ = @Autowired)
     private CacheStorage storage;
 
+    @Setter(onMethod_ = @Autowired(required = false))
+    private CacheAccelerator accelerator;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheProperties properties;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStatistics statistics;
+
+    /// 后台刷新线程池
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        var refresh = this.properties.getRefresh();
+        // 队列满时放弃刷新，等缓存过期后再重新加载
+        this.executor = new ThreadPoolExecutor(refresh.getThreads(), refresh.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refresh.getCapacity()), new CustomizableThreadFactory("central.cache.refresh-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        this.executor.shutdownNow();
+    }
+
     @Override
     public boolean predicate(MethodInvocation target) {
         return target.getMethod().isAnnotationPresent(Cacheable.class);
@@ -66,6 +103,9 @@ public class CacheableProcessor extends CacheProcessor {
 
     private static final ThreadLocal<Map<String, Set<String>>> ANALYSIS_HOLDER = ThreadLocal.withInitial(HashMap::new);
 
+    /// 正在加载的缓存
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
     @Override
     public Object process(MethodInvocation target, ProcessChain<MethodInvocation, Object> chain) throws Exception {
         var cacheable = target.getMethod().getDeclaredAnnotation(Cacheable.class);
@@ -78,72 +118,259 @@ public class CacheableProcessor extends CacheProcessor {
             // 计算缓存 key
             var key = this.evaluate(cacheable.key(), target, null);
 
-            // 获取缓存
-            var cachedResult = storage.get(key);
+            // 获取缓存，优先从加速器中获取
+            var cachedResult = this.lookup(key, Duration.ofMillis(cacheable.expires()));
+
+            this.statistics.recordAccess(key);
+            var stats = this.statistics.getStats(target.getMethod(), cacheable.key());
 
             // 如果存在缓存，则直接返回，后续的操作不执行
             if (cachedResult != null) {
-                log.info("@Cacheable: 在执行方法 {}.{} 前发现缓存[{}]，返回缓存结果", target.getMethod().getDeclaringClass().getSimpleName(), target.getMethod().getName(), key);
+                if (stats != null) {
+                    stats.recordHit();
+                }
 
-                Object result;
-                if (cachedResult instanceof Null) {
-                    result = null;
-                } else {
-                    result = cachedResult;
+                if (cachedResult instanceof RefreshableValue refreshable) {
+                    if (refreshable.shouldRefresh(cacheable.earlyRefresh())) {
+                        // 缓存临近过期，在后台刷新，本次仍返回旧的缓存
+                        this.refresh(key, cacheable, target, chain);
+                    }
+                    cachedResult = refreshable.getValue();
                 }
 
-                // 将该缓存的 Key 或依赖加入分析依赖容器
-                if (Arrayx.isNotEmpty(cacheable.dependencies())) {
-                    // 如果 cacheable 存在 dependencies，需要将计算好的 dependencies 加入自动分析的容器
-                    var dependencies = Arrayx.asStream(cacheable.dependencies()).map(it -> this.evaluate(it, target, result)).toList();
+                return this.hit(key, cacheable, target, cachedResult);
+            }
+
+            if (stats != null) {
+                stats.recordMiss();
+            }
 
-                    // 把计算好的依赖加入自动分析容器，供上层的缓存进行分析
-                    ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.addAll(dependencies));
-                } else {
-                    // 如果 cacheable 的 dependencies 为空，则将自己的缓存 key 加入自动分析容器
-                    ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.add(key));
+            // 合并同一缓存键的并发加载
+            var flight = new Flight(Thread.currentThread());
+            var loading = this.flights.putIfAbsent(key, flight);
+            if (loading != null) {
+                if (loading.owner != Thread.currentThread()) {
+                    // 等待其它线程的加载结果，最多等待 central.cache.loading.timeout
+                    var result = loading.await(this.properties.getLoading().getTimeout());
+                    if (result != Flight.ABANDONED) {
+                        return this.hit(key, cacheable, target, result);
+                    }
                 }
+                // 当前线程重入加载同一缓存，或后台刷新被放弃、等待超时时，直接加载
+                return this.load(key, cacheable, target, chain, analysisKey);
+            }
+
+            try {
+                var result = this.load(key, cacheable, target, chain, analysisKey);
+                flight.complete(result);
                 return result;
+            } catch (Throwable throwable) {
+                flight.completeExceptionally(throwable);
+                throw throwable;
+            } finally {
+                this.flights.remove(key, flight);
             }
+        } finally {
+            // 移除自动分析
+            ANALYSIS_HOLDER.get().remove(analysisKey);
+        }
+    }
 
-            // 调用下一步，获取执行结果
-            var result = chain.process(target);
+    /// 命中缓存
+    ///
+    /// 将该缓存的 Key 或依赖加入分析依赖容器，并返回缓存结果
+    private Object hit(String key, Cacheable cacheable, MethodInvocation target, Object cachedResult) {
+        Object result;
+        if (cachedResult instanceof Null) {
+            result = null;
+        } else {
+            result = cachedResult;
+        }
 
-            // 如果 condition 不为空，则要求 condition 的计算结果为 true 才进行缓存
-            if (Stringx.isNotBlank(cacheable.condition())) {
-                if (!this.evaluateBoolean(cacheable.condition(), target, result)) {
-                    // 不缓存
-                    return result;
-                }
+        // 将该缓存的 Key 或依赖加入分析依赖容器
+        if (Arrayx.isNotEmpty(cacheable.dependencies())) {
+            // 如果 cacheable 存在 dependencies，需要将计算好的 dependencies 加入自动分析的容器
+            var dependencies = Arrayx.asStream(cacheable.dependencies()).map(it -> this.evaluate(it, target, result)).toList();
+
+            // 把计算好的依赖加入自动分析容器，供上层的缓存进行分析
+            ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.addAll(dependencies));
+        } else {
+            // 如果 cacheable 的 dependencies 为空，则将自己的缓存 key 加入自动分析容器
+            ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.add(key));
+        }
+        return result;
+    }
+
+    /// 执行方法，并保存执行结果
+    private Object load(String key, Cacheable cacheable, MethodInvocation target, ProcessChain<MethodInvocation, Object> chain, String analysisKey) throws Exception {
+        var stats = this.statistics.getStats(target.getMethod(), cacheable.key());
+        var start = System.nanoTime();
+
+        // 调用下一步，获取执行结果
+        Object result;
+        try {
+            result = chain.process(target);
+        } catch (Throwable throwable) {
+            if (stats != null) {
+                stats.recordLoad(System.nanoTime() - start, false);
+            }
+            throw throwable;
+        }
+
+        var elapsed = System.nanoTime() - start;
+        if (stats != null) {
+            stats.recordLoad(elapsed, true);
+        }
+        var delta = TimeUnit.NANOSECONDS.toMillis(elapsed);
+
+        // 如果 condition 不为空，则要求 condition 的计算结果为 true 才进行缓存
+        if (Stringx.isNotBlank(cacheable.condition())) {
+            if (!this.evaluateBoolean(cacheable.condition(), target, result)) {
+                // 不缓存
+                return result;
             }
+        }
+
+        // 分析当前 key 需要哪些依赖
+        Set<String> analysisDependencies;
+        if (Arrayx.isNotEmpty(cacheable.dependencies())) {
+            // 如果 cacheable 有 dependencies，需要将计算好的 dependencies 加入到自动分析的容器
+            var dependencies = Arrayx.asStream(cacheable.dependencies()).map(it -> this.evaluate(it, target, result)).toList();
+
+            // 把计算好的依赖，加入自动分析容器，供上层的缓存进行分析
+            ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.addAll(dependencies));
 
-            // 分析当前 key 需要哪些依赖
-            Set<String> analysisDependencies;
-            if (Arrayx.isNotEmpty(cacheable.dependencies())) {
-                // 如果 cacheable 有 dependencies，需要将计算好的 dependencies 加入到自动分析的容器
-                var dependencies = Arrayx.asStream(cacheable.dependencies()).map(it -> this.evaluate(it, target, result)).toList();
+            // 将自动分析出来的依赖，和当前指定的依赖加入依赖列表
+            analysisDependencies = new HashSet<>(ANALYSIS_HOLDER.get().get(analysisKey));
+        } else {
+            // 将自动分析出来的依赖，和当前指定的依赖加入依赖列表
+            analysisDependencies = new HashSet<>(ANALYSIS_HOLDER.get().get(analysisKey));
 
-                // 把计算好的依赖，加入自动分析容器，供上层的缓存进行分析
-                ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.addAll(dependencies));
+            // 如果 cacheable 的 dependencies 为空，则将自己的缓存 key 加入自动分析容器
+            ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.add(key));
+        }
+
+        log.debug("@Cacheable: 在执行 {}.{} 后，保存执行结果到[{}]", target.getMethod().getDeclaringClass().getSimpleName(), target.getMethod().getName(), key);
 
-                // 将自动分析出来的依赖，和当前指定的依赖加入依赖列表
-                analysisDependencies = new HashSet<>(ANALYSIS_HOLDER.get().get(analysisKey));
-            } else {
-                // 将自动分析出来的依赖，和当前指定的依赖加入依赖列表
-                analysisDependencies = new HashSet<>(ANALYSIS_HOLDER.get().get(analysisKey));
+        var expires = Duration.ofMillis(cacheable.expires());
+        Object value = Objectx.getOrDefault(result, Null::new);
+        if (cacheable.earlyRefresh() > 0) {
+            value = new RefreshableValue(value, delta, System.currentTimeMillis() + expires.toMillis());
+        }
 
-                // 如果 cacheable 的 dependencies 为空，则将自己的缓存 key 加入自动分析容器
-                ANALYSIS_HOLDER.get().values().forEach(analysis -> analysis.add(key));
+        if (storage.put(key, value, expires, analysisDependencies.toArray(new String[0]))) {
+            if (this.accelerator != null) {
+                this.accelerator.put(key, value, expires);
+            }
+        } else {
+            // 缓存存储拒绝保存该缓存（如依赖的键被依赖的数量达到上限），加速器也不能保存，否则依赖清除时无法级联清除
+            if (stats != null) {
+                stats.recordRejection();
+            }
+            if (this.accelerator != null) {
+                this.accelerator.evict(key);
             }
+        }
 
-            log.info("@Cacheable: 在执行 {}.{} 后，保存执行结果到[{}]", target.getMethod().getDeclaringClass().getSimpleName(), target.getMethod().getName(), key);
+        return result;
+    }
 
-            storage.put(key, Objectx.getOrDefault(result, Null::new), Duration.ofMinutes(cacheable.expires()), analysisDependencies.toArray(new String[0]));
+    /// 在后台刷新缓存
+    ///
+    /// 如果该缓存正在加载，则不重复刷新
+    private void refresh(String key, Cacheable cacheable, MethodInvocation target, ProcessChain<MethodInvocation, Object> chain) {
+        var flight = new Flight(null);
+        if (this.flights.putIfAbsent(key, flight) != null) {
+            return;
+        }
 
-            return result;
-        } finally {
-            // 移除自动分析
-            ANALYSIS_HOLDER.get().remove(analysisKey);
+        // 原调用返回后仍需要执行方法，因此复制一份调用过程
+        var invocation = target instanceof ProxyMethodInvocation proxy ? proxy.invocableClone() : target;
+        try {
+            this.executor.execute(() -> {
+                var analysisKey = Guidx.nextID();
+                try {
+                    ANALYSIS_HOLDER.get().put(analysisKey, new HashSet<>());
+                    flight.complete(this.load(key, cacheable, invocation, chain, analysisKey));
+                } catch (Throwable throwable) {
+                    log.warn("@Cacheable: 刷新缓存[{}]失败: {}", key, throwable.getLocalizedMessage(), throwable);
+                    flight.completeExceptionally(throwable);
+                } finally {
+                    this.flights.remove(key, flight);
+                    ANALYSIS_HOLDER.get().remove(analysisKey);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // 刷新任务过多，放弃本次刷新
+            this.flights.remove(key, flight);
+            flight.complete(Flight.ABANDONED);
+        }
+    }
+
+    /// 正在加载的缓存
+    private static class Flight extends CompletableFuture<Object> {
+        /// 加载被放弃，等待的线程需要自行加载
+        private static final Object ABANDONED = new Object();
+
+        /// 执行加载的线程，后台刷新时为空
+        private final Thread owner;
+
+        private Flight(Thread owner) {
+            this.owner = owner;
+        }
+
+        /// 等待加载结果
+        ///
+        /// @param timeout 最长等待时间，超时后返回 [#ABANDONED]
+        private Object await(Duration timeout) throws Exception {
+            try {
+                return this.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                return ABANDONED;
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof Exception exception) {
+                    throw exception;
+                } else if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+
+    /// 获取缓存
+    ///
+    /// 加速器中没有缓存时，从缓存存储中获取，并保存到加速器
+    private Object lookup(String key, Duration expires) {
+        if (this.accelerator == null) {
+            return storage.get(key);
+        }
+
+        Object cached = this.accelerator.get(key);
+        if (cached == null) {
+            cached = storage.get(key);
+            if (cached != null) {
+                // 加速器中的缓存不能比缓存存储中的缓存活得更久，否则缓存过期后加速器仍会返回旧数据
+                var remaining = this.getRemaining(key, cached, expires);
+                if (remaining.toMillis() > 0) {
+                    this.accelerator.put(key, cached, remaining);
+                }
+            }
+        }
+        return cached;
+    }
+
+    /// 计算缓存存储中缓存的剩余有效期
+    ///
+    /// 优先使用缓存存储记录的剩余有效期，其次使用可提前刷新的缓存值记录的过期时间，都无法获取时使用注解声明的有效期
+    private Duration getRemaining(String key, Object cached, Duration expires) {
+        var remaining = storage.getExpire(key);
+        if (remaining == null && cached instanceof RefreshableValue refreshable) {
+            remaining = Duration.ofMillis(refreshable.getExpireAt() - System.currentTimeMillis());
+        }
+        if (remaining == null || remaining.compareTo(expires) > 0) {
+            remaining = expires;
         }
+        return remaining;
     }
 }
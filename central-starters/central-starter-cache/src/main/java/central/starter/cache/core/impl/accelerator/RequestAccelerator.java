@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.impl.accelerator;
+
+import central.starter.cache.core.CacheAccelerator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// 请求级缓存加速
+///
+/// 缓存只在当前线程的加速作用域内有效，最外层的作用域关闭后清除。
+/// 作用域之外不会保存缓存，因此不会读到其它请求留下的旧数据。
+///
+/// Servlet 应用由 [RequestAcceleratorFilter] 在整个 Web 请求期间开启作用域，同一请求内的缓存方法共享缓存；
+/// 不在 Web 请求中时（如定时任务、WebFlux），由最外层的缓存方法开启作用域
+///
+/// 任一线程清除缓存时，会同步清除所有活动作用域中的对应缓存
+///
+/// @author Alan Yeh
+public class RequestAccelerator implements CacheAccelerator {
+
+    /// 每个作用域最多保存的缓存数量
+    private final long maximumSize;
+
+    private final ThreadLocal<Context> holder = new ThreadLocal<>();
+
+    /// 所有活动中的作用域
+    private final Set<Context> contexts = ConcurrentHashMap.newKeySet();
+
+    public RequestAccelerator(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Scope open() {
+        var context = this.holder.get();
+        if (context == null) {
+            context = new Context();
+            this.holder.set(context);
+            this.contexts.add(context);
+        }
+        context.depth++;
+
+        var current = context;
+        return () -> {
+            if (--current.depth == 0) {
+                this.holder.remove();
+                this.contexts.remove(current);
+            }
+        };
+    }
+
+    @Override
+    public boolean exists(String key) {
+        var context = this.holder.get();
+        return context != null && context.caches.containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        var context = this.holder.get();
+        if (context == null) {
+            return null;
+        }
+        return (T) context.caches.get(key);
+    }
+
+    @Override
+    public void put(String key, Object value, Duration expires) {
+        var context = this.holder.get();
+        if (context == null || value == null) {
+            return;
+        }
+        if (this.maximumSize > 0 && context.caches.size() >= this.maximumSize && !context.caches.containsKey(key)) {
+            // 作用域已满，不再保存新的缓存
+            return;
+        }
+        context.caches.put(key, value);
+    }
+
+    @Override
+    public void evict(String... keys) {
+        for (var context : this.contexts) {
+            for (var key : keys) {
+                context.caches.remove(key);
+            }
+        }
+    }
+
+    /// 加速作用域上下文
+    private static class Context {
+        /// 缓存
+        private final Map<String, Object> caches = new ConcurrentHashMap<>();
+        /// 作用域嵌套层数，只由所属线程访问
+        private int depth;
+    }
+}
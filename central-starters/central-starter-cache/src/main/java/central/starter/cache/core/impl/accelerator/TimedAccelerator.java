@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.impl.accelerator;
+
+import central.starter.cache.core.CacheAccelerator;
+import central.util.cache.memory.EvictionPolicy;
+import central.util.cache.memory.Weigher;
+import central.util.concurrent.ExpiredElement;
+import central.util.concurrent.ExpiredMap;
+import central.util.concurrent.TimingWheel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/// 时间级缓存加速
+///
+/// 缓存在进程内保存一段较短的时间（不超过缓存本身的有效期），通过容量策略限制缓存数量，淘汰访问频率较低的缓存
+///
+/// @author Alan Yeh
+public class TimedAccelerator implements CacheAccelerator, Closeable {
+
+    /// 缓存有效期
+    private final Duration timeout;
+
+    private final ExpiredMap<String, ExpiredElement<Object>> caches = new ExpiredMap<>(TimingWheel.getDefault(), this::onExpired);
+
+    /// 容量策略，为空时不限制容量
+    private final EvictionPolicy<String, ExpiredElement<Object>> policy;
+
+    public TimedAccelerator(long maximumSize, Duration timeout) {
+        this.timeout = timeout;
+        this.policy = maximumSize > 0 ? new EvictionPolicy<>(maximumSize, 0, Weigher.singleton()) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.caches.close();
+        if (this.policy != null) {
+            this.policy.clear();
+        }
+    }
+
+    private void onExpired(String key, ExpiredElement<Object> element) {
+        if (this.policy != null) {
+            this.policy.recordRemove(key, element);
+        }
+    }
+
+    /// 淘汰超出容量的缓存
+    private void discard(List<Map.Entry<String, ExpiredElement<Object>>> victims) {
+        for (var victim : victims) {
+            this.caches.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return this.caches.containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        var cache = this.caches.get(key);
+        if (cache == null) {
+            return null;
+        }
+        if (this.policy != null) {
+            this.discard(this.policy.recordAccess(key, cache));
+        }
+        return (T) cache.getElement();
+    }
+
+    @Override
+    public void put(String key, Object value, Duration expires) {
+        if (value == null) {
+            return;
+        }
+        var timeout = expires == null || expires.compareTo(this.timeout) > 0 ? this.timeout : expires;
+        var element = new ExpiredElement<>(value, timeout);
+        this.caches.put(key, element);
+        if (this.policy != null) {
+            this.discard(this.policy.recordWrite(key, element));
+        }
+    }
+
+    @Override
+    public void evict(String... keys) {
+        for (var key : keys) {
+            var removed = this.caches.remove(key);
+            if (removed != null && this.policy != null) {
+                this.policy.recordRemove(key, removed);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.impl.menory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/// 缓存依赖关系
+///
+/// 同时记录正向（缓存依赖哪些键）与反向（键被哪些缓存依赖）两组关系:
+///
+/// - 清除键时，通过反向关系找到所有依赖它的缓存，逐层级联清除（迭代实现，不受依赖链长度限制）
+/// - 缓存过期、被淘汰或被覆盖时，通过正向关系移除它在反向关系中的记录，避免依赖关系无限增长
+///
+/// 每个键最多被 `maximumDependents` 个缓存依赖，超出后新的缓存不会登记依赖关系，由调用方放弃保存该缓存，
+/// 以保证依赖清除的正确性。键第一次达到上限时会通知 `listener`，直到该键被清除后才会再次通知
+///
+/// @author Alan Yeh
+public class DependencyGraph {
+
+    /// 每个键最多被依赖的数量，小于等于 0 表示不限制
+    private final int maximumDependents;
+
+    /// 反向关系: 键 -> 依赖该键的缓存
+    ///
+    /// 集合只在 [ConcurrentHashMap#compute] 中修改
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+    /// 正向关系: 缓存 -> 该缓存依赖的键
+    private final Map<String, Links> dependencies = new ConcurrentHashMap<>();
+
+    /// 被依赖的数量达到上限的键
+    private final Set<String> saturated = ConcurrentHashMap.newKeySet();
+
+    /// 键被依赖的数量达到上限时的监听器
+    private final Consumer<String> listener;
+
+    public DependencyGraph(int maximumDependents) {
+        this(maximumDependents, dependency -> {
+        });
+    }
+
+    /// @param maximumDependents 每个键最多被依赖的数量，小于等于 0 表示不限制
+    /// @param listener          键被依赖的数量第一次达到上限时的监听器
+    public DependencyGraph(int maximumDependents, Consumer<String> listener) {
+        this.maximumDependents = maximumDependents;
+        this.listener = listener;
+    }
+
+    /// 登记缓存的依赖关系
+    ///
+    /// @param key          缓存键
+    /// @param owner        缓存值，用于区分同一个键的不同缓存
+    /// @param dependencies 依赖的键
+    /// @return 是否登记成功。任一依赖的键被依赖的数量达到上限时，返回 false
+    public boolean link(String key, Object owner, String... dependencies) {
+        // 移除被覆盖的缓存的依赖关系
+        var previous = this.dependencies.remove(key);
+        if (previous != null) {
+            this.removeDependent(key, previous.dependencies());
+        }
+
+        if (dependencies.length == 0) {
+            return true;
+        }
+
+        for (int i = 0; i < dependencies.length; i++) {
+            if (!this.addDependent(dependencies[i], key)) {
+                // 回滚已登记的依赖关系
+                this.removeDependent(key, Arrays.copyOf(dependencies, i));
+                if (this.saturated.add(dependencies[i])) {
+                    this.listener.accept(dependencies[i]);
+                }
+                return false;
+            }
+        }
+        this.dependencies.put(key, new Links(owner, dependencies));
+        return true;
+    }
+
+    /// 判断缓存的依赖关系是否仍然完整
+    ///
+    /// 登记依赖关系与保存缓存之间，依赖的键可能已经被清除，此时缓存需要作废
+    ///
+    /// @param key   缓存键
+    /// @param owner 缓存值
+    public boolean isLinked(String key, Object owner) {
+        var links = this.dependencies.get(key);
+        if (links == null) {
+            return true;
+        }
+        if (links.owner() != owner) {
+            return false;
+        }
+        for (var dependency : links.dependencies()) {
+            if (!this.contains(dependency, key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /// 移除缓存的依赖关系
+    ///
+    /// 缓存过期、被淘汰或被清除时调用
+    ///
+    /// @param key   缓存键
+    /// @param owner 缓存值。只有依赖关系属于该缓存值时才移除，避免误删覆盖后的新缓存的依赖关系
+    public void unlink(String key, Object owner) {
+        var links = this.dependencies.get(key);
+        if (links != null && links.owner() == owner && this.dependencies.remove(key, links)) {
+            this.removeDependent(key, links.dependencies());
+        }
+    }
+
+    /// 移除缓存的依赖关系
+    ///
+    /// 清除缓存时调用，无论依赖关系属于哪个缓存值都会被移除
+    ///
+    /// @param key 缓存键
+    public void unlink(String key) {
+        var links = this.dependencies.remove(key);
+        if (links != null) {
+            this.removeDependent(key, links.dependencies());
+        }
+    }
+
+    /// 找出所有需要级联清除的键
+    ///
+    /// 依次取出依赖于待清除键的缓存，直到没有新的缓存为止。取出的反向关系会被移除
+    ///
+    /// @param keys 待清除的键
+    /// @return 待清除的键，以及所有直接或间接依赖于这些键的缓存键
+    public Set<String> cascade(String... keys) {
+        var result = new LinkedHashSet<String>();
+        var pending = new ArrayDeque<String>(Arrays.asList(keys));
+        while (!pending.isEmpty()) {
+            var key = pending.poll();
+            if (!result.add(key)) {
+                continue;
+            }
+            this.saturated.remove(key);
+            var dependents = this.dependents.remove(key);
+            if (dependents != null) {
+                for (var dependent : dependents) {
+                    if (!result.contains(dependent)) {
+                        pending.add(dependent);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /// 被依赖的键的数量
+    public int size() {
+        return this.dependents.size();
+    }
+
+    /// 清空依赖关系
+    public void clear() {
+        this.dependents.clear();
+        this.dependencies.clear();
+        this.saturated.clear();
+    }
+
+    private boolean addDependent(String dependency, String key) {
+        var added = new boolean[1];
+        this.dependents.compute(dependency, (k, dependents) -> {
+            if (dependents == null) {
+                dependents = new HashSet<>();
+            }
+            if (this.maximumDependents <= 0 || dependents.size() < this.maximumDependents || dependents.contains(key)) {
+                dependents.add(key);
+                added[0] = true;
+            }
+            return dependents.isEmpty() ? null : dependents;
+        });
+        return added[0];
+    }
+
+    private boolean contains(String dependency, String key) {
+        var contains = new boolean[1];
+        this.dependents.computeIfPresent(dependency, (k, dependents) -> {
+            contains[0] = dependents.contains(key);
+            return dependents;
+        });
+        return contains[0];
+    }
+
+    private void removeDependent(String key, String[] dependencies) {
+        for (var dependency : dependencies) {
+            this.dependents.computeIfPresent(dependency, (k, dependents) -> {
+                dependents.remove(key);
+                return dependents.isEmpty() ? null : dependents;
+            });
+        }
+    }
+
+    /// 缓存的依赖关系
+    private record Links(Object owner, String[] dependencies) {
+    }
+}
@@ -25,32 +25,83 @@
 package central.starter.cache.core.impl.menory;
 
 import central.lang.Arrayx;
+import central.starter.cache.CacheProperties;
 import central.starter.cache.core.CacheStorage;
-import central.util.Setx;
+import central.util.cache.memory.EvictionPolicy;
+import central.util.cache.memory.Weigher;
 import central.util.concurrent.ExpiredElement;
 import central.util.concurrent.ExpiredMap;
+import central.util.concurrent.TimingWheel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /// 内存存储
 ///
+/// 可以通过 `central.cache.memory.maximum-size` 或 `central.cache.memory.maximum-weight` 限制缓存容量
+///
 /// @author Alan Yeh
+@Slf4j
 @ConditionalOnMissingBean(CacheStorage.class)
-public class MemoryStorage implements CacheStorage, DisposableBean {
+public class MemoryStorage implements CacheStorage, InitializingBean, DisposableBean {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheProperties properties;
+
+    @Setter(onMethod_ = @Autowired(required = false))
+    private Weigher<String, Object> weigher;
+
+    /// 依赖关系
+    private DependencyGraph dependencies;
 
-    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final ExpiredMap<String, ExpiredElement<Object>> caches = new ExpiredMap<>(TimingWheel.getDefault(), this::onExpired);
 
-    private final ExpiredMap<String, ExpiredElement<Object>> caches = new ExpiredMap<>();
+    /// 容量策略，为空时不限制容量
+    private EvictionPolicy<String, ExpiredElement<Object>> policy;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        var memory = this.properties.getMemory();
+        this.dependencies = new DependencyGraph(memory.getMaximumDependents(), dependency ->
+                log.warn("缓存键[{}]被依赖的数量已达到上限({})，依赖该键的新缓存将不会被保存。可以通过 central.cache.memory.maximum-dependents 调整上限", dependency, memory.getMaximumDependents()));
+        if (memory.getMaximumSize() > 0 || memory.getMaximumWeight() > 0) {
+            Weigher<String, Object> weigher = this.weigher == null ? Weigher.memory() : this.weigher;
+            this.policy = new EvictionPolicy<>(memory.getMaximumSize(), memory.getMaximumWeight(), (key, element) -> weigher.weigh(key, element.getElement()));
+        }
+    }
 
     @Override
     public void destroy() throws Exception {
         this.caches.close();
+        this.dependencies.clear();
+        if (this.policy != null) {
+            this.policy.clear();
+        }
+    }
+
+    private void onExpired(String key, ExpiredElement<Object> element) {
+        this.dependencies.unlink(key, element);
+        if (this.policy != null) {
+            this.policy.recordRemove(key, element);
+        }
+    }
+
+    /// 淘汰超出容量的缓存
+    private void discard(List<Map.Entry<String, ExpiredElement<Object>>> victims) {
+        for (var victim : victims) {
+            if (this.caches.remove(victim.getKey(), victim.getValue())) {
+                this.dependencies.unlink(victim.getKey(), victim.getValue());
+            }
+        }
     }
 
     @Override
@@ -64,30 +115,63 @@ public class MemoryStorage implements CacheStorage, DisposableBean {
         if (cache == null) {
             return null;
         } else {
+            if (this.policy != null) {
+                this.discard(this.policy.recordAccess(key, cache));
+            }
             return (T) cache.getElement();
         }
     }
 
     @Override
-    public void put(String key, Object value, Duration expires, String... dependencies) {
-        this.caches.put(key, new ExpiredElement<>(value, expires));
-        if (Arrayx.isNotEmpty(dependencies)) {
-            for (var dependency : dependencies) {
-                this.dependencies.computeIfAbsent(dependency, k -> new HashSet<>()).add(key);
+    public Duration getExpire(String key) {
+        var cache = this.caches.get(key);
+        return cache == null ? null : Duration.ofMillis(Math.max(0, cache.getExpire(TimeUnit.MILLISECONDS)));
+    }
+
+    @Override
+    public boolean put(String key, Object value, Duration expires, String... dependencies) {
+        var element = new ExpiredElement<>(value, expires);
+
+        // 先登记依赖关系再保存缓存，避免保存后、登记前依赖被清除而漏清
+        if (!this.dependencies.link(key, element, Arrayx.isNullOrEmpty(dependencies) ? new String[0] : dependencies)) {
+            // 依赖的键被依赖的数量达到上限，放弃保存该缓存
+            this.remove(key);
+            return false;
+        }
+
+        this.caches.put(key, element);
+        if (this.policy != null) {
+            this.discard(this.policy.recordWrite(key, element));
+        }
+
+        // 登记依赖关系后、保存缓存前，依赖的键可能已被清除
+        if (!this.dependencies.isLinked(key, element)) {
+            if (this.caches.remove(key, element)) {
+                this.dependencies.unlink(key, element);
+                if (this.policy != null) {
+                    this.policy.recordRemove(key, element);
+                }
             }
+            return false;
         }
+        return true;
     }
 
     @Override
-    public void evict(String... keys) {
-        for (var key : keys) {
-            this.caches.remove(key);
-
-            // 删除依赖
-            var dependencies = this.dependencies.remove(key);
-            if (Setx.isNotEmpty(dependencies)) {
-                this.evict(dependencies.toArray(new String[0]));
-            }
+    public Set<String> evict(String... keys) {
+        // 找出所有需要级联清除的缓存
+        var evicted = this.dependencies.cascade(keys);
+        for (var key : evicted) {
+            this.remove(key);
+        }
+        return evicted;
+    }
+
+    private void remove(String key) {
+        var removed = this.caches.remove(key);
+        this.dependencies.unlink(key);
+        if (removed != null && this.policy != null) {
+            this.policy.recordRemove(key, removed);
         }
     }
 }
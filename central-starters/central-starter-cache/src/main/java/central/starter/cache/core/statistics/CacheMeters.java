@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/// 缓存监控指标
+///
+/// 存在 Micrometer 的 [MeterRegistry] 时，将缓存统计数据注册为监控指标:
+///
+/// - `central.cache.gets`: 获取缓存次数，`result` 标签为 `hit` 或 `miss`
+/// - `central.cache.loads`: 执行方法加载缓存次数，`result` 标签为 `success` 或 `failure`
+/// - `central.cache.load.duration`: 加载耗时分布
+/// - `central.cache.evictions`: 主动清除缓存次数
+/// - `central.cache.cascades`: 因依赖而级联清除缓存次数
+/// - `central.cache.rejections`: 缓存存储拒绝保存缓存的次数（如依赖的键被依赖的数量达到上限）
+///
+/// 所有指标都带有 `name`（缓存名称）和 `method`（缓存方法签名，包含参数类型，如 `AccountService.findById(String)`）标签
+///
+/// @author Alan Yeh
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class CacheMeters implements InitializingBean {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStatistics statistics;
+
+    @Setter(onMethod_ = @Autowired(required = false))
+    private MeterRegistry registry;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (this.registry != null) {
+            this.statistics.addListener(this::register);
+        }
+    }
+
+    private void register(CacheStats stats) {
+        var tags = Tags.of("name", stats.getName(), "method", stats.getMethod());
+
+        FunctionCounter.builder("central.cache.gets", stats, CacheStats::getHits).tags(tags).tag("result", "hit")
+                .description("缓存命中次数").register(this.registry);
+        FunctionCounter.builder("central.cache.gets", stats, CacheStats::getMisses).tags(tags).tag("result", "miss")
+                .description("缓存未命中次数").register(this.registry);
+        FunctionCounter.builder("central.cache.loads", stats, CacheStats::getLoads).tags(tags).tag("result", "success")
+                .description("加载缓存成功次数").register(this.registry);
+        FunctionCounter.builder("central.cache.loads", stats, CacheStats::getLoadFailures).tags(tags).tag("result", "failure")
+                .description("加载缓存失败次数").register(this.registry);
+        FunctionCounter.builder("central.cache.evictions", stats, CacheStats::getEvictions).tags(tags)
+                .description("主动清除缓存次数").register(this.registry);
+        FunctionCounter.builder("central.cache.cascades", stats, CacheStats::getCascades).tags(tags)
+                .description("级联清除缓存次数").register(this.registry);
+        FunctionCounter.builder("central.cache.rejections", stats, CacheStats::getRejections).tags(tags)
+                .description("拒绝保存缓存次数").register(this.registry);
+
+        var timer = Timer.builder("central.cache.load.duration").tags(tags)
+                .description("加载缓存耗时").publishPercentileHistogram().register(this.registry);
+        stats.setLoadRecorder(nanos -> timer.record(nanos, TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import central.starter.cache.CacheProperties;
+import lombok.Setter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/// 缓存统计
+///
+/// 按缓存方法统计命中、未命中、加载、清除的次数和加载耗时，并可选地统计热点缓存键
+///
+/// @author Alan Yeh
+@Component
+public class CacheStatistics implements InitializingBean {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheProperties properties;
+
+    private final Map<Method, CacheStats> stats = new ConcurrentHashMap<>();
+
+    /// 新建统计数据时的监听器，用于注册监控指标
+    private final List<Consumer<CacheStats>> listeners = new CopyOnWriteArrayList<>();
+
+    /// 热点缓存键
+    private HotKeys hotKeys;
+
+    private boolean enabled = true;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        var statistics = this.properties.getStatistics();
+        this.enabled = statistics.isEnabled();
+        if (this.enabled && statistics.getHotKeys().isEnabled()) {
+            this.hotKeys = new HotKeys(statistics.getHotKeys().getSampleRate(), statistics.getHotKeys().getSize());
+        }
+    }
+
+    /// 获取缓存方法的统计数据
+    ///
+    /// @param method   缓存方法
+    /// @param template 缓存键模板，用于计算缓存名称
+    /// @return 统计数据，未启用统计时返回 null
+    public CacheStats getStats(Method method, String template) {
+        if (!this.enabled) {
+            return null;
+        }
+        var stats = this.stats.get(method);
+        if (stats == null) {
+            var created = new CacheStats(getName(method, template), getSignature(method));
+            stats = this.stats.putIfAbsent(method, created);
+            if (stats == null) {
+                stats = created;
+                this.listeners.forEach(listener -> listener.accept(created));
+            }
+        }
+        return stats;
+    }
+
+    /// 记录缓存键访问，用于统计热点缓存键
+    public void recordAccess(String key) {
+        var hotKeys = this.hotKeys;
+        if (hotKeys != null) {
+            hotKeys.record(key);
+        }
+    }
+
+    /// 获取所有统计数据
+    public Collection<CacheStats> getStats() {
+        return Collections.unmodifiableCollection(this.stats.values());
+    }
+
+    /// 获取热点缓存键
+    ///
+    /// @return 按估算访问次数倒序排列的缓存键，未启用热点统计时返回空列表
+    public List<Map.Entry<String, Long>> getHotKeys() {
+        var hotKeys = this.hotKeys;
+        return hotKeys == null ? List.of() : hotKeys.top();
+    }
+
+    /// 添加统计数据监听器
+    ///
+    /// 新建统计数据时会通知监听器；添加监听器时，已有的统计数据也会立即通知
+    public void addListener(Consumer<CacheStats> listener) {
+        this.listeners.add(listener);
+        new ArrayList<>(this.stats.values()).forEach(listener);
+    }
+
+    /// 计算缓存方法的签名
+    ///
+    /// 包含参数类型，如 `AccountService.findById(String)`，避免重载的方法共用同一份统计数据和监控指标
+    static String getSignature(Method method) {
+        return Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getDeclaringClass().getSimpleName() + "." + method.getName() + "(", ")"));
+    }
+
+    /// 计算缓存名称
+    ///
+    /// 取缓存键模板中第一个占位符之前的部分，并去掉末尾的分隔符。如果模板以占位符开头，则使用方法签名
+    static String getName(Method method, String template) {
+        var index = template == null ? -1 : template.indexOf("${");
+        var prefix = index < 0 ? template : template.substring(0, index);
+        if (prefix != null) {
+            prefix = prefix.strip();
+            while (!prefix.isEmpty() && (prefix.endsWith(":") || prefix.endsWith("."))) {
+                prefix = prefix.substring(0, prefix.length() - 1);
+            }
+        }
+        if (prefix == null || prefix.isEmpty()) {
+            return getSignature(method);
+        }
+        return prefix;
+    }
+}
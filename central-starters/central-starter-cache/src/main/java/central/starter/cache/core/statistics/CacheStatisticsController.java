@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/// 缓存统计接口
+///
+/// 需要开启 `central.cache.statistics.endpoint`。该接口会暴露缓存键，请勿在公网环境开启
+///
+/// @author Alan Yeh
+@RestController
+@RequestMapping("/__cache")
+@ConditionalOnClass(name = "org.springframework.web.bind.annotation.RestController")
+@ConditionalOnProperty(name = "central.cache.statistics.endpoint", havingValue = "true")
+public class CacheStatisticsController {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStatistics statistics;
+
+    /// 各缓存方法的统计数据
+    @GetMapping(value = "/statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Collection<CacheStats> statistics() {
+        return this.statistics.getStats();
+    }
+
+    /// 热点缓存键
+    @GetMapping(value = "/hotkeys", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<Map.Entry<String, Long>> hotKeys() {
+        return this.statistics.getHotKeys();
+    }
+}
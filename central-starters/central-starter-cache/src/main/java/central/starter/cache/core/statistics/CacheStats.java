@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/// 缓存统计数据
+///
+/// 每个缓存方法对应一份统计数据，计数器使用 [LongAdder]，在高并发下累加的开销很低
+///
+/// @author Alan Yeh
+public class CacheStats {
+    /// 缓存名称，取自缓存键模板中第一个占位符之前的部分，如 `account:id:${args[0]}` 的名称为 `account:id`
+    @Getter
+    private final String name;
+
+    /// 缓存方法签名，如 `AccountService.findById(String)`
+    @Getter
+    private final String method;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder cascades = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /// 加载耗时（纳秒）的额外记录器，如 Micrometer 的 Timer
+    @Setter
+    private volatile LongConsumer loadRecorder;
+
+    public CacheStats(String name, String method) {
+        this.name = name;
+        this.method = method;
+    }
+
+    /// 记录命中缓存
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    /// 记录未命中缓存
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    /// 记录执行方法加载缓存
+    ///
+    /// @param nanos   耗时（纳秒）
+    /// @param success 是否成功
+    public void recordLoad(long nanos, boolean success) {
+        if (success) {
+            this.loads.increment();
+        } else {
+            this.loadFailures.increment();
+        }
+        this.loadTime.add(nanos);
+
+        var recorder = this.loadRecorder;
+        if (recorder != null) {
+            recorder.accept(nanos);
+        }
+    }
+
+    /// 记录清除缓存
+    ///
+    /// @param evictions 主动清除的缓存数量
+    /// @param cascades  因依赖而级联清除的缓存数量
+    public void recordEviction(long evictions, long cascades) {
+        this.evictions.add(evictions);
+        this.cascades.add(cascades);
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getLoads() {
+        return this.loads.sum();
+    }
+
+    public long getLoadFailures() {
+        return this.loadFailures.sum();
+    }
+
+    /// 加载总耗时（纳秒）
+    public long getLoadTime() {
+        return this.loadTime.sum();
+    }
+
+    /// 记录缓存未被保存
+    ///
+    /// 如依赖的键被依赖的数量达到上限，缓存存储拒绝保存该缓存
+    public void recordRejection() {
+        this.rejections.increment();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public long getCascades() {
+        return this.cascades.sum();
+    }
+
+    public long getRejections() {
+        return this.rejections.sum();
+    }
+
+    /// 命中率
+    public double getHitRatio() {
+        var hits = this.getHits();
+        var total = hits + this.getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /// 平均加载耗时（毫秒）
+    public double getAverageLoadTime() {
+        var count = this.getLoads() + this.getLoadFailures();
+        return count == 0 ? 0 : this.getLoadTime() / 1_000_000d / count;
+    }
+}
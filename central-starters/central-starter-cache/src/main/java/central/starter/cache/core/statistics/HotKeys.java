@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/// 热点缓存键统计
+///
+/// 按采样率抽样记录缓存键的访问，通过 Count-Min Sketch 估算访问频率，并保留估算频率最高的若干个缓存键。
+/// Sketch 的内存占用固定，与缓存键的数量无关。样本数量达到阈值后，所有计数减半，使统计结果反映近期的访问情况
+///
+/// @author Alan Yeh
+public class HotKeys {
+    /// Sketch 的行数
+    private static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    /// 采样率
+    private final int sampleRate;
+
+    /// 保留的热点缓存键数量
+    private final int size;
+
+    /// 每行的计数器数量减一（计数器数量为 2 的幂）
+    private final int mask;
+
+    private final AtomicLongArray sketch;
+
+    /// 候选的热点缓存键及其估算频率，最多保留 `size * 2` 个
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+
+    /// 自上次衰减以来的样本数量
+    private final LongAdder samples = new LongAdder();
+
+    /// 样本数量达到该值后，所有计数减半
+    private final long resetThreshold;
+
+    public HotKeys(int sampleRate, int size) {
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.size = Math.max(size, 1);
+        var width = Integer.highestOneBit(Math.max(this.size * 256, 1024) - 1) << 1;
+        this.mask = width - 1;
+        this.sketch = new AtomicLongArray(width * DEPTH);
+        this.resetThreshold = width * 10L;
+    }
+
+    /// 记录缓存键访问
+    public void record(String key) {
+        if (this.sampleRate > 1 && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) {
+            return;
+        }
+
+        var hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            estimate = Math.min(estimate, this.sketch.incrementAndGet(this.index(hash, i)));
+        }
+        this.offer(key, estimate);
+
+        this.samples.increment();
+        if (this.samples.sum() >= this.resetThreshold) {
+            this.reset();
+        }
+    }
+
+    /// 获取热点缓存键
+    ///
+    /// @return 按估算访问次数倒序排列的缓存键。访问次数已按采样率折算
+    public List<Map.Entry<String, Long>> top() {
+        var entries = new ArrayList<>(this.candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        var result = new ArrayList<Map.Entry<String, Long>>(Math.min(this.size, entries.size()));
+        for (int i = 0; i < entries.size() && i < this.size; i++) {
+            var entry = entries.get(i);
+            result.add(Map.entry(entry.getKey(), entry.getValue() * this.sampleRate));
+        }
+        return result;
+    }
+
+    private void offer(String key, long estimate) {
+        this.candidates.put(key, estimate);
+        if (this.candidates.size() > this.size * 2) {
+            // 移除估算频率最低的候选键
+            synchronized (this.candidates) {
+                if (this.candidates.size() > this.size * 2) {
+                    var entries = new ArrayList<>(this.candidates.entrySet());
+                    entries.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+                    for (int i = 0; i < entries.size() - this.size; i++) {
+                        this.candidates.remove(entries.get(i).getKey(), entries.get(i).getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /// 所有计数减半
+    private void reset() {
+        synchronized (this.samples) {
+            if (this.samples.sum() < this.resetThreshold) {
+                return;
+            }
+            this.samples.reset();
+            for (int i = 0; i < this.sketch.length(); i++) {
+                this.sketch.set(i, this.sketch.get(i) >>> 1);
+            }
+            this.candidates.replaceAll((key, value) -> value >>> 1);
+        }
+    }
+
+    private int index(int hash, int row) {
+        var h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (this.mask + 1) + ((int) h & this.mask);
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
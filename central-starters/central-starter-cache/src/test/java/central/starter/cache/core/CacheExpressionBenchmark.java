@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import central.starter.template.core.TemplateRender;
+import central.starter.template.core.impl.beetl.BeetlRender;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// 对比每次渲染模板与使用预编译表达式计算缓存键的开销
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CacheExpressionBenchmark {
+
+    private static final String KEY = "account:id:${args[0]}";
+
+    private static final String SIGN_KEY = "account:findBy:${sign(args)}";
+
+    private TemplateRender render;
+
+    private MethodInvocation invocation;
+
+    private CacheExpression key;
+
+    private CacheExpression signKey;
+
+    @Setup
+    public void setup() throws Exception {
+        this.render = new BeetlRender();
+        this.invocation = new Invocation(CacheExpressionBenchmark.class.getMethod("setup"), new Object[]{"6Zq8WkJm1B2cD3eF4gH", 10L, List.of("a", "b")});
+        this.key = CacheExpression.compile(KEY, this.render, true);
+        this.signKey = CacheExpression.compile(SIGN_KEY, this.render, true);
+    }
+
+    /// 原实现：每次调用都构建参数并渲染模板
+    @Benchmark
+    public String render() {
+        return this.render.render(KEY, this.params());
+    }
+
+    @Benchmark
+    public String compiled() {
+        return this.key.evaluate(this.invocation, null, null);
+    }
+
+    @Benchmark
+    public String renderSign() {
+        return this.render.render(SIGN_KEY, this.params());
+    }
+
+    @Benchmark
+    public String compiledSign() {
+        return this.signKey.evaluate(this.invocation, null, null);
+    }
+
+    private HashMap<String, Object> params() {
+        var params = new HashMap<String, Object>();
+        params.put("args", this.invocation.getArguments());
+        params.put("method", this.invocation.getMethod());
+        params.put("target", this.invocation.getThis());
+        return params;
+    }
+
+    private record Invocation(Method method, Object[] arguments) implements MethodInvocation {
+        @Override
+        public Method getMethod() {
+            return this.method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return this.arguments;
+        }
+
+        @Override
+        public Object proceed() {
+            return null;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return this.method;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(CacheExpressionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import central.starter.template.core.impl.beetl.BeetlRender;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/// Cache Expression Test Cases
+///
+/// @author Alan Yeh
+public class TestCacheExpression {
+
+    /// 预编译表达式的计算结果与模板引擎的渲染结果一致
+    @Test
+    public void case1() throws Exception {
+        var render = new BeetlRender();
+        var invocation = new Invocation(TestCacheExpression.class.getMethod("case1"), new Object[]{"id", 10L, Map.of("name", "alan"), null});
+
+        var templates = new String[]{
+                "account:id:${args[0]}",
+                "account:${args[0]}:${args[1]}",
+                "account:name:${args[2].name}",
+                "account:findBy:${sign(args)}",
+                "account:${it}",
+                "account:any"
+        };
+
+        for (var template : templates) {
+            var params = new HashMap<String, Object>();
+            params.put("args", invocation.getArguments());
+            params.put("method", invocation.getMethod());
+            params.put("it", "it");
+
+            var expected = render.render(template, params);
+            var actual = CacheExpression.compile(template, render, true).evaluate(invocation, null, "it");
+            Assertions.assertEquals(expected, actual, template);
+        }
+    }
+
+    private record Invocation(Method method, Object[] arguments) implements MethodInvocation {
+        @Override
+        public Method getMethod() {
+            return this.method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return this.arguments;
+        }
+
+        @Override
+        public Object proceed() {
+            return null;
+        }
+
+        @Override
+        public Object getThis() {
+            return null;
+        }
+
+        @Override
+        public AccessibleObject getStaticPart() {
+            return this.method;
+        }
+    }
+}
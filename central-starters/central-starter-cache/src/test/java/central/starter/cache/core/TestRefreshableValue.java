@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/// RefreshableValue Test Cases
+///
+/// @author Alan Yeh
+public class TestRefreshableValue {
+
+    /// 统计 count 次判断中需要刷新的次数
+    private static int count(RefreshableValue value, double beta, int count) {
+        int refreshes = 0;
+        for (int i = 0; i < count; i++) {
+            if (value.shouldRefresh(beta)) {
+                refreshes++;
+            }
+        }
+        return refreshes;
+    }
+
+    /// 未启用提前刷新时不刷新
+    @Test
+    public void case1() {
+        var expired = new RefreshableValue("value", 1000, System.currentTimeMillis() - 1000);
+        Assertions.assertEquals(0, count(expired, 0, 1000));
+        Assertions.assertEquals(0, count(expired, -1, 1000));
+    }
+
+    /// 已过期时总是刷新
+    @Test
+    public void case2() {
+        var expired = new RefreshableValue("value", 0, System.currentTimeMillis() - 1000);
+        Assertions.assertEquals(1000, count(expired, 1, 1000));
+    }
+
+    /// 越接近过期、生成缓存越耗时，刷新的概率越高
+    @Test
+    public void case3() {
+        var now = System.currentTimeMillis();
+
+        // 距离过期还有 1 小时，生成耗时 1ms，几乎不会刷新
+        Assertions.assertEquals(0, count(new RefreshableValue("value", 1, now + 60 * 60 * 1000L), 1, 10000));
+
+        // 距离过期 10 秒，生成耗时 10 秒，刷新概率约为 e^-1
+        var slow = count(new RefreshableValue("value", 10 * 1000L, now + 10 * 1000L), 1, 10000);
+        Assertions.assertTrue(slow > 3000 && slow < 4500, "refreshes: " + slow);
+
+        // 系数越大，刷新概率越高（约为 e^-0.5）
+        var eager = count(new RefreshableValue("value", 10 * 1000L, now + 10 * 1000L), 2, 10000);
+        Assertions.assertTrue(eager > slow, "refreshes: " + eager);
+    }
+}
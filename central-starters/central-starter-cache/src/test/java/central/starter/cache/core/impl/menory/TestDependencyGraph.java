@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.impl.menory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/// Dependency Graph Test Cases
+///
+/// @author Alan Yeh
+public class TestDependencyGraph {
+
+    /// 级联清除
+    @Test
+    public void case1() {
+        var graph = new DependencyGraph(0);
+        graph.link("account:1", new Object(), "department:1");
+        graph.link("account:list", new Object(), "account:1", "account:any");
+        graph.link("account:2", new Object(), "department:2");
+
+        Assertions.assertEquals(Set.of("department:1", "account:1", "account:list"), graph.cascade("department:1"));
+        // 反向关系已被取出
+        Assertions.assertEquals(Set.of("department:1"), graph.cascade("department:1"));
+    }
+
+    /// 过期后移除反向关系
+    @Test
+    public void case2() {
+        var graph = new DependencyGraph(0);
+        var owner = new Object();
+        graph.link("account:1", owner, "department:1", "account:any");
+        Assertions.assertEquals(2, graph.size());
+
+        // 被覆盖的缓存过期时，不影响新缓存的依赖关系
+        var replaced = new Object();
+        graph.link("account:1", replaced, "department:2");
+        graph.unlink("account:1", owner);
+        Assertions.assertEquals(1, graph.size());
+        Assertions.assertTrue(graph.isLinked("account:1", replaced));
+
+        graph.unlink("account:1", replaced);
+        Assertions.assertEquals(0, graph.size());
+    }
+
+    /// 依赖数量上限
+    @Test
+    public void case3() {
+        var graph = new DependencyGraph(2);
+        Assertions.assertTrue(graph.link("a", new Object(), "x"));
+        Assertions.assertTrue(graph.link("b", new Object(), "x"));
+        Assertions.assertFalse(graph.link("c", new Object(), "y", "x"));
+
+        // 登记失败时回滚已登记的依赖关系
+        Assertions.assertEquals(Set.of("y"), graph.cascade("y"));
+        Assertions.assertEquals(Set.of("x", "a", "b"), graph.cascade("x"));
+    }
+
+    /// 长依赖链不会导致栈溢出
+    @Test
+    public void case4() {
+        var graph = new DependencyGraph(0);
+        var length = 100_000;
+        for (int i = 1; i < length; i++) {
+            graph.link("key:" + i, new Object(), "key:" + (i - 1));
+        }
+        Assertions.assertEquals(length, graph.cascade("key:0").size());
+    }
+
+    /// 达到依赖数量上限时，每个键只通知一次，直到该键被清除
+    @Test
+    public void case5() {
+        var saturated = new ArrayList<String>();
+        var graph = new DependencyGraph(1, saturated::add);
+        Assertions.assertTrue(graph.link("a", new Object(), "x"));
+        Assertions.assertFalse(graph.link("b", new Object(), "x"));
+        Assertions.assertFalse(graph.link("c", new Object(), "x"));
+        Assertions.assertEquals(List.of("x"), saturated);
+
+        graph.cascade("x");
+        Assertions.assertTrue(graph.link("b", new Object(), "x"));
+        Assertions.assertFalse(graph.link("c", new Object(), "x"));
+        Assertions.assertEquals(List.of("x", "x"), saturated);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import central.starter.cache.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/// Cache Statistics Test Cases
+///
+/// @author Alan Yeh
+public class TestCacheStatistics {
+
+    /// 重载的方法分别统计
+    @Test
+    public void case1() throws Exception {
+        var statistics = new CacheStatistics();
+        statistics.setProperties(new CacheProperties());
+        statistics.afterPropertiesSet();
+
+        var byId = Service.class.getMethod("find", String.class);
+        var byIds = Service.class.getMethod("find", List.class);
+
+        var first = statistics.getStats(byId, "service:${args[0]}");
+        var second = statistics.getStats(byIds, "service:${args[0]}");
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first, statistics.getStats(byId, "service:${args[0]}"));
+        Assertions.assertEquals("service", first.getName());
+        Assertions.assertEquals("Service.find(String)", first.getMethod());
+        Assertions.assertEquals("Service.find(List)", second.getMethod());
+
+        // 模板以占位符开头时，使用方法签名作为缓存名称
+        Assertions.assertEquals("Service.find(String,String)", CacheStatistics.getName(Service.class.getMethod("find", String.class, String.class), "${args[0]}"));
+    }
+
+    /// 重载的方法分别注册监控指标
+    @Test
+    public void case2() throws Exception {
+        var statistics = new CacheStatistics();
+        statistics.setProperties(new CacheProperties());
+        statistics.afterPropertiesSet();
+
+        var registry = new SimpleMeterRegistry();
+        var meters = new CacheMeters();
+        meters.setStatistics(statistics);
+        meters.setRegistry(registry);
+        meters.afterPropertiesSet();
+
+        statistics.getStats(Service.class.getMethod("find", String.class), "service:${args[0]}").recordHit();
+        statistics.getStats(Service.class.getMethod("find", List.class), "service:${args[0]}");
+
+        var counters = registry.find("central.cache.gets").tag("result", "hit").functionCounters();
+        Assertions.assertEquals(2, counters.size());
+        Assertions.assertEquals(1.0, registry.get("central.cache.gets").tag("method", "Service.find(String)").tag("result", "hit").functionCounter().count());
+        Assertions.assertEquals(0.0, registry.get("central.cache.gets").tag("method", "Service.find(List)").tag("result", "hit").functionCounter().count());
+    }
+
+    public interface Service {
+        String find(String id);
+
+        List<String> find(List<String> ids);
+
+        String find(String type, String id);
+    }
+}
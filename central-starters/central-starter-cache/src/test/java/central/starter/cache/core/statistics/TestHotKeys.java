@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.cache.core.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/// Hot Keys Test Cases
+///
+/// @author Alan Yeh
+public class TestHotKeys {
+
+    /// 热点缓存键按访问次数排序
+    @Test
+    public void case1() {
+        var hotKeys = new HotKeys(1, 3);
+        for (int i = 0; i < 1000; i++) {
+            hotKeys.record("account:hot");
+            if (i % 2 == 0) {
+                hotKeys.record("account:warm");
+            }
+            hotKeys.record("account:" + i);
+        }
+
+        var top = hotKeys.top();
+        Assertions.assertEquals(3, top.size());
+        Assertions.assertEquals("account:hot", top.get(0).getKey());
+        Assertions.assertEquals("account:warm", top.get(1).getKey());
+        Assertions.assertTrue(top.get(0).getValue() >= 1000);
+    }
+
+    /// 采样统计时，访问次数按采样率折算
+    @Test
+    public void case2() {
+        var hotKeys = new HotKeys(4, 1);
+        for (int i = 0; i < 10000; i++) {
+            hotKeys.record("account:hot");
+        }
+
+        var top = hotKeys.top();
+        Assertions.assertEquals(1, top.size());
+        Assertions.assertEquals("account:hot", top.get(0).getKey());
+        Assertions.assertTrue(top.get(0).getValue() > 5000 && top.get(0).getValue() < 15000);
+    }
+
+    /// 缓存名称
+    @Test
+    public void case3() throws Exception {
+        var method = Object.class.getMethod("toString");
+        Assertions.assertEquals("account:id", CacheStatistics.getName(method, "account:id:${args[0]}"));
+        Assertions.assertEquals("Object.toString", CacheStatistics.getName(method, "${args[0]}"));
+        Assertions.assertEquals("account:list", CacheStatistics.getName(method, "account:list"));
+    }
+}
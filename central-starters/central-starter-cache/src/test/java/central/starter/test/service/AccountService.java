@@ -60,6 +60,28 @@ public class AccountService {
         return account;
     }
 
+    /// 有效期为 300 毫秒
+    @Cacheable(key = "account:username:${args[0]}", expires = 300L)
+    public Account findByUsername(String username) {
+        var account = new Account();
+        account.setId(Guidx.nextID());
+        account.setName("帐号 " + index.getAndIncrement());
+        account.setDepartmentId(username.toLowerCase());
+        account.updateCreator("syssa");
+        return account;
+    }
+
+    /// 有效期为 600 毫秒
+    @Cacheable(key = "account:code:${args[0]}", expires = 600L)
+    public Account findByCode(String code) {
+        var account = new Account();
+        account.setId(Guidx.nextID());
+        account.setName("帐号 " + index.getAndIncrement());
+        account.setDepartmentId(code.toLowerCase());
+        account.updateCreator("syssa");
+        return account;
+    }
+
     @Cacheable(key = "account:findBy:${sign(args)}", dependencies = "account:id:any")
     public List<Account> findBy(Long first, Long offset, Conditions<Account> conditions, Orders<Account> orders) {
         return IntStream.range(index.incrementAndGet(), index.get() + 10).mapToObj(it -> {
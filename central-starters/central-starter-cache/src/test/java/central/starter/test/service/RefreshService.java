@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.test.service;
+
+import central.starter.cache.core.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Early Refresh Test Service
+///
+/// @author Alan Yeh
+@Service
+public class RefreshService {
+
+    /// 方法执行次数
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /// 下一次执行方法时需要等待的信号
+    private volatile CountDownLatch gate;
+
+    /// 每次读取缓存都会触发提前刷新
+    @Cacheable(key = "refresh:${args[0]}", expires = 60 * 1000L, earlyRefresh = 1e12)
+    public String get(String key) throws InterruptedException {
+        var version = this.calls.incrementAndGet();
+        var latch = this.gate;
+        if (latch != null) {
+            this.gate = null;
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        return key + ":" + version;
+    }
+
+    public int getCalls() {
+        return this.calls.get();
+    }
+
+    /// 阻塞下一次方法执行，直到返回的信号被释放
+    public CountDownLatch block() {
+        var latch = new CountDownLatch(1);
+        this.gate = latch;
+        return latch;
+    }
+}
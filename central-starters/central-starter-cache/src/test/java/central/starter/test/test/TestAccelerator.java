@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.test.test;
+
+import central.starter.cache.core.impl.accelerator.RequestAccelerator;
+import central.starter.cache.core.impl.accelerator.RequestAcceleratorFilter;
+import central.starter.cache.core.impl.accelerator.TimedAccelerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Cache Accelerator Test Cases
+///
+/// @author Alan Yeh
+public class TestAccelerator {
+
+    /// 请求级加速
+    @Test
+    public void case1() throws Exception {
+        var accelerator = new RequestAccelerator(2);
+
+        // 作用域之外不保存缓存
+        accelerator.put("a", "1", Duration.ofMinutes(1));
+        assertNull(accelerator.get("a"));
+
+        try (var ignored = accelerator.open()) {
+            accelerator.put("a", "1", Duration.ofMinutes(1));
+            try (var nested = accelerator.open()) {
+                assertEquals("1", accelerator.get("a"));
+            }
+            // 嵌套作用域关闭后，缓存仍然有效
+            assertEquals("1", accelerator.get("a"));
+
+            // 超过容量后不再保存
+            accelerator.put("b", "2", Duration.ofMinutes(1));
+            accelerator.put("c", "3", Duration.ofMinutes(1));
+            assertFalse(accelerator.exists("c"));
+
+            // 其它线程清除缓存时，同步清除当前作用域中的缓存
+            var thread = new Thread(() -> accelerator.evict("a"));
+            thread.start();
+            thread.join();
+            assertNull(accelerator.get("a"));
+        }
+
+        try (var ignored = accelerator.open()) {
+            assertNull(accelerator.get("b"));
+        }
+    }
+
+    /// 时间级加速
+    @Test
+    public void case2() throws Exception {
+        try (var accelerator = new TimedAccelerator(100, Duration.ofMinutes(1))) {
+            accelerator.put("a", "1", Duration.ofMinutes(5));
+            accelerator.put("b", "2", Duration.ofMillis(200));
+            assertEquals("1", accelerator.get("a"));
+            assertEquals("2", accelerator.get("b"));
+
+            // 不超过缓存本身的有效期
+            Thread.sleep(500);
+            assertNull(accelerator.get("b"));
+
+            accelerator.evict("a");
+            assertFalse(accelerator.exists("a"));
+        }
+    }
+
+    /// 请求级加速在整个 Web 请求期间有效，同一请求内先后调用的缓存方法共享缓存
+    @Test
+    public void case3() throws Exception {
+        var accelerator = new RequestAccelerator(10);
+        var filter = new RequestAcceleratorFilter(accelerator);
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            // 第一个缓存方法
+            try (var ignored = accelerator.open()) {
+                accelerator.put("a", "1", Duration.ofMinutes(1));
+            }
+            // 第二个缓存方法可以读取第一个缓存方法保存的缓存
+            try (var ignored = accelerator.open()) {
+                assertEquals("1", accelerator.get("a"));
+            }
+        });
+
+        // 请求结束后清除
+        try (var ignored = accelerator.open()) {
+            assertNull(accelerator.get("a"));
+        }
+    }
+}
@@ -37,10 +37,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /// Caching Test Cases
 ///
@@ -290,4 +294,44 @@ public class TestCaching {
         }
 
     }
+
+    /// 并发加载同一缓存时，只执行一次方法
+    @Test
+    public void case5() throws Exception {
+        var id = Guidx.nextID();
+        var threads = 16;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Account>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return accounts.findById(id);
+                }));
+            }
+            start.countDown();
+
+            var names = new HashSet<String>();
+            for (var future : futures) {
+                names.add(future.get().getName());
+            }
+            assertEquals(1, names.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /// 缓存有效期以毫秒为单位
+    @Test
+    public void case6() throws Exception {
+        var username = Guidx.nextID();
+        var first = accounts.findByUsername(username);
+        assertEquals(first.getName(), accounts.findByUsername(username).getName());
+        assertTrue(storage.exists("account:username:" + username));
+
+        Thread.sleep(600);
+        assertFalse(storage.exists("account:username:" + username));
+        assertNotEquals(first.getName(), accounts.findByUsername(username).getName());
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.test.test;
+
+import central.starter.cache.core.CacheAccelerator;
+import central.starter.cache.core.CacheStorage;
+import central.starter.cache.core.statistics.CacheStatistics;
+import central.starter.test.TestApplication;
+import central.starter.test.service.AccountService;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Maximum Dependents Test Cases
+///
+/// @author Alan Yeh
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = TestApplication.class, properties = {
+        "central.cache.memory.maximum-dependents=1",
+        "central.cache.accelerator.mode=time"
+})
+public class TestDependentsLimit {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStorage storage;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheAccelerator accelerator;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStatistics statistics;
+
+    @Setter(onMethod_ = @Autowired)
+    private AccountService accounts;
+
+    /// 依赖的键被依赖的数量达到上限时，缓存存储与加速器都不保存缓存
+    @Test
+    public void case1() throws Exception {
+        // 两个帐户依赖同一个部门 department:id:dept
+        var first = accounts.findById("DEPT");
+        assertTrue(storage.exists("account:id:DEPT"));
+        assertTrue(accelerator.exists("account:id:DEPT"));
+
+        var second = accounts.findById("Dept");
+        assertFalse(storage.exists("account:id:Dept"));
+        assertFalse(accelerator.exists("account:id:Dept"));
+        assertEquals(first.getDepartment().getId(), second.getDepartment().getId());
+
+        // 未被缓存，每次都重新执行方法
+        assertNotEquals(second.getName(), accounts.findById("Dept").getName());
+
+        var stats = statistics.getStats().stream().filter(it -> it.getMethod().startsWith("AccountService.findById")).findFirst().orElseThrow();
+        assertTrue(stats.getRejections() >= 2);
+
+        // 存储直接返回是否保存成功
+        assertFalse(storage.put("account:id:other", "value", Duration.ofMinutes(1), "department:id:dept"));
+        assertTrue(storage.put("account:id:other", "value", Duration.ofMinutes(1), "department:id:other"));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.test.test;
+
+import central.starter.test.TestApplication;
+import central.starter.test.service.RefreshService;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Early Refresh Test Cases
+///
+/// @author Alan Yeh
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = TestApplication.class, properties = {
+        "central.cache.refresh.threads=1",
+        "central.cache.refresh.capacity=1",
+        "central.cache.loading.timeout=200ms"
+})
+public class TestEarlyRefresh {
+
+    @Setter(onMethod_ = @Autowired)
+    private RefreshService service;
+
+    /// 等待之前触发的后台刷新执行完毕
+    private void awaitIdle() throws InterruptedException {
+        var calls = service.getCalls();
+        for (int i = 0; i < 100; i++) {
+            Thread.sleep(100);
+            if (calls == service.getCalls()) {
+                return;
+            }
+            calls = service.getCalls();
+        }
+    }
+
+    /// 等待方法执行次数达到指定值
+    private void awaitCalls(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && service.getCalls() < expected; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, service.getCalls());
+    }
+
+    /// 缓存临近过期时在后台刷新，刷新期间返回旧的缓存
+    @Test
+    public void case1() throws Exception {
+        awaitIdle();
+        var stale = service.get("case1");
+
+        var gate = service.block();
+        var calls = service.getCalls();
+
+        // 触发后台刷新，刷新被阻塞时仍立即返回旧的缓存
+        assertEquals(stale, service.get("case1"));
+        awaitCalls(calls + 1);
+
+        // 正在刷新时不重复刷新
+        assertEquals(stale, service.get("case1"));
+        Thread.sleep(100);
+        assertEquals(calls + 1, service.getCalls());
+
+        // 刷新完成后返回新的缓存
+        gate.countDown();
+        String refreshed = stale;
+        for (int i = 0; i < 100 && refreshed.equals(stale); i++) {
+            Thread.sleep(50);
+            refreshed = service.get("case1");
+        }
+        assertNotEquals(stale, refreshed);
+    }
+
+    /// 刷新任务过多时放弃刷新，仍返回旧的缓存，并且之后可以再次刷新
+    @Test
+    public void case2() throws Exception {
+        awaitIdle();
+        var running = service.get("case2:running");
+        var queued = service.get("case2:queued");
+        var rejected = service.get("case2:rejected");
+
+        // 唯一的刷新线程被阻塞，队列中有一个等待刷新的任务
+        var gate = service.block();
+        var calls = service.getCalls();
+        assertEquals(running, service.get("case2:running"));
+        awaitCalls(calls + 1);
+        assertEquals(queued, service.get("case2:queued"));
+
+        // 线程池拒绝刷新任务时，不抛出异常，返回旧的缓存
+        assertEquals(rejected, service.get("case2:rejected"));
+        Thread.sleep(100);
+        assertEquals(calls + 1, service.getCalls());
+
+        // 被放弃的刷新不会阻止后续刷新
+        gate.countDown();
+        var refreshed = rejected;
+        for (int i = 0; i < 100 && refreshed.equals(rejected); i++) {
+            Thread.sleep(50);
+            refreshed = service.get("case2:rejected");
+        }
+        assertNotEquals(rejected, refreshed);
+    }
+
+    /// 等待其它线程加载超时后，自行加载
+    @Test
+    public void case3() throws Exception {
+        awaitIdle();
+        var gate = service.block();
+        var calls = service.getCalls();
+
+        var pool = Executors.newSingleThreadExecutor();
+        try {
+            var slow = pool.submit(() -> service.get("case3"));
+            awaitCalls(calls + 1);
+
+            // 缓存正在被其它线程加载，等待 200ms 后自行加载
+            var start = System.nanoTime();
+            var value = service.get("case3");
+            var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsed >= 150 && elapsed < 3000, "elapsed: " + elapsed);
+            assertEquals("case3:" + (calls + 2), value);
+
+            gate.countDown();
+            assertEquals("case3:" + (calls + 1), slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
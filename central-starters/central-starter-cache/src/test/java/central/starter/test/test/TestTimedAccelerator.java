@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.starter.test.test;
+
+import central.starter.cache.core.CacheAccelerator;
+import central.starter.cache.core.CacheStorage;
+import central.starter.test.TestApplication;
+import central.starter.test.service.AccountService;
+import central.util.Guidx;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// Timed Accelerator Test Cases
+///
+/// @author Alan Yeh
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = TestApplication.class, properties = {
+        "central.cache.accelerator.mode=time",
+        "central.cache.accelerator.timeout=1m"
+})
+public class TestTimedAccelerator {
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheStorage storage;
+
+    @Setter(onMethod_ = @Autowired)
+    private CacheAccelerator accelerator;
+
+    @Setter(onMethod_ = @Autowired)
+    private AccountService accounts;
+
+    /// 从缓存存储中读取的缓存保存到加速器时，使用缓存的剩余有效期
+    @Test
+    public void case1() throws Exception {
+        var code = Guidx.nextID();
+        var key = "account:code:" + code;
+        var first = accounts.findByCode(code);
+
+        // 加速器中没有缓存时，从缓存存储中读取，并以剩余有效期（约 300 毫秒）保存到加速器
+        Thread.sleep(300);
+        accelerator.evict(key);
+        assertEquals(first.getName(), accounts.findByCode(code).getName());
+        assertTrue(accelerator.exists(key));
+
+        // 缓存存储中的缓存过期后，加速器中的缓存也已经过期
+        Thread.sleep(450);
+        assertFalse(storage.exists(key));
+        assertFalse(accelerator.exists(key));
+        assertNotEquals(first.getName(), accounts.findByCode(code).getName());
+    }
+}
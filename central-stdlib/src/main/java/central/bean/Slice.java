@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.bean;
+
+import central.lang.PublicApi;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/// 游标分页
+///
+/// 与 [Page] 不同，游标分页通过上一页最后一条数据定位下一页，查询任意一页的开销都与第一页相同
+///
+/// @author Alan Yeh
+@Data
+@PublicApi
+@NoArgsConstructor
+@AllArgsConstructor
+public class Slice<T extends Serializable> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -3187093462196426735L;
+
+    /// 数据
+    private List<T> data = null;
+
+    /// 下一页的游标，没有下一页时为空
+    private String next = null;
+
+    /// 数据总数，未统计总数时为空
+    private Long itemCount = null;
+
+    /// 是否还有下一页
+    public boolean hasNext() {
+        return this.next != null;
+    }
+
+    public static <T extends Serializable> Slice<T> of(List<T> data, String next, Long itemCount) {
+        return new Slice<>(data, next, itemCount);
+    }
+
+    /// 创建空分页
+    ///
+    /// @param itemCount 数据总数
+    public static <T extends Serializable> Slice<T> ofEmpty(Long itemCount) {
+        return new Slice<>(List.of(), null, itemCount);
+    }
+}
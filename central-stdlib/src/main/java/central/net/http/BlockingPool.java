@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// 阻塞式执行器的异步执行线程池
+///
+/// 不支持非阻塞 IO 的执行器在此线程池中等待网络响应，避免占满 [java.util.concurrent.ForkJoinPool#commonPool()]，
+/// 影响并行流等其它使用公共线程池的任务。线程数与队列长度都有上限，线程空闲 60 秒后回收
+///
+/// @author Alan Yeh
+final class BlockingPool {
+    /// 最大线程数
+    private static final int MAXIMUM_THREADS = 10 * Runtime.getRuntime().availableProcessors();
+
+    /// 最大排队任务数
+    private static final int MAXIMUM_QUEUED = 100000;
+
+    private static final Executor INSTANCE;
+
+    static {
+        var counter = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(MAXIMUM_THREADS, MAXIMUM_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAXIMUM_QUEUED), runnable -> {
+            var thread = new Thread(runnable, "central-http-blocking-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        INSTANCE = executor;
+    }
+
+    private BlockingPool() {
+    }
+
+    public static Executor get() {
+        return INSTANCE;
+    }
+}
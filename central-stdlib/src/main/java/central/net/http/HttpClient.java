@@ -28,10 +28,14 @@ import central.io.Filex;
 import central.lang.Assertx;
 import central.lang.Stringx;
 import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.ReactiveHttpProcessor;
 import central.pattern.chain.ProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessChain;
 import central.util.Guidx;
 import central.util.Listx;
 import lombok.Getter;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.File;
 import java.io.IOException;
@@ -39,9 +43,12 @@ import java.net.URI;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /// HttpClient
 ///
@@ -108,25 +115,102 @@ public class HttpClient {
         this.tmp = tmp;
     }
 
-    @Getter
     private final List<HttpProcessor> processors = new ArrayList<>();
 
+    /// 请求处理器
+    public List<HttpProcessor> getProcessors() {
+        return Collections.unmodifiableList(this.processors);
+    }
+
     /// 添加请求处理器
     ///
     /// @param processor 请求处理器
-    public void addProcessor(HttpProcessor processor) {
+    public synchronized void addProcessor(HttpProcessor processor) {
         this.processors.add(processor);
+        this.pipeline = null;
+        this.chain = null;
+        this.reactiveChain = null;
     }
 
     /// 添加请求处理器
     ///
     /// @param processors 请求处理器
-    public void addProcessors(List<HttpProcessor> processors) {
+    public synchronized void addProcessors(List<HttpProcessor> processors) {
         if (Listx.isNotEmpty(processors)) {
             this.processors.addAll(processors);
+            this.pipeline = null;
+            this.chain = null;
+            this.reactiveChain = null;
         }
     }
 
+    /// 处理器列表，最后一个处理器使用 executor 发送请求
+    private volatile List<HttpProcessor> pipeline;
+
+    /// 处理链
+    ///
+    /// 处理链是不可变的，因此只在处理器发生变化后重新构建，而不是每次请求都构建
+    private volatile ProcessChain<HttpRequest, HttpResponse> chain;
+
+    /// 响应式处理链
+    ///
+    /// 在第一次以响应式的方式执行请求时才构建，避免在未使用 Reactor 时加载相关类
+    private volatile ReactiveProcessChain<HttpRequest, HttpResponse> reactiveChain;
+
+    private List<HttpProcessor> getPipeline() {
+        var pipeline = this.pipeline;
+        if (pipeline == null) {
+            synchronized (this) {
+                pipeline = this.pipeline;
+                if (pipeline == null) {
+                    List<HttpProcessor> processors = new ArrayList<>(this.processors);
+                    // 最后一个处理链使用 executor 发送请求
+                    processors.add(this.executeProcessor);
+
+                    this.pipeline = pipeline = List.copyOf(processors);
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    private ProcessChain<HttpRequest, HttpResponse> getChain() {
+        var chain = this.chain;
+        if (chain == null) {
+            synchronized (this) {
+                chain = this.chain;
+                if (chain == null) {
+                    this.chain = chain = new ProcessChain<>(this.getPipeline());
+                }
+            }
+        }
+        return chain;
+    }
+
+    private ReactiveProcessChain<HttpRequest, HttpResponse> getReactiveChain() {
+        var chain = this.reactiveChain;
+        if (chain == null) {
+            synchronized (this) {
+                chain = this.reactiveChain;
+                if (chain == null) {
+                    List<ReactiveHttpProcessor> processors = new ArrayList<>(this.processors.size() + 1);
+                    for (var processor : this.processors) {
+                        if (processor instanceof ReactiveHttpProcessor reactive) {
+                            processors.add(reactive);
+                        } else {
+                            processors.add(new BlockingProcessor(processor));
+                        }
+                    }
+                    // 最后一个处理链使用 executor 发送请求
+                    processors.add((target, next) -> Mono.fromFuture(() -> getExecutor(target).executeAsync(target)));
+
+                    this.reactiveChain = chain = new ReactiveProcessChain<>(List.copyOf(processors));
+                }
+            }
+        }
+        return chain;
+    }
+
     /// 执行请求
     ///
     /// @param request 执行请求
@@ -134,15 +218,53 @@ public class HttpClient {
     public HttpResponse execute(HttpRequest request) throws Exception {
         request.getUrl().setBaseUrl(this.getBaseUrl());
 
-        List<HttpProcessor> processors = new ArrayList<>(this.processors);
-        // 最后一个处理链使用 executor 发送请求
-        processors.add(this.executeProcessor);
+        // 处理请求
+        return this.getChain().process(request);
+    }
+
+    /// 异步执行请求
+    ///
+    /// 只依赖 [CompletableFuture]，不需要 Reactor。没有需要执行的请求处理器时，直接使用执行器的
+    /// [HttpExecutor#executeAsync(HttpRequest)] 发送请求；否则从第一个需要执行的处理器开始，
+    /// 在阻塞式执行器的专用线程池中以阻塞的方式执行剩余的处理链。
+    /// 需要以非阻塞的方式执行 [ReactiveHttpProcessor] 时，请使用 [#exchange(HttpRequest)]
+    ///
+    /// @param request 执行请求
+    /// @return 响应
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        request.getUrl().setBaseUrl(this.getBaseUrl());
+
+        var pipeline = this.getPipeline();
+        try {
+            // 最后一个处理器是发送请求的处理器，不需要判断
+            for (int i = 0; i < pipeline.size() - 1; i++) {
+                var processor = pipeline.get(i);
+                if (processor.predicate(request)) {
+                    var next = new ProcessChain<>(new ProcessChain<>(pipeline), i + 1);
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return processor.process(request, next);
+                        } catch (Exception ex) {
+                            throw new CompletionException(ex);
+                        }
+                    }, BlockingPool.get());
+                }
+            }
+            return this.getExecutor(request).executeAsync(request);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 
-        // 构建处理链
-        var chain = new ProcessChain<>(processors);
+    /// 以响应式的方式执行请求
+    ///
+    /// @param request 执行请求
+    /// @return 响应
+    public Mono<HttpResponse> exchange(HttpRequest request) {
+        request.getUrl().setBaseUrl(this.getBaseUrl());
 
         // 处理请求
-        return chain.process(request);
+        return this.getReactiveChain().process(request);
     }
 
     protected HttpExecutor getExecutor(HttpRequest request) {
@@ -152,4 +274,26 @@ public class HttpClient {
     }
 
     private final HttpProcessor executeProcessor = (target, chain) -> getExecutor(target).execute(target);
+
+    /// 将阻塞的请求处理器适配成响应式处理器
+    ///
+    /// 处理器会在 [Schedulers#boundedElastic()] 中执行，并阻塞等待后续处理链的结果
+    private record BlockingProcessor(HttpProcessor processor) implements ReactiveHttpProcessor {
+        @Override
+        public boolean predicate(HttpRequest target) {
+            return this.processor.predicate(target);
+        }
+
+        @Override
+        public Mono<HttpResponse> process(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain) {
+            var next = new ProcessChain<HttpRequest, HttpResponse>(List.of()) {
+                @Override
+                public HttpResponse process(HttpRequest request) {
+                    return chain.process(request).block();
+                }
+            };
+            return Mono.fromCallable(() -> this.processor.process(target, next))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+    }
 }
@@ -24,6 +24,11 @@
 
 package central.net.http;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 /// 请求执行器
 ///
 /// @author Alan Yeh
@@ -35,4 +40,34 @@ public interface HttpExecutor {
     ///
     /// @param request 请求
     HttpResponse execute(HttpRequest request) throws Exception;
-}
\ No newline at end of file
+
+    /// 异步执行 Http 请求
+    ///
+    /// 默认实现在专用的有界线程池中调用 [#execute]，等待网络响应时仍然会占用线程。
+    /// 支持非阻塞 IO 的执行器应重写此方法
+    ///
+    /// @param request 请求
+    default CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        return this.executeAsync(request, BlockingPool.get());
+    }
+
+    /// 在指定的线程池中异步执行 Http 请求
+    ///
+    /// 调用方可以通过此方法将阻塞式执行器的请求放到自己管理的线程池中执行
+    ///
+    /// @param request  请求
+    /// @param executor 执行请求的线程池
+    default CompletableFuture<HttpResponse> executeAsync(HttpRequest request, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.execute(request);
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+}
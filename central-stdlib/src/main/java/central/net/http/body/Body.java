@@ -54,6 +54,13 @@ public interface Body extends AutoCloseable {
     /// 描述
     String description();
 
+    /// 是否可以重复读取
+    ///
+    /// 可以重复读取的 Body 每次调用 [#getInputStream()] 都会返回新的数据流，重试请求时不需要预先缓存
+    default boolean isRepeatable() {
+        return false;
+    }
+
     /// 关闭 Body
     @Override
     default void close() throws Exception {
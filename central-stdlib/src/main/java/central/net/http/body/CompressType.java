@@ -28,8 +28,19 @@ import central.bean.OptionalEnum;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.*;
+
 /// 压缩类型
 ///
+/// 压缩与解压都是基于拉取的流式处理，每个数据流只占用固定大小的缓冲区，不会将整个数据体读入内存
+///
 /// @author Alan Yeh
 @Getter
 @AllArgsConstructor
@@ -45,4 +56,103 @@ public enum CompressType implements OptionalEnum<String> {
     public static CompressType resolve(String value) {
         return OptionalEnum.resolve(CompressType.class, value);
     }
+
+    /// 缓冲区大小
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /// GZIP 文件头（无文件名、无时间戳）
+    private static final byte[] GZIP_HEADER = {(byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    /// 压缩数据流
+    ///
+    /// 读取返回的数据流时，才会从原始数据流中读取数据并压缩
+    ///
+    /// @param source 原始数据流
+    /// @return 压缩后的数据流
+    public InputStream compress(InputStream source) {
+        return switch (this) {
+            case GZIP -> {
+                // GZIP = 文件头 + 原始 DEFLATE 数据 + CRC32 与原始长度
+                var crc = new CRC32();
+                var deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                var body = new DeflaterInputStream(new CheckedInputStream(source, crc), deflater, BUFFER_SIZE);
+                Supplier<InputStream> trailer = () -> new ByteArrayInputStream(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt((int) crc.getValue())
+                        .putInt((int) deflater.getBytesRead())
+                        .array());
+
+                yield new CompressStream(List.of(() -> new ByteArrayInputStream(GZIP_HEADER), () -> body, trailer), deflater::end);
+            }
+            case DEFLATE -> {
+                var deflater = new Deflater();
+                var body = new DeflaterInputStream(source, deflater, BUFFER_SIZE);
+                yield new CompressStream(List.of(() -> body), deflater::end);
+            }
+        };
+    }
+
+    /// 解压数据流
+    ///
+    /// @param source 压缩后的数据流
+    /// @return 解压后的数据流
+    public InputStream decompress(InputStream source) throws IOException {
+        return switch (this) {
+            case GZIP -> new GZIPInputStream(source, BUFFER_SIZE);
+            case DEFLATE -> {
+                // 部分服务端会发送不带 zlib 头的原始 DEFLATE 数据，因此需要根据前两个字节判断
+                var input = new PushbackInputStream(source, 2);
+                var header = input.readNBytes(2);
+                input.unread(header);
+                if (header.length < 2) {
+                    yield input;
+                }
+
+                boolean zlib = (header[0] & 0x0f) == Deflater.DEFLATED && (((header[0] & 0xff) << 8) | (header[1] & 0xff)) % 31 == 0;
+                var inflater = new Inflater(!zlib);
+                yield new InflaterInputStream(input, inflater, BUFFER_SIZE) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            inflater.end();
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    /// 压缩数据流
+    ///
+    /// 按顺序拼接多段数据流，后一段数据流在前一段读取完毕后才会创建；关闭时释放压缩器
+    private static class CompressStream extends SequenceInputStream {
+        private final Runnable release;
+
+        private CompressStream(List<Supplier<InputStream>> streams, Runnable release) {
+            super(new Enumeration<>() {
+                private final Iterator<Supplier<InputStream>> iterator = streams.iterator();
+
+                @Override
+                public boolean hasMoreElements() {
+                    return this.iterator.hasNext();
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    return this.iterator.next().get();
+                }
+            });
+            this.release = release;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.release.run();
+            }
+        }
+    }
 }
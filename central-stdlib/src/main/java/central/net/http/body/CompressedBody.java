@@ -24,20 +24,17 @@
 
 package central.net.http.body;
 
-import central.io.IOStreamx;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPOutputStream;
 
 /// 压缩请求体
 ///
+/// 读取数据流时才会边读边压缩，内存占用与请求体大小无关
+///
 /// @author Alan Yeh
 @RequiredArgsConstructor
 public class CompressedBody implements Body {
@@ -53,7 +50,7 @@ public class CompressedBody implements Body {
         headers.remove(HttpHeaders.CONTENT_LENGTH);
         headers.remove(HttpHeaders.CONTENT_ENCODING);
 
-        headers.set(HttpHeaders.CONTENT_ENCODING, this.type.getName());
+        headers.set(HttpHeaders.CONTENT_ENCODING, this.type.getValue());
         return headers;
     }
 
@@ -70,27 +67,13 @@ public class CompressedBody implements Body {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-
-        switch (this.type) {
-            case GZIP -> {
-                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
-                    gzip.write(IOStreamx.readBytes(this.delegate.getInputStream()));
-                    gzip.flush();
-                }
-            }
-            case DEFLATE -> {
-                try (DeflaterOutputStream deflate = new DeflaterOutputStream(out)) {
-                    deflate.write(IOStreamx.readBytes(this.delegate.getInputStream()));
-                    deflate.flush();
-                }
-            }
-            default -> {
-                throw new RuntimeException("不支持的压缩类型: " + this.type.getName() + "(" + this.type.getValue() + ")");
-            }
-        }
+        // 边读边压缩，不缓存整个请求体
+        return this.type.compress(this.delegate.getInputStream());
+    }
 
-        return new ByteArrayInputStream(out.toByteArray());
+    @Override
+    public boolean isRepeatable() {
+        return this.delegate.isRepeatable();
     }
 
     @Override
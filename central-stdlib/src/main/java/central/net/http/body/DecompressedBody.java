@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.body;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/// 解压响应体
+///
+/// 读取数据流时才会边读边解压，内存占用与响应体大小无关
+///
+/// @author Alan Yeh
+public class DecompressedBody implements Body {
+    private final Body delegate;
+
+    /// 压缩类型
+    private final CompressType type;
+
+    /// 解压后的数据流
+    private InputStream stream;
+
+    public DecompressedBody(Body delegate, CompressType type) {
+        this.delegate = delegate;
+        this.type = type;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        // 修改响应头
+        var headers = new HttpHeaders();
+        headers.addAll(this.delegate.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        return headers;
+    }
+
+    @Override
+    public MediaType getContentType() {
+        return this.delegate.getContentType();
+    }
+
+    @Override
+    public Long getContentLength() {
+        // 解压后的长度未知
+        return -1L;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        // 原始数据流只能读取一次，因此解压流也只创建一次
+        if (this.stream == null) {
+            this.stream = this.type.decompress(this.delegate.getInputStream());
+        }
+        return this.stream;
+    }
+
+    @Override
+    public String description() {
+        return "Decompressed(" + this.delegate.description() + ")";
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if (this.stream != null) {
+                this.stream.close();
+            }
+        } finally {
+            this.delegate.close();
+        }
+    }
+}
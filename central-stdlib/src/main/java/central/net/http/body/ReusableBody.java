@@ -36,6 +36,11 @@ import java.io.*;
 ///
 /// @author Alan Yeh
 public class ReusableBody implements Body {
+    /// 缓存在内存中的最大数据长度
+    ///
+    /// 数据长度小于此值时缓存在内存中；长度未知或超过此值时缓存到文件中
+    public static final long MEMORY_THRESHOLD = 8 * 1024 * 1024;
+
     private byte[] bytes;
     private final File cache;
     private final Body body;
@@ -45,7 +50,7 @@ public class ReusableBody implements Body {
         this.cache = cache;
         this.body = body;
 
-        if (this.getContentLength() > 0 && this.getContentLength() < 8 * 1024 * 1024) {
+        if (isCachedInMemory(this.getContentLength())) {
             // 如果 ContentLength < 8M，就缓存在内存里
             this.bytes = IOStreamx.readBytes(body.getInputStream());
         } else {
@@ -65,6 +70,13 @@ public class ReusableBody implements Body {
         }
     }
 
+    /// 判断指定长度的数据是否缓存在内存中，缓存在内存中时不需要创建缓存文件
+    ///
+    /// @param contentLength 数据长度
+    public static boolean isCachedInMemory(Long contentLength) {
+        return contentLength != null && contentLength >= 0 && contentLength < MEMORY_THRESHOLD;
+    }
+
     @Override
     public MediaType getContentType() {
         return this.body.getContentType();
@@ -82,13 +94,18 @@ public class ReusableBody implements Body {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        if (this.bytes != null && this.bytes.length > 0) {
+        if (this.bytes != null) {
             return new ByteArrayInputStream(this.bytes);
         } else {
             return new FileInputStream(this.cache);
         }
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return this.body.description();
@@ -65,6 +65,11 @@ public class ByteArrayBody implements Body {
         return new ByteArrayInputStream(this.body);
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return "<ByteArray: binary>";
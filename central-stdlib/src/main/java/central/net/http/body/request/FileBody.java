@@ -69,6 +69,11 @@ public class FileBody implements Body {
         return Files.newInputStream(this.body.toPath(), StandardOpenOption.READ);
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return Stringx.format("<File: {}>", this.body.getName());
@@ -91,6 +91,11 @@ public class JsonBody implements Body {
         return new ByteArrayInputStream(data);
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return Stringx.format("<Json: {}>", Jsonx.Default().serialize(this.json, true));
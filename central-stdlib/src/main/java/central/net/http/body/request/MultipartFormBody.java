@@ -176,6 +176,16 @@ public class MultipartFormBody implements Body {
         return new MediaType(MediaType.MULTIPART_FORM_DATA, Mapx.newHashMap("boundary", new String(this.boundary, StandardCharsets.UTF_8)));
     }
 
+    @Override
+    public boolean isRepeatable() {
+        for (MultipartFormPart part : this.body) {
+            if (!part.isRepeatable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public String description() {
         StringBuilder builder = new StringBuilder();
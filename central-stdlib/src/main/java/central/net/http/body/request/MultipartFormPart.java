@@ -102,6 +102,11 @@ public class MultipartFormPart implements Body {
         return new SequenceInputStream(Collections.enumeration(streams));
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return this.body.isRepeatable();
+    }
+
     @Override
     public String description() {
         return Stringx.format("{}={}", name, this.body.description());
@@ -67,6 +67,11 @@ public class RawBody implements Body {
         return new ByteArrayInputStream(body);
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return Stringx.format("<Raw: binary>");
@@ -68,6 +68,11 @@ public class TextBody implements Body {
         return new ByteArrayInputStream(this.body);
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return Stringx.format("<Text: {}>", new String(this.body, StandardCharsets.UTF_8));
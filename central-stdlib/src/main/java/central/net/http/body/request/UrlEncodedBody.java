@@ -186,6 +186,11 @@ public class UrlEncodedBody implements Body {
         return MediaType.APPLICATION_FORM_URLENCODED;
     }
 
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
     @Override
     public String description() {
         return Stringx.format("<UrlEncodedBody: {}>", getContent());
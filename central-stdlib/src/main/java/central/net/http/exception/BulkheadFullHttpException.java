@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.exception;
+
+import central.lang.Stringx;
+import central.net.http.HttpException;
+import central.net.http.HttpRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+
+/// Bulkhead Full Http Exception
+///
+/// 并发请求数已达上限，请求未被执行
+///
+/// @author Alan Yeh
+public class BulkheadFullHttpException extends HttpException {
+    @Serial
+    private static final long serialVersionUID = 491826123553297620L;
+
+    public BulkheadFullHttpException(@NotNull String name, @NotNull HttpRequest request) {
+        super(Stringx.format("[{}] {} {}", name, request.getMethod().name(), request.getUrl().getValue()), request, null, null);
+    }
+}
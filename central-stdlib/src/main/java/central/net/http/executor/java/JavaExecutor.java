@@ -42,7 +42,10 @@ import java.net.SocketTimeoutException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /// Java 实现
 ///
@@ -60,24 +63,12 @@ public class JavaExecutor implements HttpExecutor {
     @Override
     public central.net.http.HttpResponse execute(central.net.http.HttpRequest request) throws Exception {
         try (request) {
-            var builder = HttpRequest.newBuilder()
-                    .method(request.getMethod().name(), this.parseBody(request.getBody(), request.getHeaders()))
-                    .uri(request.getUrl().toURI());
-
-            // 处理请求头
-            request.getHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
-
-            // 处理 Cookie
-            if (Mapx.isNotEmpty(request.getCookies())) {
-                builder.header(HttpHeaders.COOKIE, request.getCookieHeader());
-            }
-
             // 执行请求
             try {
-                var response = this.client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                var response = this.client.send(this.parseRequest(request), HttpResponse.BodyHandlers.ofInputStream());
 
                 return new JavaResponse(request, response);
-            } catch (SocketTimeoutException cause) {
+            } catch (SocketTimeoutException | HttpTimeoutException cause) {
                 throw new TimeoutHttpRequest(request, cause);
             } catch (IOException cause) {
                 throw new IOHttpException(request, cause);
@@ -85,6 +76,55 @@ public class JavaExecutor implements HttpExecutor {
         }
     }
 
+    @Override
+    public CompletableFuture<central.net.http.HttpResponse> executeAsync(central.net.http.HttpRequest request) {
+        HttpRequest target;
+        try {
+            target = this.parseRequest(request);
+        } catch (RuntimeException cause) {
+            this.close(request);
+            return CompletableFuture.failedFuture(cause);
+        }
+
+        // 使用 HttpClient 的异步接口，等待响应时不占用调用线程
+        return this.client.sendAsync(target, HttpResponse.BodyHandlers.ofInputStream())
+                .handle((response, throwable) -> {
+                    this.close(request);
+                    if (throwable == null) {
+                        return new JavaResponse(request, response);
+                    }
+
+                    var cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                        throw new CompletionException(new TimeoutHttpRequest(request, cause));
+                    } else if (cause instanceof IOException) {
+                        throw new CompletionException(new IOHttpException(request, cause));
+                    } else {
+                        throw new CompletionException(cause);
+                    }
+                });
+    }
+
+    private HttpRequest parseRequest(central.net.http.HttpRequest request) {
+        var builder = HttpRequest.newBuilder()
+                .method(request.getMethod().name(), this.parseBody(request.getBody(), request.getHeaders()))
+                .uri(request.getUrl().toURI());
+
+        // 处理请求头
+        request.getHeaders().forEach((name, values) -> values.forEach(value -> builder.header(name, value)));
+
+        // 处理 Cookie
+        if (Mapx.isNotEmpty(request.getCookies())) {
+            builder.header(HttpHeaders.COOKIE, request.getCookieHeader());
+        }
+
+        return builder.build();
+    }
+
+    @SneakyThrows
+    private void close(central.net.http.HttpRequest request) {
+        request.close();
+    }
 
     private HttpRequest.BodyPublisher parseBody(Body body, HttpHeaders headers) {
         if (body == null) {
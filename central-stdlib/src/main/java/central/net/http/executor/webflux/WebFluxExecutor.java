@@ -24,8 +24,188 @@
 
 package central.net.http.executor.webflux;
 
-/// WebFlux
+import central.net.http.HttpExecutor;
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.body.Body;
+import central.net.http.exception.IOHttpException;
+import central.net.http.exception.TimeoutHttpRequest;
+import central.net.http.ssl.X509TrustManagerImpl;
+import central.util.Mapx;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.timeout.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/// WebFlux 实现
+///
+/// 基于 Reactor Netty 的非阻塞实现，等待网络响应时不占用线程，适合网关等需要大量并发调用下游服务的场景。
+///
+/// 请求体会在 [Schedulers#boundedElastic()] 中分块读取后发送；响应体会在接收完毕后缓存在内存中，
+/// 因此不适合用于下载大文件
 ///
 /// @author Alan Yeh
-public class WebFluxExecutor {
+@RequiredArgsConstructor
+public class WebFluxExecutor implements HttpExecutor {
+
+    /// 读取请求体时的分块大小
+    private static final int CHUNK_SIZE = 8192;
+
+    private final reactor.netty.http.client.HttpClient client;
+
+    @Override
+    public String getName() {
+        return "webflux";
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) throws Exception {
+        try {
+            return this.exchange(request).block();
+        } catch (RuntimeException ex) {
+            var cause = Exceptions.unwrap(ex);
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse> executeAsync(HttpRequest request) {
+        return this.exchange(request).toFuture();
+    }
+
+    /// 以响应式的方式执行请求
+    ///
+    /// @param request 请求
+    public Mono<HttpResponse> exchange(HttpRequest request) {
+        var headers = new HttpHeaders();
+        headers.addAll(request.getHeaders());
+        if (request.getBody() != null) {
+            headers.putAll(request.getBody().getHeaders());
+            if (headers.getContentLength() < 0) {
+                // 长度未知时使用 chunked 编码发送
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+        // 处理 Cookie
+        if (Mapx.isNotEmpty(request.getCookies())) {
+            headers.set(HttpHeaders.COOKIE, request.getCookieHeader());
+        }
+
+        var body = request.getBody();
+        return this.client
+                .headers(it -> headers.forEach((name, values) -> it.set(name, values)))
+                .request(io.netty.handler.codec.http.HttpMethod.valueOf(request.getMethod().name()))
+                .uri(request.getUrl().toURI())
+                .send((req, outbound) -> body == null ? outbound : outbound.sendByteArray(read(body)))
+                .responseSingle((response, content) -> content.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> (HttpResponse) new WebFluxResponse(request, this.parseHeaders(response), response.status().code(), bytes)))
+                .onErrorMap(cause -> !(cause instanceof IOHttpException || cause instanceof TimeoutHttpRequest), cause -> {
+                    if (cause instanceof TimeoutException || cause instanceof ConnectTimeoutException || cause instanceof SocketTimeoutException) {
+                        return new TimeoutHttpRequest(request, cause);
+                    } else if (cause instanceof IOException) {
+                        return new IOHttpException(request, cause);
+                    }
+                    return cause;
+                })
+                .doFinally(signal -> this.close(request));
+    }
+
+    /// 分块读取请求体
+    private static Flux<byte[]> read(Body body) {
+        return Flux.<byte[], InputStream>using(body::getInputStream, stream -> Flux.<byte[]>generate(sink -> {
+            try {
+                var buffer = new byte[CHUNK_SIZE];
+                int length = stream.read(buffer);
+                if (length < 0) {
+                    sink.complete();
+                } else {
+                    sink.next(length == buffer.length ? buffer : Arrays.copyOf(buffer, length));
+                }
+            } catch (IOException ex) {
+                sink.error(ex);
+            }
+        }), stream -> {
+            try {
+                stream.close();
+            } catch (IOException ignored) {
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private HttpHeaders parseHeaders(HttpClientResponse response) {
+        var headers = new HttpHeaders();
+        response.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        return headers;
+    }
+
+    @SneakyThrows
+    private void close(HttpRequest request) {
+        request.close();
+    }
+
+    /// 默认的 HttpClient 配置
+    public static WebFluxExecutor Default() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Duration connectTimeout = Duration.ofSeconds(60);
+
+        /// 连接超时时间（毫秒）
+        public Builder connectTimeout(long connectTimeout) {
+            this.connectTimeout = Duration.ofMillis(connectTimeout);
+            return this;
+        }
+
+        private Duration responseTimeout = Duration.ofSeconds(60);
+
+        /// 响应超时时间（毫秒）
+        public Builder responseTimeout(long responseTimeout) {
+            this.responseTimeout = Duration.ofMillis(responseTimeout);
+            return this;
+        }
+
+        private boolean followRedirects = true;
+
+        public Builder followRedirects(boolean followRedirects) {
+            this.followRedirects = followRedirects;
+            return this;
+        }
+
+        @SneakyThrows
+        public WebFluxExecutor build() {
+            var context = SslContextBuilder.forClient().trustManager(new X509TrustManagerImpl()).build();
+
+            var client = reactor.netty.http.client.HttpClient.create()
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) this.connectTimeout.toMillis())
+                    .responseTimeout(this.responseTimeout)
+                    .followRedirect(this.followRedirects)
+                    .secure(spec -> spec.sslContext(context));
+
+            return new WebFluxExecutor(client);
+        }
+    }
 }
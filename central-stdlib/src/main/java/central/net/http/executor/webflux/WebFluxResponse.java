@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.executor.webflux;
+
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.body.Body;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/// WebFlux Response
+///
+/// @author Alan Yeh
+public class WebFluxResponse extends HttpResponse {
+
+    @Getter
+    private final HttpHeaders headers;
+
+    private final int status;
+
+    @Getter
+    private final Body body;
+
+    public WebFluxResponse(HttpRequest request, HttpHeaders headers, int status, byte[] content) {
+        super(request);
+        this.headers = headers;
+        this.status = status;
+        this.body = new ResponseBody(headers, content);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.resolve(this.status);
+    }
+
+    private static class ResponseBody implements Body {
+        @Getter
+        private final HttpHeaders headers;
+
+        private final byte[] content;
+
+        private ResponseBody(HttpHeaders headers, byte[] content) {
+            this.headers = headers;
+            this.content = content;
+        }
+
+        @Override
+        public MediaType getContentType() {
+            return this.headers.getContentType();
+        }
+
+        @Override
+        public Long getContentLength() {
+            return (long) this.content.length;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(this.content);
+        }
+
+        @Override
+        public String description() {
+            return "<binary>";
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor.impl;
+
+import central.lang.Assertx;
+import central.net.http.HttpAttributes;
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.exception.BulkheadFullHttpException;
+import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.ReactiveHttpProcessor;
+import central.pattern.chain.ProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import central.validation.Label;
+import central.validation.Validatex;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/// 舱壁隔离
+///
+/// 限制每个目标主机（或代理方法）的并发请求数。并发数达到上限时，请求最多等待 `maxWait`，
+/// 仍未获得许可则抛出 [BulkheadFullHttpException]，避免某个缓慢的下游占满调用方的线程池。
+///
+/// 可以通过 [#getMetrics()] 获取各个舱壁的状态
+///
+/// @author Alan Yeh
+public class BulkheadProcessor implements HttpProcessor, ReactiveHttpProcessor {
+
+    /// 舱壁状态快照
+    ///
+    /// @param maxConcurrentCalls       最大并发请求数
+    /// @param availableConcurrentCalls 剩余可用的并发请求数
+    /// @param rejectedCalls            被拒绝的请求数
+    public record Metrics(int maxConcurrentCalls, int availableConcurrentCalls, long rejectedCalls) {
+    }
+
+    /// 最大并发请求数
+    @Getter
+    private final int maxConcurrentCalls;
+
+    /// 获取许可的最长等待时间
+    @Getter
+    private final Duration maxWait;
+
+    /// 是否按代理方法区分舱壁
+    @Getter
+    private final boolean perMethod;
+
+    /// 舱壁
+    private final Map<String, Compartment> compartments = new ConcurrentHashMap<>();
+
+    public BulkheadProcessor(int maxConcurrentCalls) {
+        this(maxConcurrentCalls, Duration.ZERO, false);
+    }
+
+    private BulkheadProcessor(int maxConcurrentCalls, Duration maxWait, boolean perMethod) {
+        Assertx.mustTrue(maxConcurrentCalls > 0, "最大并发请求数[maxConcurrentCalls]必须大于 0");
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.perMethod = perMethod;
+    }
+
+    /// 获取所有舱壁的状态
+    ///
+    /// Key 为舱壁名称，格式为 `host:port` 或 `host:port Interface#method`
+    public Map<String, Metrics> getMetrics() {
+        return Collections.unmodifiableMap(this.compartments.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getMetrics())));
+    }
+
+    @Override
+    public HttpResponse process(HttpRequest target, ProcessChain<HttpRequest, HttpResponse> chain) throws Exception {
+        var name = this.getName(target);
+        var compartment = this.compartments.computeIfAbsent(name, key -> new Compartment());
+        if (!compartment.acquire()) {
+            throw new BulkheadFullHttpException(name, target);
+        }
+
+        try {
+            return chain.process(target);
+        } finally {
+            compartment.release();
+        }
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain) {
+        return Mono.defer(() -> {
+            var name = this.getName(target);
+            var compartment = this.compartments.computeIfAbsent(name, key -> new Compartment());
+
+            // 许可与整个订阅绑定，无论在等待许可期间还是在请求执行期间取消订阅，都会归还许可
+            var permit = new Permit(compartment);
+
+            // 需要等待许可时，在 boundedElastic 线程中等待，避免阻塞事件循环
+            var acquire = this.maxWait.isZero()
+                    ? Mono.fromCallable(permit::tryAcquire)
+                    : Mono.fromCallable(permit::acquire).subscribeOn(Schedulers.boundedElastic());
+
+            return acquire.flatMap(acquired -> {
+                if (!acquired) {
+                    return Mono.error(new BulkheadFullHttpException(name, target));
+                }
+
+                return chain.process(target);
+            }).doFinally(signal -> permit.release());
+        });
+    }
+
+    /// 获取舱壁名称
+    private String getName(HttpRequest target) {
+        var uri = target.getUrl().toURI();
+        var name = uri.getHost() + ":" + uri.getPort();
+        if (this.perMethod) {
+            var method = target.getAttribute(HttpAttributes.PROXY_METHOD);
+            if (method != null) {
+                name += " " + method.getDeclaringClass().getName() + "#" + method.getName();
+            }
+        }
+        return name;
+    }
+
+    /// 舱壁
+    private class Compartment {
+        private final Semaphore semaphore = new Semaphore(maxConcurrentCalls, true);
+
+        /// 被拒绝的请求数
+        private final AtomicLong rejected = new AtomicLong();
+
+        /// 申请许可，最多等待 maxWait
+        public boolean acquire() throws InterruptedException {
+            if (this.semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            this.rejected.incrementAndGet();
+            return false;
+        }
+
+        /// 申请许可，不等待
+        public boolean tryAcquire() {
+            if (this.semaphore.tryAcquire()) {
+                return true;
+            }
+            this.rejected.incrementAndGet();
+            return false;
+        }
+
+        /// 释放许可
+        public void release() {
+            this.semaphore.release();
+        }
+
+        public Metrics getMetrics() {
+            return new Metrics(maxConcurrentCalls, this.semaphore.availablePermits(), this.rejected.get());
+        }
+    }
+
+    /// 许可状态
+    private enum PermitState {
+        /// 等待许可
+        PENDING,
+        /// 已获得许可
+        ACQUIRED,
+        /// 已归还许可
+        RELEASED
+    }
+
+    /// 单次响应式请求的许可
+    ///
+    /// 取消订阅可能发生在等待许可期间，此时 [#release()] 先于许可申请完成，
+    /// 因此通过状态保证许可只会归还一次，并且取消订阅后才申请到的许可会被立即归还
+    private static class Permit {
+        private final Compartment compartment;
+
+        private final AtomicReference<PermitState> state = new AtomicReference<>(PermitState.PENDING);
+
+        private Permit(Compartment compartment) {
+            this.compartment = compartment;
+        }
+
+        /// 申请许可，最多等待 maxWait
+        public boolean acquire() throws InterruptedException {
+            return this.onAcquired(this.compartment.acquire());
+        }
+
+        /// 申请许可，不等待
+        public boolean tryAcquire() {
+            return this.onAcquired(this.compartment.tryAcquire());
+        }
+
+        private boolean onAcquired(boolean acquired) {
+            if (acquired && !this.state.compareAndSet(PermitState.PENDING, PermitState.ACQUIRED)) {
+                // 申请许可期间订阅已被取消
+                this.compartment.release();
+                return false;
+            }
+            return acquired;
+        }
+
+        /// 归还许可
+        public void release() {
+            if (this.state.getAndSet(PermitState.RELEASED) == PermitState.ACQUIRED) {
+                this.compartment.release();
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    public static class Builder {
+        @Min(1)
+        @Label("最大并发请求数")
+        private int maxConcurrentCalls = 25;
+
+        @NotNull
+        @Label("最长等待时间")
+        private Duration maxWait = Duration.ZERO;
+
+        @Label("是否按代理方法区分舱壁")
+        private boolean perMethod = false;
+
+        public BulkheadProcessor build() {
+            Validatex.Default().validateBean(this);
+            return new BulkheadProcessor(this.maxConcurrentCalls, this.maxWait, this.perMethod);
+        }
+    }
+}
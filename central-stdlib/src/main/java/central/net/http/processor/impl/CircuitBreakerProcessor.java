@@ -0,0 +1,400 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor.impl;
+
+import central.net.http.HttpAttributes;
+import central.net.http.HttpException;
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.exception.CircuitBreakerOpenHttpException;
+import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.ReactiveHttpProcessor;
+import central.pattern.chain.ProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import central.validation.Label;
+import central.validation.Validatex;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/// 熔断器
+///
+/// 按目标主机（或代理方法）统计最近 `windowSize` 次请求的失败率与慢请求率，超过阈值后打开熔断器。
+/// 熔断器打开期间，请求会直接抛出 [CircuitBreakerOpenHttpException]，而不会等待下游超时；
+/// 经过 `openDuration` 后进入半开状态，放行 `halfOpenCalls` 个探测请求，全部成功后关闭熔断器，否则重新打开。
+///
+/// - 网络异常、超时、5xx 响应视为失败请求；4xx 响应视为成功请求
+/// - 耗时超过 `slowCallDuration` 的请求视为慢请求
+/// - 可以通过 [#getMetrics()] 获取各个熔断器的状态
+///
+/// @author Alan Yeh
+public class CircuitBreakerProcessor implements HttpProcessor, ReactiveHttpProcessor {
+
+    /// 熔断器状态
+    public enum State {
+        /// 关闭（正常放行请求）
+        CLOSED,
+        /// 打开（拒绝所有请求）
+        OPEN,
+        /// 半开（放行少量探测请求）
+        HALF_OPEN
+    }
+
+    /// 熔断器状态快照
+    ///
+    /// @param state              状态
+    /// @param calls              滑动窗口内的请求数
+    /// @param failureRate        滑动窗口内的失败率
+    /// @param slowCallRate       滑动窗口内的慢请求率
+    /// @param notPermittedCalls  被拒绝的请求数
+    public record Metrics(State state, int calls, double failureRate, double slowCallRate, long notPermittedCalls) {
+    }
+
+    /// 滑动窗口大小
+    @Getter
+    private final int windowSize;
+
+    /// 计算失败率所需的最少请求数
+    @Getter
+    private final int minimumCalls;
+
+    /// 失败率阈值
+    @Getter
+    private final double failureRateThreshold;
+
+    /// 慢请求率阈值
+    @Getter
+    private final double slowCallRateThreshold;
+
+    /// 慢请求耗时
+    @Getter
+    private final Duration slowCallDuration;
+
+    /// 熔断器打开后，进入半开状态前的等待时间
+    @Getter
+    private final Duration openDuration;
+
+    /// 半开状态下允许的探测请求数
+    @Getter
+    private final int halfOpenCalls;
+
+    /// 是否按代理方法区分熔断器
+    @Getter
+    private final boolean perMethod;
+
+    /// 熔断器
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public CircuitBreakerProcessor() {
+        this(100, 10, 0.5, 1.0, Duration.ofSeconds(10), Duration.ofSeconds(30), 5, false);
+    }
+
+    private CircuitBreakerProcessor(int windowSize, int minimumCalls, double failureRateThreshold, double slowCallRateThreshold, Duration slowCallDuration, Duration openDuration, int halfOpenCalls, boolean perMethod) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.perMethod = perMethod;
+    }
+
+    /// 获取所有熔断器的状态
+    ///
+    /// Key 为熔断器名称，格式为 `host:port` 或 `host:port Interface#method`
+    public Map<String, Metrics> getMetrics() {
+        return Collections.unmodifiableMap(this.circuits.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getMetrics())));
+    }
+
+    @Override
+    public HttpResponse process(HttpRequest target, ProcessChain<HttpRequest, HttpResponse> chain) throws Exception {
+        var name = this.getName(target);
+        var circuit = this.circuits.computeIfAbsent(name, key -> new Circuit());
+        if (!circuit.acquire()) {
+            throw new CircuitBreakerOpenHttpException(name, target);
+        }
+
+        long start = System.nanoTime();
+        // 抛出 Error 等未预期的异常时同样记录为失败，否则半开状态下的探测名额无法归还
+        boolean failure = true;
+        try {
+            var response = chain.process(target);
+            failure = this.isFailure(response);
+            return response;
+        } catch (Exception ex) {
+            failure = this.isFailure(ex);
+            throw ex;
+        } finally {
+            circuit.record(failure, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain) {
+        return Mono.defer(() -> {
+            var name = this.getName(target);
+            var circuit = this.circuits.computeIfAbsent(name, key -> new Circuit());
+            if (!circuit.acquire()) {
+                return Mono.error(new CircuitBreakerOpenHttpException(name, target));
+            }
+
+            long start = System.nanoTime();
+            var recorded = new AtomicBoolean();
+            return chain.process(target)
+                    .doOnNext(response -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuit.record(this.isFailure(response), System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(throwable -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            circuit.record(this.isFailure(throwable), System.nanoTime() - start);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            if (signal == SignalType.CANCEL) {
+                                // 请求被取消，没有结果
+                                circuit.cancel();
+                            } else {
+                                // 没有返回响应，视为失败
+                                circuit.record(true, System.nanoTime() - start);
+                            }
+                        }
+                    });
+        });
+    }
+
+    /// 获取熔断器名称
+    private String getName(HttpRequest target) {
+        var uri = target.getUrl().toURI();
+        var name = uri.getHost() + ":" + uri.getPort();
+        if (this.perMethod) {
+            var method = target.getAttribute(HttpAttributes.PROXY_METHOD);
+            if (method != null) {
+                name += " " + method.getDeclaringClass().getName() + "#" + method.getName();
+            }
+        }
+        return name;
+    }
+
+    private boolean isFailure(HttpResponse response) {
+        // 非标准状态码无法解析为 HttpStatus，不计入失败
+        var status = response.getStatus();
+        return status != null && status.is5xxServerError();
+    }
+
+    private boolean isFailure(Throwable throwable) {
+        if (throwable instanceof HttpException ex && ex.getResponse() != null) {
+            return this.isFailure(ex.getResponse());
+        }
+        return true;
+    }
+
+    /// 熔断器
+    private class Circuit {
+        /// 滑动窗口，记录每个请求的结果
+        private final byte[] outcomes = new byte[windowSize];
+
+        private static final byte FAILURE = 1;
+        private static final byte SLOW = 2;
+
+        /// 当前状态
+        private State state = State.CLOSED;
+
+        /// 滑动窗口写入位置
+        private int index;
+
+        /// 滑动窗口内的请求数、失败数、慢请求数
+        private int calls, failures, slows;
+
+        /// 熔断器打开的截止时间
+        private long openUntil;
+
+        /// 半开状态下已放行的探测请求数、已成功的探测请求数
+        private int probes, successes;
+
+        /// 被拒绝的请求数
+        private long notPermitted;
+
+        /// 申请执行请求
+        public synchronized boolean acquire() {
+            if (this.state == State.OPEN && System.nanoTime() - this.openUntil >= 0) {
+                this.state = State.HALF_OPEN;
+                this.probes = 0;
+                this.successes = 0;
+            }
+
+            switch (this.state) {
+                case CLOSED -> {
+                    return true;
+                }
+                case HALF_OPEN -> {
+                    if (this.probes < halfOpenCalls) {
+                        this.probes++;
+                        return true;
+                    }
+                }
+            }
+            this.notPermitted++;
+            return false;
+        }
+
+        /// 已放行的请求被取消
+        public synchronized void cancel() {
+            if (this.state == State.HALF_OPEN && this.probes > 0) {
+                this.probes--;
+            }
+        }
+
+        /// 记录请求结果
+        ///
+        /// @param failure 是否失败
+        /// @param nanos   请求耗时（纳秒）
+        public synchronized void record(boolean failure, long nanos) {
+            boolean slow = nanos >= slowCallDuration.toNanos();
+
+            switch (this.state) {
+                case CLOSED -> {
+                    if (this.calls == windowSize) {
+                        // 移除最早的结果
+                        var expired = this.outcomes[this.index];
+                        this.failures -= expired & FAILURE;
+                        this.slows -= (expired & SLOW) >> 1;
+                    } else {
+                        this.calls++;
+                    }
+
+                    this.outcomes[this.index] = (byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+                    this.failures += failure ? 1 : 0;
+                    this.slows += slow ? 1 : 0;
+                    this.index = (this.index + 1) % windowSize;
+
+                    if (this.calls >= minimumCalls && (this.getFailureRate() >= failureRateThreshold || this.getSlowCallRate() >= slowCallRateThreshold)) {
+                        this.open();
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (failure || slow) {
+                        this.open();
+                    } else if (++this.successes >= halfOpenCalls) {
+                        this.close();
+                    }
+                }
+                case OPEN -> {
+                    // 熔断器打开前已放行的请求，忽略其结果
+                }
+            }
+        }
+
+        private void open() {
+            this.state = State.OPEN;
+            this.openUntil = System.nanoTime() + openDuration.toNanos();
+        }
+
+        private void close() {
+            this.state = State.CLOSED;
+            this.index = 0;
+            this.calls = 0;
+            this.failures = 0;
+            this.slows = 0;
+        }
+
+        private double getFailureRate() {
+            return this.calls == 0 ? 0 : (double) this.failures / this.calls;
+        }
+
+        private double getSlowCallRate() {
+            return this.calls == 0 ? 0 : (double) this.slows / this.calls;
+        }
+
+        public synchronized Metrics getMetrics() {
+            // 打开状态已超时，但还没有新请求触发状态转换
+            var state = this.state == State.OPEN && System.nanoTime() - this.openUntil >= 0 ? State.HALF_OPEN : this.state;
+            return new Metrics(state, this.calls, this.getFailureRate(), this.getSlowCallRate(), this.notPermitted);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    public static class Builder {
+        @Min(1)
+        @Label("滑动窗口大小")
+        private int windowSize = 100;
+
+        @Min(1)
+        @Label("最少请求数")
+        private int minimumCalls = 10;
+
+        @DecimalMin("0")
+        @DecimalMax("1")
+        @Label("失败率阈值")
+        private double failureRateThreshold = 0.5;
+
+        @DecimalMin("0")
+        @DecimalMax("1")
+        @Label("慢请求率阈值")
+        private double slowCallRateThreshold = 1.0;
+
+        @NotNull
+        @Label("慢请求耗时")
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+
+        @NotNull
+        @Label("熔断时间")
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        @Min(1)
+        @Label("探测请求数")
+        private int halfOpenCalls = 5;
+
+        @Label("是否按代理方法区分熔断器")
+        private boolean perMethod = false;
+
+        public CircuitBreakerProcessor build() {
+            Validatex.Default().validateBean(this);
+            return new CircuitBreakerProcessor(this.windowSize, this.minimumCalls, this.failureRateThreshold, this.slowCallRateThreshold, this.slowCallDuration, this.openDuration, this.halfOpenCalls, this.perMethod);
+        }
+    }
+}
@@ -38,6 +38,8 @@ import reactor.core.publisher.Mono;
 
 /// 压缩请求体
 ///
+/// 请求体会在发送时边读边压缩，不会在内存中缓存整个请求体
+///
 /// @author Alan Yeh
 @Getter
 @AllArgsConstructor
@@ -47,7 +49,8 @@ public class CompressBodyProcessor implements HttpProcessor, ReactiveHttpProcess
 
     @Override
     public boolean predicate(HttpRequest target) {
-        return true;
+        // 没有请求体，或请求体已经压缩过
+        return target.getBody() != null && !(target.getBody() instanceof CompressedBody);
     }
 
     @Override
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor.impl;
+
+import central.lang.Stringx;
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.body.CompressType;
+import central.net.http.body.DecompressedBody;
+import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.ReactiveHttpProcessor;
+import central.pattern.chain.ProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/// 解压响应体
+///
+/// 请求时声明 `Accept-Encoding: gzip, deflate`，如果响应体被压缩（`Content-Encoding` 为 gzip 或 deflate），
+/// 则将响应体替换为边读边解压的 [DecompressedBody]，并移除响应的 `Content-Encoding`、`Content-Length` 头
+///
+/// @author Alan Yeh
+public class DecompressBodyProcessor implements HttpProcessor, ReactiveHttpProcessor {
+
+    @Override
+    public HttpResponse process(HttpRequest target, ProcessChain<HttpRequest, HttpResponse> chain) throws Exception {
+        this.accept(target);
+        return this.process(chain.process(target));
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain) {
+        this.accept(target);
+        return chain.process(target).map(this::process);
+    }
+
+    /// 声明客户端支持的压缩类型
+    private void accept(HttpRequest target) {
+        if (!target.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            target.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, CompressType.GZIP.getValue() + ", " + CompressType.DEFLATE.getValue());
+        }
+    }
+
+    private HttpResponse process(HttpResponse response) {
+        var encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (response.getBody() == null || Stringx.isNullOrBlank(encoding)) {
+            return response;
+        }
+
+        var type = CompressType.resolve(encoding.trim().toLowerCase(Locale.ROOT));
+        if (type == null) {
+            // 不支持的压缩类型，交给调用方处理
+            return response;
+        }
+
+        // 解压后的长度未知
+        var headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        return HttpResponse.mutate(response)
+                .headers(headers)
+                .body(new DecompressedBody(response.getBody(), type))
+                .build();
+    }
+}
@@ -24,8 +24,421 @@
 
 package central.net.http.processor.impl;
 
+import central.lang.Attribute;
+import central.net.http.HttpAttributes;
+import central.net.http.HttpException;
+import central.net.http.HttpRequest;
+import central.net.http.HttpResponse;
+import central.net.http.body.Body;
+import central.net.http.body.ReusableBody;
+import central.net.http.exception.IOHttpException;
+import central.net.http.exception.TimeoutHttpRequest;
+import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.Idempotent;
+import central.net.http.processor.ReactiveHttpProcessor;
+import central.pattern.chain.ProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import central.util.Guidx;
+import central.validation.Label;
+import central.validation.Validatex;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.experimental.Accessors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
 /// 失败重试
 ///
+/// 当请求出现网络异常（连接重置、超时等），或响应状态码（包括 [HttpException] 携带的响应）为 502、503、504 时，按指数退避（带随机抖动）重试请求。
+///
+/// - 只重试幂等请求（GET、HEAD、OPTIONS、TRACE、PUT、DELETE），其余请求需要在代理方法上声明 [Idempotent]，
+///   或为请求设置 [#IDEMPOTENT] 属性
+/// - 每个目标主机共享一个重试预算（令牌桶），每个请求存入 `budget` 个令牌，每次重试消耗 1 个令牌，
+///   因此重试次数不会超过请求数的 `budget` 倍，避免下游故障时出现重试风暴
+/// - 重试前会将不可重复读取的请求体转换为 [ReusableBody]，避免重试时读取已被消费的数据流。小于 8M 的请求体缓存在内存中，
+///   可以重复读取的请求体（见 [Body#isRepeatable()]）不会被复制
+///
 /// @author Alan Yeh
-public class RetryProcessor {
+public class RetryProcessor implements HttpProcessor, ReactiveHttpProcessor {
+
+    /// 声明请求是否幂等，优先级高于 [Idempotent] 注解
+    public static final Attribute<Boolean> IDEMPOTENT = new Attribute<>(RetryProcessor.class.getName() + ".idempotent");
+
+    /// 默认的幂等请求方法
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.TRACE, HttpMethod.PUT, HttpMethod.DELETE);
+
+    /// 最大尝试次数（包含第一次请求）
+    @Getter
+    private final int maxAttempts;
+
+    /// 首次重试的退避时间
+    @Getter
+    private final Duration backoff;
+
+    /// 最大退避时间
+    @Getter
+    private final Duration maxBackoff;
+
+    /// 需要重试的状态码
+    @Getter
+    private final Set<HttpStatus> statuses;
+
+    /// 重试预算比例
+    @Getter
+    private final double budget;
+
+    /// 重试预算的令牌桶容量，即允许突发重试的次数
+    @Getter
+    private final int burst;
+
+    /// 请求体缓存目录
+    private final File tmp;
+
+    /// 目标主机的重试预算
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    public RetryProcessor() {
+        this(3, Duration.ofMillis(100), Duration.ofSeconds(2), Set.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT), 0.1, 10, Path.of("tmp", "http").toFile());
+    }
+
+    private RetryProcessor(int maxAttempts, Duration backoff, Duration maxBackoff, Set<HttpStatus> statuses, double budget, int burst, File tmp) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.statuses = Set.copyOf(statuses);
+        this.budget = budget;
+        this.burst = burst;
+        this.tmp = tmp;
+    }
+
+    @Override
+    public boolean predicate(HttpRequest target) {
+        if (this.maxAttempts <= 1) {
+            return false;
+        }
+
+        if (target.getBody() != null && !target.getBody().isRepeatable() && target.getBody().getContentLength() == null) {
+            // 无法缓存的请求体
+            return false;
+        }
+
+        var idempotent = target.getAttribute(IDEMPOTENT);
+        if (idempotent != null) {
+            return idempotent;
+        }
+
+        var method = target.getAttribute(HttpAttributes.PROXY_METHOD);
+        if (method != null) {
+            var annotation = method.getAnnotation(Idempotent.class);
+            if (annotation == null) {
+                annotation = method.getDeclaringClass().getAnnotation(Idempotent.class);
+            }
+            if (annotation != null) {
+                return annotation.value();
+            }
+        }
+
+        return IDEMPOTENT_METHODS.contains(target.getMethod());
+    }
+
+    @Override
+    public HttpResponse process(HttpRequest target, ProcessChain<HttpRequest, HttpResponse> chain) throws Exception {
+        var budget = this.getBudget(target);
+        budget.deposit(this.budget);
+
+        var body = this.prepare(target);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                HttpResponse response;
+                try {
+                    response = chain.process(target);
+                } catch (Exception ex) {
+                    if (!this.isRetryable(attempt, ex, budget)) {
+                        throw ex;
+                    }
+                    var delay = this.getBackoff(attempt, this.getResponse(ex));
+                    this.close(ex);
+                    Thread.sleep(delay.toMillis());
+                    continue;
+                }
+
+                if (!this.isRetryable(attempt, response, budget)) {
+                    return response;
+                }
+                var delay = this.getBackoff(attempt, response);
+                response.close();
+                Thread.sleep(delay.toMillis());
+            }
+        } finally {
+            this.release(body);
+        }
+    }
+
+    @Override
+    public Mono<HttpResponse> process(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain) {
+        return Mono.defer(() -> {
+            var budget = this.getBudget(target);
+            budget.deposit(this.budget);
+
+            var body = target.getBody();
+            if (body == null) {
+                return this.attempt(target, chain, budget, 1);
+            }
+
+            // 复制请求体需要读取整个数据流，因此在 boundedElastic 线程中执行，避免阻塞事件循环
+            var prepare = body.isRepeatable()
+                    ? Mono.fromCallable(() -> this.prepare(target))
+                    : Mono.fromCallable(() -> this.prepare(target)).subscribeOn(Schedulers.boundedElastic());
+
+            return Mono.usingWhen(prepare, retained -> this.attempt(target, chain, budget, 1), retained -> Mono.fromRunnable(() -> this.release(retained)));
+        });
+    }
+
+    /// 执行第 attempt 次请求
+    private Mono<HttpResponse> attempt(HttpRequest target, ReactiveProcessChain<HttpRequest, HttpResponse> chain, Budget budget, int attempt) {
+        return chain.process(target)
+                .<Object>map(response -> response)
+                .onErrorResume(Mono::just)
+                .flatMap(result -> {
+                    if (result instanceof HttpResponse response) {
+                        if (!this.isRetryable(attempt, response, budget)) {
+                            return Mono.just(response);
+                        }
+                        var delay = this.getBackoff(attempt, response);
+                        this.close(response);
+                        return Mono.delay(delay).then(Mono.defer(() -> this.attempt(target, chain, budget, attempt + 1)));
+                    }
+
+                    var throwable = (Throwable) result;
+                    if (!this.isRetryable(attempt, throwable, budget)) {
+                        return Mono.error(throwable);
+                    }
+                    var delay = this.getBackoff(attempt, this.getResponse(throwable));
+                    this.close(throwable);
+                    return Mono.delay(delay).then(Mono.defer(() -> this.attempt(target, chain, budget, attempt + 1)));
+                });
+    }
+
+    /// 判断是否需要根据响应重试
+    private boolean isRetryable(int attempt, HttpResponse response, Budget budget) {
+        return attempt < this.maxAttempts && this.statuses.contains(response.getStatus()) && budget.withdraw();
+    }
+
+    /// 判断是否需要根据异常重试
+    private boolean isRetryable(int attempt, Throwable throwable, Budget budget) {
+        var retryable = throwable instanceof IOHttpException || throwable instanceof TimeoutHttpRequest || throwable instanceof IOException
+                || (throwable instanceof HttpException ex && ex.getResponse() != null && this.statuses.contains(ex.getResponse().getStatus()));
+        return attempt < this.maxAttempts && retryable && budget.withdraw();
+    }
+
+    /// 获取异常携带的响应
+    private HttpResponse getResponse(Throwable throwable) {
+        return throwable instanceof HttpException ex ? ex.getResponse() : null;
+    }
+
+    /// 计算第 attempt 次请求失败后的退避时间
+    ///
+    /// 使用 Equal Jitter 算法，退避时间在 `[base / 2, base]` 之间随机分布，其中 `base = backoff * 2 ^ (attempt - 1)`。
+    /// 如果响应中包含 `Retry-After` 响应头，则至少等待该时间（但不超过最大退避时间）
+    private Duration getBackoff(int attempt, HttpResponse response) {
+        long base = Math.min(this.maxBackoff.toMillis(), this.backoff.toMillis() << Math.min(attempt - 1, 30));
+        long delay = base / 2 + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+
+        if (response != null) {
+            var retryAfter = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+            if (retryAfter != null && retryAfter.chars().allMatch(Character::isDigit) && !retryAfter.isEmpty()) {
+                delay = Math.max(delay, Math.min(this.maxBackoff.toMillis(), Long.parseLong(retryAfter) * 1000));
+            }
+        }
+        return Duration.ofMillis(delay);
+    }
+
+    /// 获取目标主机的重试预算
+    private Budget getBudget(HttpRequest target) {
+        var uri = target.getUrl().toURI();
+        return this.budgets.computeIfAbsent(uri.getHost() + ":" + uri.getPort(), key -> new Budget(this.burst));
+    }
+
+    /// 将请求体转换为可重复读取的请求体
+    ///
+    /// 执行器在请求完成后会关闭请求体，因此每次请求都使用不会关闭的包装，在重试结束后再统一释放。
+    /// 可以重复读取的请求体直接使用，其余请求体复制为 [ReusableBody]，只有较大的请求体才会写入缓存目录
+    @SneakyThrows(IOException.class)
+    private RetainedBody prepare(HttpRequest target) {
+        var body = target.getBody();
+        if (body == null) {
+            return null;
+        }
+
+        Body reusable;
+        if (body.isRepeatable()) {
+            reusable = body;
+        } else {
+            if (!ReusableBody.isCachedInMemory(body.getContentLength()) && !this.tmp.exists() && !this.tmp.mkdirs() && !this.tmp.exists()) {
+                throw new IOException("无法创建目录: " + this.tmp.getAbsolutePath());
+            }
+            reusable = new ReusableBody(new File(this.tmp, Guidx.nextID() + ".tmp"), body);
+        }
+
+        var retained = new RetainedBody(body, reusable);
+        target.setBody(retained);
+        return retained;
+    }
+
+    /// 释放请求体
+    @SneakyThrows
+    private void release(RetainedBody body) {
+        if (body != null) {
+            try {
+                if (body.body() != body.source()) {
+                    body.body().close();
+                }
+            } finally {
+                body.source().close();
+            }
+        }
+    }
+
+    @SneakyThrows
+    private void close(HttpResponse response) {
+        response.close();
+    }
+
+    /// 关闭异常携带的响应，避免在退避期间占用连接
+    private void close(Throwable throwable) {
+        var response = this.getResponse(throwable);
+        if (response != null) {
+            this.close(response);
+        }
+    }
+
+    /// 重试预算（令牌桶）
+    private static class Budget {
+        /// 令牌桶容量
+        private final double capacity;
+
+        /// 剩余令牌
+        private double tokens;
+
+        private Budget(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        /// 存入令牌
+        public synchronized void deposit(double amount) {
+            this.tokens = Math.min(this.capacity, this.tokens + amount);
+        }
+
+        /// 取出 1 个令牌
+        public synchronized boolean withdraw() {
+            if (this.tokens >= 1) {
+                this.tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /// 不会被关闭的请求体
+    ///
+    /// @param source 原始请求体
+    /// @param body   可重复读取的请求体
+    private record RetainedBody(Body source, Body body) implements Body {
+        @Override
+        public HttpHeaders getHeaders() {
+            return this.body.getHeaders();
+        }
+
+        @Override
+        public MediaType getContentType() {
+            return this.body.getContentType();
+        }
+
+        @Override
+        public Long getContentLength() {
+            return this.body.getContentLength();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return this.body.getInputStream();
+        }
+
+        @Override
+        public String description() {
+            return this.body.description();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // 由 RetryProcessor 在重试结束后释放
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    public static class Builder {
+        @Min(1)
+        @Label("最大尝试次数")
+        private int maxAttempts = 3;
+
+        @NotNull
+        @Label("退避时间")
+        private Duration backoff = Duration.ofMillis(100);
+
+        @NotNull
+        @Label("最大退避时间")
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        @NotNull
+        @Label("重试状态码")
+        private Set<HttpStatus> statuses = Set.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+        @DecimalMin("0")
+        @DecimalMax("1")
+        @Label("重试预算比例")
+        private double budget = 0.1;
+
+        @Min(0)
+        @Label("重试预算突发次数")
+        private int burst = 10;
+
+        @NotNull
+        @Label("请求体缓存目录")
+        private File tmp = Path.of("tmp", "http").toFile();
+
+        public RetryProcessor build() {
+            Validatex.Default().validateBean(this);
+            return new RetryProcessor(this.maxAttempts, this.backoff, this.maxBackoff, this.statuses, this.budget, this.burst, this.tmp);
+        }
+    }
 }
@@ -40,7 +40,12 @@ import java.io.InputStream;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /// Http Proxy
@@ -49,12 +54,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class HttpProxy implements InvocationHandler {
 
+    /// 响应式返回值类型，避免在未使用 Reactor 时加载该类
+    private static final String MONO = "reactor.core.publisher.Mono";
+
     private final Class<?> proxyType;
 
     private final HttpClient client;
 
     private final Contract contract;
 
+    /// 代理方法的返回值类型，异步方法为 `CompletableFuture`、`Mono` 的泛型参数
+    private final Map<Method, TypeRef<?>> valueTypes = new ConcurrentHashMap<>();
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         if (method.isDefault()) {
@@ -78,80 +89,131 @@ public class HttpProxy implements InvocationHandler {
             request.getUrl().setBaseUrl(this.client.getBaseUrl());
             request.setAttribute(HttpAttributes.PROXY_METHOD, method);
 
+            // 异步执行请求
+            var returnType = method.getReturnType();
+            var valueType = this.valueTypes.computeIfAbsent(method, this::getValueType);
+            if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+                var target = request;
+                return this.client.executeAsync(request).thenApply(response -> {
+                    try {
+                        return this.resolve(method, valueType, target, response);
+                    } catch (Exception ex) {
+                        throw new CompletionException(ex);
+                    }
+                });
+            }
+            if (MONO.equals(returnType.getName())) {
+                var target = request;
+                return this.client.exchange(request).handle((response, sink) -> {
+                    try {
+                        var value = this.resolve(method, valueType, target, response);
+                        if (value != null) {
+                            sink.next(value);
+                        }
+                    } catch (Exception ex) {
+                        sink.error(ex);
+                    }
+                });
+            }
+
             // 执行请求
             var response = client.execute(request);
+            return this.resolve(method, valueType, request, response);
+        }
+    }
 
-            // 解析结果
+    /// 解析响应
+    ///
+    /// @param method   代理方法
+    /// @param type     返回值类型，异步方法为 `CompletableFuture`、`Mono` 的泛型参数
+    /// @param request  请求
+    /// @param response 响应
+    private Object resolve(Method method, TypeRef<?> type, HttpRequest request, HttpResponse response) throws Exception {
+        var returnType = type.getRawClass();
+
+        // 如果开发者要求返回 HttpResponse
+        // 注意，开发者需要手动关闭 HttpResponse
+        if (HttpResponse.class.isAssignableFrom(returnType)) {
+            return response;
+        }
 
-            // 如果开发者要求返回 HttpResponse
-            // 注意，开发者需要手动关闭 HttpResponse
-            if (HttpResponse.class.isAssignableFrom(method.getReturnType())) {
-                return response;
+        // 开发者希望框架完成反序列化
+        // Response 需要是成功状态才能反序列化
+        if (!response.isSuccess()) {
+            try (response) {
+                throw HttpException.of(request, response);
             }
+        }
 
-            // 开发者希望框架完成反序列化
-            // Response 需要是成功状态才能反序列化
-            if (!response.isSuccess()) {
-                try (response) {
-                    throw HttpException.of(request, response);
-                }
+        // 根据返回值类型，动态判断要返回什么
+        if (InputStream.class.isAssignableFrom(returnType)) {
+            return response.getBody().getInputStream();
+        }
+
+        try (response) {
+            if (void.class == returnType || Void.class == returnType) {
+                // 如果方法不需要返回值
+                return null;
             }
 
-            // 根据返回值类型，动态判断要返回什么
-            if (InputStream.class.isAssignableFrom(method.getReturnType())) {
-                return response.getBody().getInputStream();
+            // 没有响应体
+            if (response.getHeaders().getContentLength() == 0) {
+                return null;
             }
 
-            try (response) {
-                if (void.class == method.getReturnType()) {
-                    // 如果方法不需要返回值
-                    return null;
-                }
-
-                // 没有响应体
-                if (response.getHeaders().getContentLength() == 0) {
-                    return null;
-                }
-
-                // 检查一些基础数据结构
-                if (String.class.isAssignableFrom(method.getReturnType())) {
-                    // 直接返回字符串
-                    return response.getBody().extract(StringExtractor.of());
-                }
-                if (Boolean.class == method.getReturnType() || boolean.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Boolean.class);
-                }
-                if (Integer.class == method.getReturnType() || int.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Integer.class);
-                }
-                if (Long.class == method.getReturnType() || long.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Long.class);
-                }
-                if (Short.class == method.getReturnType() || short.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Long.class);
-                }
-                if (Double.class == method.getReturnType() || double.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Double.class);
-                }
-                if (Float.class == method.getReturnType() || float.class == method.getReturnType()) {
-                    return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Float.class);
-                }
-
-                if (File.class.isAssignableFrom(method.getReturnType())) {
-                    // 返回文件类型
-                    // 解析文件名
-                    return response.getBody().extract(FileExtractor.of(this.client.getTmp()));
-                }
-
-                // 使用 JSON 解析结果
-                if (MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType())) {
-                    return response.getBody().extract(JsonExtractor.of(TypeRef.of(method.getGenericReturnType())));
-                }
-
-                throw new IllegalStateException(Stringx.format("{} {}#{}({}): 无法处理返回值类型[{}]",
-                        method.getReturnType().getSimpleName(), method.getDeclaringClass().getSimpleName(), method.getName(), Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ")),
-                        method.getName()));
+            // 检查一些基础数据结构
+            if (String.class.isAssignableFrom(returnType)) {
+                // 直接返回字符串
+                return response.getBody().extract(StringExtractor.of());
+            }
+            if (Boolean.class == returnType || boolean.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Boolean.class);
             }
+            if (Integer.class == returnType || int.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Integer.class);
+            }
+            if (Long.class == returnType || long.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Long.class);
+            }
+            if (Short.class == returnType || short.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Long.class);
+            }
+            if (Double.class == returnType || double.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Double.class);
+            }
+            if (Float.class == returnType || float.class == returnType) {
+                return Convertx.Default().convert(response.getBody().extract(StringExtractor.of()), Float.class);
+            }
+
+            if (File.class.isAssignableFrom(returnType)) {
+                // 返回文件类型
+                // 解析文件名
+                return response.getBody().extract(FileExtractor.of(this.client.getTmp()));
+            }
+
+            // 使用 JSON 解析结果
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType())) {
+                return response.getBody().extract(JsonExtractor.of(type));
+            }
+
+            throw new IllegalStateException(Stringx.format("{} {}#{}({}): 无法处理返回值类型[{}]",
+                    returnType.getSimpleName(), method.getDeclaringClass().getSimpleName(), method.getName(), Arrays.stream(method.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ")),
+                    method.getName()));
+        }
+    }
+
+    /// 获取代理方法的返回值类型
+    ///
+    /// 异步方法返回其泛型参数
+    private TypeRef<?> getValueType(Method method) {
+        var type = TypeRef.of(method.getGenericReturnType());
+        var returnType = method.getReturnType();
+        if (returnType != CompletableFuture.class && returnType != CompletionStage.class && !MONO.equals(returnType.getName())) {
+            return type;
+        }
+        if (type.getActualTypeArguments().isEmpty()) {
+            return TypeRef.of(Void.class);
         }
+        return type.getActualTypeArgument(0);
     }
 }
@@ -29,6 +29,8 @@ import central.lang.Assertx;
 import central.net.http.HttpClient;
 import central.net.http.HttpExecutor;
 import central.net.http.processor.HttpProcessor;
+import central.net.http.processor.impl.BulkheadProcessor;
+import central.net.http.processor.impl.CircuitBreakerProcessor;
 import central.net.http.processor.impl.LoggerProcessor;
 import central.net.http.proxy.contract.internal.InternalContract;
 import lombok.RequiredArgsConstructor;
@@ -106,6 +108,24 @@ public class HttpProxyFactory {
             return this;
         }
 
+        /// 添加熔断器
+        ///
+        /// 下游失败率过高时快速失败，详见 [CircuitBreakerProcessor]
+        public Builder circuitBreaker() {
+            this.processors.add(new CircuitBreakerProcessor());
+            return this;
+        }
+
+        /// 添加舱壁隔离
+        ///
+        /// 限制对同一目标主机的并发请求数，详见 [BulkheadProcessor]
+        ///
+        /// @param maxConcurrentCalls 最大并发请求数
+        public Builder bulkhead(int maxConcurrentCalls) {
+            this.processors.add(new BulkheadProcessor(maxConcurrentCalls));
+            return this;
+        }
+
         public <T> T target(Class<T> target) {
             Assertx.mustTrue(target.isInterface(), "Required Interface");
             return (T) Proxy.newProxyInstance(target.getClassLoader(), Arrayx.newArray(target), new HttpProxy(target, this.build(), this.contract));
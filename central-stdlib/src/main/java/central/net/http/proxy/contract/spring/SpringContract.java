@@ -33,21 +33,30 @@ import central.net.http.proxy.Contract;
 import central.net.http.proxy.contract.spring.resolver.*;
 import central.util.Objectx;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /// Spring 注解
 ///
+/// 每个代理方法在第一次调用时编译成 [Template]，后续调用只需要绑定参数值
+///
 /// @author Alan Yeh
 public class SpringContract implements Contract {
 
     private final List<SpringResolver> resolvers;
 
+    /// 已编译的请求模板
+    private final Map<Key, Template> templates = new ConcurrentHashMap<>();
+
     public SpringContract() {
         resolvers = List.of(
                 new RequestParamResolver(),
@@ -62,8 +71,26 @@ public class SpringContract implements Contract {
 
     @Override
     public HttpRequest parse(Object instance, Method method, Object[] args) {
+        var template = this.templates.computeIfAbsent(new Key(instance.getClass(), method), this::compile);
+
         var request = new HttpRequest();
+        request.setMethod(template.method());
+        request.setUrl(HttpUrl.of(template.path()));
+        request.getHeaders().addAll(template.headers());
+
+        // 处理入参
+        var binders = template.binders();
+        for (int i = 0; i < binders.length; i++) {
+            binders[i].bind(request, method, args[i]);
+        }
+
+        // 完成所有处理
+        return request;
+    }
 
+    /// 编译请求模板
+    private Template compile(Key key) {
+        var method = key.method();
         var annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
 
         // HTTP Method
@@ -74,26 +101,29 @@ public class SpringContract implements Contract {
         if (Arrayx.isNullOrEmpty(methods)) {
             methods = Arrayx.newArray(RequestMethod.GET);
         }
-        request.setMethod(HttpMethod.valueOf(Objectx.getOrDefault(methods[0], RequestMethod.GET).name()));
+        var httpMethod = HttpMethod.valueOf(Objectx.getOrDefault(methods[0], RequestMethod.GET).name());
 
         // Path
-        String parentPath = getPathOnClass(instance);
+        String path;
+        String parentPath = getPathOnClass(key.type());
         String methodPath = getPathOnMethod(annotation);
         if (Stringx.isNotBlank(parentPath) && Stringx.isNotBlank(methodPath)) {
-            request.setUrl(HttpUrl.of(Stringx.removeSuffix(parentPath, "/") + "/" + Stringx.removePrefix(methodPath, "/")));
+            path = Stringx.removeSuffix(parentPath, "/") + "/" + Stringx.removePrefix(methodPath, "/");
         } else if (Stringx.isNotBlank(methodPath)) {
-            request.setUrl(HttpUrl.of(methodPath));
+            path = methodPath;
         } else if (Stringx.isNotBlank(parentPath)) {
-            request.setUrl(HttpUrl.of(parentPath));
+            path = parentPath;
         } else {
-            request.setUrl(HttpUrl.of(""));
+            path = "";
         }
 
+        var headers = new HttpHeaders();
+
         // 处理 produces，也就是添加 ACCEPT 请求头
         if (annotation != null && Arrayx.isNotEmpty(annotation.produces())) {
             var accepts = Arrayx.asStream(annotation.produces()).filter(Stringx::isNotBlank).map(MediaType::parseMediaType).toList();
             if (!accepts.isEmpty()) {
-                request.getHeaders().setAccept(accepts);
+                headers.setAccept(accepts);
             }
         }
 
@@ -101,7 +131,7 @@ public class SpringContract implements Contract {
         if (annotation != null && Arrayx.isNotEmpty(annotation.consumes())) {
             if (Stringx.isNotBlank(annotation.consumes()[0])) {
                 var contentType = MediaType.parseMediaType(annotation.consumes()[0]);
-                request.getHeaders().setContentType(contentType);
+                headers.setContentType(contentType);
             }
         }
 
@@ -110,27 +140,26 @@ public class SpringContract implements Contract {
             for (var header : annotation.headers()) {
                 String[] nameValue = header.split("[=]");
                 Assertx.mustTrue(nameValue.length == 2, "Invalid header '{}'", header);
+                if (!nameValue[0].endsWith("!")) {
+                    // 忽略 name!=value 形式的否定条件
+                    headers.add(nameValue[0].trim(), nameValue[1].trim());
+                }
             }
         }
 
-        // 处理入参
+        // 处理入参，提前筛选出支持该参数的解析器
         var parameters = method.getParameters();
+        var binders = new Binder[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
-            for (var resolver : this.resolvers) {
-                if (resolver.support(parameters[i])) {
-                    if (resolver.resolve(request, method, parameters[i], args[i])) {
-                        break;
-                    }
-                }
-            }
+            var parameter = parameters[i];
+            binders[i] = new Binder(parameter, this.resolvers.stream().filter(it -> it.support(parameter)).toArray(SpringResolver[]::new));
         }
 
-        // 完成所有处理
-        return request;
+        return new Template(httpMethod, path, HttpHeaders.readOnlyHttpHeaders(headers), binders);
     }
 
-    private String getPathOnClass(Object instance) {
-        var mapping = AnnotatedElementUtils.findMergedAnnotation(instance.getClass(), RequestMapping.class);
+    private String getPathOnClass(Class<?> type) {
+        var mapping = AnnotatedElementUtils.findMergedAnnotation(type, RequestMapping.class);
         if (mapping == null) {
             return "";
         } else {
@@ -145,4 +174,33 @@ public class SpringContract implements Contract {
             return mapping.value()[0];
         }
     }
+
+    /// 模板缓存 Key
+    ///
+    /// 路径前缀取自代理对象的类型，因此需要与方法一起作为 Key
+    private record Key(Class<?> type, Method method) {
+    }
+
+    /// 请求模板
+    ///
+    /// @param method  请求方法
+    /// @param path    请求路径
+    /// @param headers 静态请求头（Accept、Content-Type 与 `headers` 声明的请求头）
+    /// @param binders 参数绑定器
+    private record Template(HttpMethod method, String path, HttpHeaders headers, Binder[] binders) {
+    }
+
+    /// 参数绑定器
+    ///
+    /// @param parameter 参数
+    /// @param resolvers 支持该参数的解析器
+    private record Binder(Parameter parameter, SpringResolver[] resolvers) {
+        public void bind(HttpRequest request, Method method, Object arg) {
+            for (var resolver : this.resolvers) {
+                if (resolver.resolve(request, method, this.parameter, arg)) {
+                    break;
+                }
+            }
+        }
+    }
 }
@@ -34,12 +34,12 @@ import java.util.List;
 public class ReactiveProcessChain<T, R> {
 
     /// 处理链
-    private final List<ReactiveProcessor<T, R>> processors;
+    private final List<? extends ReactiveProcessor<T, R>> processors;
 
     /// 当前执行的下标
     private final int index;
 
-    public ReactiveProcessChain(List<ReactiveProcessor<T, R>> processors) {
+    public ReactiveProcessChain(List<? extends ReactiveProcessor<T, R>> processors) {
         this.processors = processors;
         this.index = 0;
     }
@@ -100,6 +100,19 @@ public interface SqlBuilder {
     /// @return 构建好的 Sql
     SqlBatchScript forInsertBatch(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException;
 
+    /// Insert Batch Sql（多行 VALUES）
+    ///
+    /// 支持多行 VALUES 的方言，会将多行数据合并成一条 `INSERT INTO ... VALUES (...), (...)` 语句，减少语句数量和网络往返；
+    /// 不支持的方言与 [#forInsertBatch] 一致。由于最后一组数据的行数可能不足，因此可能返回多个批量脚本。
+    ///
+    /// @param executor Sql 执行器
+    /// @param meta     主表元数据
+    /// @param entities 实体数据
+    /// @return 构建好的 Sql
+    default List<SqlBatchScript> forInsertValues(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException {
+        return List.of(this.forInsertBatch(executor, meta, entities));
+    }
+
     /// Delete Sql
     ///
     /// @param executor   Sql 执行器
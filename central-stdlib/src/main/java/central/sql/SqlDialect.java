@@ -35,25 +35,25 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum SqlDialect {
     /// MySql
-    MySql("MySql", new MySqlBuilder()),
+    MySql("MySql", new CachedSqlBuilder(new MySqlBuilder())),
     /// Oracle
-    Oracle("Oracle", new OracleBuilder()),
+    Oracle("Oracle", new CachedSqlBuilder(new OracleBuilder())),
     /// 达梦
-    Dameng("Dameng", new DamengBuilder()),
+    Dameng("Dameng", new CachedSqlBuilder(new DamengBuilder())),
     /// 人大金仓
-    Kingbase("Kingbase", new KingbaseBuilder()),
+    Kingbase("Kingbase", new CachedSqlBuilder(new KingbaseBuilder())),
     /// 神舟
-    Oscar("Oscar", new OscarBuilder()),
+    Oscar("Oscar", new CachedSqlBuilder(new OscarBuilder())),
     /// 翰高
-    HighGo("HighGo", new HighGoBuilder()),
+    HighGo("HighGo", new CachedSqlBuilder(new HighGoBuilder())),
     /// H2
-    H2("H2", new H2Builder()),
+    H2("H2", new CachedSqlBuilder(new H2Builder())),
     /// PostgreSql
-    PostgreSql("PostgreSql", new PostgreSqlBuilder()),
+    PostgreSql("PostgreSql", new CachedSqlBuilder(new PostgreSqlBuilder())),
     /// 海量数据
-    Vastbase("Vastbase", new VastbaseBuilder()),
+    Vastbase("Vastbase", new CachedSqlBuilder(new VastbaseBuilder())),
     /// 未知的数据
-    Unknown("Unknown", new UnknownBuilder());
+    Unknown("Unknown", new CachedSqlBuilder(new UnknownBuilder()));
 
     private final String name;
 
@@ -41,6 +41,8 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /// Sql Executor
 ///
@@ -108,6 +110,41 @@ public interface SqlExecutor {
     /// @param type   结果类型
     <T> List<T> select(SqlScript script, Class<T> type) throws SQLException;
 
+    /// 执行查询，并以流的方式返回结果
+    ///
+    /// 结果集按需逐行读取并转换，内存占用只与每次读取的行数（`sql.fetch.size`）有关，适用于导出、迁移等需要遍历大量数据的场景。
+    /// 返回的流占用着数据库连接，使用完毕后必须关闭，建议使用 try-with-resources:
+    ///
+    /// ```java
+    /// try (var stream = executor.stream(script, AccountEntity.class)) {
+    ///     stream.forEach(account -> ...);
+    /// }
+    /// ```
+    ///
+    /// @param script SQL 脚本
+    /// @param type   结果类型
+    <T> Stream<T> stream(SqlScript script, Class<T> type) throws SQLException;
+
+    /// 执行查询，并逐行处理结果
+    ///
+    /// 处理完成或出现异常后，自动释放数据库连接
+    ///
+    /// @param script   SQL 脚本
+    /// @param type     结果类型
+    /// @param consumer 结果处理
+    /// @return 已处理的行数
+    default <T> long select(SqlScript script, Class<T> type, Consumer<? super T> consumer) throws SQLException {
+        long count = 0;
+        try (var stream = this.stream(script, type)) {
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
     /// 执行增删改语句
     ///
     /// @param script SQL 脚本
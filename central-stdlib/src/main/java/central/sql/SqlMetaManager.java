@@ -31,6 +31,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.function.Predicate;
 
 /// 元数据管理
@@ -54,6 +55,18 @@ public interface SqlMetaManager {
         return this.getMeta(executor, null);
     }
 
+    /// 构建指定表的数据库元数据
+    /// 只解析指定的表（不区分大小写），用于只涉及少量表的数据库迁移，减少扫描表的时间
+    ///
+    /// @param executor Sql 执行器
+    /// @param tables   表名
+    /// @return 数据库元数据
+    default @Nonnull DatabaseMeta getTablesMeta(@Nonnull SqlExecutor executor, @Nonnull Collection<String> tables) throws SQLException {
+        var meta = this.getMeta(executor, null);
+        meta.getTables().keySet().removeIf(name -> tables.stream().noneMatch(name::equalsIgnoreCase));
+        return meta;
+    }
+
     /// 构建实体元数据
     ///
     /// @param entity 实体类型
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql;
+
+import central.lang.Assertx;
+import central.lang.Stringx;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/// 行映射器
+///
+/// 由 [SqlTransformer#compile] 在查询开始前根据结果集的元数据创建，用于将结果集的当前行转换成目标类型
+///
+/// @author Alan Yeh
+@FunctionalInterface
+public interface SqlRowMapper<T> {
+
+    /// 转换结果集的当前行
+    ///
+    /// @param cursor 结果集，已指向需要转换的行
+    /// @return 目标实体
+    T map(ResultSet cursor) throws SQLException;
+
+    /// 解析结果集的列信息
+    ///
+    /// @param executor 执行器
+    /// @param meta     结果集元数据
+    static List<Column> columns(SqlExecutor executor, ResultSetMetaData meta) throws SQLException {
+        var count = meta.getColumnCount();
+        var columns = new ArrayList<Column>(count);
+        for (int i = 1; i <= count; i++) {
+            // 字段名
+            var columnName = meta.getColumnLabel(i);
+            if (Stringx.isNullOrBlank(columnName)) {
+                columnName = meta.getColumnName(i);
+            }
+            // 将字段名转成属性名
+            var propertyName = executor.getSource().getConversion().getPropertyName(columnName);
+
+            var columnType = meta.getColumnType(i);
+            var sqlType = Assertx.requireNotNull(SqlType.resolve(columnType), SQLException::new, Stringx.format("不支持的数据库字段类型[{}]", columnType));
+            columns.add(new Column(i, propertyName, sqlType));
+        }
+        return columns;
+    }
+
+    /// 列信息
+    ///
+    /// @param index    列序号，从 1 开始
+    /// @param property 列对应的属性名
+    /// @param type     列类型
+    record Column(int index, String property, SqlType type) {
+        /// 读取当前行该列的值
+        public Object resolve(SqlDialect dialect, ResultSet cursor, ResultSetMetaData meta) throws SQLException {
+            return this.type.getResolver().resolve(dialect, cursor, meta, this.index);
+        }
+    }
+}
@@ -50,6 +50,13 @@ public interface SqlSource {
     /// 获取出来的数据库连接不允许关闭，应在使用完后通过 #returnConnection 归还
     Connection getConnection() throws SQLException;
 
+    /// 获取只读数据库连接
+    /// 用于执行查询语句。支持读写分离的数据源可以返回只读副本的连接，默认与 #getConnection 相同
+    /// 获取出来的数据库连接同样应在使用完后通过 #returnConnection 归还
+    default Connection getReadConnection() throws SQLException {
+        return this.getConnection();
+    }
+
     /// 归还数据库连接
     ///
     /// @param connection 待归还数据库连接
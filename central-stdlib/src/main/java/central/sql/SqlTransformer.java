@@ -24,7 +24,9 @@
 
 package central.sql;
 
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /// 类型转换
@@ -38,4 +40,24 @@ public interface SqlTransformer {
     /// @param type 目标实体类型
     /// @return 目标实体
     <T> T transform(SqlExecutor executor, Map<String, Object> data, Class<T> type) throws SQLException;
+
+    /// 编译行映射器
+    ///
+    /// 每次查询只调用一次，返回的行映射器用于转换该查询的每一行数据。
+    /// 默认实现将每一行读取为 [Map] 后，再通过 [#transform] 转换
+    ///
+    /// @param meta 结果集元数据
+    /// @param type 目标实体类型
+    /// @return 行映射器
+    default <T> SqlRowMapper<T> compile(SqlExecutor executor, ResultSetMetaData meta, Class<T> type) throws SQLException {
+        var columns = SqlRowMapper.columns(executor, meta);
+        var dialect = executor.getSource().getDialect();
+        return cursor -> {
+            var data = new LinkedHashMap<String, Object>(columns.size());
+            for (var column : columns) {
+                data.put(column.property(), column.resolve(dialect, cursor, meta));
+            }
+            return this.transform(executor, data, type);
+        };
+    }
 }
@@ -36,7 +36,9 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /// 数据库字段类型
 ///
@@ -70,8 +72,19 @@ public enum SqlType implements OptionalEnum<String> {
         return Arrayx.asStream(SqlType.values()).filter(it -> it.isCompatibleWith(value)).findFirst().orElse(null);
     }
 
+    /// 数据库类型与字段类型的映射，解析结果集的每一列时都需要查找
+    private static final Map<Integer, SqlType> TYPES = new HashMap<>();
+
+    static {
+        for (var value : SqlType.values()) {
+            for (var type : value.getTypes()) {
+                TYPES.putIfAbsent(type, value);
+            }
+        }
+    }
+
     public static @Nullable SqlType resolve(int type) {
-        return Arrayx.asStream(SqlType.values()).filter(it -> it.getTypes().contains(type)).findFirst().orElse(null);
+        return TYPES.get(type);
     }
 
     public static @Nullable SqlType resolve(Class<?> type) {
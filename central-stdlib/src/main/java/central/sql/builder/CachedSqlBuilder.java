@@ -0,0 +1,496 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.builder;
+
+import central.bean.Treeable;
+import central.lang.Stringx;
+import central.sql.*;
+import central.sql.builder.script.column.AddColumnScript;
+import central.sql.builder.script.column.DropColumnScript;
+import central.sql.builder.script.column.RenameColumnScript;
+import central.sql.builder.script.index.AddIndexScript;
+import central.sql.builder.script.index.DropIndexScript;
+import central.sql.builder.script.table.AddTableScript;
+import central.sql.builder.script.table.DropTableScript;
+import central.sql.builder.script.table.RenameTableScript;
+import central.sql.meta.entity.EntityMeta;
+import central.sql.meta.entity.PropertyMeta;
+import central.sql.query.Columns;
+import central.sql.query.Conditions;
+import central.sql.query.Orders;
+import central.util.Collectionx;
+import central.util.Listx;
+import central.util.cache.memory.EvictionPolicy;
+import central.util.cache.memory.Weigher;
+import jakarta.annotation.Nonnull;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// 带语句模板缓存的 Sql 构建器
+///
+/// 同一个实体，在 Columns、Conditions、Orders 的结构相同时，生成的 Sql 是完全一样的，只是参数不同。
+/// 因此这里根据这些结构生成缓存键，缓存命中时只需要按照 [StandardSqlBuilder] 相同的顺序提取参数，
+/// 不再重新拼接 Sql。Sql 文本保持稳定后，JDBC 驱动的服务端预编译语句缓存也能命中。
+///
+/// 缓存未命中时，交由被代理的方言构建器生成 Sql，因此各方言的差异不受影响。分页查询缓存的是不带分页子句的 Sql，
+/// 使用时再由方言构建器追加分页子句，避免每一页都占用一个缓存。缓存数量超出上限时按 [EvictionPolicy] 淘汰。
+/// 可以通过 `sql.template.cache=false` 关闭缓存。
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class CachedSqlBuilder implements SqlBuilder {
+    /// 最多缓存的模板数量
+    private static final int CAPACITY = 4096;
+
+    @Getter
+    private final StandardSqlBuilder delegate;
+
+    private final Map<Key, String> templates = new ConcurrentHashMap<>();
+
+    /// 模板淘汰策略
+    private final EvictionPolicy<Key, String> policy = new EvictionPolicy<>(CAPACITY, 0, Weigher.singleton());
+
+    /// 缓存键
+    ///
+    /// 实体元数据和命名转换按引用比较，避免对元数据做深度比较
+    private record Key(EntityMeta meta, SqlConversion conversion, String shape) {
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return this.meta == other.meta && this.conversion == other.conversion && this.shape.equals(other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(this.meta) * 31 + System.identityHashCode(this.conversion)) * 31 + this.shape.hashCode();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Builder<T> {
+        T build() throws SQLSyntaxErrorException;
+    }
+
+    @Override
+    public String processTable(String table) {
+        return this.delegate.processTable(table);
+    }
+
+    @Override
+    public String processColumn(String column) {
+        return this.delegate.processColumn(column);
+    }
+
+    @Override
+    public String processIndex(String index) {
+        return this.delegate.processIndex(index);
+    }
+
+    @Override
+    public SqlScript forCountBy(SqlExecutor executor, EntityMeta meta, Conditions<?> conditions) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor)) {
+            return this.delegate.forCountBy(executor, meta, conditions);
+        }
+
+        var target = Conditions.of(conditions);
+        this.delegate.preprocessingConditions(target);
+
+        var shape = new StringBuilder("COUNT:");
+        var args = Listx.newArrayList();
+        if (!this.applyConditions(executor, meta, shape, args, target)) {
+            return this.delegate.forCountBy(executor, meta, target);
+        }
+
+        return this.apply(executor, meta, shape, args, () -> this.delegate.forCountBy(executor, meta, target));
+    }
+
+    @Override
+    public SqlScript forFindBy(SqlExecutor executor, EntityMeta meta, Long first, Long offset, Columns<?> columns, Conditions<?> conditions, Orders<?> orders) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor)) {
+            return this.delegate.forFindBy(executor, meta, first, offset, columns, conditions, orders);
+        }
+
+        var target = Conditions.of(conditions);
+        this.delegate.preprocessingConditions(target);
+
+        // 分页子句不参与缓存，由方言构建器追加
+        var shape = new StringBuilder("FIND:");
+        if (columns != null) {
+            for (var column : columns) {
+                shape.append(column.getProperty()).append(',');
+            }
+        }
+        shape.append(':');
+        if (orders != null) {
+            for (var order : orders) {
+                shape.append(order.getProperty()).append(order.isDesc() ? " DESC," : " ASC,");
+            }
+        }
+        shape.append(':');
+
+        var args = Listx.newArrayList();
+        if (!this.applyConditions(executor, meta, shape, args, target)) {
+            return this.delegate.forFindBy(executor, meta, first, offset, columns, target, orders);
+        }
+
+        var script = this.apply(executor, meta, shape, args, () -> this.delegate.forFindBy(executor, meta, null, null, columns, target, orders));
+        if (first == null) {
+            return script;
+        }
+        var sql = this.delegate.applyPage(new StringBuilder(script.getSql()), offset == null ? 0L : offset, first);
+        return new SqlScript(sql.toString(), script.getArgs());
+    }
+
+    @Override
+    public SqlScript forInsert(SqlExecutor executor, EntityMeta meta, Object entity) throws SQLSyntaxErrorException {
+        var batchScript = this.forInsertBatch(executor, meta, Listx.of(entity));
+        return new SqlScript(batchScript.getSql(), Listx.getFirstOrNull(batchScript.getArgs()));
+    }
+
+    @Override
+    public SqlBatchScript forInsertBatch(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor)) {
+            return this.delegate.forInsertBatch(executor, meta, entities);
+        }
+
+        // 插入语句只与实体有关
+        var key = new Key(meta, executor.getSource().getConversion(), "INSERT");
+        var sql = this.get(key);
+        if (sql == null) {
+            var script = this.delegate.forInsertBatch(executor, meta, entities);
+            this.put(key, script.getSql());
+            return script;
+        }
+
+        var script = new SqlBatchScript(sql);
+        for (var entity : entities) {
+            script.addArgs(this.delegate.getInsertArgs(executor, meta, entity));
+        }
+        return script;
+    }
+
+    @Override
+    public List<SqlBatchScript> forInsertValues(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException {
+        var rows = this.delegate.getValuesLimit(executor, meta);
+        if (rows <= 1 || entities.size() <= 1) {
+            return List.of(this.forInsertBatch(executor, meta, entities));
+        }
+        if (!this.isEnabled(executor)) {
+            return this.delegate.forInsertValues(executor, meta, entities);
+        }
+
+        // 与 [StandardSqlBuilder#forInsertValues] 相同的分块方式：每 rows 行数据合并成一条语句，最后不足 rows 行的数据单独使用一条语句
+        var result = new ArrayList<SqlBatchScript>(2);
+        SqlBatchScript script = null;
+        for (var partition : Listx.partition(entities, rows)) {
+            if (script == null || partition.size() != rows) {
+                script = new SqlBatchScript(this.getInsert(executor, meta, partition.size()));
+                result.add(script);
+            }
+
+            var args = new ArrayList<>(partition.size() * meta.getProperties().size());
+            for (var entity : partition) {
+                args.addAll(this.delegate.getInsertArgs(executor, meta, entity));
+            }
+            script.addArgs(args);
+        }
+        return result;
+    }
+
+    /// 获取合并插入指定行数的语句
+    ///
+    /// 所有属性都以参数的形式插入（包括值为 NULL 的属性），因此语句只与实体和行数有关
+    private String getInsert(SqlExecutor executor, EntityMeta meta, int rows) {
+        var key = new Key(meta, executor.getSource().getConversion(), "INSERT_VALUES:" + rows);
+        var sql = this.get(key);
+        if (sql == null) {
+            sql = this.delegate.buildInsert(executor, meta, rows);
+            this.put(key, sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public SqlScript forDeleteBy(SqlExecutor executor, EntityMeta meta, Conditions<?> conditions) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor)) {
+            return this.delegate.forDeleteBy(executor, meta, conditions);
+        }
+
+        var target = Conditions.of(conditions);
+        this.delegate.preprocessingConditions(target);
+
+        var shape = new StringBuilder("DELETE:");
+        var args = Listx.newArrayList();
+        if (!this.applyConditions(executor, meta, shape, args, target)) {
+            return this.delegate.forDeleteBy(executor, meta, target);
+        }
+
+        return this.apply(executor, meta, shape, args, () -> this.delegate.forDeleteBy(executor, meta, target));
+    }
+
+    @Override
+    public SqlScript forUpdateBy(SqlExecutor executor, EntityMeta meta, Object entity, Conditions<?> conditions) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor) || !meta.getType().isInstance(entity)) {
+            return this.delegate.forUpdateBy(executor, meta, entity, conditions);
+        }
+        return this.forUpdate(executor, meta, entity, conditions, false);
+    }
+
+    @Override
+    public SqlScript forUpdate(SqlExecutor executor, EntityMeta meta, Object entity, Conditions<?> conditions) throws SQLSyntaxErrorException {
+        if (!this.isEnabled(executor) || !meta.getType().isInstance(entity)) {
+            return this.delegate.forUpdate(executor, meta, entity, conditions);
+        }
+        return this.forUpdate(executor, meta, entity, conditions, true);
+    }
+
+    /// 构建 Update
+    ///
+    /// @param includeNull 是否更新值为 NULL 的属性
+    @SneakyThrows({IllegalAccessException.class, InvocationTargetException.class})
+    private SqlScript forUpdate(SqlExecutor executor, EntityMeta meta, Object entity, Conditions<?> conditions, boolean includeNull) throws SQLSyntaxErrorException {
+        Builder<SqlScript> fallback = includeNull
+                ? () -> this.delegate.forUpdate(executor, meta, entity, conditions)
+                : () -> this.delegate.forUpdateBy(executor, meta, entity, conditions);
+
+        var target = Conditions.of(conditions);
+        if (Collectionx.isNullOrEmpty(target)) {
+            // 如果更新条件为 null，则要求必须使用 id 进行更新
+            var id = meta.getId().getDescriptor().getReadMethod().invoke(entity);
+            if (id == null) {
+                // 由方言构建器抛出异常
+                return fallback.build();
+            }
+            target = Conditions.of(target).eq(meta.getId().getName(), id);
+        }
+
+        // SET 语句的结构：- 表示不更新，0 表示更新为 NULL，1 表示更新为参数
+        var shape = new StringBuilder(includeNull ? "UPDATE:" : "UPDATE_BY:");
+        var args = Listx.newArrayList();
+        for (var property : meta.getProperties()) {
+            if (!property.isUpdatable() || !property.isInsertable() || property.isPrimary()) {
+                continue;
+            }
+
+            var value = property.getDescriptor().getReadMethod().invoke(entity);
+            if (value == null) {
+                shape.append(includeNull ? '0' : '-');
+            } else {
+                shape.append('1');
+                args.add(this.delegate.convertValue(executor, meta, property, value));
+            }
+        }
+        shape.append(':');
+
+        this.delegate.preprocessingConditions(target);
+        if (!this.applyConditions(executor, meta, shape, args, target)) {
+            return fallback.build();
+        }
+
+        var finalTarget = target;
+        return this.apply(executor, meta, shape, args, includeNull
+                ? () -> this.delegate.forUpdate(executor, meta, entity, finalTarget)
+                : () -> this.delegate.forUpdateBy(executor, meta, entity, finalTarget));
+    }
+
+    /// 查找模板，未命中时由方言构建器生成并缓存
+    private SqlScript apply(SqlExecutor executor, EntityMeta meta, StringBuilder shape, List<Object> args, Builder<SqlScript> builder) throws SQLSyntaxErrorException {
+        var key = new Key(meta, executor.getSource().getConversion(), shape.toString());
+        var sql = this.get(key);
+        if (sql != null) {
+            return new SqlScript(sql, args);
+        }
+
+        var script = builder.build();
+        this.put(key, script.getSql());
+        return script;
+    }
+
+    private String get(Key key) {
+        var sql = this.templates.get(key);
+        if (sql != null) {
+            this.evict(this.policy.recordAccess(key, sql));
+        }
+        return sql;
+    }
+
+    private void put(Key key, String sql) {
+        this.templates.put(key, sql);
+        this.evict(this.policy.recordWrite(key, sql));
+    }
+
+    private void evict(List<Map.Entry<Key, String>> victims) {
+        for (var victim : victims) {
+            this.templates.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private boolean isEnabled(SqlExecutor executor) {
+        return !"false".equalsIgnoreCase(executor.getProperties().getProperty("sql.template.cache"));
+    }
+
+    /// 生成条件结构，并按照 [StandardSqlBuilder#applyConditions] 相同的顺序提取参数
+    ///
+    /// @return 条件无法解析时返回 false，此时应交由方言构建器处理（抛出相应的异常）
+    private boolean applyConditions(SqlExecutor executor, EntityMeta meta, StringBuilder shape, List<Object> args, Conditions<?> conditions) {
+        var expression = Treeable.build(conditions.clone(), Conditions.Condition.defaultComparator());
+
+        try {
+            for (int i = 0, length = expression.size(); i < length; i++) {
+                var condition = expression.get(i);
+                if (i != 0) {
+                    shape.append(' ').append(condition.getConnector()).append(' ');
+                }
+                this.applyCondition(executor, meta, shape, args, condition);
+            }
+            return true;
+        } catch (IllegalArgumentException ignored) {
+            return false;
+        }
+    }
+
+    private void applyCondition(SqlExecutor executor, EntityMeta meta, StringBuilder shape, List<Object> args, Conditions.Condition<?> condition) {
+        if (Collectionx.isNotEmpty(condition.getChildren())) {
+            shape.append('(');
+            for (int i = 0, length = condition.getChildren().size(); i < length; i++) {
+                var child = condition.getChildren().get(i);
+                if (i != 0) {
+                    shape.append(' ').append(child.getConnector()).append(' ');
+                }
+                this.applyCondition(executor, meta, shape, args, child);
+            }
+            shape.append(')');
+            return;
+        }
+
+        final EntityMeta target;
+        var alias = condition.getAlias();
+
+        if (Stringx.isNullOrEmpty(alias) || "a".equals(alias)) {
+            target = meta;
+        } else {
+            var foreign = meta.getForeign(alias);
+            if (foreign != null) {
+                target = foreign.getTarget();
+            } else {
+                var foreignTable = meta.getForeignTable(alias);
+                target = foreignTable == null ? null : foreignTable.getTarget();
+            }
+        }
+        if (target == null) {
+            throw new IllegalArgumentException(alias);
+        }
+
+        PropertyMeta property;
+        if (Stringx.isNullOrBlank(alias)) {
+            property = target.getProperty(condition.getProperty());
+        } else {
+            property = target.getProperty(condition.getProperty().substring(alias.length() + 1));
+        }
+        if (property == null) {
+            throw new IllegalArgumentException(condition.getProperty());
+        }
+
+        shape.append(condition.getProperty()).append(' ').append(condition.getOperator());
+
+        var values = condition.getValues();
+        switch (condition.getOperator()) {
+            case EQ, NE, GT, GE, LT, LE, LIKE, NOT_LIKE -> {
+                args.add(this.delegate.convertValue(executor, target, property, values[0]));
+            }
+            case BETWEEN, NOT_BETWEEN -> {
+                args.add(this.delegate.convertValue(executor, target, property, values[0]));
+                args.add(this.delegate.convertValue(executor, target, property, values[1]));
+            }
+            case IS_NULL, IS_NOT_NULL -> {
+            }
+            case IN, NOT_IN -> {
+                // 参数个数及拆分上限都会影响占位符的数量
+                shape.append('#').append(values.length).append('/').append(this.delegate.getInLimit(executor));
+                for (var value : values) {
+                    args.add(this.delegate.convertValue(executor, target, property, value));
+                }
+            }
+        }
+    }
+
+    @Override
+    public String handleSqlType(SqlType type, Integer length) {
+        return this.delegate.handleSqlType(type, length);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forAddTable(@Nonnull AddTableScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forAddTable(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forDropTable(@Nonnull DropTableScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forDropTable(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forRenameTable(@Nonnull RenameTableScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forRenameTable(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forAddColumn(@Nonnull AddColumnScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forAddColumn(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forDropColumn(@Nonnull DropColumnScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forDropColumn(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forRenameColumn(@Nonnull RenameColumnScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forRenameColumn(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forAddIndex(@Nonnull AddIndexScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forAddIndex(script);
+    }
+
+    @Override
+    public @Nonnull List<SqlScript> forDropIndex(@Nonnull DropIndexScript script) throws SQLSyntaxErrorException {
+        return this.delegate.forDropIndex(script);
+    }
+}
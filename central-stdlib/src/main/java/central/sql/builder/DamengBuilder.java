@@ -28,5 +28,8 @@ package central.sql.builder;
 ///
 /// @author Alan Yeh
 public class DamengBuilder extends StandardSqlBuilder {
-
+    @Override
+    protected boolean isMultiValuesSupported() {
+        return true;
+    }
 }
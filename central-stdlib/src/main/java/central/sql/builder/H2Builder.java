@@ -28,4 +28,8 @@ package central.sql.builder;
 ///
 /// @author Alan Yeh
 public class H2Builder extends StandardSqlBuilder {
+    @Override
+    protected boolean isMultiValuesSupported() {
+        return true;
+    }
 }
@@ -50,6 +50,11 @@ import java.util.List;
 /// @author Alan Yeh
 public class MySqlBuilder extends StandardSqlBuilder {
 
+    @Override
+    protected boolean isMultiValuesSupported() {
+        return true;
+    }
+
     @Override
     public String processTable(String table) {
         return "`" + table + "`";
@@ -48,6 +48,12 @@ import java.util.List;
 ///
 /// @author Alan Yeh
 public class PostgreSqlBuilder extends StandardSqlBuilder {
+
+    @Override
+    protected boolean isMultiValuesSupported() {
+        return true;
+    }
+
     @Override
     public String handleSqlType(SqlType type, Integer length) {
         return switch (type) {
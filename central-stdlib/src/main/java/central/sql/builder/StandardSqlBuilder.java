@@ -193,13 +193,76 @@ public abstract class StandardSqlBuilder implements SqlBuilder {
     }
 
     @Override
-    @SneakyThrows({IllegalAccessException.class, InvocationTargetException.class})
     public SqlBatchScript forInsertBatch(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException {
         // INSERT INTO ${TABLE}(ID, COL1, COL2, ...) VALUES (?, ?, ?, ...)
+        var script = new SqlBatchScript(this.buildInsert(executor, meta, 1));
+
+        // 构建参数
+        for (var entity : entities) {
+            script.addArgs(this.getInsertArgs(executor, meta, entity));
+        }
+        return script;
+    }
+
+    @Override
+    public List<SqlBatchScript> forInsertValues(SqlExecutor executor, EntityMeta meta, List<Object> entities) throws SQLSyntaxErrorException {
+        var rows = this.getValuesLimit(executor, meta);
+        if (rows <= 1 || entities.size() <= 1) {
+            return Listx.of(this.forInsertBatch(executor, meta, entities));
+        }
+
+        // INSERT INTO ${TABLE}(ID, COL1, COL2, ...) VALUES (?, ?, ?, ...), (?, ?, ?, ...)
+        // 每 rows 行数据合并成一条语句，最后不足 rows 行的数据单独使用一条语句
+        var result = new ArrayList<SqlBatchScript>(2);
+        var partitions = Listx.partition(entities, rows);
+
+        SqlBatchScript script = null;
+        for (var partition : partitions) {
+            if (script == null || partition.size() != rows) {
+                script = new SqlBatchScript(this.buildInsert(executor, meta, partition.size()));
+                result.add(script);
+            }
+
+            var args = new ArrayList<>(partition.size() * meta.getProperties().size());
+            for (var entity : partition) {
+                args.addAll(this.getInsertArgs(executor, meta, entity));
+            }
+            script.addArgs(args);
+        }
+        return result;
+    }
+
+    /// 是否支持多行 VALUES 插入
+    ///
+    /// 支持的方言需要重写此方法
+    protected boolean isMultiValuesSupported() {
+        return false;
+    }
+
+    /// 获取一条 INSERT 语句最多合并的行数
+    ///
+    /// 由 `sql.insert.values`（默认 100）配置，同时保证一条语句的参数个数不超过 32767 个（PostgreSql 等驱动的限制）
+    protected int getValuesLimit(SqlExecutor executor, EntityMeta meta) {
+        if (!this.isMultiValuesSupported()) {
+            return 1;
+        }
 
-        // 构建 Sql
+        int limit = 100;
+        try {
+            limit = Integer.parseInt(executor.getProperties().getProperty("sql.insert.values", "100"));
+        } catch (Exception ex) {
+            log.warn("[SqlBuilder] 配置 sql.insert.values 异常，使用默认配置值 100");
+        }
+
+        return Math.max(1, Math.min(limit, 32767 / Math.max(1, meta.getProperties().size())));
+    }
+
+    /// 构建 INSERT 语句
+    ///
+    /// @param rows 合并插入的行数
+    protected String buildInsert(SqlExecutor executor, EntityMeta meta, int rows) {
         var sql = new StringBuilder(Stringx.format("INSERT INTO {}\n  (", this.processTable(meta.getTableName(executor.getSource().getConversion()))));
-        var valueSql = new StringBuilder(")\nVALUES\n  (");
+        var valueSql = new StringBuilder("(");
 
         var properties = meta.getProperties();
         for (var property : properties) {
@@ -207,27 +270,37 @@ public abstract class StandardSqlBuilder implements SqlBuilder {
             valueSql.append("?, ");
         }
 
-        sql.delete(sql.length() - 2, sql.length()).append(valueSql.delete(valueSql.length() - 2, valueSql.length())).append(")");
+        sql.delete(sql.length() - 2, sql.length()).append(")\nVALUES\n  ");
+        valueSql.delete(valueSql.length() - 2, valueSql.length()).append(")");
 
-        var script = new SqlBatchScript(sql.toString());
-
-        // 构建参数
-        for (var entity : entities) {
-            var args = Listx.newArrayList();
-            for (var property : properties) {
-                var value = property.getDescriptor().getReadMethod().invoke(entity);
-                if (value == null && property.isPrimary()) {
-                    // 主键
-                    // 此时需要自动生成主键，并回写到实体
-                    value = Guidx.nextID();
-                    property.getDescriptor().getWriteMethod().invoke(entity, value);
-                }
-                args.add(this.convertValue(executor, meta, property, value));
+        for (int i = 0; i < rows; i++) {
+            if (i != 0) {
+                sql.append(",\n  ");
             }
+            sql.append(valueSql);
+        }
+        return sql.toString();
+    }
 
-            script.addArgs(args);
+    /// 获取待插入实体的参数
+    ///
+    /// 如果主键为空，会自动生成主键，并回写到实体
+    @SneakyThrows({IllegalAccessException.class, InvocationTargetException.class})
+    protected List<Object> getInsertArgs(SqlExecutor executor, EntityMeta meta, Object entity) {
+        var properties = meta.getProperties();
+
+        var args = new ArrayList<>(properties.size());
+        for (var property : properties) {
+            var value = property.getDescriptor().getReadMethod().invoke(entity);
+            if (value == null && property.isPrimary()) {
+                // 主键
+                // 此时需要自动生成主键，并回写到实体
+                value = Guidx.nextID();
+                property.getDescriptor().getWriteMethod().invoke(entity, value);
+            }
+            args.add(this.convertValue(executor, meta, property, value));
         }
-        return script;
+        return args;
     }
 
     @Override
@@ -521,13 +594,7 @@ public abstract class StandardSqlBuilder implements SqlBuilder {
                     where.append(Stringx.format(condition.getOperator().getValue(), alias + this.processColumn(property.getColumnName(executor.getSource().getConversion()))));
                 }
                 case IN, NOT_IN -> {
-                    var limitStr = executor.getProperties().getProperty("sql.in.limit", "200");
-                    int limit = 200;
-                    try {
-                        limit = Integer.parseInt(limitStr);
-                    } catch (Exception ex) {
-                        log.warn("[SqlBuilder] 配置 sql.in.limit 异常，使用默认配置值 200");
-                    }
+                    var limit = this.getInLimit(executor);
 
                     var values = condition.getValues();
                     if (values.length > limit) {
@@ -552,6 +619,30 @@ public abstract class StandardSqlBuilder implements SqlBuilder {
         }
     }
 
+    /// 最近一次解析的 sql.in.limit 配置，配置值未变化时不再重复解析
+    private volatile Map.Entry<String, Integer> inLimit = Map.entry("200", 200);
+
+    /// 获取 IN 条件的参数个数上限，超过上限时会拆分成多个 IN 条件
+    ///
+    /// @param executor Sql 执行器
+    protected int getInLimit(SqlExecutor executor) {
+        var value = executor.getProperties().getProperty("sql.in.limit", "200");
+
+        var cached = this.inLimit;
+        if (cached.getKey().equals(value)) {
+            return cached.getValue();
+        }
+
+        int limit = 200;
+        try {
+            limit = Integer.parseInt(value);
+        } catch (Exception ex) {
+            log.warn("[SqlBuilder] 配置 sql.in.limit 异常，使用默认配置值 200");
+        }
+        this.inLimit = Map.entry(value, limit);
+        return limit;
+    }
+
     protected StringBuilder applyPage(StringBuilder sql, Long offset, Long pageSize) {
         // TODO 注意分页起始页
         sql.append("LIMIT ").append(offset).append(", ").append(pageSize);
@@ -37,6 +37,8 @@ import java.util.logging.Logger;
 /// 读写分离数据源
 ///
 /// @author Alan Yeh
+/// @deprecated 未实现，所有方法均返回空值。请使用 [central.sql.datasource.dynamic.RoutingSqlSource]
+@Deprecated(forRemoval = true)
 @RequiredArgsConstructor
 public class SplittingDataSource implements DataSource {
     /// 主数据源
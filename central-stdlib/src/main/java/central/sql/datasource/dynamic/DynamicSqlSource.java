@@ -31,12 +31,15 @@ import central.sql.exception.DataSourceNotFoundException;
 import lombok.SneakyThrows;
 import lombok.experimental.Delegate;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
 
 /// 动态数据源
 ///
+/// 根据 LookupKey 选择数据源。如果需要读写分离，可以让数据源名称对应一个 [RoutingSqlSource]。
+///
 /// @author Alan Yeh
 public abstract class DynamicSqlSource implements SqlSource {
 
@@ -56,6 +59,11 @@ public abstract class DynamicSqlSource implements SqlSource {
         return this.getDataSourceByName(lookupKey);
     }
 
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        return this.determineDataSource().getReadConnection();
+    }
+
     /// 决定当前数据源
     protected String determineLookupKey() {
         return "master";
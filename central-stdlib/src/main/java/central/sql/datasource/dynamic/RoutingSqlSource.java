@@ -0,0 +1,429 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.datasource.dynamic;
+
+import central.lang.Assertx;
+import central.sql.SqlConversion;
+import central.sql.SqlDialect;
+import central.sql.SqlExecutor;
+import central.sql.SqlSource;
+import central.sql.datasource.dynamic.lookup.LookupKeyHolder;
+import central.sql.datasource.migration.DataSourceMigrator;
+import central.sql.datasource.migration.Migration;
+import central.util.Version;
+import central.validation.Label;
+import central.validation.Validatex;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/// 读写分离数据源
+///
+/// 写操作使用主数据源，查询语句（[SqlExecutor#select]、[SqlExecutor#selectSingle]、[SqlExecutor#stream]）
+/// 按负载均衡策略分发到只读副本。以下情况查询语句也会使用主数据源：
+///
+/// - 通过 `@LookupKey("master")` 或 [LookupKeyHolder#setLookupKey] 强制使用主数据源
+/// - 当前处于事务中（由 [Builder#transactional] 判断）
+/// - 数据源迁移过程中
+/// - 没有可用的副本
+///
+/// 副本获取连接失败或健康检查失败时会被摘除，健康检查恢复后重新加入。
+///
+/// ```java
+/// var source = RoutingSqlSource.builder()
+///         .master(master)
+///         .addReplica(replica1, 2)
+///         .addReplica(replica2, 1)
+///         .balance(RoutingSqlSource.Balance.WEIGHTED)
+///         // Spring 事务中的查询使用主数据源
+///         .transactional(TransactionSynchronizationManager::isActualTransactionActive)
+///         .build();
+/// ```
+///
+/// @author Alan Yeh
+@Slf4j
+public class RoutingSqlSource implements SqlSource, AutoCloseable {
+
+    /// 主数据源名称
+    public static final String MASTER = "master";
+
+    /// 主数据源
+    @Getter
+    private final SqlSource master;
+
+    /// 只读副本
+    @Getter
+    private final List<Replica> replicas;
+
+    /// 负载均衡策略
+    @Getter
+    private final Balance balance;
+
+    /// 判断当前是否处于事务中
+    private final BooleanSupplier transactional;
+
+    /// 健康检查超时时间
+    private final Duration timeout;
+
+    /// 健康检查调度器
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /// 正在使用的副本连接，归还连接时需要找到对应的副本
+    private final Map<Connection, Replica> leases = new ConcurrentHashMap<>();
+
+    /// 当前线程强制使用主数据源的层数
+    private final ThreadLocal<Integer> primary = ThreadLocal.withInitial(() -> 0);
+
+    private RoutingSqlSource(SqlSource master, List<Replica> replicas, Balance balance, BooleanSupplier transactional, Duration interval, Duration timeout) {
+        this.master = master;
+        this.replicas = List.copyOf(replicas);
+        this.balance = balance;
+        this.transactional = transactional;
+        this.timeout = timeout;
+
+        if (interval != null && !interval.isZero() && !interval.isNegative() && !this.replicas.isEmpty()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "central-sql-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::check, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /// 负载均衡策略
+    public enum Balance {
+        /// 轮询
+        ROUND_ROBIN,
+        /// 按权重随机
+        WEIGHTED,
+        /// 最少进行中的请求
+        LEAST_OUTSTANDING
+    }
+
+    /// 只读副本
+    @RequiredArgsConstructor
+    public static class Replica {
+        /// 数据源
+        @Getter
+        private final SqlSource source;
+
+        /// 权重
+        @Getter
+        private final int weight;
+
+        /// 是否可用
+        @Getter
+        private volatile boolean available = true;
+
+        /// 进行中的请求数
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        public int getOutstanding() {
+            return this.outstanding.get();
+        }
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return this.master.getDialect();
+    }
+
+    @Override
+    public SqlConversion getConversion() {
+        return this.master.getConversion();
+    }
+
+    @Override
+    public DataSourceMigrator getMigrator() {
+        var migrator = this.master.getMigrator();
+        return migrator == null ? null : new PrimaryMigrator(migrator);
+    }
+
+    @Override
+    public DataSource getDataSource() {
+        return this.master.getDataSource();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.master.getConnection();
+    }
+
+    @Override
+    public Connection getReadConnection() throws SQLException {
+        if (this.isPrimaryRequired()) {
+            return this.master.getConnection();
+        }
+
+        var candidates = new ArrayList<Replica>(this.replicas.size());
+        for (var replica : this.replicas) {
+            if (replica.available) {
+                candidates.add(replica);
+            }
+        }
+
+        while (!candidates.isEmpty()) {
+            var replica = this.choose(candidates);
+            replica.outstanding.incrementAndGet();
+            try {
+                var connection = replica.source.getConnection();
+                this.leases.put(connection, replica);
+                return connection;
+            } catch (SQLException ex) {
+                replica.outstanding.decrementAndGet();
+                this.eject(replica, ex);
+                candidates.remove(replica);
+            }
+        }
+
+        // 没有可用的副本
+        return this.master.getConnection();
+    }
+
+    @Override
+    public void returnConnection(Connection connection) throws SQLException {
+        var replica = this.leases.remove(connection);
+        if (replica == null) {
+            this.master.returnConnection(connection);
+            return;
+        }
+
+        try {
+            replica.source.returnConnection(connection);
+        } finally {
+            replica.outstanding.decrementAndGet();
+        }
+    }
+
+    /// 查询语句是否必须使用主数据源
+    protected boolean isPrimaryRequired() {
+        return MASTER.equals(LookupKeyHolder.getLookupKey()) || this.primary.get() > 0 || this.transactional.getAsBoolean();
+    }
+
+    private Replica choose(List<Replica> candidates) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        return switch (this.balance) {
+            case ROUND_ROBIN -> candidates.get(Math.floorMod(this.sequence.getAndIncrement(), candidates.size()));
+            case WEIGHTED -> {
+                int total = 0;
+                for (var candidate : candidates) {
+                    total += candidate.weight;
+                }
+                int random = ThreadLocalRandom.current().nextInt(total);
+                for (var candidate : candidates) {
+                    random -= candidate.weight;
+                    if (random < 0) {
+                        yield candidate;
+                    }
+                }
+                yield candidates.get(candidates.size() - 1);
+            }
+            case LEAST_OUTSTANDING -> {
+                // 从轮询位置开始查找，避免请求数相同时总是选中第一个副本
+                int start = Math.floorMod(this.sequence.getAndIncrement(), candidates.size());
+                Replica result = null;
+                for (int i = 0; i < candidates.size(); i++) {
+                    var candidate = candidates.get((start + i) % candidates.size());
+                    if (result == null || candidate.getOutstanding() < result.getOutstanding()) {
+                        result = candidate;
+                    }
+                }
+                yield result;
+            }
+        };
+    }
+
+    private void eject(Replica replica, Exception cause) {
+        if (replica.available) {
+            replica.available = false;
+            log.warn("[RoutingSqlSource] 只读副本 #{} 不可用，已摘除: {}", this.replicas.indexOf(replica), cause.getLocalizedMessage());
+        }
+    }
+
+    /// 检查所有副本的健康状态
+    ///
+    /// 不可用的副本会被摘除，恢复的副本会重新加入
+    public void check() {
+        for (var replica : this.replicas) {
+            Connection connection = null;
+            try {
+                connection = replica.source.getConnection();
+                if (!connection.isValid((int) Math.max(1, this.timeout.toSeconds()))) {
+                    throw new SQLException("连接校验失败");
+                }
+                if (!replica.available) {
+                    replica.available = true;
+                    log.info("[RoutingSqlSource] 只读副本 #{} 已恢复", this.replicas.indexOf(replica));
+                }
+            } catch (Exception ex) {
+                this.eject(replica, ex);
+            } finally {
+                if (connection != null) {
+                    try {
+                        replica.source.returnConnection(connection);
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws SQLException;
+    }
+
+    /// 在当前线程中强制使用主数据源执行
+    private void primary(Action action) throws SQLException {
+        this.primary.set(this.primary.get() + 1);
+        try {
+            action.run();
+        } finally {
+            var depth = this.primary.get() - 1;
+            if (depth == 0) {
+                this.primary.remove();
+            } else {
+                this.primary.set(depth);
+            }
+        }
+    }
+
+    /// 数据源迁移需要读取最新的版本信息，因此迁移过程中的查询都使用主数据源
+    @RequiredArgsConstructor
+    private class PrimaryMigrator implements DataSourceMigrator {
+        private final DataSourceMigrator delegate;
+
+        @Override
+        public @Nonnull String getName() {
+            return this.delegate.getName();
+        }
+
+        @Override
+        public @Nullable Version getBaseline() {
+            return this.delegate.getBaseline();
+        }
+
+        @Override
+        public @Nonnull Version getTarget() {
+            return this.delegate.getTarget();
+        }
+
+        @Override
+        public void addMigration(Migration migration) {
+            this.delegate.addMigration(migration);
+        }
+
+        @Override
+        public void upgrade(SqlExecutor executor) throws SQLException {
+            primary(() -> this.delegate.upgrade(executor));
+        }
+
+        @Override
+        public void downgrade(SqlExecutor executor) throws SQLException {
+            primary(() -> this.delegate.downgrade(executor));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    public static class Builder {
+        @NotNull
+        @Label("主数据源")
+        private SqlSource master;
+
+        @NotNull
+        @Label("负载均衡策略")
+        private Balance balance = Balance.ROUND_ROBIN;
+
+        /// 判断当前是否处于事务中，事务中的查询使用主数据源
+        ///
+        /// [central.sql.SqlTransactionManager] 只负责借出和归还连接，没有提供查询事务状态的方法，
+        /// 因此这里由调用方提供判断方式
+        @NotNull
+        @Label("事务状态")
+        private BooleanSupplier transactional = () -> false;
+
+        /// 为空或为 0 时不进行定时健康检查
+        @Label("健康检查间隔")
+        private Duration healthCheckInterval = Duration.ofSeconds(30);
+
+        @NotNull
+        @Label("健康检查超时时间")
+        private Duration healthCheckTimeout = Duration.ofSeconds(3);
+
+        private final List<Replica> replicas = new ArrayList<>();
+
+        public Builder addReplica(SqlSource source) {
+            return this.addReplica(source, 1);
+        }
+
+        public Builder addReplica(SqlSource source, int weight) {
+            Assertx.mustNotNull(source, IllegalArgumentException::new, "source 必须不为空");
+            Assertx.mustTrue(weight > 0, IllegalArgumentException::new, "weight 必须大于 0");
+            this.replicas.add(new Replica(source, weight));
+            return this;
+        }
+
+        public RoutingSqlSource build() {
+            Validatex.Default().validateBean(this);
+            return new RoutingSqlSource(this.master, this.replicas, this.balance, this.transactional, this.healthCheckInterval, this.healthCheckTimeout);
+        }
+    }
+}
@@ -30,10 +30,12 @@ import central.sql.SqlExecutor;
 import central.util.Version;
 import central.validation.Label;
 import central.validation.Validatable;
+import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.sql.SQLException;
+import java.util.Set;
 
 /// 数据库迁移
 ///
@@ -58,6 +60,14 @@ public abstract class Migration implements Validatable {
         Assertx.mustTrue(CompareResult.GT.matches(this.end, this.begin), "结束版本[end]必须比开始版本[start]大");
     }
 
+    /// 本次迁移涉及的表
+    ///
+    /// 默认返回 null，表示迁移前需要读取所有表的元数据。数据库中的表很多时，可以返回本次迁移涉及的表名，
+    /// 只读取这些表的元数据，以加快启动速度。此时 [Database#getTables] 也只会返回这些表
+    public @Nullable Set<String> getTables() {
+        return null;
+    }
+
     /// 表结构迁移
     ///
     /// @param database 数据库
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.impl.standard;
+
+import central.sql.SqlInterceptor;
+import central.sql.SqlRowMapper;
+import central.sql.SqlSource;
+import lombok.SneakyThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/// 流式查询游标
+///
+/// 逐行读取结果集并转换，关闭时释放结果集、语句，并归还数据库连接
+///
+/// @author Alan Yeh
+class StandardCursor<T> implements Iterator<T>, AutoCloseable {
+    private final SqlSource source;
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet cursor;
+    private final SqlRowMapper<T> mapper;
+
+    /// 打开游标前连接的自动提交状态，为空时说明未修改
+    private final Boolean autoCommit;
+
+    private final StandardSqlContext context;
+    private final List<SqlInterceptor> interceptors;
+
+    /// 是否已读取下一行
+    private boolean fetched;
+    /// 是否还有下一行
+    private boolean available;
+    /// 已读取的行数
+    private long count;
+    private boolean closed;
+
+    StandardCursor(SqlSource source, Connection connection, PreparedStatement statement, ResultSet cursor, SqlRowMapper<T> mapper,
+                   Boolean autoCommit, StandardSqlContext context, List<SqlInterceptor> interceptors) {
+        this.source = source;
+        this.connection = connection;
+        this.statement = statement;
+        this.cursor = cursor;
+        this.mapper = mapper;
+        this.autoCommit = autoCommit;
+        this.context = context;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    @SneakyThrows(SQLException.class)
+    public boolean hasNext() {
+        if (this.closed) {
+            return false;
+        }
+        if (!this.fetched) {
+            try {
+                this.available = this.cursor.next();
+                this.fetched = true;
+            } catch (Throwable throwable) {
+                this.fail(throwable);
+                throw throwable;
+            }
+        }
+        return this.available;
+    }
+
+    @Override
+    @SneakyThrows(SQLException.class)
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        this.fetched = false;
+        try {
+            var result = this.mapper.map(this.cursor);
+            this.count++;
+            return result;
+        } catch (Throwable throwable) {
+            this.fail(throwable);
+            throw throwable;
+        }
+    }
+
+    /// 读取出现异常，通知拦截器并释放资源
+    private void fail(Throwable throwable) {
+        if (this.closed) {
+            return;
+        }
+        this.interceptors.forEach(it -> it.error(this.context, throwable));
+        this.release();
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.context.setResult(this.count);
+        this.interceptors.forEach(it -> it.after(this.context));
+        this.release();
+    }
+
+    @SneakyThrows(SQLException.class)
+    private void release() {
+        this.closed = true;
+        try (this.statement; this.cursor) {
+            // 关闭结果集与语句
+        } finally {
+            try {
+                if (this.autoCommit != null) {
+                    // 游标模式需要关闭自动提交，在归还连接前恢复（恢复自动提交时会结束当前事务）
+                    this.connection.setAutoCommit(this.autoCommit);
+                }
+            } finally {
+                this.source.returnConnection(this.connection);
+            }
+        }
+    }
+}
@@ -101,6 +101,16 @@ public class StandardDataSourceMigrator implements DataSourceMigrator {
         INITIALIZATION.upgrade(executor);
     }
 
+    /// 读取迁移涉及的表的元数据
+    private DatabaseMeta getMeta(SqlExecutor executor, Migration migration) throws SQLException {
+        var tables = migration.getTables();
+        if (tables == null) {
+            return executor.getMetaManager().getMeta(executor);
+        } else {
+            return executor.getMetaManager().getTablesMeta(executor, tables);
+        }
+    }
+
     /// 升级数据源
     ///
     /// @param executor Sql 执行器
@@ -136,7 +146,7 @@ public class StandardDataSourceMigrator implements DataSourceMigrator {
 
         // 依次执行版本升级脚本
         for (var it : versions) {
-            var meta = executor.getMetaManager().getMeta(executor);
+            var meta = this.getMeta(executor, it);
             var migrator = new DatabaseMigrator(meta);
             // 表迁移
             it.upgrade(migrator);
@@ -195,7 +205,7 @@ public class StandardDataSourceMigrator implements DataSourceMigrator {
 
         // 依次执行版本降级脚本
         for (var it : versions) {
-            var meta = executor.getMetaManager().getMeta(executor);
+            var meta = this.getMeta(executor, it);
             var migrator = new DatabaseMigrator(meta);
             // 表迁移
             it.downgrade(migrator);
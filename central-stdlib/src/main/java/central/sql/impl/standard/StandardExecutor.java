@@ -26,7 +26,6 @@ package central.sql.impl.standard;
 
 import central.bean.Nonnull;
 import central.bean.OptionalEnum;
-import central.lang.Assertx;
 import central.lang.Stringx;
 import central.security.Cipherx;
 import central.sql.*;
@@ -45,6 +44,8 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Date;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /// 标准 Sql 执行器
 ///
@@ -97,7 +98,7 @@ public class StandardExecutor implements SqlExecutor {
         var context = new StandardSqlContext(this, script.getSql(), script.getArgs());
         this.interceptors.forEach(it -> it.before(context));
 
-        Connection connection = this.getSource().getConnection();
+        Connection connection = this.getSource().getReadConnection();
         try (PreparedStatement statement = connection.prepareStatement(script.getSql())) {
             this.bind(statement, script.getArgs());
 
@@ -105,8 +106,8 @@ public class StandardExecutor implements SqlExecutor {
 
             T result = null;
             if (cursor.next()) {
-                var data = this.wrap(cursor);
-                result = this.getTransformer().transform(this, data, type);
+                var mapper = this.getTransformer().compile(this, cursor.getMetaData(), type);
+                result = mapper.map(cursor);
             }
 
             context.setResult(result);
@@ -125,15 +126,17 @@ public class StandardExecutor implements SqlExecutor {
         var context = new StandardSqlContext(this, script.getSql(), script.getArgs());
         this.interceptors.forEach(it -> it.before(context));
 
-        Connection connection = this.getSource().getConnection();
+        Connection connection = this.getSource().getReadConnection();
         try (PreparedStatement statement = connection.prepareStatement(script.getSql())) {
             this.bind(statement, script.getArgs());
             var cursor = statement.executeQuery();
 
+            // 行映射器只需要编译一次
+            var mapper = this.getTransformer().compile(this, cursor.getMetaData(), type);
+
             var result = new ArrayList<T>();
             while (cursor.next()) {
-                var data = this.wrap(cursor);
-                result.add(this.getTransformer().transform(this, data, type));
+                result.add(mapper.map(cursor));
             }
 
             context.setResult(result);
@@ -148,24 +151,65 @@ public class StandardExecutor implements SqlExecutor {
         }
     }
 
-    private Map<String, Object> wrap(ResultSet cursor) throws SQLException {
-        var metadata = cursor.getMetaData();
-        var data = new LinkedHashMap<String, Object>(metadata.getColumnCount());
-        for (int i = 1, cols = metadata.getColumnCount(); i <= cols; i++) {
-            // 字段名
-            var columnName = metadata.getColumnLabel(i);
-            if (columnName.isNullOrBlank()) {
-                columnName = metadata.getColumnName(i);
+    @Override
+    public <T> Stream<T> stream(SqlScript script, Class<T> type) throws SQLException {
+        var context = new StandardSqlContext(this, script.getSql(), script.getArgs());
+        this.interceptors.forEach(it -> it.before(context));
+
+        var source = this.getSource();
+        var dialect = source.getDialect();
+        Connection connection = source.getReadConnection();
+        PreparedStatement statement = null;
+        Boolean autoCommit = null;
+        try {
+            statement = connection.prepareStatement(script.getSql(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+
+            // 设置每次从数据库读取的行数，使内存占用与结果集大小无关
+            switch (dialect) {
+                // MySql 只有在 fetchSize 为 Integer.MIN_VALUE 时才会逐行读取
+                case MySql -> statement.setFetchSize(Integer.MIN_VALUE);
+                // PostgreSql 及其衍生数据库只有在事务中才会使用游标读取
+                case PostgreSql, Kingbase, HighGo, Vastbase -> {
+                    if (connection.getAutoCommit()) {
+                        autoCommit = true;
+                        connection.setAutoCommit(false);
+                    }
+                    statement.setFetchSize(this.getFetchSize());
+                }
+                default -> statement.setFetchSize(this.getFetchSize());
+            }
+
+            this.bind(statement, script.getArgs());
+            var cursor = statement.executeQuery();
+            var mapper = this.getTransformer().compile(this, cursor.getMetaData(), type);
+
+            var iterator = new StandardCursor<>(source, connection, statement, cursor, mapper, autoCommit, context, this.interceptors);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                    .onClose(iterator::close);
+        } catch (Throwable throwable) {
+            this.interceptors.forEach(it -> it.error(context, throwable));
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+                if (autoCommit != null) {
+                    connection.setAutoCommit(true);
+                }
+            } finally {
+                source.returnConnection(connection);
             }
-            // 将字段名转成属性名
-            var propertyName = this.getSource().getConversion().getPropertyName(columnName);
+            throw throwable;
+        }
+    }
 
-            // 值
-            var columnType = metadata.getColumnType(i);
-            var sqlType = Assertx.requireNotNull(SqlType.resolve(columnType), SQLException::new, Stringx.format("不支持的数据库字段类型[{}]", columnType));
-            data.put(propertyName, sqlType.getResolver().resolve(this.getSource().getDialect(), cursor, metadata, i));
+    /// 流式查询时每次从数据库读取的行数
+    private int getFetchSize() {
+        var fetchSize = this.getProperties().getProperty("sql.fetch.size", "1000");
+        try {
+            return Integer.parseInt(fetchSize);
+        } catch (NumberFormatException ex) {
+            return 1000;
         }
-        return data;
     }
 
     @Override
@@ -59,10 +59,14 @@ import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
 /// 默认的元数据管理
@@ -84,6 +88,24 @@ public class StandardMetaManager implements SqlMetaManager {
 
     @Override
     public @Nonnull DatabaseMeta getMeta(@Nonnull SqlExecutor executor, @Nullable Predicate<String> matcher) throws SQLException {
+        return this.buildMeta(executor, name -> (matcher != null && matcher.test(name)) || this.matcher == null || this.matcher.test(name));
+    }
+
+    @Override
+    public @Nonnull DatabaseMeta getTablesMeta(@Nonnull SqlExecutor executor, @Nonnull Collection<String> tables) throws SQLException {
+        var names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.addAll(tables);
+        return this.buildMeta(executor, names::contains);
+    }
+
+    /// 构建数据库元数据
+    ///
+    /// 表较多时（超过 `sql.meta.bulk`，默认 10 张表），字段信息通过一次 Schema 级别的查询获取，再按表分组；
+    /// 主键和索引只能按表查询，可以通过 `sql.meta.parallelism`（默认 1）使用多个连接并行查询
+    ///
+    /// @param executor Sql 执行器
+    /// @param filter   表过滤器
+    private DatabaseMeta buildMeta(SqlExecutor executor, Predicate<String> filter) throws SQLException {
         Connection connection = executor.getSource().getConnection();
         try {
             var databaseMeta = connection.getMetaData();
@@ -105,55 +127,152 @@ public class StandardMetaManager implements SqlMetaManager {
                     table.setName(TableMetas.NAME.getString(cursor));
                     table.setRemarks(TableMetas.REMARKS.getString(cursor));
 
-                    if (matcher != null && matcher.test(table.getName())) {
+                    if (filter.test(table.getName())) {
                         meta.getTables().put(table.getName(), table);
-                        continue;
                     }
+                }
+            }
 
-                    if (this.matcher == null || this.matcher.test(table.getName())) {
-                        meta.getTables().put(table.getName(), table);
-                    }
+            var tables = new ArrayList<>(meta.getTables().values());
+            if (tables.isEmpty()) {
+                return meta;
+            }
+
+            // 表比较多时，一次性读取整个 Schema 的字段，避免逐表查询
+            var bulk = tables.size() > getInt(executor, "sql.meta.bulk", 10);
+            if (bulk) {
+                this.applyColumns(databaseMeta, tables);
+            }
+
+            // 解析表、视图的主键、字段信息、索引信息
+            var parallelism = Math.min(tables.size(), getInt(executor, "sql.meta.parallelism", 1));
+            if (parallelism <= 1) {
+                for (var table : tables) {
+                    this.applyTable(databaseMeta, table, bulk);
                 }
+            } else {
+                this.applyTables(executor, Listx.partition(tables, (tables.size() + parallelism - 1) / parallelism), bulk);
             }
-            // 解析表、视图的字段信息、索引信息
-            for (var table : meta.getTables().values()) {
-                // 获取主键
-                var primaryKeys = Listx.newArrayList();
-                try (ResultSet cursor = databaseMeta.getPrimaryKeys(table.getCatalog(), table.getSchema(), table.getName())) {
-                    while (cursor.next()) {
-                        primaryKeys.add(ColumnMetas.NAME.getString(cursor));
+
+            return meta;
+        } finally {
+            executor.getSource().returnConnection(connection);
+        }
+    }
+
+    /// 使用多个连接并行解析
+    private void applyTables(SqlExecutor executor, List<List<TableMeta>> partitions, boolean bulk) throws SQLException {
+        var pool = Executors.newFixedThreadPool(partitions.size());
+        try {
+            var futures = new ArrayList<Future<?>>(partitions.size());
+            for (var partition : partitions) {
+                futures.add(pool.submit(() -> {
+                    Connection connection = executor.getSource().getConnection();
+                    try {
+                        var databaseMeta = connection.getMetaData();
+                        for (var table : partition) {
+                            this.applyTable(databaseMeta, table, bulk);
+                        }
+                    } finally {
+                        executor.getSource().returnConnection(connection);
                     }
-                }
+                    return null;
+                }));
+            }
 
-                // 获取字段
-                try (ResultSet cursor = databaseMeta.getColumns(table.getCatalog(), table.getSchema(), table.getName(), "%")) {
-                    while (cursor.next()) {
-                        var column = new ColumnMeta();
-                        column.setName(ColumnMetas.NAME.getString(cursor));
-                        column.setType(ColumnMetas.DATA_TYPE.getInt(cursor));
-                        column.setSize(ColumnMetas.SIZE.getInt(cursor));
-                        column.setRemarks(ColumnMetas.REMARKS.getString(cursor));
-                        // 判断其是不是主键
-                        column.setPrimary(primaryKeys.contains(column.getName()));
-                        table.getColumns().put(column.getName(), column);
+            for (var future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof SQLException cause) {
+                        throw cause;
                     }
+                    throw new SQLException("解析数据库元数据失败: " + ex.getCause().getLocalizedMessage(), ex.getCause());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("解析数据库元数据被中断", ex);
                 }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /// 按 Catalog、Schema 批量读取字段，并按表分组
+    private void applyColumns(DatabaseMetaData databaseMeta, List<TableMeta> tables) throws SQLException {
+        var schemas = new LinkedHashMap<List<String>, Map<String, TableMeta>>();
+        for (var table : tables) {
+            schemas.computeIfAbsent(Arrays.asList(table.getCatalog(), table.getSchema()), key -> new HashMap<>())
+                    .put(table.getName(), table);
+        }
 
-                // 获取索引
-                try (ResultSet cursor = databaseMeta.getIndexInfo(table.getCatalog(), table.getSchema(), table.getName(), false, false)) {
-                    while (cursor.next()) {
-                        var index = new IndexMeta();
-                        index.setName(IndexMetas.NAME.getString(cursor));
-                        index.setColumn(IndexMetas.COLUMN.getString(cursor));
-                        index.setUnique(!IndexMetas.UNIQUE.getBoolean(cursor));
-                        table.getIndies().put(index.getName(), index);
+        for (var entry : schemas.entrySet()) {
+            try (ResultSet cursor = databaseMeta.getColumns(entry.getKey().get(0), entry.getKey().get(1), "%", "%")) {
+                while (cursor.next()) {
+                    var table = entry.getValue().get(ColumnMetas.TABLE.getString(cursor));
+                    if (table == null || !Objects.equals(table.getCatalog(), TableMetas.CATALOG.getString(cursor)) || !Objects.equals(table.getSchema(), TableMetas.SCHEME.getString(cursor))) {
+                        // 不需要解析的表
+                        continue;
                     }
+                    var column = this.buildColumn(cursor);
+                    table.getColumns().put(column.getName(), column);
                 }
             }
+        }
+    }
 
-            return meta;
-        } finally {
-            executor.getSource().returnConnection(connection);
+    /// 解析表、视图的主键、字段信息、索引信息
+    ///
+    /// @param bulk 字段信息是否已经批量读取
+    private void applyTable(DatabaseMetaData databaseMeta, TableMeta table, boolean bulk) throws SQLException {
+        // 获取主键
+        var primaryKeys = Listx.newArrayList();
+        try (ResultSet cursor = databaseMeta.getPrimaryKeys(table.getCatalog(), table.getSchema(), table.getName())) {
+            while (cursor.next()) {
+                primaryKeys.add(ColumnMetas.NAME.getString(cursor));
+            }
+        }
+
+        // 获取字段
+        if (!bulk) {
+            try (ResultSet cursor = databaseMeta.getColumns(table.getCatalog(), table.getSchema(), table.getName(), "%")) {
+                while (cursor.next()) {
+                    var column = this.buildColumn(cursor);
+                    table.getColumns().put(column.getName(), column);
+                }
+            }
+        }
+        for (var column : table.getColumns().values()) {
+            // 判断其是不是主键
+            column.setPrimary(primaryKeys.contains(column.getName()));
+        }
+
+        // 获取索引
+        try (ResultSet cursor = databaseMeta.getIndexInfo(table.getCatalog(), table.getSchema(), table.getName(), false, false)) {
+            while (cursor.next()) {
+                var index = new IndexMeta();
+                index.setName(IndexMetas.NAME.getString(cursor));
+                index.setColumn(IndexMetas.COLUMN.getString(cursor));
+                index.setUnique(!IndexMetas.UNIQUE.getBoolean(cursor));
+                table.getIndies().put(index.getName(), index);
+            }
+        }
+    }
+
+    private ColumnMeta buildColumn(ResultSet cursor) throws SQLException {
+        var column = new ColumnMeta();
+        column.setName(ColumnMetas.NAME.getString(cursor));
+        column.setType(ColumnMetas.DATA_TYPE.getInt(cursor));
+        column.setSize(ColumnMetas.SIZE.getInt(cursor));
+        column.setRemarks(ColumnMetas.REMARKS.getString(cursor));
+        return column;
+    }
+
+    private static int getInt(SqlExecutor executor, String key, int defaultValue) {
+        try {
+            return Integer.parseInt(executor.getProperties().getProperty(key, String.valueOf(defaultValue)));
+        } catch (Exception ex) {
+            return defaultValue;
         }
     }
 
@@ -177,6 +296,7 @@ public class StandardMetaManager implements SqlMetaManager {
     @Getter
     @RequiredArgsConstructor
     private enum ColumnMetas {
+        TABLE("Table Name", "TABLE_NAME"),
         NAME("Column Name", "COLUMN_NAME"),
         DATA_TYPE("Data Type", "DATA_TYPE"),
         SIZE("Column Size", "COLUMN_SIZE"),
@@ -222,22 +342,50 @@ public class StandardMetaManager implements SqlMetaManager {
 
     /// /////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Entity Meta
-    private final Map<String, EntityMeta> metas = new ConcurrentHashMap<>();
+    /// 已构建完成的实体元数据，读取时不需要加锁
+    private final Map<Class<?>, EntityMeta> metas = new ConcurrentHashMap<>();
+
+    /// 正在构建的实体元数据，只能在持有 lock 时访问
+    ///
+    /// 实体之间可能存在循环的外键关系，构建过程中需要先拿到未完成的元数据
+    private final Map<Class<?>, EntityMeta> building = new HashMap<>();
 
     @Override
     public @Nonnull EntityMeta getMeta(@Nonnull Class<? extends Entity> entity) {
+        var meta = this.metas.get(entity);
+        if (meta != null) {
+            return meta;
+        }
+
         synchronized (this.lock) {
-            var meta = metas.getOrNull(entity.getName());
-            if (meta == null) {
-                meta = new EntityMeta();
-                // 提前放到 Map 里，不然会出现死锁
-                metas.put(entity.getName(), meta);
-                try {
-                    buildEntity(entity, meta);
-                } catch (Exception ex) {
-                    metas.remove(entity.getName());
-                    throw ex;
+            meta = this.metas.get(entity);
+            if (meta != null) {
+                return meta;
+            }
+
+            meta = this.building.get(entity);
+            if (meta != null) {
+                // 外键关系递归引用了正在构建的实体
+                return meta;
+            }
+
+            var outermost = this.building.isEmpty();
+            meta = new EntityMeta();
+            this.building.put(entity, meta);
+            try {
+                buildEntity(entity, meta);
+            } catch (Exception ex) {
+                // 本次构建的实体元数据全部作废
+                if (outermost) {
+                    this.building.clear();
                 }
+                throw ex;
+            }
+
+            if (outermost) {
+                // 所有递归引用的实体都构建完成后，才发布出去
+                this.metas.putAll(this.building);
+                this.building.clear();
             }
             return meta;
         }
@@ -27,25 +27,72 @@ package central.sql.impl.standard;
 import central.lang.Stringx;
 import central.lang.reflect.TypeRef;
 import central.sql.SqlExecutor;
+import central.sql.SqlRowMapper;
 import central.sql.SqlTransformer;
 import central.util.Setx;
 import lombok.SneakyThrows;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /// 标准 Bean 转换器
 ///
+/// 查询实体时，按结果集的列与目标类型编译行映射器并缓存。行映射器预先绑定列的解析器与属性的写方法，
+/// 直接将每一行写入实体，不需要为每一行创建中间的 [Map]
+///
 /// @author Alan Yeh
 public class StandardTransformer implements SqlTransformer {
+    /// 缓存的行映射器数量上限
+    private static final int MAXIMUM_MAPPERS = 1024;
+
+    /// 已编译的行映射器
+    private final Map<Shape, BeanMapper<?>> mappers = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> SqlRowMapper<T> compile(SqlExecutor executor, ResultSetMetaData meta, Class<T> type) throws SQLException {
+        if (Map.class.isAssignableFrom(type)) {
+            return SqlTransformer.super.compile(executor, meta, type);
+        }
+
+        var columns = SqlRowMapper.columns(executor, meta);
+        var dialect = executor.getSource().getDialect();
+
+        if (this.isBaseType(type)) {
+            return cursor -> {
+                if (columns.size() > 1) {
+                    throw new SQLException(Stringx.format("期望返回 1 列，返回类型为 {}，但查询语句返回了 {} 列", type.getName(), columns.size()));
+                }
+                var value = columns.isEmpty() ? null : columns.get(0).resolve(dialect, cursor, meta);
+                return this.toBaseValue(executor, value, type);
+            };
+        }
+
+        var shape = new Shape(type, columns);
+        var mapper = (BeanMapper<T>) this.mappers.get(shape);
+        if (mapper == null) {
+            mapper = new BeanMapper<>(type, columns);
+            if (this.mappers.size() >= MAXIMUM_MAPPERS) {
+                this.mappers.clear();
+            }
+            this.mappers.putIfAbsent(shape, mapper);
+        }
+        return mapper.bind(executor, meta);
+    }
     @Override
     public <T> T transform(SqlExecutor executor, Map<String, Object> data, Class<T> type) throws SQLException {
         if (Map.class.isAssignableFrom(type)) {
@@ -114,26 +161,21 @@ public class StandardTransformer implements SqlTransformer {
         }
 
         var entry = Setx.getAny(data.entrySet());
-        if (entry.isEmpty()) {
+        return this.toBaseValue(executor, entry.map(Map.Entry::getValue).orElse(null), type);
+    }
+
+    private <T> T toBaseValue(SqlExecutor executor, Object value, Class<T> type) throws SQLException {
+        if (value == null) {
             if (type.isPrimitive()) {
                 return (T) this.getPrimitiveDefaultValue(type);
             } else {
                 return null;
             }
-        } else {
-            var value = entry.get().getValue();
-            if (value == null) {
-                if (type.isPrimitive()) {
-                    return (T) this.getPrimitiveDefaultValue(type);
-                } else {
-                    return null;
-                }
-            }
-            if (!executor.getConverter().support(value.getClass(), type)) {
-                throw new SQLException(Stringx.format("不支持将类型[{}]转换为[{}]类型", value.getClass().getName(), type.getName()));
-            }
-            return executor.getConverter().convert(value, type);
         }
+        if (!executor.getConverter().support(value.getClass(), type)) {
+            throw new SQLException(Stringx.format("不支持将类型[{}]转换为[{}]类型", value.getClass().getName(), type.getName()));
+        }
+        return executor.getConverter().convert(value, type);
     }
 
 
@@ -167,4 +209,136 @@ public class StandardTransformer implements SqlTransformer {
                     throw new IllegalArgumentException(Stringx.format("Type '{}' is not primitive type", type.getName()));
         };
     }
-}
\ No newline at end of file
+
+    /// 行映射器的缓存键
+    ///
+    /// @param type    目标实体类型
+    /// @param columns 结果集的列
+    private record Shape(Class<?> type, List<SqlRowMapper.Column> columns) {
+    }
+
+    /// 实体行映射器
+    ///
+    /// 构造函数与属性的写方法在编译时解析为 [MethodHandle]，没有对应属性的列在转换时直接跳过
+    private static class BeanMapper<T> {
+        private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+        private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+        private final Class<T> type;
+
+        /// 无参构造函数，类型为 `()Object`。找不到公开的无参构造函数时为空
+        private final MethodHandle constructor;
+
+        /// 需要写入实体的列
+        private final SqlRowMapper.Column[] columns;
+
+        /// 与 [#columns] 对应的属性
+        private final Writer[] writers;
+
+        private BeanMapper(Class<T> type, List<SqlRowMapper.Column> columns) throws SQLException {
+            this.type = type;
+
+            var lookup = lookup(type);
+            MethodHandle constructor;
+            try {
+                constructor = lookup.unreflectConstructor(type.getConstructor()).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                // 延迟到转换时再抛出异常，查询结果为空时不影响查询
+                constructor = null;
+            }
+            this.constructor = constructor;
+
+            var reference = TypeRef.of(type);
+            var matched = new ArrayList<SqlRowMapper.Column>(columns.size());
+            var writers = new ArrayList<Writer>(columns.size());
+            for (var column : columns) {
+                var property = reference.getProperty(column.property());
+                if (property == null || property.getWriteMethod() == null) {
+                    // 如果找不到对应的属性，也忽略这个查询结果
+                    continue;
+                }
+                try {
+                    var setter = lookup.unreflect(property.getWriteMethod()).asType(SETTER_TYPE);
+                    matched.add(column);
+                    writers.add(new Writer(property.getName(), property.getPropertyType(), setter));
+                } catch (IllegalAccessException ex) {
+                    throw new SQLException(Stringx.format("访问类[{}]的属性[{}]出现异常: " + ex.getLocalizedMessage(), type.getName(), property.getName()), ex);
+                }
+            }
+            this.columns = matched.toArray(new SqlRowMapper.Column[0]);
+            this.writers = writers.toArray(new Writer[0]);
+        }
+
+        /// 获取可以访问实体类的 [MethodHandles.Lookup]
+        ///
+        /// 使用 [MethodHandles#publicLookup] 时无法访问非公开实体类（如嵌套的 private 类）的公开方法，
+        /// 因此优先使用实体类的私有查找。实体类所在模块未向本模块开放时，退回到公开查找
+        private static MethodHandles.Lookup lookup(Class<?> type) {
+            try {
+                return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            } catch (IllegalAccessException ex) {
+                return MethodHandles.publicLookup();
+            }
+        }
+
+        /// 绑定本次查询的执行器与结果集元数据
+        private SqlRowMapper<T> bind(SqlExecutor executor, ResultSetMetaData meta) {
+            var dialect = executor.getSource().getDialect();
+            var converter = executor.getConverter();
+
+            // 同一列的值类型通常是固定的，缓存上一次的判断结果，避免每一行都查询转换器
+            var sources = new Class<?>[this.columns.length];
+            var converts = new boolean[this.columns.length];
+
+            return cursor -> {
+                var bean = this.newInstance();
+                for (int i = 0; i < this.columns.length; i++) {
+                    var value = this.columns[i].resolve(dialect, cursor, meta);
+                    if (value == null) {
+                        // 如果没有值，就不需要设置到 property 了
+                        continue;
+                    }
+
+                    var writer = this.writers[i];
+                    if (value.getClass() != sources[i]) {
+                        sources[i] = value.getClass();
+                        converts[i] = converter.support(sources[i], writer.type());
+                    }
+                    if (converts[i]) {
+                        value = converter.convert(value, writer.type());
+                    }
+
+                    try {
+                        writer.setter().invokeExact(bean, value);
+                    } catch (Error | SQLException ex) {
+                        throw ex;
+                    } catch (Throwable ex) {
+                        throw new SQLException(Stringx.format("访问类[{}]的属性[{}]出现异常: " + ex.getLocalizedMessage(), this.type.getName(), writer.name()), ex);
+                    }
+                }
+                return (T) bean;
+            };
+        }
+
+        private Object newInstance() throws SQLException {
+            if (this.constructor == null) {
+                throw new SQLException(Stringx.format("没有在类[{}]中找到公开的无参构造函数", this.type.getName()));
+            }
+            try {
+                return (Object) this.constructor.invokeExact();
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new SQLException(Stringx.format("调用类[{}]的无参构造函数创建实例失败", this.type.getName()), ex);
+            }
+        }
+    }
+
+    /// 属性写入
+    ///
+    /// @param name   属性名
+    /// @param type   属性类型
+    /// @param setter 写方法，类型为 `(Object, Object)void`
+    private record Writer(String name, Class<?> type, MethodHandle setter) {
+    }
+}
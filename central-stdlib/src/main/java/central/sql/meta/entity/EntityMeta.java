@@ -27,24 +27,22 @@ package central.sql.meta.entity;
 import central.lang.Stringx;
 import central.sql.SqlConversion;
 import central.sql.data.Entity;
-import central.util.Listx;
 import central.util.Objectx;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.Function;
 
 /// 实体元数据
 ///
 /// @author Alan Yeh
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class EntityMeta {
     /// 实体类
     @Nonnull
@@ -82,10 +80,11 @@ public class EntityMeta {
     /// @param property 属性名
     @Nullable
     public PropertyMeta getProperty(String property) {
-        return Listx.asStream(this.getProperties())
-                .filter(it -> Objects.equals(it.getName(), property))
-                .findFirst()
-                .orElse(null);
+        var index = this.propertyIndex;
+        if (index == null || !index.matches(this.properties)) {
+            this.propertyIndex = index = Index.of(this.properties, PropertyMeta::getName);
+        }
+        return index.elements().get(property);
     }
 
     /// 外键关系（一对一，一对多）
@@ -96,10 +95,11 @@ public class EntityMeta {
     /// @param alias 关系别名
     @Nullable
     public ForeignMeta getForeign(String alias) {
-        return Listx.asStream(this.getForeigns())
-                .filter(it -> Objects.equals(it.getAlias(), alias))
-                .findFirst()
-                .orElse(null);
+        var index = this.foreignIndex;
+        if (index == null || !index.matches(this.foreigns)) {
+            this.foreignIndex = index = Index.of(this.foreigns, ForeignMeta::getAlias);
+        }
+        return index.elements().get(alias);
     }
 
     /// 外键关系（多对多）
@@ -110,10 +110,52 @@ public class EntityMeta {
     /// @param alias 关系别名
     @Nullable
     public ForeignTableMeta getForeignTable(String alias) {
-        return Listx.asStream(this.getForeignTables())
-                .filter(it -> Objects.equals(it.getAlias(), alias))
-                .findFirst()
-                .orElse(null);
+        var index = this.foreignTableIndex;
+        if (index == null || !index.matches(this.foreignTables)) {
+            this.foreignTableIndex = index = Index.of(this.foreignTables, ForeignTableMeta::getAlias);
+        }
+        return index.elements().get(alias);
+    }
+
+    /// 按名称索引的属性、外键关系
+    ///
+    /// 第一次查找时根据列表构建，列表长度变化后重新构建。索引构建完成后才会发布，因此并发读取时不需要加锁
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private transient volatile Index<PropertyMeta> propertyIndex;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private transient volatile Index<ForeignMeta> foreignIndex;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private transient volatile Index<ForeignTableMeta> foreignTableIndex;
+
+    /// 索引
+    ///
+    /// @param source   构建索引时的列表
+    /// @param size     构建索引时的列表长度
+    /// @param elements 按名称索引的元素
+    private record Index<T>(List<T> source, int size, Map<String, T> elements) {
+        static <T> Index<T> of(List<T> source, Function<T, String> key) {
+            var elements = new HashMap<String, T>();
+            if (source != null) {
+                for (var element : source) {
+                    // 与原来的线性查找保持一致，同名时以第一个为准
+                    elements.putIfAbsent(key.apply(element), element);
+                }
+            }
+            return new Index<>(source, source == null ? 0 : source.size(), elements);
+        }
+
+        /// 列表没有被替换，长度也没有变化时，索引仍然有效
+        boolean matches(List<T> source) {
+            return this.source == source && (source == null || this.size == source.size());
+        }
     }
 
     @Override
@@ -25,6 +25,7 @@
 package central.sql.proxy;
 
 import central.bean.Page;
+import central.bean.Slice;
 import central.sql.data.Entity;
 import central.sql.query.Columns;
 import central.sql.query.Conditions;
@@ -33,6 +34,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /// 通用 Mapper
 ///
@@ -64,6 +66,13 @@ public interface Mapper<E extends Entity> {
     /// INSERT INTO TABLE(COL1, COL2, COL3, ...) VALUES (?, ?, ?, ...)
     /// ```
     ///
+    /// 数据按 `sql.batch.size`（默认 1000）分块插入；支持多行 VALUES 的方言（MySql、PostgreSql、H2、达梦、人大金仓）
+    /// 会将每 `sql.insert.values`（默认 100）行合并成一条语句：
+    ///
+    /// ```sql
+    /// INSERT INTO TABLE(COL1, COL2, COL3, ...) VALUES (?, ?, ?, ...), (?, ?, ?, ...), ...
+    /// ```
+    ///
     /// @param entities 数据实体
     /// @return 已插入的数据数量
     long insertBatch(@Nonnull List<? extends E> entities);
@@ -275,6 +284,29 @@ public interface Mapper<E extends Entity> {
     @Nonnull
     List<E> findAll();
 
+    /// 根据条件以流的方式查询数据
+    ///
+    /// 数据按需逐行读取，适用于遍历大量数据。返回的流占用着数据库连接，使用完毕后必须关闭
+    ///
+    /// @param conditions 查询条件
+    /// @param orders     排序
+    /// @return 实体流
+    /// @see central.sql.SqlExecutor#stream
+    @Nonnull
+    Stream<E> streamBy(@Nullable Conditions<? extends E> conditions, @Nullable Orders<? extends E> orders);
+
+    /// 根据条件以流的方式查询数据
+    ///
+    /// 数据按需逐行读取，适用于遍历大量数据。返回的流占用着数据库连接，使用完毕后必须关闭
+    ///
+    /// @param columns    字段列表
+    /// @param conditions 查询条件
+    /// @param orders     排序
+    /// @return 实体流
+    /// @see central.sql.SqlExecutor#stream
+    @Nonnull
+    Stream<E> streamBy(@Nullable Columns<? extends E> columns, @Nullable Conditions<? extends E> conditions, @Nullable Orders<? extends E> orders);
+
     /// 根据条件分页查询数据
     ///
     /// @param pageIndex  分页起始（从 1 开始）
@@ -296,6 +328,36 @@ public interface Mapper<E extends Entity> {
     @Nonnull
     Page<E> findPageBy(@Nonnull Long pageIndex, @Nonnull Long pageSize, @Nullable Columns<? extends E> columns, @Nullable Conditions<? extends E> conditions, @Nullable Orders<? extends E> orders);
 
+    /// 根据条件游标分页查询数据
+    ///
+    /// 通过上一页最后一条数据的排序字段与主键定位下一页，不使用 OFFSET，查询任意一页的开销都与第一页相同。
+    /// 排序条件会自动追加主键排序以保证顺序唯一。排序字段的值可以为空，空值的位置与数据库的排序规则一致
+    ///
+    /// ```sql
+    /// SELECT * FROM TABLE WHERE (...) AND (COL1 > ? OR (COL1 = ? AND ID > ?)) ORDER BY COL1, ID LIMIT ?
+    /// ```
+    ///
+    /// @param cursor     游标，为空时查询第一页；查询下一页时传入上一页的 [Slice#getNext()]
+    /// @param size       分页大小
+    /// @param conditions 查询条件
+    /// @param orders     排序，查询各页时必须保持一致
+    /// @return 分页结果，不统计数据总数
+    @Nonnull
+    Slice<E> findSliceBy(@Nullable String cursor, @Nonnull Long size, @Nullable Conditions<? extends E> conditions, @Nullable Orders<? extends E> orders);
+
+    /// 根据条件游标分页查询数据
+    ///
+    /// @param cursor     游标，为空时查询第一页；查询下一页时传入上一页的 [Slice#getNext()]
+    /// @param size       分页大小
+    /// @param columns    字段列表，会自动追加排序字段与主键
+    /// @param conditions 查询条件
+    /// @param orders     排序，查询各页时必须保持一致
+    /// @param count      是否统计数据总数
+    /// @return 分页结果
+    /// @see #findSliceBy(String, Long, Conditions, Orders)
+    @Nonnull
+    Slice<E> findSliceBy(@Nullable String cursor, @Nonnull Long size, @Nullable Columns<? extends E> columns, @Nullable Conditions<? extends E> conditions, @Nullable Orders<? extends E> orders, boolean count);
+
     /// 询查表的数据量
     ///
     /// ```sql
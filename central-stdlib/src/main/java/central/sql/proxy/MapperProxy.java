@@ -24,11 +24,12 @@
 
 package central.sql.proxy;
 
+import central.lang.Arrayx;
 import central.lang.Assertx;
 import central.lang.Stringx;
 import central.lang.reflect.TypeRef;
+import central.sql.SqlDialect;
 import central.sql.SqlExecutor;
-import central.sql.SqlScript;
 import central.sql.data.Entity;
 import central.sql.datasource.dynamic.lookup.LookupKey;
 import central.sql.datasource.dynamic.lookup.LookupKeyHolder;
@@ -39,8 +40,10 @@ import lombok.Getter;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.rmi.StubNotFoundException;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -64,8 +67,10 @@ public class MapperProxy<T extends Mapper<?>> implements InvocationHandler {
     /// Sql 执行器
     private final SqlExecutor executor;
 
-    /// Markdown 资源
-    private final MarkdownResources resources;
+    /// 自定义语句
+    ///
+    /// 在创建代理时根据 Markdown 资源编译，调用时只需要绑定参数
+    private final Map<Method, Statement> statements;
 
     /// 当前 Proxy 是否有指定数据源
     private final String lookupKey;
@@ -93,7 +98,9 @@ public class MapperProxy<T extends Mapper<?>> implements InvocationHandler {
         this.handlers.put("findFirstBy", new FindFirstByHandler());
         this.handlers.put("findBy", new FindByHandler());
         this.handlers.put("findAll", new FindAllHandler());
+        this.handlers.put("streamBy", new StreamByHandler());
         this.handlers.put("findPageBy", new FindPageByHandler());
+        this.handlers.put("findSliceBy", new FindSliceByHandler());
         this.handlers.put("count", new CountHandler());
         this.handlers.put("countBy", new CountByHandler());
         this.handlers.put("existsBy", new ExistsByHandler());
@@ -101,7 +108,7 @@ public class MapperProxy<T extends Mapper<?>> implements InvocationHandler {
         if (Mapx.isNotEmpty(handlers)) {
             this.handlers.putAll(handlers);
         }
-        this.resources = resources;
+        this.statements = compile(mapperType, this.handlers, resources);
 
         var lookupKey = this.mapperType.getAnnotation(LookupKey.class);
         if (lookupKey != null) {
@@ -140,24 +147,23 @@ public class MapperProxy<T extends Mapper<?>> implements InvocationHandler {
                 }
 
                 // 如果没有注册方法处理器，那么就查找 Sql 资源
-                var resource = this.resources.get(method.getName());
-                if (resource == null) {
+                var statement = this.statements.get(method);
+                if (statement == null) {
                     throw new StubNotFoundException(Stringx.format("找不到 {}.{} 对应的 Sql 声明", this.mapperType.getSimpleName(), method.getName()));
                 }
 
-                Map<String, Object> params = new HashMap<>();
-                Parameter[] parameters = method.getParameters();
-                for (int i = 0; i < parameters.length; i++) {
-                    params.put(parameters[i].getName(), args[i]);
+                var template = statement.getTemplate(this.executor.getSource().getDialect());
+                if (template == null) {
+                    throw new StubNotFoundException(Stringx.format("找不到 {}.{} 对应的 {} Sql 声明", this.mapperType.getSimpleName(), method.getName(), this.executor.getSource().getDialect().getName()));
                 }
 
-                // TODO 解析 Sql
-                var script = new SqlScript(resource.getContent());
-
-                if (method.getReturnType().isAssignableFrom(List.class)) {
-                    return this.executor.select(script, method.getReturnType());
+                var script = template.bind(args);
+                if (!template.isQuery()) {
+                    return statement.toResult(this.executor.execute(script));
+                } else if (statement.list()) {
+                    return this.executor.select(script, statement.resultType());
                 } else {
-                    return this.executor.selectSingle(script, method.getReturnType());
+                    return this.executor.selectSingle(script, statement.resultType());
                 }
             } finally {
                 if (Stringx.isNotBlank(lookupKey)) {
@@ -167,4 +173,77 @@ public class MapperProxy<T extends Mapper<?>> implements InvocationHandler {
             }
         }
     }
+
+    /// 编译自定义语句
+    ///
+    /// 优先使用方言对应的资源（如 `mysql.findByName`），找不到时再使用通用资源（如 `findByName`）
+    private static Map<Method, Statement> compile(Class<?> mapperType, Map<String, MapperHandler> handlers, MarkdownResources resources) {
+        var statements = new HashMap<Method, Statement>();
+        if (resources == null || resources.isEmpty()) {
+            return statements;
+        }
+
+        for (var method : mapperType.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || handlers.containsKey(method.getName())) {
+                continue;
+            }
+
+            var names = Arrayx.asStream(method.getParameters()).map(Parameter::getName).toList();
+
+            SqlTemplate template = null;
+            var resource = resources.get(method.getName());
+            if (resource != null) {
+                template = SqlTemplate.compile(resource.getContent(), names);
+            }
+
+            var dialects = new EnumMap<SqlDialect, SqlTemplate>(SqlDialect.class);
+            for (var dialect : SqlDialect.values()) {
+                resource = resources.get(dialect.getName().toLowerCase() + "." + method.getName());
+                if (resource != null) {
+                    dialects.put(dialect, SqlTemplate.compile(resource.getContent(), names));
+                }
+            }
+
+            if (template == null && dialects.isEmpty()) {
+                continue;
+            }
+
+            var returnType = method.getReturnType();
+            if (returnType != Object.class && returnType.isAssignableFrom(List.class)) {
+                var type = TypeRef.of(method.getGenericReturnType());
+                Class<?> resultType = type.getActualTypeArguments().isEmpty() ? Map.class : type.getActualTypeArgument(0).getRawClass();
+                statements.put(method, new Statement(template, dialects, true, resultType));
+            } else {
+                statements.put(method, new Statement(template, dialects, false, returnType));
+            }
+        }
+        return statements;
+    }
+
+    /// 自定义语句
+    ///
+    /// @param template   通用模板
+    /// @param dialects   方言模板
+    /// @param list       是否返回列表
+    /// @param resultType 返回类型（列表时为元素类型）
+    private record Statement(SqlTemplate template, Map<SqlDialect, SqlTemplate> dialects, boolean list, Class<?> resultType) {
+        /// 获取指定方言的模板
+        public SqlTemplate getTemplate(SqlDialect dialect) {
+            var template = this.dialects.get(dialect);
+            return template != null ? template : this.template;
+        }
+
+        /// 将受影响行数转换成方法返回类型
+        public Object toResult(long count) {
+            if (this.resultType == void.class || this.resultType == Void.class) {
+                return null;
+            } else if (this.resultType == int.class || this.resultType == Integer.class) {
+                return (int) count;
+            } else if (this.resultType == boolean.class || this.resultType == Boolean.class) {
+                return count > 0;
+            } else {
+                return count;
+            }
+        }
+    }
 }
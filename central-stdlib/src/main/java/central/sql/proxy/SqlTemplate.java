@@ -0,0 +1,326 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.proxy;
+
+import central.lang.Assertx;
+import central.sql.SqlScript;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+import java.beans.Introspector;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/// Sql 模板
+///
+/// 在创建 Mapper 时将 Markdown 中声明的 Sql 解析成模板，每次调用时只需要绑定参数，不需要重新解析 Sql。
+///
+/// 模板支持以下语法：
+///
+/// - `#{name}`: 命名参数，绑定时替换为 `?`，并将参数值追加到参数列表中。支持使用 `#{account.name}` 访问参数的属性。
+///   如果参数值是集合或数组，将会展开成 `?, ?, ?`，以便用于 `IN` 语句；如果集合为空，则替换为 `NULL`
+/// - `[[ ... ]]`: 可选片段，当片段内所有命名参数的值都不为空（集合不为空）时，才会输出该片段。可选片段可以嵌套
+///
+/// ```sql
+/// SELECT * FROM XT_ACCOUNT WHERE 1 = 1 [[AND USERNAME IN (#{usernames})]] [[AND ENABLED = #{enabled}]]
+/// ```
+///
+/// 单引号括起来的字符串常量会原样输出，不会解析其中的命名参数和可选片段。
+///
+/// @author Alan Yeh
+public class SqlTemplate {
+    /// 原始 Sql
+    @Getter
+    private final String sql;
+
+    /// 是否查询语句
+    @Getter
+    private final boolean query;
+
+    /// 模板片段
+    private final Segment[] segments;
+
+    /// 不包含参数的 Sql
+    private final String plain;
+
+    private SqlTemplate(String sql, Segment[] segments) {
+        this.sql = sql;
+        this.segments = segments;
+
+        var statement = sql.stripLeading();
+        this.query = statement.regionMatches(true, 0, "SELECT", 0, 6) || statement.regionMatches(true, 0, "WITH", 0, 4) || statement.startsWith("(");
+
+        if (segments.length == 1 && segments[0] instanceof Text text) {
+            this.plain = text.text();
+        } else if (segments.length == 0) {
+            this.plain = "";
+        } else {
+            this.plain = null;
+        }
+    }
+
+    /// 编译 Sql 模板
+    ///
+    /// @param sql   Sql
+    /// @param names 方法参数名，命名参数将会在编译时解析为参数下标
+    /// @throws IllegalArgumentException 语法错误，或命名参数无法对应到方法参数
+    public static @Nonnull SqlTemplate compile(@Nonnull String sql, @Nonnull List<String> names) {
+        Assertx.mustNotNull(sql, "[SqlTemplate] 参数错误: sql 不能为空");
+        var parser = new Parser(sql, names);
+        var segments = parser.parse(-1);
+        return new SqlTemplate(sql, segments);
+    }
+
+    /// 绑定参数
+    ///
+    /// @param args 方法参数
+    public @Nonnull SqlScript bind(@Nullable Object[] args) {
+        if (this.plain != null) {
+            return new SqlScript(this.plain, new ArrayList<>(0));
+        }
+
+        var sql = new StringBuilder(this.sql.length());
+        var params = new ArrayList<>();
+        for (var segment : this.segments) {
+            segment.write(args, sql, params);
+        }
+        return new SqlScript(sql.toString(), params);
+    }
+
+    @Override
+    public String toString() {
+        return this.sql;
+    }
+
+    /// 模板片段
+    private sealed interface Segment permits Text, Param, Fragment {
+        void write(Object[] args, StringBuilder sql, List<Object> params);
+    }
+
+    /// 文本
+    private record Text(String text) implements Segment {
+        @Override
+        public void write(Object[] args, StringBuilder sql, List<Object> params) {
+            sql.append(this.text);
+        }
+    }
+
+    /// 命名参数
+    ///
+    /// @param index 方法参数下标
+    /// @param path  属性路径
+    private record Param(int index, String[] path) implements Segment {
+        @Override
+        public void write(Object[] args, StringBuilder sql, List<Object> params) {
+            var value = this.resolve(args);
+            if (value instanceof Collection<?> collection) {
+                if (collection.isEmpty()) {
+                    sql.append("NULL");
+                    return;
+                }
+                var first = true;
+                for (var element : collection) {
+                    sql.append(first ? "?" : ", ?");
+                    params.add(element);
+                    first = false;
+                }
+            } else if (value != null && value.getClass().isArray() && !(value instanceof byte[])) {
+                var length = Array.getLength(value);
+                if (length == 0) {
+                    sql.append("NULL");
+                    return;
+                }
+                for (int i = 0; i < length; i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                    params.add(Array.get(value, i));
+                }
+            } else {
+                sql.append("?");
+                params.add(value);
+            }
+        }
+
+        /// 获取参数值
+        public Object resolve(Object[] args) {
+            var value = args == null ? null : args[this.index];
+            for (var property : this.path) {
+                if (value == null) {
+                    return null;
+                }
+                value = getProperty(value, property);
+            }
+            return value;
+        }
+
+        /// 参数值是否为空
+        public boolean isEmpty(Object[] args) {
+            var value = this.resolve(args);
+            if (value == null) {
+                return true;
+            }
+            if (value instanceof Collection<?> collection) {
+                return collection.isEmpty();
+            }
+            if (value.getClass().isArray() && !(value instanceof byte[])) {
+                return Array.getLength(value) == 0;
+            }
+            return false;
+        }
+    }
+
+    /// 可选片段
+    ///
+    /// @param segments 片段内容
+    /// @param params   片段内的命名参数（不包含嵌套片段内的命名参数）
+    private record Fragment(Segment[] segments, Param[] params) implements Segment {
+        @Override
+        public void write(Object[] args, StringBuilder sql, List<Object> params) {
+            for (var param : this.params) {
+                if (param.isEmpty(args)) {
+                    return;
+                }
+            }
+            for (var segment : this.segments) {
+                segment.write(args, sql, params);
+            }
+        }
+    }
+
+    /// Getter 缓存
+    private static final ClassValue<Map<String, Method>> GETTERS = new ClassValue<>() {
+        @Override
+        @SneakyThrows
+        protected Map<String, Method> computeValue(Class<?> type) {
+            var getters = new HashMap<String, Method>();
+            if (type.isRecord()) {
+                for (var component : type.getRecordComponents()) {
+                    getters.put(component.getName(), component.getAccessor());
+                }
+            }
+            for (var property : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (property.getReadMethod() != null) {
+                    getters.putIfAbsent(property.getName(), property.getReadMethod());
+                }
+            }
+            getters.values().forEach(Method::trySetAccessible);
+            return getters;
+        }
+    };
+
+    /// 获取对象的属性值
+    @SneakyThrows
+    private static Object getProperty(Object value, String property) {
+        if (value instanceof Map<?, ?> map) {
+            return map.get(property);
+        }
+        var getter = GETTERS.get(value.getClass()).get(property);
+        Assertx.mustNotNull(getter, "[SqlTemplate] 参数错误: 类型 {} 不存在属性 {}", value.getClass().getName(), property);
+        return getter.invoke(value);
+    }
+
+    /// 模板解析器
+    private static class Parser {
+        private final String sql;
+        private final List<String> names;
+        private int position;
+
+        private Parser(String sql, List<String> names) {
+            this.sql = sql;
+            this.names = names;
+        }
+
+        /// 解析片段
+        ///
+        /// @param start 可选片段的起始位置，-1 表示不在可选片段中
+        private Segment[] parse(int start) {
+            var segments = new ArrayList<Segment>();
+            var text = new StringBuilder();
+
+            while (this.position < this.sql.length()) {
+                char c = this.sql.charAt(this.position);
+                if (c == '\'') {
+                    // 字符串常量，原样输出
+                    int end = this.sql.indexOf('\'', this.position + 1);
+                    Assertx.mustTrue(end > 0, "[SqlTemplate] 语法错误: 第 {} 个字符开始的字符串没有结束", this.position);
+                    text.append(this.sql, this.position, end + 1);
+                    this.position = end + 1;
+                } else if (this.sql.startsWith("#{", this.position)) {
+                    int end = this.sql.indexOf('}', this.position + 2);
+                    Assertx.mustTrue(end > 0, "[SqlTemplate] 语法错误: 第 {} 个字符开始的命名参数没有结束", this.position);
+                    flush(text, segments);
+                    segments.add(this.param(this.sql.substring(this.position + 2, end).trim()));
+                    this.position = end + 1;
+                } else if (this.sql.startsWith("[[", this.position)) {
+                    int begin = this.position;
+                    this.position += 2;
+                    flush(text, segments);
+                    var children = this.parse(begin);
+                    var params = Arrays.stream(children).filter(Param.class::isInstance).map(Param.class::cast).toArray(Param[]::new);
+                    segments.add(new Fragment(children, params));
+                } else if (this.sql.startsWith("]]", this.position)) {
+                    Assertx.mustTrue(start >= 0, "[SqlTemplate] 语法错误: 第 {} 个字符的 ]] 没有对应的 [[", this.position);
+                    this.position += 2;
+                    flush(text, segments);
+                    return segments.toArray(Segment[]::new);
+                } else {
+                    text.append(c);
+                    this.position++;
+                }
+            }
+
+            Assertx.mustTrue(start < 0, "[SqlTemplate] 语法错误: 第 {} 个字符开始的可选片段没有结束", start);
+            flush(text, segments);
+            return segments.toArray(Segment[]::new);
+        }
+
+        /// 解析命名参数
+        private Param param(String expression) {
+            Assertx.mustNotEmpty(expression, "[SqlTemplate] 语法错误: 第 {} 个字符的命名参数为空", this.position);
+            var path = expression.split("[.]");
+            for (var property : path) {
+                Assertx.mustNotEmpty(property.trim(), "[SqlTemplate] 语法错误: 命名参数 {} 无效", "#{" + expression + "}");
+            }
+
+            int index = this.names.indexOf(path[0].trim());
+            if (index >= 0) {
+                return new Param(index, Arrays.stream(path).skip(1).map(String::trim).toArray(String[]::new));
+            }
+
+            // 如果方法只有一个参数，那么命名参数直接从这个参数的属性中获取
+            Assertx.mustTrue(this.names.size() == 1, "[SqlTemplate] 参数错误: 找不到命名参数 {} 对应的方法参数", "#{" + expression + "}");
+            return new Param(0, Arrays.stream(path).map(String::trim).toArray(String[]::new));
+        }
+
+        private static void flush(StringBuilder text, List<Segment> segments) {
+            if (!text.isEmpty()) {
+                segments.add(new Text(text.toString()));
+                text.setLength(0);
+            }
+        }
+    }
+}
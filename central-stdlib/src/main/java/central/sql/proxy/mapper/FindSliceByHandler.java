@@ -0,0 +1,330 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.proxy.mapper;
+
+import central.bean.MethodNotImplementedException;
+import central.bean.Slice;
+import central.lang.Arrayx;
+import central.lang.Assertx;
+import central.lang.reflect.MethodSignature;
+import central.sql.SqlBuilder;
+import central.sql.SqlExecutor;
+import central.sql.SqlSource;
+import central.sql.data.Entity;
+import central.sql.meta.entity.EntityMeta;
+import central.sql.meta.entity.PropertyMeta;
+import central.sql.proxy.Mapper;
+import central.sql.proxy.MapperHandler;
+import central.sql.proxy.MapperProxy;
+import central.sql.query.Columns;
+import central.sql.query.Conditions;
+import central.sql.query.Orders;
+import central.util.Jsonx;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/// FindSliceBy Handler
+///
+/// 游标分页（Keyset Pagination）。游标记录了上一页最后一条数据的排序字段值与主键，查询下一页时转换成如下条件:
+///
+/// ```sql
+/// (COL1 > ?) OR (COL1 = ? AND COL2 < ?) OR (COL1 = ? AND COL2 = ? AND ID > ?)
+/// ```
+///
+/// 该条件通过 [Conditions] 构建，因此所有方言都可以使用。
+///
+/// 排序字段允许为空。空值排在非空值之前还是之后由数据库决定（如 MySQL、H2 视为最小值，PostgreSQL、Oracle 视为最大值），
+/// 因此通过 [DatabaseMetaData] 获取数据源的空值排序规则，再使用 `IS NULL`/`IS NOT NULL` 定位:
+///
+/// ```sql
+/// -- 空值排在最后，上一页最后一条数据的 COL1 不为空
+/// (COL1 > ? OR COL1 IS NULL) OR (COL1 = ? AND ID > ?)
+/// -- 空值排在最后，上一页最后一条数据的 COL1 为空
+/// (COL1 IS NULL AND ID > ?)
+/// ```
+///
+/// @author Alan Yeh
+/// @see Mapper#findSliceBy
+public class FindSliceByHandler implements MapperHandler {
+    /// 数据库的空值排序规则
+    ///
+    /// 以数据源当前解析出的 [DataSource] 为键，动态数据源（如 [central.sql.datasource.dynamic.DynamicSqlSource]）
+    /// 切换到不同的数据库时分别获取
+    private final Map<DataSource, NullOrdering> orderings = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public Object handle(MapperProxy<?> proxy, SqlExecutor executor, SqlBuilder builder, EntityMeta meta, Method method, Object[] args) throws SQLException {
+        String cursor = (String) Arrayx.getOrNull(args, 0);
+        long size = Assertx.requireNotNull((Long) Arrayx.getOrNull(args, 1), "分页大小[size]不能为空");
+        Columns<?> columns = null;
+        Conditions<?> conditions = null;
+        Orders<?> orders = null;
+        boolean count = false;
+
+        var signature = MethodSignature.of(method);
+        if (signature.equals(MethodSignature.of("findSliceBy", Slice.class, String.class, Long.class, Conditions.class, Orders.class))) {
+            conditions = (Conditions<?>) Arrayx.getOrNull(args, 2);
+            orders = (Orders<?>) Arrayx.getOrNull(args, 3);
+        } else if (signature.equals(MethodSignature.of("findSliceBy", Slice.class, String.class, Long.class, Columns.class, Conditions.class, Orders.class, boolean.class))) {
+            columns = (Columns<?>) Arrayx.getOrNull(args, 2);
+            conditions = (Conditions<?>) Arrayx.getOrNull(args, 3);
+            orders = (Orders<?>) Arrayx.getOrNull(args, 4);
+            count = (boolean) Arrayx.getOrNull(args, 5);
+        } else {
+            throw new MethodNotImplementedException("MethodNotImplemented: " + signature.getSignature());
+        }
+
+        Assertx.mustTrue(size > 0, "分页大小[size]必须大于等于 1");
+
+        // 排序条件追加主键，保证顺序唯一
+        var sorts = new Orders<Entity>();
+        var properties = new ArrayList<PropertyMeta>();
+        for (var order : Orders.of(orders)) {
+            var property = meta.getProperty(order.getProperty());
+            Assertx.mustNotNull(property, SQLSyntaxErrorException::new, "在 {} 没有找到属性 {}，请改正后再试", meta.getType().getSimpleName(), order.getProperty());
+            sorts.and(property.getName(), order.isDesc());
+            properties.add(property);
+        }
+        if (properties.stream().noneMatch(it -> it.getName().equals(meta.getId().getName()))) {
+            sorts.asc(meta.getId().getName());
+            properties.add(meta.getId());
+        }
+        var fingerprint = sorts.stream().map(Orders.Order::toSql).collect(Collectors.joining(","));
+
+        // 统计总数（不受游标影响）
+        Long itemCount = null;
+        if (count) {
+            itemCount = executor.selectSingle(builder.forCountBy(executor, meta, conditions), Long.class);
+            if (itemCount == null || itemCount == 0L) {
+                return Slice.ofEmpty(0L);
+            }
+        }
+
+        // 查询条件
+        var where = new Conditions<Entity>();
+        if (conditions != null && !conditions.isEmpty()) {
+            where.nested((Conditions<Entity>) conditions);
+        }
+        if (cursor != null) {
+            var values = this.decode(executor, cursor, fingerprint, properties);
+            where.and(this.seek(sorts, values, this.getNullOrdering(executor.getSource())));
+        }
+
+        // 选择的字段需要包含排序字段，用于生成下一页的游标
+        Columns<Entity> selected = null;
+        if (columns != null && !columns.isEmpty()) {
+            selected = new Columns<>();
+            for (var column : columns) {
+                selected.add(column.getProperty());
+            }
+            for (var property : properties) {
+                if (selected.stream().noneMatch(it -> property.getName().equals(it.getProperty()))) {
+                    selected.add(property.getName());
+                }
+            }
+        }
+
+        // 多查一条，用于判断是否还有下一页
+        var script = builder.forFindBy(executor, meta, size + 1, 0L, selected, where, sorts);
+        var data = new ArrayList<>(executor.select(script, meta.getType()));
+
+        String next = null;
+        if (data.size() > size) {
+            data.remove(data.size() - 1);
+            next = this.encode(data.get(data.size() - 1), fingerprint, properties);
+        }
+        return Slice.of((List) data, next, itemCount);
+    }
+
+    /// 构建定位条件
+    private Conditions<Entity> seek(Orders<Entity> sorts, List<Object> values, NullOrdering ordering) {
+        var seek = new Conditions<Entity>();
+        var orders = new ArrayList<>(sorts);
+        for (int i = 0; i < orders.size(); i++) {
+            var order = orders.get(i);
+            var value = values.get(i);
+            var nullsFirst = ordering.isNullsFirst(order.isDesc());
+            if (value == null && !nullsFirst) {
+                // 空值排在最后，没有排在空值后面的数据
+                continue;
+            }
+
+            var branch = new Conditions<Entity>();
+            for (int j = 0; j < i; j++) {
+                if (values.get(j) == null) {
+                    branch.isNull(orders.get(j).getProperty());
+                } else {
+                    branch.eq(orders.get(j).getProperty(), values.get(j));
+                }
+            }
+            if (value == null) {
+                // 空值排在最前，排在后面的是所有非空值
+                branch.isNotNull(order.getProperty());
+            } else {
+                var after = new Conditions<Entity>();
+                if (order.isDesc()) {
+                    after.lt(order.getProperty(), value);
+                } else {
+                    after.gt(order.getProperty(), value);
+                }
+                if (!nullsFirst) {
+                    // 空值排在最后，所有空值都排在非空值后面
+                    after.or().isNull(order.getProperty());
+                }
+                branch.and(after);
+            }
+
+            if (seek.isEmpty()) {
+                seek.nested(branch);
+            } else {
+                seek.or(branch);
+            }
+        }
+        return seek;
+    }
+
+    /// 获取数据源的空值排序规则
+    private NullOrdering getNullOrdering(SqlSource source) throws SQLException {
+        var dataSource = source.getDataSource();
+        var ordering = dataSource == null ? null : this.orderings.get(dataSource);
+        if (ordering == null) {
+            var connection = source.getReadConnection();
+            try {
+                var meta = connection.getMetaData();
+                if (meta.nullsAreSortedAtStart()) {
+                    ordering = NullOrdering.START;
+                } else if (meta.nullsAreSortedAtEnd()) {
+                    ordering = NullOrdering.END;
+                } else if (meta.nullsAreSortedHigh()) {
+                    ordering = NullOrdering.HIGH;
+                } else {
+                    ordering = NullOrdering.LOW;
+                }
+            } finally {
+                source.returnConnection(connection);
+            }
+            if (dataSource != null) {
+                this.orderings.put(dataSource, ordering);
+            }
+        }
+        return ordering;
+    }
+
+    /// 空值排序规则
+    private enum NullOrdering {
+        /// 空值视为最大值
+        HIGH,
+        /// 空值视为最小值
+        LOW,
+        /// 空值总是排在最前
+        START,
+        /// 空值总是排在最后
+        END;
+
+        /// 指定排序方向时，空值是否排在非空值之前
+        boolean isNullsFirst(boolean desc) {
+            return switch (this) {
+                case HIGH -> desc;
+                case LOW -> !desc;
+                case START -> true;
+                case END -> false;
+            };
+        }
+    }
+
+    /// 根据最后一条数据生成游标
+    private String encode(Object last, String fingerprint, List<PropertyMeta> properties) throws SQLException {
+        var values = new ArrayList<>(properties.size());
+        for (var property : properties) {
+            Object value;
+            try {
+                value = property.getDescriptor().getReadMethod().invoke(last);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw new SQLException("读取排序字段[" + property.getName() + "]失败: " + ex.getLocalizedMessage(), ex);
+            }
+            if (value instanceof Timestamp timestamp) {
+                // 毫秒以下的部分也需要保留，否则只差微秒、纳秒的数据会在翻页时被跳过或重复
+                value = Map.of("time", timestamp.getTime(), "nanos", timestamp.getNanos());
+            } else if (value instanceof Date date) {
+                value = date.getTime();
+            } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                // 避免 JSON 反序列化时丢失精度
+                value = value.toString();
+            }
+            values.add(value);
+        }
+
+        var json = Jsonx.Default().serialize(Map.of("orders", fingerprint, "values", values));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /// 解析游标
+    private List<Object> decode(SqlExecutor executor, String cursor, String fingerprint, List<PropertyMeta> properties) {
+        Map<String, Object> state;
+        try {
+            var json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            state = Jsonx.Default().deserialize(json, Map.class);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("游标[cursor]无效", ex);
+        }
+
+        Assertx.mustEquals(fingerprint, state.get("orders"), "游标[cursor]与排序条件不匹配，查询各页时必须使用相同的排序条件");
+        var values = state.get("values") instanceof List<?> list ? list : List.of();
+        Assertx.mustTrue(values.size() == properties.size(), "游标[cursor]无效");
+
+        var result = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            var value = values.get(i);
+            var type = properties.get(i).getDescriptor().getPropertyType();
+            if (value instanceof Map<?, ?> map && map.get("time") instanceof Number time && map.get("nanos") instanceof Number nanos) {
+                var timestamp = new Timestamp(time.longValue());
+                timestamp.setNanos(nanos.intValue());
+                value = timestamp;
+            }
+            if (value != null && !type.isInstance(value) && executor.getConverter().support(value.getClass(), type)) {
+                value = executor.getConverter().convert(value, type);
+            }
+            result.add(value);
+        }
+        return result;
+    }
+}
@@ -49,8 +49,24 @@ public class InsertBatchHandler implements MapperHandler {
         if (Listx.isNullOrEmpty(entities)) {
             return 0L;
         }
-        var script = builder.forInsertBatch(executor, meta, entities);
-        long[] result = executor.executeBatch(script);
-        return Arrays.stream(result).sum();
+
+        // 分块插入，避免一次性构建所有参数，以及单个批量过大
+        long count = 0;
+        for (var partition : Listx.partition(entities, this.getBatchSize(executor))) {
+            for (var script : builder.forInsertValues(executor, meta, partition)) {
+                long[] result = executor.executeBatch(script);
+                count += Arrays.stream(result).sum();
+            }
+        }
+        return count;
+    }
+
+    /// 每块插入的实体数量，由 `sql.batch.size`（默认 1000）配置
+    private int getBatchSize(SqlExecutor executor) {
+        try {
+            return Math.max(1, Integer.parseInt(executor.getProperties().getProperty("sql.batch.size", "1000")));
+        } catch (Exception ex) {
+            return 1000;
+        }
     }
 }
@@ -54,10 +54,9 @@ import java.util.*;
 ///
 /// @author Alan Yeh
 public class MarkdownResources implements Map<String, MarkdownResources.Resource> {
-    private Map<String, Resource> resources;
+    private final Map<String, Resource> resources = new LinkedHashMap<>();
 
     public MarkdownResources() {
-        resources = new LinkedHashMap<>();
     }
 
     /// 加载指定流
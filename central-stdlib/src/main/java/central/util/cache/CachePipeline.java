@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+
+/// 缓存批量操作
+///
+/// 操作先排队，调用 [#execute()] 时按顺序一并执行。远程缓存会连续发送所有命令后再统一等待结果，
+/// 因此无论排队多少个操作，都只需要一次网络往返。
+///
+/// 批量操作不是事务，其中某个操作失败不会回滚其它操作
+///
+/// @author Alan Yeh
+public interface CachePipeline {
+    /// 获取 String 类型的缓存值
+    ///
+    /// 执行结果为缓存值，缓存不存在时为`null`
+    ///
+    /// @param key 缓存键
+    @Nonnull
+    CachePipeline get(@Nonnull String key);
+
+    /// 保存 String 类型的缓存值
+    ///
+    /// 执行结果为`true`
+    ///
+    /// @param key   缓存键
+    /// @param value 缓存值
+    @Nonnull
+    CachePipeline set(@Nonnull String key, @Nonnull String value);
+
+    /// 保存 String 类型的缓存值，并设置有效期
+    ///
+    /// 执行结果为`true`
+    ///
+    /// @param key     缓存键
+    /// @param value   缓存值
+    /// @param timeout 有效期。为空时表示永不过期
+    @Nonnull
+    CachePipeline set(@Nonnull String key, @Nonnull String value, @Nullable Duration timeout);
+
+    /// 自增数字
+    ///
+    /// 执行结果为自增后的数字
+    ///
+    /// @param key   缓存键
+    /// @param delta 自增量
+    @Nonnull
+    CachePipeline increment(@Nonnull String key, long delta);
+
+    /// 删除缓存
+    ///
+    /// 执行结果为缓存是否存在
+    ///
+    /// @param key 缓存键
+    @Nonnull
+    CachePipeline delete(@Nonnull String key);
+
+    /// 设置缓存有效期
+    ///
+    /// 执行结果为是否设置成功
+    ///
+    /// @param key     缓存键
+    /// @param timeout 有效期
+    @Nonnull
+    CachePipeline expire(@Nonnull String key, @Nonnull Duration timeout);
+
+    /// 移除缓存有效期
+    ///
+    /// 执行结果为缓存是否存在
+    ///
+    /// @param key 缓存键
+    @Nonnull
+    CachePipeline persist(@Nonnull String key);
+
+    /// 执行所有排队的操作
+    ///
+    /// @return 各操作的执行结果，顺序与操作排队的顺序一致
+    @Nonnull
+    List<Object> execute();
+}
@@ -30,7 +30,9 @@ import jakarta.annotation.Nullable;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 /// 缓存仓库
 ///
@@ -94,6 +96,38 @@ public interface CacheRepository {
     @Nullable
     Duration getExpire(@Nonnull String key);
 
+    /// 批量设置缓存的有效期
+    ///
+    /// @param keys    缓存键集合
+    /// @param timeout 有效期
+    /// @return 设置成功的缓存数量
+    long expire(@Nonnull Collection<String> keys, @Nonnull Duration timeout);
+
+    /// 批量获取 String 类型的缓存值
+    ///
+    /// @param keys 缓存键集合
+    /// @return 缓存值。不存在或类型不是[DataType#STRING]的缓存不会出现在结果中
+    @Nonnull
+    Map<String, String> getValues(@Nonnull Collection<String> keys);
+
+    /// 批量保存 String 类型的缓存值
+    ///
+    /// @param values  缓存值
+    /// @param timeout 有效期。为空时表示永不过期
+    void setValues(@Nonnull Map<String, String> values, @Nullable Duration timeout);
+
+    /// 批量保存 String 类型的缓存值，每个缓存使用各自的有效期
+    ///
+    /// @param values  缓存值
+    /// @param timeout 根据缓存键计算有效期。返回空时表示永不过期
+    void setValues(@Nonnull Map<String, String> values, @Nonnull Function<String, Duration> timeout);
+
+    /// 创建批量操作
+    ///
+    /// 操作会先排队，调用 [CachePipeline#execute()] 时一并执行
+    @Nonnull
+    CachePipeline pipelined();
+
     /// 获取指定键的缓存，并转换为 String 类型
     ///
     /// @param key 缓存键
@@ -25,18 +25,20 @@
 package central.util.cache.memory;
 
 import central.util.cache.DataType;
+import central.util.concurrent.TimingWheel;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Date;
-import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /// 缓存
 ///
 /// @author Alan Yeh
-class Cache implements Delayed {
+class Cache {
 
     /// 创建时间（时间戳）
     @Getter
@@ -49,7 +51,7 @@ class Cache implements Delayed {
     /// 值
     @Getter
     @Setter
-    private Object value;
+    private volatile Object value;
 
     /// 值类型
     @Getter
@@ -57,12 +59,20 @@ class Cache implements Delayed {
 
     /// 记录该元素是否已无效
     @Getter
-    private boolean invalid = false;
+    private volatile boolean invalid = false;
 
     /// 过期时间（时间戳）
     ///
     /// 如果过期时间 < 0 表示永不过期
-    private long expire = -1;
+    private volatile long expire = -1;
+
+    /// 缓存锁
+    ///
+    /// 只用于保护当前缓存值（List、Map、Set 等容器）的复合操作，不同的缓存之间互不阻塞
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /// 过期任务
+    private volatile TimingWheel.Timeout timeout;
 
     public Cache(String key, Object value, DataType type) {
         this.key = key;
@@ -77,7 +87,7 @@ class Cache implements Delayed {
 
     /// 判断该缓存是否已过期
     public boolean isExpired() {
-        return this.expire > 0 && this.timestamp > this.expire;
+        return this.expire > 0 && System.currentTimeMillis() > this.expire;
     }
 
     /// 设置当前缓存的过期时间
@@ -85,23 +95,41 @@ class Cache implements Delayed {
         this.expire = expire.getTime();
     }
 
+    /// 设置当前缓存的过期任务，并取消之前的过期任务
+    public void setTimeout(TimingWheel.Timeout timeout) {
+        var old = this.timeout;
+        this.timeout = timeout;
+        if (old != null) {
+            old.cancel();
+        }
+    }
+
     /// 设置当前缓存为永久有效
     public void persist() {
         this.expire = -1;
+        this.setTimeout(null);
     }
 
     /// 将缓存设为无效
     public void invalid() {
         this.invalid = true;
+        this.setTimeout(null);
     }
 
-    @Override
-    public long getDelay(@NotNull TimeUnit unit) {
-        return unit.convert(this.expire - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    /// 在缓存锁内访问缓存值
+    ///
+    /// @param action 访问动作
+    public <R> R transactional(Supplier<R> action) {
+        try {
+            this.lock.lock();
+            return action.get();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
-    @Override
-    public int compareTo(@NotNull Delayed o) {
-        return (int) (this.getDelay(TimeUnit.MILLISECONDS) - o.getDelay(TimeUnit.MILLISECONDS));
+    /// 获取缓存的剩余有效期
+    public long getDelay(@NotNull TimeUnit unit) {
+        return unit.convert(this.expire - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
     }
 }
\ No newline at end of file
@@ -0,0 +1,374 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.memory;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/// 缓存容量策略（W-TinyLFU）
+///
+/// 新写入的缓存先进入窗口区（LRU，占容量 1%），窗口区溢出的缓存进入主区的试用段。主区满时，
+/// 由 [FrequencySketch] 估算的访问频率决定是淘汰新来的候选者还是试用段里最久未访问的缓存。
+/// 试用段的缓存再次被访问时晋升到保护段（占主区 80%），保护段溢出时降级回试用段。
+///
+/// 策略只负责记录和决定淘汰哪些缓存，真正的删除由调用方完成。
+/// 访问记录是有损的：如果策略正被其它线程占用，本次访问记录会被直接丢弃，避免读操作互相阻塞。
+///
+/// @author Alan Yeh
+public class EvictionPolicy<K, V> {
+    /// 最大缓存数量，小于等于 0 表示不限制
+    @Getter
+    private final long maximumSize;
+    /// 最大权重，小于等于 0 表示不限制
+    @Getter
+    private final long maximumWeight;
+    /// 权重计算器
+    private final Weigher<? super K, ? super V> weigher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final FrequencySketch sketch;
+
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protection = new AccessQueue<>();
+
+    /// 总权重
+    private long weight;
+
+    /// 容量（权重或数量，取决于是否限制了最大权重）
+    private final long capacity;
+    private final long windowCapacity;
+    private final long protectionCapacity;
+
+    /// 创建容量策略
+    ///
+    /// @param maximumSize   最大缓存数量，小于等于 0 表示不限制
+    /// @param maximumWeight 最大权重，小于等于 0 表示不限制
+    /// @param weigher       权重计算器
+    public EvictionPolicy(long maximumSize, long maximumWeight, @Nullable Weigher<? super K, ? super V> weigher) {
+        if (maximumSize <= 0 && maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumSize 与 maximumWeight 不能同时为空");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher == null ? Weigher.memory() : weigher;
+
+        this.capacity = maximumWeight > 0 ? maximumWeight : maximumSize;
+        this.windowCapacity = Math.max(1, this.capacity / 100);
+        this.protectionCapacity = (this.capacity - this.windowCapacity) * 80 / 100;
+        this.sketch = new FrequencySketch(maximumSize > 0 ? maximumSize : Math.min(maximumWeight, 1 << 20));
+    }
+
+    /// 当前缓存数量
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.nodes.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 当前总权重
+    public long weight() {
+        this.lock.lock();
+        try {
+            return this.weight;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 记录缓存被访问
+    ///
+    /// 访问时不会重新计算缓存的权重，缓存值被修改后需要通过 [#recordUpdate] 记录
+    ///
+    /// @return 需要淘汰的缓存
+    public @Nonnull List<Map.Entry<K, V>> recordAccess(@Nonnull K key, @Nonnull V value) {
+        if (!this.lock.tryLock()) {
+            return Collections.emptyList();
+        }
+        try {
+            this.sketch.increment(key);
+            var node = this.nodes.get(key);
+            if (node == null) {
+                // 并发写入时记录顺序可能与实际写入顺序不一致，在访问时补充记录
+                this.add(key, value);
+            } else if (node.value == value) {
+                this.onHit(node);
+            } else {
+                return Collections.emptyList();
+            }
+            return this.evict();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 记录缓存被写入（新增或覆盖）
+    ///
+    /// @return 需要淘汰的缓存
+    public @Nonnull List<Map.Entry<K, V>> recordWrite(@Nonnull K key, @Nonnull V value) {
+        this.lock.lock();
+        try {
+            this.sketch.increment(key);
+            var node = this.nodes.get(key);
+            if (node != null) {
+                node.value = value;
+                this.reweigh(node);
+                this.onHit(node);
+            } else {
+                this.add(key, value);
+            }
+            return this.evict();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 记录缓存值被修改（如向缓存的容器添加或删除了元素）
+    ///
+    /// 只重新计算缓存的权重，不计入访问频率。如果该键已经被写入了新的值，则忽略本次修改
+    ///
+    /// @return 需要淘汰的缓存
+    public @Nonnull List<Map.Entry<K, V>> recordUpdate(@Nonnull K key, @Nonnull V value) {
+        this.lock.lock();
+        try {
+            var node = this.nodes.get(key);
+            if (node == null || node.value != value) {
+                return Collections.emptyList();
+            }
+            this.reweigh(node);
+            return this.evict();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 记录缓存被删除
+    ///
+    /// @param value 被删除的缓存值。如果该键已经被写入了新的值，则忽略本次删除；为空时表示无论值是什么都删除
+    public void recordRemove(@Nonnull K key, @Nullable V value) {
+        this.lock.lock();
+        try {
+            var node = this.nodes.get(key);
+            if (node != null && (value == null || node.value == value)) {
+                this.remove(node);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /// 清空策略
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.nodes.clear();
+            this.window.clear();
+            this.probation.clear();
+            this.protection.clear();
+            this.weight = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void add(K key, V value) {
+        var node = new Node<>(key, value);
+        node.weight = this.weigher.weigh(key, value);
+        this.weight += node.weight;
+        this.nodes.put(key, node);
+        this.window.add(node, AccessQueue.WINDOW, this.costOf(node));
+    }
+
+    private long costOf(Node<K, V> node) {
+        return this.maximumWeight > 0 ? node.weight : 1;
+    }
+
+    private void reweigh(Node<K, V> node) {
+        var weight = this.weigher.weigh(node.key, node.value);
+        if (weight != node.weight) {
+            var queue = this.queueOf(node);
+            queue.cost -= this.costOf(node);
+            this.weight -= node.weight;
+            node.weight = weight;
+            queue.cost += this.costOf(node);
+            this.weight += node.weight;
+        }
+    }
+
+    private AccessQueue<K, V> queueOf(Node<K, V> node) {
+        return switch (node.queue) {
+            case AccessQueue.WINDOW -> this.window;
+            case AccessQueue.PROBATION -> this.probation;
+            default -> this.protection;
+        };
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.queue) {
+            case AccessQueue.WINDOW -> this.window.moveToTail(node);
+            case AccessQueue.PROTECTION -> this.protection.moveToTail(node);
+            default -> {
+                // 试用段的缓存再次被访问，晋升到保护段
+                var cost = this.costOf(node);
+                this.probation.remove(node, cost);
+                this.protection.add(node, AccessQueue.PROTECTION, cost);
+
+                // 保护段溢出，降级最久未访问的缓存
+                while (this.protection.cost > this.protectionCapacity && this.protection.head != null && this.protection.head != node) {
+                    var demoted = this.protection.head;
+                    var demotedCost = this.costOf(demoted);
+                    this.protection.remove(demoted, demotedCost);
+                    this.probation.add(demoted, AccessQueue.PROBATION, demotedCost);
+                }
+            }
+        }
+    }
+
+    private boolean isOverflow() {
+        return (this.maximumWeight > 0 && this.weight > this.maximumWeight)
+                || (this.maximumSize > 0 && this.nodes.size() > this.maximumSize);
+    }
+
+    private List<Map.Entry<K, V>> evict() {
+        // 窗口区溢出的缓存进入试用段，成为候选者
+        Node<K, V> candidate = null;
+        while (this.window.cost > this.windowCapacity && this.window.head != null) {
+            var node = this.window.head;
+            var cost = this.costOf(node);
+            this.window.remove(node, cost);
+            this.probation.add(node, AccessQueue.PROBATION, cost);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+
+        if (!this.isOverflow()) {
+            return Collections.emptyList();
+        }
+
+        var victims = new ArrayList<Map.Entry<K, V>>();
+        while (this.isOverflow()) {
+            var victim = this.probation.head;
+            if (victim == null) {
+                victim = this.protection.head != null ? this.protection.head : this.window.head;
+                if (victim == null) {
+                    break;
+                }
+            } else if (candidate != null && candidate != victim) {
+                // 候选者与试用段最久未访问的缓存比较访问频率，频率低的被淘汰
+                if (this.sketch.frequency(candidate.key) <= this.sketch.frequency(victim.key)) {
+                    victim = candidate;
+                }
+            }
+            if (victim == candidate) {
+                candidate = candidate.next;
+            }
+
+            this.remove(victim);
+            victims.add(Map.entry(victim.key, victim.value));
+        }
+        return victims;
+    }
+
+    private void remove(Node<K, V> node) {
+        this.queueOf(node).remove(node, this.costOf(node));
+        this.nodes.remove(node.key);
+        this.weight -= node.weight;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private long weight;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /// 访问顺序队列（双向链表，头部为最久未访问的缓存）
+    private static final class AccessQueue<K, V> {
+        private static final int WINDOW = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTION = 2;
+
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private long cost;
+
+        void add(Node<K, V> node, int queue, long cost) {
+            node.queue = queue;
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.cost += cost;
+        }
+
+        void remove(Node<K, V> node, long cost) {
+            if (node.prev == null) {
+                this.head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            this.cost -= cost;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != this.tail) {
+                this.remove(node, 0);
+                this.add(node, node.queue, 0);
+            }
+        }
+
+        void clear() {
+            this.head = this.tail = null;
+            this.cost = 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.memory;
+
+/// 访问频率估算（Count-Min Sketch）
+///
+/// 每个 long 保存 16 个 4 位计数器，每个元素使用 4 个计数器，取最小值作为估算频率（最大 15）。
+/// 当累计次数达到采样大小时，所有计数器减半，使频率能够随时间衰减。
+///
+/// 非线程安全，由调用方加锁
+///
+/// @author Alan Yeh
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    /// @param capacity 预计的缓存数量
+    FrequencySketch(long capacity) {
+        var length = (int) Math.min(1 << 24, Math.max(16, Long.highestOneBit(Math.max(1, capacity) - 1) << 1));
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = length * 10;
+    }
+
+    /// 估算元素的访问频率
+    int frequency(Object element) {
+        var hash = spread(element.hashCode());
+        var frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            var count = (int) ((this.table[this.indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /// 增加元素的访问频率
+    void increment(Object element) {
+        var hash = spread(element.hashCode());
+        var added = false;
+        for (int i = 0; i < 4; i++) {
+            var index = this.indexOf(hash, i);
+            var offset = offsetOf(hash, i);
+            if (((this.table[index] >>> offset) & 0xFL) != 0xFL) {
+                this.table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++this.size >= this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    /// 所有计数器减半
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) {
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+        this.size /= 2;
+    }
+
+    private int indexOf(int hash, int i) {
+        var h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & this.mask;
+    }
+
+    private static int offsetOf(int hash, int i) {
+        return ((hash >>> (i << 3)) & 0xF) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
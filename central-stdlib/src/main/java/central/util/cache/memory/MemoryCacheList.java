@@ -51,8 +51,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var list = (List<String>) cache.getValue();
-            return Collections.unmodifiableList(list);
+            return cache.transactional(() -> List.copyOf(this.getList(cache)));
         }
     }
 
@@ -63,8 +62,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.subList((int) start, (int) end);
+            return cache.transactional(() -> List.copyOf(this.getList(cache).subList((int) start, (int) end)));
         }
     }
 
@@ -75,8 +73,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return null;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.get((int) index);
+            return cache.transactional(() -> this.getList(cache).get((int) index));
         }
     }
 
@@ -84,10 +81,13 @@ public class MemoryCacheList implements CacheList {
     public void trim(long start, long end) {
         var cache = this.repository.get(this.key);
         if (cache != null) {
-            var list = (List<String>) cache.getValue();
-            for (var index : Range.of(start, end)) {
-                list.remove(index.intValue());
-            }
+            this.repository.update(cache, () -> {
+                var list = this.getList(cache);
+                for (var index : Range.of(start, end)) {
+                    list.remove(index.intValue());
+                }
+                return null;
+            });
         }
     }
 
@@ -97,32 +97,19 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return 0;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.size();
+            return cache.transactional(() -> this.getList(cache).size());
         }
     }
 
     @Override
     public long add(@NotNull String... values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new ArrayList<>(Arrays.asList(values)), DataType.LIST, null);
-        } else {
-            var list = (List<String>) cache.getValue();
-            list.addAll(Arrays.asList(values));
-        }
-        return values.length;
+        return this.add(Arrays.asList(values));
     }
 
     @Override
     public long add(@NotNull Collection<String> values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new ArrayList<>(values), DataType.LIST, null);
-        } else {
-            var list = (List<String>) cache.getValue();
-            list.addAll(values);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.LIST, ArrayList::new);
+        this.repository.update(cache, () -> this.getList(cache).addAll(values));
         return values.size();
     }
 
@@ -130,8 +117,7 @@ public class MemoryCacheList implements CacheList {
     public long addIfPresent(@NotNull String... values) {
         var cache = this.repository.get(this.key);
         if (cache != null) {
-            var list = (List<String>) cache.getValue();
-            list.addAll(Arrays.asList(values));
+            this.repository.update(cache, () -> this.getList(cache).addAll(Arrays.asList(values)));
             return values.length;
         } else {
             return 0L;
@@ -140,18 +126,18 @@ public class MemoryCacheList implements CacheList {
 
     @Override
     public long insert(int index, @NotNull String... values) {
+        if (index == 0) {
+            var cache = this.repository.getOrCreate(this.key, DataType.LIST, ArrayList::new);
+            this.repository.update(cache, () -> this.getList(cache).addAll(0, Arrays.asList(values)));
+            return values.length;
+        }
+
         var cache = this.repository.get(this.key);
         if (cache != null) {
-            var list = (List<String>) cache.getValue();
-            list.addAll(index, Arrays.asList(values));
+            this.repository.update(cache, () -> this.getList(cache).addAll(index, Arrays.asList(values)));
             return values.length;
         } else {
-            if (index == 0) {
-                this.repository.put(this.key, new ArrayList<>(Arrays.asList(values)), DataType.LIST, null);
-                return values.length;
-            } else {
-                throw new IndexOutOfBoundsException(Stringx.format("无法在下标 {} 处插入数据", index));
-            }
+            throw new IndexOutOfBoundsException(Stringx.format("无法在下标 {} 处插入数据", index));
         }
     }
 
@@ -159,11 +145,10 @@ public class MemoryCacheList implements CacheList {
     public void set(long index, @NotNull String value) {
         var cache = this.repository.get(this.key);
         if (cache != null) {
-            var list = (List<String>) cache.getValue();
-            list.set((int) index, value);
+            this.repository.update(cache, () -> this.getList(cache).set((int) index, value));
         } else {
             if (index == 0) {
-                this.repository.put(this.key, new ArrayList<>(List.of(value)), DataType.LIST, null);
+                this.repository.putIfAbsent(this.key, new ArrayList<>(List.of(value)), DataType.LIST, null);
             } else {
                 throw new IndexOutOfBoundsException(Stringx.format("无法修改下标 {} 处数据", index));
             }
@@ -176,12 +161,14 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return null;
         } else {
-            var list = (List<String>) cache.getValue();
-            if (list.isEmpty()) {
-                return null;
-            } else {
-                return list.remove(0);
-            }
+            return this.repository.update(cache, () -> {
+                var list = this.getList(cache);
+                if (list.isEmpty()) {
+                    return null;
+                } else {
+                    return list.remove(0);
+                }
+            });
         }
     }
 
@@ -191,12 +178,14 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return null;
         } else {
-            var list = (List<String>) cache.getValue();
-            if (list.isEmpty()) {
-                return null;
-            } else {
-                return list.remove(list.size() - 1);
-            }
+            return this.repository.update(cache, () -> {
+                var list = this.getList(cache);
+                if (list.isEmpty()) {
+                    return null;
+                } else {
+                    return list.remove(list.size() - 1);
+                }
+            });
         }
     }
 
@@ -206,21 +195,23 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return 0L;
         } else {
-            long removed = 0;
-            var list = (List<String>) cache.getValue();
-            var it = list.iterator();
-            while (it.hasNext()) {
-                var next = it.next();
-                if (Objects.equals(next, value)) {
-                    it.remove();
-                    removed++;
-                    count--;
-                }
-                if (count == 0) {
-                    break;
+            return this.repository.update(cache, () -> {
+                long removed = 0;
+                long remaining = count;
+                var it = this.getList(cache).iterator();
+                while (it.hasNext()) {
+                    var next = it.next();
+                    if (Objects.equals(next, value)) {
+                        it.remove();
+                        removed++;
+                        remaining--;
+                    }
+                    if (remaining == 0) {
+                        break;
+                    }
                 }
-            }
-            return removed;
+                return removed;
+            });
         }
     }
 
@@ -231,8 +222,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return null;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.remove((int) index);
+            return this.repository.update(cache, () -> this.getList(cache).remove((int) index));
         }
     }
 
@@ -242,8 +232,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return true;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.remove(value);
+            return this.repository.update(cache, () -> this.getList(cache).remove(value));
         }
     }
 
@@ -253,8 +242,7 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return 0;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.indexOf(value);
+            return cache.transactional(() -> this.getList(cache).indexOf(value));
         }
     }
 
@@ -264,8 +252,12 @@ public class MemoryCacheList implements CacheList {
         if (cache == null) {
             return 0;
         } else {
-            var list = (List<String>) cache.getValue();
-            return list.lastIndexOf(value);
+            return cache.transactional(() -> this.getList(cache).lastIndexOf(value));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private List<String> getList(Cache cache) {
+        return (List<String>) cache.getValue();
+    }
 }
@@ -48,12 +48,14 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return 0;
         } else {
-            long count = 0;
-            var map = (Map<String, String>) cache.getValue();
-            for (var key : keys) {
-                count += (map.remove(key) != null ? 1 : 0);
-            }
-            return count;
+            return this.repository.update(cache, () -> {
+                long count = 0;
+                var map = this.getMap(cache);
+                for (var key : keys) {
+                    count += (map.remove(key) != null ? 1 : 0);
+                }
+                return count;
+            });
         }
     }
 
@@ -63,8 +65,7 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return false;
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return map.containsKey(key);
+            return cache.transactional(() -> this.getMap(cache).containsKey(key));
         }
     }
 
@@ -75,28 +76,14 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return null;
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return map.get(key);
+            return cache.transactional(() -> this.getMap(cache).get(key));
         }
     }
 
     @NotNull
     @Override
     public List<String> get(@NotNull String... keys) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            return Collections.emptyList();
-        } else {
-            var list = new ArrayList<String>();
-            var map = (Map<String, String>) cache.getValue();
-            for (var key : keys) {
-                var value = map.get(key);
-                if (value != null) {
-                    list.add(value);
-                }
-            }
-            return list;
-        }
+        return this.get(Arrays.asList(keys));
     }
 
     @NotNull
@@ -106,15 +93,17 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var list = new ArrayList<String>();
-            var map = (Map<String, String>) cache.getValue();
-            for (var key : keys) {
-                var value = map.get(key);
-                if (value != null) {
-                    list.add(value);
+            return cache.transactional(() -> {
+                var list = new ArrayList<String>();
+                var map = this.getMap(cache);
+                for (var key : keys) {
+                    var value = map.get(key);
+                    if (value != null) {
+                        list.add(value);
+                    }
                 }
-            }
-            return list;
+                return list;
+            });
         }
     }
 
@@ -125,8 +114,7 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return Collections.emptySet();
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return map.keySet();
+            return cache.transactional(() -> Set.copyOf(this.getMap(cache).keySet()));
         }
     }
 
@@ -136,45 +124,28 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return 0;
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return map.size();
+            return cache.transactional(() -> this.getMap(cache).size());
         }
     }
 
     @Override
     public void put(@NotNull String key, @NotNull String value) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            var map = new HashMap<String, String>();
-            map.put(key, value);
-            this.repository.put(this.key, map, DataType.MAP, null);
-        } else {
-            var map = (Map<String, String>) cache.getValue();
-            map.put(key, value);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.MAP, HashMap::new);
+        this.repository.update(cache, () -> this.getMap(cache).put(key, value));
     }
 
     @Override
     public void putAll(@NotNull Map<String, String> values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            var map = new HashMap<>(values);
-            this.repository.put(this.key, map, DataType.MAP, null);
-        } else {
-            var map = (Map<String, String>) cache.getValue();
-            map.putAll(values);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.MAP, HashMap::new);
+        this.repository.update(cache, () -> {
+            this.getMap(cache).putAll(values);
+            return null;
+        });
     }
 
     @Override
     public boolean putIfAbsent(@NotNull Map<String, String> values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            var map = new HashMap<>(values);
-            this.repository.put(this.key, map, DataType.MAP, null);
-            return true;
-        }
-        return false;
+        return this.repository.putIfAbsent(this.key, new HashMap<>(values), DataType.MAP, null);
     }
 
     @NotNull
@@ -184,8 +155,7 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return List.copyOf(map.values());
+            return cache.transactional(() -> List.copyOf(this.getMap(cache).values()));
         }
     }
 
@@ -196,8 +166,12 @@ public class MemoryCacheMap implements CacheMap {
         if (cache == null) {
             return Collections.emptyMap();
         } else {
-            var map = (Map<String, String>) cache.getValue();
-            return Collections.unmodifiableMap(map);
+            return cache.transactional(() -> Map.copyOf(this.getMap(cache)));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getMap(Cache cache) {
+        return (Map<String, String>) cache.getValue();
+    }
 }
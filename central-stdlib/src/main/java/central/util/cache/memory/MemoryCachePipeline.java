@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.memory;
+
+import central.util.cache.CachePipeline;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/// 内存缓存批量操作
+///
+/// 内存缓存没有网络开销，执行时按顺序逐个执行排队的操作
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class MemoryCachePipeline implements CachePipeline {
+
+    private final MemoryCacheRepository repository;
+
+    private final List<Function<MemoryCacheRepository, Object>> operations = new ArrayList<>();
+
+    @NotNull
+    @Override
+    public CachePipeline get(@NotNull String key) {
+        this.operations.add(repository -> repository.opsValue(key).getValue());
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline set(@NotNull String key, @NotNull String value) {
+        return this.set(key, value, null);
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline set(@NotNull String key, @NotNull String value, @Nullable Duration timeout) {
+        this.operations.add(repository -> {
+            repository.opsValue(key).set(value, timeout);
+            return true;
+        });
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline increment(@NotNull String key, long delta) {
+        this.operations.add(repository -> repository.opsValue(key).increment(delta));
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline delete(@NotNull String key) {
+        this.operations.add(repository -> repository.delete(key));
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline expire(@NotNull String key, @NotNull Duration timeout) {
+        this.operations.add(repository -> repository.expire(key, timeout));
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline persist(@NotNull String key) {
+        this.operations.add(repository -> repository.persist(key));
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public List<Object> execute() {
+        var results = new ArrayList<>(this.operations.size());
+        for (var operation : this.operations) {
+            results.add(operation.apply(this.repository));
+        }
+        this.operations.clear();
+        return results;
+    }
+}
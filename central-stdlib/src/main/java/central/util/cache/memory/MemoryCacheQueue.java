@@ -60,14 +60,9 @@ public class MemoryCacheQueue implements CacheQueue {
 
     @Override
     public boolean push(@NotNull String value) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new BlockedQueue<>(List.of(value)), DataType.QUEUE, null);
-            return true;
-        } else {
-            var queue = (BlockedQueue<String>) cache.getValue();
-            return queue.offer(value);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.QUEUE, BlockedQueue::new);
+        var queue = (BlockedQueue<String>) cache.getValue();
+        return this.repository.update(cache, () -> queue.offer(value));
     }
 
     @Nullable
@@ -78,7 +73,7 @@ public class MemoryCacheQueue implements CacheQueue {
             return null;
         } else {
             var queue = (BlockedQueue<String>) cache.getValue();
-            return queue.poll();
+            return this.repository.update(cache, queue::poll);
         }
     }
 
@@ -92,12 +87,15 @@ public class MemoryCacheQueue implements CacheQueue {
             var list = new ArrayList<String>();
             var queue = (BlockedQueue<String>) cache.getValue();
 
-            for (long i = 0; i < count; i++) {
-                var removed = queue.poll();
-                if (removed != null) {
-                    list.add(removed);
+            this.repository.update(cache, () -> {
+                for (long i = 0; i < count; i++) {
+                    var removed = queue.poll();
+                    if (removed != null) {
+                        list.add(removed);
+                    }
                 }
-            }
+                return null;
+            });
             return Collections.unmodifiableList(list);
         }
     }
@@ -105,16 +103,15 @@ public class MemoryCacheQueue implements CacheQueue {
     @Nullable
     @Override
     public String take(@NotNull Duration timeout) throws InterruptedException {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new BlockedQueue<>(), DataType.QUEUE, null);
-            cache = this.repository.get(this.key);
-        }
-        if (cache == null) {
-            return null;
-        }
+        // 队列本身是线程安全的，阻塞等待时不持有缓存锁
+        var cache = this.repository.getOrCreate(this.key, DataType.QUEUE, BlockedQueue::new);
         var queue = (BlockedQueue<String>) cache.getValue();
-        return queue.poll(TimeUnit.MILLISECONDS.convert(timeout), TimeUnit.MILLISECONDS);
+        var value = queue.poll(TimeUnit.MILLISECONDS.convert(timeout), TimeUnit.MILLISECONDS);
+        if (value != null) {
+            // 取出元素后再重新计算权重
+            this.repository.update(cache, () -> null);
+        }
+        return value;
     }
 
     @Nullable
@@ -26,293 +26,445 @@ package central.util.cache.memory;
 
 import central.lang.Assertx;
 import central.util.cache.*;
-import central.util.concurrent.ConsumableQueue;
+import central.util.concurrent.TimingWheel;
 import central.util.regex.GlobPattern;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import lombok.Setter;
+import lombok.experimental.Accessors;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /// 内存缓存仓库
 ///
+/// 缓存数据保存在 [ConcurrentHashMap] 中，对同一个键的创建、替换、删除通过 [ConcurrentHashMap#compute] 原子完成；
+/// 缓存值（List、Map、Set 等容器）的复合操作由每个缓存自己的锁保护，因此不同键之间的读写互不阻塞。
+///
+/// 通过 [#builder()] 可以限制缓存的最大数量或最大权重，超出限制时按 [EvictionPolicy] 淘汰缓存。
+///
 /// @author Alan Yeh
 public class MemoryCacheRepository implements CacheRepository, AutoCloseable {
 
-    private final Map<String, Cache> caches = new HashMap<>();
-    private final ConsumableQueue<Cache, DelayQueue<Cache>> timeoutQueue;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private final TimingWheel wheel;
 
-    private final ReentrantLock lock = new ReentrantLock();
+    /// 容量策略，为空时不限制容量
+    @Nullable
+    private final EvictionPolicy<String, Cache> policy;
 
-    private <R> R transactional(Function<Map<String, Cache>, R> action) {
-        try {
-            this.lock.lock();
-            return action.apply(this.caches);
-        } finally {
-            this.lock.unlock();
-        }
+    public MemoryCacheRepository() {
+        this(TimingWheel.getDefault());
     }
 
-    public MemoryCacheRepository() {
-        this.timeoutQueue = new ConsumableQueue<>(new DelayQueue<>(), "central.cache-repository.memory.cleaner");
-        this.timeoutQueue.addConsumer(queue -> {
-            try {
-                while (true) {
-                    var cache = queue.poll(5, TimeUnit.SECONDS);
-                    if (cache != null) {
-                        if (cache.isExpired()) {
-                            // 缓存已过期
-                            this.transactional(caches -> caches.remove(cache.getKey()));
-                        } else if (!cache.isPermanent() && !cache.isInvalid()) {
-                            // 如果缓存是临时并且有效的，那么需要重新加入队列进行倒计时
-                            queue.offer(cache);
-                        }
-                    }
-                }
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-            }
-        });
+    /// @param wheel 用于调度缓存过期的时间轮
+    public MemoryCacheRepository(TimingWheel wheel) {
+        this(wheel, null);
+    }
+
+    private MemoryCacheRepository(TimingWheel wheel, @Nullable EvictionPolicy<String, Cache> policy) {
+        this.wheel = wheel;
+        this.policy = policy;
     }
 
     @Override
     public void close() throws IOException {
-        this.timeoutQueue.close();
+        this.clear();
     }
 
     @Override
     public boolean hasKey(@NotNull String key) {
-        return this.caches.containsKey(key);
+        return this.get(key) != null;
     }
 
     @Override
     public boolean delete(@NotNull String key) {
-        return this.transactional(caches -> {
-            if (GlobPattern.isGlobPattern(key)) {
-                // 通过正则匹配删除缓存
-                var invalidKeys = new HashSet<String>();
-                var matcher = GlobPattern.compile(key);
-                for (var it : caches.keySet()) {
-                    if (matcher.matcher(it).matches()) {
-                        invalidKeys.add(it);
-                    }
-                }
-                // 删除缓存
-                for (var it : invalidKeys) {
-                    var cache = caches.remove(it);
-                    if (cache == null) {
-                        continue;
-                    }
-                    // 将缓存置为无效
-                    cache.invalid();
+        if (GlobPattern.isGlobPattern(key)) {
+            // 通过正则匹配删除缓存
+            var matcher = GlobPattern.compile(key);
+            for (var it : this.caches.keySet()) {
+                if (matcher.matcher(it).matches()) {
+                    this.remove(it);
                 }
-            } else {
-                var cache = caches.remove(key);
-                if (cache == null) {
-                    return false;
-                }
-                // 将缓存置为无效
-                cache.invalid();
             }
             return true;
-        });
+        } else {
+            return this.remove(key) != null;
+        }
     }
 
     @Override
     public long delete(@Nonnull Collection<String> keys) {
-        return this.transactional(caches -> {
-            long count = 0;
-            for (var key : keys) {
-                count += (this.delete(key) ? 1 : 0);
-            }
-            return count;
-        });
+        long count = 0;
+        for (var key : keys) {
+            count += (this.delete(key) ? 1 : 0);
+        }
+        return count;
     }
 
     @Override
     public @Nonnull DataType type(@Nonnull String key) {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache == null) {
-                return DataType.NONE;
-            } else {
-                return cache.getType();
-            }
-        });
+        var cache = this.get(key);
+        if (cache == null) {
+            return DataType.NONE;
+        } else {
+            return cache.getType();
+        }
     }
 
     @Override
     public @Nonnull Set<String> keys() {
-        return this.transactional(Map::keySet);
+        var keys = new HashSet<String>();
+        for (var cache : this.caches.values()) {
+            if (!cache.isExpired()) {
+                keys.add(cache.getKey());
+            }
+        }
+        return Collections.unmodifiableSet(keys);
     }
 
     @Override
     public boolean expire(@Nonnull String key, @Nonnull Duration timeout) {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache == null) {
-                return false;
-            }
-            cache.setExpire(new Date(System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout)));
-            if (!this.timeoutQueue.offer(cache)) {
-                throw new IllegalStateException("设置缓存自动过期失败");
-            }
-            return true;
-        });
+        return this.expireAt(key, new Date(System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout)));
     }
 
     @Override
     public boolean expireAt(@Nonnull String key, @Nonnull Date date) {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache == null) {
-                return false;
-            }
+        var cache = this.get(key);
+        if (cache == null) {
+            return false;
+        }
 
-            cache.setExpire(date);
-            return this.timeoutQueue.offer(cache);
-        });
+        cache.setExpire(date);
+        this.schedule(cache);
+        return true;
     }
 
     @Override
     public boolean persist(@Nonnull String key) {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache == null) {
-                return false;
-            }
-            cache.persist();
-            return true;
-        });
+        var cache = this.get(key);
+        if (cache == null) {
+            return false;
+        }
+        cache.persist();
+        return true;
     }
 
     @Override
     public void clear() {
-        this.transactional(caches -> {
-            caches.clear();
-            return true;
-        });
+        var it = this.caches.values().iterator();
+        while (it.hasNext()) {
+            var cache = it.next();
+            it.remove();
+            cache.invalid();
+        }
+        if (this.policy != null) {
+            this.policy.clear();
+        }
     }
 
     @Override
     public Duration getExpire(@Nonnull String key) {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache == null) {
-                return null;
-            } else {
-                return Duration.ofMillis(cache.getDelay(TimeUnit.MILLISECONDS));
+        var cache = this.get(key);
+        if (cache == null || cache.isPermanent()) {
+            return null;
+        } else {
+            return Duration.ofMillis(cache.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Override
+    public long expire(@Nonnull Collection<String> keys, @Nonnull Duration timeout) {
+        var date = new Date(System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout));
+        long count = 0;
+        for (var key : keys) {
+            count += (this.expireAt(key, date) ? 1 : 0);
+        }
+        return count;
+    }
+
+    @Override
+    public @Nonnull Map<String, String> getValues(@Nonnull Collection<String> keys) {
+        // 读取 String 缓存不需要加锁
+        var values = new HashMap<String, String>(keys.size() * 4 / 3 + 1);
+        for (var key : keys) {
+            var cache = this.get(key);
+            if (cache != null && cache.getType() == DataType.STRING) {
+                values.put(key, cache.getValue().toString());
             }
-        });
+        }
+        return values;
+    }
+
+    @Override
+    public void setValues(@Nonnull Map<String, String> values, @Nullable Duration timeout) {
+        for (var entry : values.entrySet()) {
+            this.put(entry.getKey(), entry.getValue(), DataType.STRING, timeout);
+        }
+    }
+
+    @Override
+    public void setValues(@Nonnull Map<String, String> values, @Nonnull Function<String, Duration> timeout) {
+        for (var entry : values.entrySet()) {
+            this.put(entry.getKey(), entry.getValue(), DataType.STRING, timeout.apply(entry.getKey()));
+        }
+    }
+
+    @Override
+    public @Nonnull CachePipeline pipelined() {
+        return new MemoryCachePipeline(this);
     }
 
     @Override
     public @Nonnull CacheValue opsValue(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.STRING.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.STRING.getName(), DataType.STRING.getCode());
-            }
-            return new MemoryCacheValue(key, this);
-        });
+        this.checkType(key, DataType.STRING);
+        return new MemoryCacheValue(key, this);
     }
 
     @Override
     public @Nonnull CacheList opsList(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.LIST.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.LIST.getName(), DataType.LIST.getCode());
-            }
-            return new MemoryCacheList(key, this);
-        });
+        this.checkType(key, DataType.LIST);
+        return new MemoryCacheList(key, this);
     }
 
     @Override
     public @Nonnull CacheQueue opsQueue(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.QUEUE.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.QUEUE.getName(), DataType.QUEUE.getCode());
-            }
-            return new MemoryCacheQueue(key, this);
-        });
+        this.checkType(key, DataType.QUEUE);
+        return new MemoryCacheQueue(key, this);
     }
 
     @Override
     public @Nonnull CacheSet opsSet(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.SET.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.SET.getName(), DataType.SET.getCode());
-            }
-            return new MemoryCacheSet(key, this);
-        });
+        this.checkType(key, DataType.SET);
+        return new MemoryCacheSet(key, this);
     }
 
     @Override
     public @Nonnull CacheSet opsZSet(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.ZSET.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.ZSET.getName(), DataType.ZSET.getCode());
-            }
-            return new MemoryCacheZSet(key, this);
-        });
+        this.checkType(key, DataType.ZSET);
+        return new MemoryCacheZSet(key, this);
     }
 
     @Override
     public @Nonnull CacheMap opsMap(@Nonnull String key) throws ClassCastException {
-        return this.transactional(caches -> {
-            var cache = caches.get(key);
-            if (cache != null) {
-                Assertx.mustTrue(DataType.MAP.isCompatibleWith(cache.getType()), ClassCastException::new,
-                        "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
-                        key, cache.getType().getName(), cache.getType().getCode(), DataType.MAP.getName(), DataType.MAP.getCode());
+        this.checkType(key, DataType.MAP);
+        return new MemoryCacheMap(key, this);
+    }
+
+    /// 检查指定键的缓存是否兼容指定的类型
+    private void checkType(@Nonnull String key, @Nonnull DataType type) throws ClassCastException {
+        var cache = this.get(key);
+        if (cache != null) {
+            Assertx.mustTrue(type.isCompatibleWith(cache.getType()), ClassCastException::new,
+                    "缓存[key={}]的类型为{}({})，不支持转换为{}({})类型",
+                    key, cache.getType().getName(), cache.getType().getCode(), type.getName(), type.getCode());
+        }
+    }
+
+    /// 登记缓存的过期时间
+    private void schedule(@Nonnull Cache cache, @Nullable Duration timeout) {
+        if (timeout != null) {
+            cache.setExpire(new Date(System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout)));
+            this.schedule(cache);
+        }
+    }
+
+    /// 移除指定的缓存实例
+    private void discard(@Nonnull Cache cache) {
+        if (this.caches.remove(cache.getKey(), cache)) {
+            cache.invalid();
+            if (this.policy != null) {
+                this.policy.recordRemove(cache.getKey(), cache);
             }
-            return new MemoryCacheMap(key, this);
-        });
+        }
+    }
+
+    /// 记录缓存访问
+    private void recordAccess(@Nonnull Cache cache) {
+        if (this.policy != null) {
+            this.evict(this.policy.recordAccess(cache.getKey(), cache));
+        }
+    }
+
+    /// 记录缓存写入
+    private void recordWrite(@Nonnull Cache cache) {
+        if (this.policy != null) {
+            this.evict(this.policy.recordWrite(cache.getKey(), cache));
+        }
+    }
+
+    /// 淘汰超出容量的缓存
+    private void evict(@Nonnull List<Map.Entry<String, Cache>> victims) {
+        for (var victim : victims) {
+            if (this.caches.remove(victim.getKey(), victim.getValue())) {
+                victim.getValue().invalid();
+            }
+        }
+    }
+
+    /// 在时间轮中调度缓存过期
+    private void schedule(@Nonnull Cache cache) {
+        cache.setTimeout(this.wheel.schedule(() -> this.expire(cache), cache.getDelay(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS));
+    }
+
+    /// 时间轮到期回调
+    private void expire(@Nonnull Cache cache) {
+        if (cache.isInvalid() || cache.isPermanent()) {
+            return;
+        }
+        if (cache.isExpired()) {
+            // 只移除当前这个缓存实例，避免误删同名的新缓存
+            this.discard(cache);
+        } else {
+            // 时间轮按刻度触发，可能会略早于过期时间，需要重新调度
+            this.schedule(cache);
+        }
     }
 
     /// internal api
+    ///
+    /// 保存缓存，并返回被替换的缓存（已过期的缓存视为不存在）
     @Nullable
     Cache put(@Nonnull String key, @Nullable Object value, @Nonnull DataType type, @Nullable Duration timeout) {
-        return this.transactional(caches -> {
-            var cache = new Cache(key, value, type);
-            var old = caches.put(key, new Cache(key, value, type));
-            if (timeout != null) {
-                cache.setExpire(new Date(System.currentTimeMillis() + TimeUnit.MILLISECONDS.convert(timeout)));
-                if (!this.timeoutQueue.offer(cache)) {
-                    throw new IllegalStateException("设置缓存自动过期失败");
+        var cache = new Cache(key, value, type);
+        var old = this.caches.put(key, cache);
+        this.schedule(cache, timeout);
+        this.recordWrite(cache);
+        if (old == null) {
+            return null;
+        }
+        old.invalid();
+        return old.isExpired() ? null : old;
+    }
+
+    /// internal api
+    ///
+    /// 在缓存锁内修改缓存值（List、Map、Set 等容器），并重新计算缓存的权重
+    ///
+    /// 权重在缓存锁内计算，避免计算时容器被其它线程修改；淘汰则在释放缓存锁后进行
+    ///
+    /// @param action 修改动作
+    <R> R update(@Nonnull Cache cache, @Nonnull Supplier<R> action) {
+        if (this.policy == null) {
+            return cache.transactional(action);
+        }
+
+        var victims = new ArrayList<Map.Entry<String, Cache>>();
+        var result = cache.transactional(() -> {
+            var value = action.get();
+            victims.addAll(this.policy.recordUpdate(cache.getKey(), cache));
+            return value;
+        });
+        this.evict(victims);
+        return result;
+    }
+
+    /// 当缓存不存在（或已过期）时保存缓存
+    ///
+    /// @return 如果保存成功，则返回`true`；否则返回`false`
+    boolean putIfAbsent(@Nonnull String key, @Nullable Object value, @Nonnull DataType type, @Nullable Duration timeout) {
+        var cache = new Cache(key, value, type);
+        var current = this.caches.compute(key, (k, origin) -> {
+            if (origin == null || origin.isExpired()) {
+                if (origin != null) {
+                    origin.invalid();
+                }
+                return cache;
+            }
+            return origin;
+        });
+        if (current == cache) {
+            this.schedule(cache, timeout);
+            this.recordWrite(cache);
+            return true;
+        }
+        this.recordAccess(current);
+        return false;
+    }
+
+    /// 获取缓存，如果缓存不存在（或已过期），则原子地创建一个新的缓存
+    ///
+    /// @param creator 缓存值创建器
+    @Nonnull
+    Cache getOrCreate(@Nonnull String key, @Nonnull DataType type, @Nonnull Supplier<Object> creator) {
+        var created = new Cache[1];
+        var cache = this.caches.compute(key, (k, origin) -> {
+            if (origin == null || origin.isExpired()) {
+                if (origin != null) {
+                    origin.invalid();
                 }
+                return created[0] = new Cache(k, creator.get(), type);
             }
-            return old;
+            return origin;
         });
+        if (cache == created[0]) {
+            this.recordWrite(cache);
+        } else {
+            this.recordAccess(cache);
+        }
+        return cache;
     }
 
     @Nullable
     Cache get(@Nonnull String key) {
-        return this.transactional(caches -> caches.get(key));
+        var cache = this.caches.get(key);
+        if (cache == null) {
+            return null;
+        }
+        if (cache.isExpired()) {
+            // 惰性删除已过期的缓存
+            this.discard(cache);
+            return null;
+        }
+        this.recordAccess(cache);
+        return cache;
     }
 
     @Nullable
     Cache remove(@Nonnull String key) {
-        return this.transactional(caches -> caches.remove(key));
+        var cache = this.caches.remove(key);
+        if (cache == null) {
+            return null;
+        }
+        cache.invalid();
+        if (this.policy != null) {
+            this.policy.recordRemove(key, cache);
+        }
+        return cache.isExpired() ? null : cache;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Setter
+    @Accessors(chain = true, fluent = true)
+    public static class Builder {
+        /// 用于调度缓存过期的时间轮
+        private TimingWheel wheel = TimingWheel.getDefault();
+
+        /// 最大缓存数量，小于等于 0 表示不限制
+        private long maximumSize = 0;
+
+        /// 最大权重，小于等于 0 表示不限制
+        private long maximumWeight = 0;
+
+        /// 权重计算器，默认估算缓存占用的内存字节数
+        private Weigher<String, Object> weigher = Weigher.memory();
+
+        public MemoryCacheRepository build() {
+            EvictionPolicy<String, Cache> policy = null;
+            if (this.maximumSize > 0 || this.maximumWeight > 0) {
+                var weigher = this.weigher;
+                policy = new EvictionPolicy<>(this.maximumSize, this.maximumWeight, (key, cache) -> weigher.weigh(key, cache.getValue()));
+            }
+            return new MemoryCacheRepository(this.wheel, policy);
+        }
     }
 }
@@ -49,50 +49,25 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return Collections.emptySet();
         } else {
-            var set = (Set<String>) cache.getValue();
-            return Collections.unmodifiableSet(set);
+            return cache.transactional(() -> Collections.unmodifiableSet(new HashSet<>(this.getSet(cache))));
         }
     }
 
     @Override
     public long add(@NotNull String... values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new HashSet<>(Arrays.asList(values)), DataType.SET, null);
-        } else {
-            var set = (Set<String>) cache.getValue();
-            set.addAll(Arrays.asList(values));
-        }
-        return values.length;
+        return this.add(Arrays.asList(values));
     }
 
     @Override
     public long add(@NotNull Collection<String> values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new HashSet<>(values), DataType.SET, null);
-        } else {
-            var set = (Set<String>) cache.getValue();
-            set.addAll(values);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.SET, HashSet::new);
+        this.repository.update(cache, () -> this.getSet(cache).addAll(values));
         return values.size();
     }
 
     @Override
     public long remove(@NotNull String... values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            return 0L;
-        } else {
-            long removed = 0;
-            var set = (Set<String>) cache.getValue();
-            for (String value : values) {
-                if (set.remove(value)) {
-                    removed++;
-                }
-            }
-            return removed;
-        }
+        return this.remove(Arrays.asList(values));
     }
 
     @Override
@@ -101,14 +76,16 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return 0L;
         } else {
-            long removed = 0;
-            var set = (Set<String>) cache.getValue();
-            for (String value : values) {
-                if (set.remove(value)) {
-                    removed++;
+            return this.repository.update(cache, () -> {
+                long removed = 0;
+                var set = this.getSet(cache);
+                for (String value : values) {
+                    if (set.remove(value)) {
+                        removed++;
+                    }
                 }
-            }
-            return removed;
+                return removed;
+            });
         }
     }
 
@@ -119,16 +96,16 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return null;
         } else {
-            var set = (Set<String>) cache.getValue();
-
-            var iterator = set.iterator();
-            if (!iterator.hasNext()) {
-                return null;
-            } else {
-                var next = iterator.next();
-                iterator.remove();
-                return next;
-            }
+            return this.repository.update(cache, () -> {
+                var iterator = this.getSet(cache).iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                } else {
+                    var next = iterator.next();
+                    iterator.remove();
+                    return next;
+                }
+            });
         }
     }
 
@@ -139,20 +116,20 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var list = new ArrayList<String>((int) count);
-            var set = (Set<String>) cache.getValue();
-
-            var iterator = set.iterator();
-            for (int i = 0; i < count; i++) {
-                if (!iterator.hasNext()) {
-                    return Collections.emptyList();
-                } else {
-                    var next = iterator.next();
-                    iterator.remove();
-                    list.add(next);
+            return this.repository.update(cache, () -> {
+                var list = new ArrayList<String>((int) count);
+                var iterator = this.getSet(cache).iterator();
+                for (int i = 0; i < count; i++) {
+                    if (!iterator.hasNext()) {
+                        return Collections.<String>emptyList();
+                    } else {
+                        var next = iterator.next();
+                        iterator.remove();
+                        list.add(next);
+                    }
                 }
-            }
-            return Collections.unmodifiableList(list);
+                return Collections.unmodifiableList(list);
+            });
         }
     }
 
@@ -162,8 +139,7 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return 0L;
         } else {
-            var set = (Set<String>) cache.getValue();
-            return set.size();
+            return cache.transactional(() -> this.getSet(cache).size());
         }
     }
 
@@ -173,8 +149,12 @@ public class MemoryCacheSet implements CacheSet {
         if (cache == null) {
             return false;
         } else {
-            var set = (Set<String>) cache.getValue();
-            return set.contains(value);
+            return cache.transactional(() -> this.getSet(cache).contains(value));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getSet(Cache cache) {
+        return (Set<String>) cache.getValue();
+    }
 }
@@ -66,24 +66,12 @@ public class MemoryCacheValue implements CacheValue {
 
     @Override
     public boolean setIfAbsent(@NotNull String value) {
-        var origin = this.repository.get(this.key);
-        if (origin == null) {
-            this.repository.put(this.key, value, DataType.STRING, null);
-            return true;
-        } else {
-            return false;
-        }
+        return this.repository.putIfAbsent(this.key, value, DataType.STRING, null);
     }
 
     @Override
     public boolean setIfAbsent(@NotNull String value, @Nullable Duration timeout) {
-        var origin = this.repository.get(this.key);
-        if (origin == null) {
-            this.repository.put(this.key, value, DataType.STRING, timeout);
-            return true;
-        } else {
-            return false;
-        }
+        return this.repository.putIfAbsent(this.key, value, DataType.STRING, timeout);
     }
 
     @Override
@@ -136,93 +124,45 @@ public class MemoryCacheValue implements CacheValue {
     @NotNull
     @Override
     public Long increment() throws NumberFormatException {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, 1L, DataType.STRING, null);
-            return 1L;
-        } else {
-            long number;
-            Object value = cache.getValue();
-            if (value instanceof String stringValue) {
-                number = Long.parseLong(stringValue) + 1;
-                cache.setValue(number);
-            } else if (value instanceof Long longValue) {
-                number = longValue + 1;
-                cache.setValue(number);
-            } else {
-                throw new NumberFormatException(Stringx.format("缓存[key={}]的类型为{}({})，无法自增", this.key, cache.getType().getName(), cache.getType().getCode()));
-            }
-            return number;
-        }
+        return this.add(1, "自增");
     }
 
     @NotNull
     @Override
     public Long increment(long delta) throws NumberFormatException {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, delta, DataType.STRING, null);
-            return delta;
-        } else {
-            long number;
-            Object value = cache.getValue();
-            if (value instanceof String stringValue) {
-                number = Long.parseLong(stringValue) + delta;
-                cache.setValue(number);
-            } else if (value instanceof Long longValue) {
-                number = longValue + delta;
-                cache.setValue(number);
-            } else {
-                throw new NumberFormatException(Stringx.format("缓存[key={}]的类型为{}({})，无法自增", this.key, cache.getType().getName(), cache.getType().getCode()));
-            }
-            return number;
-        }
+        return this.add(delta, "自增");
     }
 
     @NotNull
     @Override
     public Long decrement() throws NumberFormatException {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, -1L, DataType.STRING, null);
-            return -1L;
-        } else {
-            long number;
-            Object value = cache.getValue();
-            if (value instanceof String stringValue) {
-                number = Long.parseLong(stringValue) - 1;
-                cache.setValue(number);
-            } else if (value instanceof Long longValue) {
-                number = longValue - 1;
-                cache.setValue(number);
-            } else {
-                throw new NumberFormatException(Stringx.format("缓存[key={}]的类型为{}({})，无法自减", this.key, cache.getType().getName(), cache.getType().getCode()));
-            }
-            return number;
-        }
+        return this.add(-1, "自减");
     }
 
     @NotNull
     @Override
     public Long decrement(long delta) throws NumberFormatException {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, delta * -1, DataType.STRING, null);
-            return delta * -1;
-        } else {
+        return this.add(delta * -1, "自减");
+    }
+
+    /// 在缓存锁内原子地累加数值
+    ///
+    /// @param delta     增量
+    /// @param operation 操作名称，用于异常提示
+    private long add(long delta, String operation) throws NumberFormatException {
+        var cache = this.repository.getOrCreate(this.key, DataType.STRING, () -> 0L);
+        return this.repository.update(cache, () -> {
             long number;
             Object value = cache.getValue();
             if (value instanceof String stringValue) {
-                number = Long.parseLong(stringValue) - delta;
-                cache.setValue(number);
+                number = Long.parseLong(stringValue) + delta;
             } else if (value instanceof Long longValue) {
-                number = longValue - delta;
-                cache.setValue(number);
+                number = longValue + delta;
             } else {
-                throw new NumberFormatException(Stringx.format("缓存[key={}]的类型为{}({})，无法自增", this.key, cache.getType().getName(), cache.getType().getCode()));
+                throw new NumberFormatException(Stringx.format("缓存[key={}]的类型为{}({})，无法{}", this.key, cache.getType().getName(), cache.getType().getCode(), operation));
             }
+            cache.setValue(number);
             return number;
-        }
+        });
     }
-
 }
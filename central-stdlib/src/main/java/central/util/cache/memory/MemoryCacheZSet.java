@@ -48,50 +48,25 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return Collections.emptySet();
         } else {
-            var set = (Set<String>) cache.getValue();
-            return Collections.unmodifiableSet(set);
+            return cache.transactional(() -> Collections.unmodifiableSet(new TreeSet<>(this.getSet(cache))));
         }
     }
 
     @Override
     public long add(@NotNull String... values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new TreeSet<>(Arrays.asList(values)), DataType.SET, null);
-        } else {
-            var set = (Set<String>) cache.getValue();
-            set.addAll(Arrays.asList(values));
-        }
-        return values.length;
+        return this.add(Arrays.asList(values));
     }
 
     @Override
     public long add(@NotNull Collection<String> values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            this.repository.put(this.key, new TreeSet<>(values), DataType.SET, null);
-        } else {
-            var set = (Set<String>) cache.getValue();
-            set.addAll(values);
-        }
+        var cache = this.repository.getOrCreate(this.key, DataType.ZSET, TreeSet::new);
+        this.repository.update(cache, () -> this.getSet(cache).addAll(values));
         return values.size();
     }
 
     @Override
     public long remove(@NotNull String... values) {
-        var cache = this.repository.get(this.key);
-        if (cache == null) {
-            return 0L;
-        } else {
-            long removed = 0;
-            var set = (Set<String>) cache.getValue();
-            for (String value : values) {
-                if (set.remove(value)) {
-                    removed++;
-                }
-            }
-            return removed;
-        }
+        return this.remove(Arrays.asList(values));
     }
 
     @Override
@@ -100,14 +75,16 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return 0L;
         } else {
-            long removed = 0;
-            var set = (Set<String>) cache.getValue();
-            for (String value : values) {
-                if (set.remove(value)) {
-                    removed++;
+            return this.repository.update(cache, () -> {
+                long removed = 0;
+                var set = this.getSet(cache);
+                for (String value : values) {
+                    if (set.remove(value)) {
+                        removed++;
+                    }
                 }
-            }
-            return removed;
+                return removed;
+            });
         }
     }
 
@@ -118,16 +95,16 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return null;
         } else {
-            var set = (Set<String>) cache.getValue();
-
-            var iterator = set.iterator();
-            if (!iterator.hasNext()) {
-                return null;
-            } else {
-                var next = iterator.next();
-                iterator.remove();
-                return next;
-            }
+            return this.repository.update(cache, () -> {
+                var iterator = this.getSet(cache).iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                } else {
+                    var next = iterator.next();
+                    iterator.remove();
+                    return next;
+                }
+            });
         }
     }
 
@@ -138,20 +115,20 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return Collections.emptyList();
         } else {
-            var list = new ArrayList<String>((int) count);
-            var set = (Set<String>) cache.getValue();
-
-            var iterator = set.iterator();
-            for (int i = 0; i < count; i++) {
-                if (!iterator.hasNext()) {
-                    return Collections.emptyList();
-                } else {
-                    var next = iterator.next();
-                    iterator.remove();
-                    list.add(next);
+            return this.repository.update(cache, () -> {
+                var list = new ArrayList<String>((int) count);
+                var iterator = this.getSet(cache).iterator();
+                for (int i = 0; i < count; i++) {
+                    if (!iterator.hasNext()) {
+                        return Collections.<String>emptyList();
+                    } else {
+                        var next = iterator.next();
+                        iterator.remove();
+                        list.add(next);
+                    }
                 }
-            }
-            return Collections.unmodifiableList(list);
+                return Collections.unmodifiableList(list);
+            });
         }
     }
 
@@ -161,8 +138,7 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return 0L;
         } else {
-            var set = (Set<String>) cache.getValue();
-            return set.size();
+            return cache.transactional(() -> this.getSet(cache).size());
         }
     }
 
@@ -172,8 +148,12 @@ public class MemoryCacheZSet implements CacheSet {
         if (cache == null) {
             return false;
         } else {
-            var set = (Set<String>) cache.getValue();
-            return set.contains(value);
+            return cache.transactional(() -> this.getSet(cache).contains(value));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> getSet(Cache cache) {
+        return (Set<String>) cache.getValue();
+    }
 }
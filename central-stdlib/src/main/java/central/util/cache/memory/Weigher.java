@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.memory;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/// 缓存权重计算器
+///
+/// 用于计算缓存的权重（如估算的内存占用），配合 [EvictionPolicy] 限制缓存的总权重
+///
+/// @author Alan Yeh
+@FunctionalInterface
+public interface Weigher<K, V> {
+    /// 计算缓存的权重
+    ///
+    /// 权重计算会在写入和访问时执行，因此实现必须足够快（最好是 O(1)）
+    ///
+    /// @param key   缓存键
+    /// @param value 缓存值
+    /// @return 权重，不能为负数
+    long weigh(@Nonnull K key, @Nullable V value);
+
+    /// 每个缓存的权重都是 1，即按缓存数量计算
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+
+    /// 估算缓存占用的内存字节数
+    ///
+    /// - String: 对象头 + 字符数组
+    /// - Collection/Map: 容器开销 + 元素数量 * 首个元素的估算大小（抽样，避免遍历整个容器）
+    /// - 其它对象: 固定 64 字节
+    static <K, V> Weigher<K, V> memory() {
+        return (key, value) -> Weighers.estimate(key) + Weighers.estimate(value);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.memory;
+
+import java.util.Collection;
+import java.util.Map;
+
+/// 内存估算工具
+///
+/// @author Alan Yeh
+class Weighers {
+    /// 对象头 + 引用
+    private static final long OBJECT = 16;
+    /// 无法估算时的默认大小
+    private static final long UNKNOWN = 64;
+
+    static long estimate(Object value) {
+        return estimate(value, 0);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence sequence) {
+            return OBJECT + 24 + (long) sequence.length() * 2;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return OBJECT + 8;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT + bytes.length;
+        }
+        if (depth > 2) {
+            return UNKNOWN;
+        }
+        try {
+            if (value instanceof Collection<?> collection) {
+                if (collection.isEmpty()) {
+                    return OBJECT + 24;
+                }
+                var first = collection.iterator().next();
+                return OBJECT + 24 + (long) collection.size() * (OBJECT + estimate(first, depth + 1));
+            }
+            if (value instanceof Map<?, ?> map) {
+                if (map.isEmpty()) {
+                    return OBJECT + 32;
+                }
+                var first = map.entrySet().iterator().next();
+                return OBJECT + 32 + (long) map.size() * (OBJECT * 2 + estimate(first.getKey(), depth + 1) + estimate(first.getValue(), depth + 1));
+            }
+        } catch (RuntimeException ignored) {
+            // 抽样时容器正在被其它线程修改，按默认大小估算
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.lang.Stringx;
+import central.util.cache.CacheList;
+import io.lettuce.core.LPosArgs;
+import io.lettuce.core.ScriptOutputType;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/// Redis 缓存列表
+///
+/// Redis 没有按下标插入、删除的命令，这些复合操作通过 Lua 脚本在服务端原子执行
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheList implements CacheList {
+
+    /// 在指定下标前插入元素
+    ///
+    /// KEYS[1]: 列表键; ARGV[1]: 下标; ARGV[2..n]: 待插入元素
+    private static final String INSERT_SCRIPT = """
+            local size = redis.call('LLEN', KEYS[1])
+            local index = tonumber(ARGV[1])
+            if index < 0 or index > size then
+                return -1
+            end
+            local tail = redis.call('LRANGE', KEYS[1], index, -1)
+            if index == 0 then
+                redis.call('DEL', KEYS[1])
+            elseif index < size then
+                redis.call('LTRIM', KEYS[1], 0, index - 1)
+            end
+            for i = 2, #ARGV do
+                redis.call('RPUSH', KEYS[1], ARGV[i])
+            end
+            for i = 1, #tail do
+                redis.call('RPUSH', KEYS[1], tail[i])
+            end
+            return #ARGV - 1
+            """;
+
+    /// 移除指定下标的元素
+    ///
+    /// KEYS[1]: 列表键; ARGV[1]: 下标; ARGV[2]: 占位符
+    private static final String REMOVE_SCRIPT = """
+            local value = redis.call('LINDEX', KEYS[1], ARGV[1])
+            if not value then
+                return false
+            end
+            redis.call('LSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('LREM', KEYS[1], 1, ARGV[2])
+            return value
+            """;
+
+    /// 移除区间 [start, end) 内的元素
+    ///
+    /// KEYS[1]: 列表键; ARGV[1]: 开始下标; ARGV[2]: 结束下标; ARGV[3]: 占位符
+    private static final String TRIM_SCRIPT = """
+            local start = tonumber(ARGV[1])
+            local stop = tonumber(ARGV[2])
+            if stop <= start then
+                return 0
+            end
+            for i = start, stop - 1 do
+                redis.call('LSET', KEYS[1], i, ARGV[3])
+            end
+            return redis.call('LREM', KEYS[1], 0, ARGV[3])
+            """;
+
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @NotNull
+    @Override
+    public List<String> values() {
+        return this.repository.await(this.repository.commands().lrange(this.key, 0, -1));
+    }
+
+    @NotNull
+    @Override
+    public List<String> range(long start, long end) {
+        if (end <= start) {
+            return Collections.emptyList();
+        }
+        return this.repository.await(this.repository.commands().lrange(this.key, start, end - 1));
+    }
+
+    @Nullable
+    @Override
+    public String get(long index) {
+        return this.repository.await(this.repository.commands().lindex(this.key, index));
+    }
+
+    @Override
+    public void trim(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+        this.repository.await(this.repository.commands().eval(TRIM_SCRIPT, ScriptOutputType.INTEGER, new String[]{this.key},
+                Long.toString(start), Long.toString(end), placeholder()));
+    }
+
+    @Override
+    public long size() {
+        return this.repository.await(this.repository.commands().llen(this.key));
+    }
+
+    @Override
+    public long add(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        this.repository.await(this.repository.commands().rpush(this.key, values));
+        return values.length;
+    }
+
+    @Override
+    public long add(@NotNull Collection<String> values) {
+        return this.add(values.toArray(new String[0]));
+    }
+
+    @Override
+    public long addIfPresent(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        var size = this.repository.await(this.repository.commands().rpushx(this.key, values));
+        return size > 0 ? values.length : 0;
+    }
+
+    @Override
+    public long insert(int index, @NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        if (index == 0) {
+            // 插入到头部时，逆序 LPUSH 即可保持元素顺序，不需要执行脚本
+            var reversed = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                reversed[i] = values[values.length - 1 - i];
+            }
+            this.repository.await(this.repository.commands().lpush(this.key, reversed));
+            return values.length;
+        }
+        var args = new String[values.length + 1];
+        args[0] = Integer.toString(index);
+        System.arraycopy(values, 0, args, 1, values.length);
+
+        Long count = this.repository.await(this.repository.commands().eval(INSERT_SCRIPT, ScriptOutputType.INTEGER, new String[]{this.key}, args));
+        if (count < 0) {
+            throw new IndexOutOfBoundsException(Stringx.format("无法在下标 {} 处插入数据", index));
+        }
+        return count;
+    }
+
+    @Override
+    public void set(long index, @NotNull String value) {
+        try {
+            this.repository.await(this.repository.commands().lset(this.key, index, value));
+        } catch (RuntimeException ex) {
+            if (index == 0 && ex.getMessage() != null && ex.getMessage().contains("no such key")) {
+                // 与内存缓存保持一致，列表不存在时允许设置首个元素
+                this.repository.await(this.repository.commands().rpush(this.key, value));
+            } else if (ex.getMessage() != null && (ex.getMessage().contains("no such key") || ex.getMessage().contains("index out of range"))) {
+                throw new IndexOutOfBoundsException(Stringx.format("无法修改下标 {} 处数据", index));
+            } else {
+                throw ex;
+            }
+        }
+    }
+
+    @Override
+    public String removeFirst() {
+        return this.repository.await(this.repository.commands().lpop(this.key));
+    }
+
+    @Override
+    public String removeLast() {
+        return this.repository.await(this.repository.commands().rpop(this.key));
+    }
+
+    @Override
+    public long remove(long count, @NotNull String value) {
+        return this.repository.await(this.repository.commands().lrem(this.key, count, value));
+    }
+
+    @Nullable
+    @Override
+    public String remove(long index) {
+        return this.repository.await(this.repository.commands().eval(REMOVE_SCRIPT, ScriptOutputType.VALUE, new String[]{this.key},
+                Long.toString(index), placeholder()));
+    }
+
+    @Override
+    public boolean remove(@NotNull String value) {
+        return this.remove(1, value) > 0;
+    }
+
+    @Override
+    public long indexOf(@NotNull String value) {
+        var index = this.repository.await(this.repository.commands().lpos(this.key, value));
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public long lastIndexOf(@NotNull String value) {
+        var index = this.repository.await(this.repository.commands().lpos(this.key, value, LPosArgs.Builder.rank(-1)));
+        return index == null ? -1 : index;
+    }
+
+    /// 用于标记待删除元素的占位符，避免与列表中已有的元素冲突
+    private static String placeholder() {
+        return "__central_removed_" + UUID.randomUUID() + "__";
+    }
+}
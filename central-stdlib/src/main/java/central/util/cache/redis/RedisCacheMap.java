@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CacheMap;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.ScriptOutputType;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/// Redis 缓存键值对
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheMap implements CacheMap {
+
+    /// 缓存不存在时，保存所有键值对
+    ///
+    /// KEYS[1]: 缓存键; ARGV: 依次为键、值
+    private static final String PUT_IF_ABSENT_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV))
+            return 1
+            """;
+
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @Override
+    public long delete(@NotNull String... keys) {
+        if (keys.length == 0) {
+            return 0;
+        }
+        return this.repository.await(this.repository.commands().hdel(this.key, keys));
+    }
+
+    @Override
+    public boolean hasKey(@NotNull String key) {
+        return Boolean.TRUE.equals(this.repository.await(this.repository.commands().hexists(this.key, key)));
+    }
+
+    @Nullable
+    @Override
+    public String get(@NotNull String key) {
+        return this.repository.await(this.repository.commands().hget(this.key, key));
+    }
+
+    @NotNull
+    @Override
+    public List<String> get(@NotNull String... keys) {
+        if (keys.length == 0) {
+            return Collections.emptyList();
+        }
+        var values = this.repository.await(this.repository.commands().hmget(this.key, keys));
+        return values.stream().filter(KeyValue::hasValue).map(KeyValue::getValue).toList();
+    }
+
+    @NotNull
+    @Override
+    public List<String> get(@NotNull Collection<String> keys) {
+        return this.get(keys.toArray(new String[0]));
+    }
+
+    @NotNull
+    @Override
+    public Set<String> keys() {
+        return new HashSet<>(this.repository.await(this.repository.commands().hkeys(this.key)));
+    }
+
+    @Override
+    public long size() {
+        return this.repository.await(this.repository.commands().hlen(this.key));
+    }
+
+    @Override
+    public void put(@NotNull String key, @NotNull String value) {
+        this.repository.await(this.repository.commands().hset(this.key, key, value));
+    }
+
+    @Override
+    public void putAll(@NotNull Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        this.repository.await(this.repository.commands().hset(this.key, values));
+    }
+
+    @Override
+    public boolean putIfAbsent(@NotNull Map<String, String> values) {
+        if (values.isEmpty()) {
+            return false;
+        }
+        var args = new String[values.size() * 2];
+        int index = 0;
+        for (var entry : values.entrySet()) {
+            args[index++] = entry.getKey();
+            args[index++] = entry.getValue();
+        }
+        Long result = this.repository.await(this.repository.commands().eval(PUT_IF_ABSENT_SCRIPT, ScriptOutputType.INTEGER, new String[]{this.key}, args));
+        return result != null && result > 0;
+    }
+
+    @NotNull
+    @Override
+    public List<String> values() {
+        return this.repository.await(this.repository.commands().hvals(this.key));
+    }
+
+    @NotNull
+    @Override
+    public Map<String, String> entries() {
+        return this.repository.await(this.repository.commands().hgetall(this.key));
+    }
+}
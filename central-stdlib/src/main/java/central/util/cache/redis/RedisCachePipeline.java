@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CachePipeline;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/// Redis 缓存批量操作
+///
+/// 执行时连续发送所有命令，再按顺序等待结果，所有命令只需要一次网络往返
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCachePipeline implements CachePipeline {
+
+    private final RedisCacheRepository repository;
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    @NotNull
+    @Override
+    public CachePipeline get(@NotNull String key) {
+        return this.add(commands -> commands.get(key), Function.identity());
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline set(@NotNull String key, @NotNull String value) {
+        return this.set(key, value, null);
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline set(@NotNull String key, @NotNull String value, @Nullable Duration timeout) {
+        var args = new SetArgs();
+        if (timeout != null) {
+            args.px(timeout);
+        }
+        return this.add(commands -> commands.set(key, value, args), result -> true);
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline increment(@NotNull String key, long delta) {
+        return this.add(commands -> commands.incrby(key, delta), Function.identity());
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline delete(@NotNull String key) {
+        return this.add(commands -> commands.del(key), result -> (Long) result > 0);
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline expire(@NotNull String key, @NotNull Duration timeout) {
+        return this.add(commands -> commands.pexpire(key, timeout.toMillis()), Function.identity());
+    }
+
+    @NotNull
+    @Override
+    public CachePipeline persist(@NotNull String key) {
+        // PERSIST 在缓存没有过期时间时也返回 0，因此以 EXISTS 的结果作为执行结果
+        return this.add(commands -> {
+            var exists = commands.exists(key);
+            commands.persist(key);
+            return exists;
+        }, result -> (Long) result > 0);
+    }
+
+    @NotNull
+    @Override
+    public List<Object> execute() {
+        var commands = this.repository.commands();
+
+        // 连续发送所有命令
+        var futures = new ArrayList<RedisFuture<?>>(this.operations.size());
+        for (var operation : this.operations) {
+            futures.add(operation.command().apply(commands));
+        }
+
+        // 按顺序等待结果
+        var results = new ArrayList<>(this.operations.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(this.operations.get(i).mapper().apply(this.repository.await(futures.get(i))));
+        }
+        this.operations.clear();
+        return results;
+    }
+
+    private CachePipeline add(Function<RedisAsyncCommands<String, String>, RedisFuture<?>> command, Function<Object, Object> mapper) {
+        this.operations.add(new Operation(command, mapper));
+        return this;
+    }
+
+    /// 排队的操作
+    ///
+    /// @param command 发送命令
+    /// @param mapper  转换命令结果
+    private record Operation(Function<RedisAsyncCommands<String, String>, RedisFuture<?>> command, Function<Object, Object> mapper) {
+    }
+}
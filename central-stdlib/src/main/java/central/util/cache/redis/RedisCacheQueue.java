@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CacheQueue;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/// Redis 缓存队列
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheQueue implements CacheQueue {
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @NotNull
+    @Override
+    public List<String> values() {
+        return this.repository.await(this.repository.commands().lrange(this.key, 0, -1));
+    }
+
+    @Override
+    public boolean push(@NotNull String value) {
+        return this.repository.await(this.repository.commands().rpush(this.key, value)) > 0;
+    }
+
+    @Nullable
+    @Override
+    public String pop() {
+        return this.repository.await(this.repository.commands().lpop(this.key));
+    }
+
+    @NotNull
+    @Override
+    public List<String> pop(long count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        var values = this.repository.await(this.repository.commands().lpop(this.key, count));
+        return values == null ? Collections.emptyList() : values;
+    }
+
+    @Nullable
+    @Override
+    public String take(@NotNull Duration timeout) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        // BLPOP 会阻塞所在的连接，因此使用独占连接，避免阻塞其它命令
+        var connection = this.repository.borrow();
+        var completed = false;
+        try {
+            var seconds = timeout.toMillis() / 1000d;
+            var future = connection.async().blpop(seconds, this.key);
+            var value = this.repository.await(future, timeout.plus(this.repository.getTimeout()));
+            completed = true;
+            return value == null || !value.hasValue() ? null : value.getValue();
+        } finally {
+            this.repository.release(connection, completed);
+        }
+    }
+
+    @Nullable
+    @Override
+    public String peek() {
+        return this.repository.await(this.repository.commands().lindex(this.key, 0));
+    }
+
+    @NotNull
+    @Override
+    public List<String> peek(long count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        return this.repository.await(this.repository.commands().lrange(this.key, 0, count - 1));
+    }
+}
@@ -24,106 +24,356 @@
 
 package central.util.cache.redis;
 
-import central.bean.MethodNotImplementedException;
 import central.util.cache.*;
+import central.util.regex.GlobPattern;
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.Date;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /// Redis 缓存仓库
 ///
+/// 基于 Lettuce 的异步命令实现。所有命令共享同一个连接，Lettuce 会在等待响应前连续写出命令，
+/// 因此批量操作（如批量删除、按模式删除）只需要一次（或每页一次）网络往返。
+///
+/// 缓存值类型与 Redis 类型的对应关系:
+///
+/// - [DataType#STRING]: string
+/// - [DataType#LIST]、[DataType#QUEUE]: list
+/// - [DataType#SET]: set
+/// - [DataType#ZSET]: zset（所有成员的分值均为 0，按字典序排序）
+/// - [DataType#MAP]: hash
+///
+/// 为了避免额外的网络往返，`opsXxx` 方法不会预先检查缓存类型，类型不兼容时会在执行命令时抛出 [ClassCastException]
+///
 /// @author Alan Yeh
-public class RedisCacheRepository implements CacheRepository {
+public class RedisCacheRepository implements CacheRepository, AutoCloseable {
+
+    /// 按模式删除、遍历键时，每页扫描的数量
+    private static final int SCAN_COUNT = 1000;
+
+    /// 最多保留的空闲独占连接数量
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+
+    private final RedisClient client;
+
+    private final StatefulRedisConnection<String, String> connection;
+
+    @Getter
+    private final Duration timeout;
+
+    /// 空闲的独占连接，用于执行阻塞命令。循环执行阻塞命令（如队列的消费者）时复用连接，避免反复建立连接
+    private final Deque<StatefulRedisConnection<String, String>> idleConnections = new ConcurrentLinkedDeque<>();
+
+    private volatile boolean closed;
+
+    /// @param client Redis 客户端，由调用方负责关闭
+    public RedisCacheRepository(@Nonnull RedisClient client) {
+        this(client, client.connect());
+    }
+
+    /// internal api
+    ///
+    /// @param client     Redis 客户端，用于创建执行阻塞命令的独占连接
+    /// @param connection 共享连接
+    RedisCacheRepository(RedisClient client, @Nonnull StatefulRedisConnection<String, String> connection) {
+        this.client = client;
+        this.connection = connection;
+        this.timeout = this.connection.getTimeout();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.connection.close();
+        StatefulRedisConnection<String, String> idle;
+        while ((idle = this.idleConnections.poll()) != null) {
+            idle.close();
+        }
+    }
+
     @Override
     public boolean hasKey(@NotNull String key) {
-        throw new MethodNotImplementedException();
+        return this.await(this.commands().exists(key)) > 0;
     }
 
     @Override
     public boolean delete(@NotNull String key) {
-        throw new MethodNotImplementedException();
+        if (GlobPattern.isGlobPattern(key)) {
+            return this.deleteByPattern(key) > 0;
+        } else {
+            return this.await(this.commands().del(key)) > 0;
+        }
     }
 
     @Override
     public long delete(@NotNull Collection<String> keys) {
-        throw new MethodNotImplementedException();
+        var plain = new ArrayList<String>(keys.size());
+        long count = 0;
+        for (var key : keys) {
+            if (GlobPattern.isGlobPattern(key)) {
+                count += this.deleteByPattern(key);
+            } else {
+                plain.add(key);
+            }
+        }
+        if (!plain.isEmpty()) {
+            // 一次 DEL 删除所有键
+            count += this.await(this.commands().del(plain.toArray(new String[0])));
+        }
+        return count;
+    }
+
+    /// 通过 SCAN 遍历匹配的键并删除
+    ///
+    /// 每扫描一页就发出一条 UNLINK 命令，不等待响应，最后统一等待所有删除结果
+    private long deleteByPattern(@Nonnull String pattern) {
+        var futures = new ArrayList<RedisFuture<Long>>();
+        this.scan(pattern, keys -> futures.add(this.commands().unlink(keys.toArray(new String[0]))));
+
+        long count = 0;
+        for (var future : futures) {
+            count += this.await(future);
+        }
+        return count;
+    }
+
+    /// 通过 SCAN 遍历匹配的键
+    private void scan(@Nullable String pattern, @Nonnull Consumer<List<String>> consumer) {
+        var args = ScanArgs.Builder.limit(SCAN_COUNT);
+        if (pattern != null) {
+            args.match(pattern);
+        }
+
+        KeyScanCursor<String> cursor = this.await(this.commands().scan(args));
+        while (true) {
+            if (!cursor.getKeys().isEmpty()) {
+                consumer.accept(cursor.getKeys());
+            }
+            if (cursor.isFinished()) {
+                break;
+            }
+            cursor = this.await(this.commands().scan(cursor, args));
+        }
     }
 
-    @NotNull
     @Override
-    public DataType type(@NotNull String key) {
-        throw new MethodNotImplementedException();
+    public @NotNull DataType type(@NotNull String key) {
+        var type = this.await(this.commands().type(key));
+        return switch (type) {
+            case "string" -> DataType.STRING;
+            case "list" -> DataType.LIST;
+            case "set" -> DataType.SET;
+            case "zset" -> DataType.ZSET;
+            case "hash" -> DataType.MAP;
+            default -> DataType.NONE;
+        };
     }
 
-    @NotNull
     @Override
-    public Set<String> keys() {
-        throw new MethodNotImplementedException();
+    public @NotNull Set<String> keys() {
+        var keys = new HashSet<String>();
+        this.scan(null, keys::addAll);
+        return Collections.unmodifiableSet(keys);
     }
 
     @Override
     public boolean expire(@NotNull String key, @NotNull Duration timeout) {
-        throw new MethodNotImplementedException();
+        return Boolean.TRUE.equals(this.await(this.commands().pexpire(key, timeout.toMillis())));
     }
 
     @Override
     public boolean expireAt(@NotNull String key, @NotNull Date date) {
-        throw new MethodNotImplementedException();
+        return Boolean.TRUE.equals(this.await(this.commands().pexpireat(key, date.getTime())));
     }
 
     @Override
     public boolean persist(@NotNull String key) {
-        throw new MethodNotImplementedException();
+        // PERSIST 在缓存没有过期时间时也返回 0，因此需要同时判断缓存是否存在
+        var exists = this.commands().exists(key);
+        var persist = this.commands().persist(key);
+        this.await(persist);
+        return this.await(exists) > 0;
     }
 
     @Override
     public void clear() {
-        throw new MethodNotImplementedException();
+        this.deleteByPattern("*");
     }
 
     @Nullable
     @Override
     public Duration getExpire(@NotNull String key) {
-        throw new MethodNotImplementedException();
+        var ttl = this.await(this.commands().pttl(key));
+        if (ttl == null || ttl < 0) {
+            // -2: 缓存不存在; -1: 缓存没有过期时间
+            return null;
+        }
+        return Duration.ofMillis(ttl);
+    }
+
+    @Override
+    public long expire(@NotNull Collection<String> keys, @NotNull Duration timeout) {
+        // 连续发送所有命令后再统一等待结果
+        var futures = new ArrayList<RedisFuture<Boolean>>(keys.size());
+        for (var key : keys) {
+            futures.add(this.commands().pexpire(key, timeout.toMillis()));
+        }
+
+        long count = 0;
+        for (var future : futures) {
+            count += Boolean.TRUE.equals(this.await(future)) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public @NotNull Map<String, String> getValues(@NotNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        var values = new HashMap<String, String>(keys.size() * 4 / 3 + 1);
+        for (var value : this.await(this.commands().mget(keys.toArray(new String[0])))) {
+            if (value.hasValue()) {
+                values.put(value.getKey(), value.getValue());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void setValues(@NotNull Map<String, String> values, @Nullable Duration timeout) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (timeout == null) {
+            this.await(this.commands().mset(values));
+        } else {
+            this.setValues(values, key -> timeout);
+        }
+    }
+
+    @Override
+    public void setValues(@NotNull Map<String, String> values, @NotNull Function<String, Duration> timeout) {
+        // MSET 不支持有效期，因此连续发送 SET 命令后再统一等待结果
+        var futures = new ArrayList<RedisFuture<String>>(values.size());
+        for (var entry : values.entrySet()) {
+            var args = new SetArgs();
+            var expires = timeout.apply(entry.getKey());
+            if (expires != null) {
+                args.px(expires);
+            }
+            futures.add(this.commands().set(entry.getKey(), entry.getValue(), args));
+        }
+        for (var future : futures) {
+            this.await(future);
+        }
     }
 
-    @NotNull
     @Override
-    public CacheValue opsValue(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CachePipeline pipelined() {
+        return new RedisCachePipeline(this);
     }
 
-    @NotNull
     @Override
-    public CacheList opsList(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CacheValue opsValue(@NotNull String key) throws ClassCastException {
+        return new RedisCacheValue(key, this);
     }
 
-    @NotNull
     @Override
-    public CacheQueue opsQueue(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CacheList opsList(@NotNull String key) throws ClassCastException {
+        return new RedisCacheList(key, this);
     }
 
-    @NotNull
     @Override
-    public CacheSet opsSet(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CacheQueue opsQueue(@NotNull String key) throws ClassCastException {
+        return new RedisCacheQueue(key, this);
     }
 
-    @NotNull
     @Override
-    public CacheSet opsZSet(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CacheSet opsSet(@NotNull String key) throws ClassCastException {
+        return new RedisCacheSet(key, this);
     }
 
-    @NotNull
     @Override
-    public CacheMap opsMap(@NotNull String key) throws ClassCastException {
-        throw new MethodNotImplementedException();
+    public @NotNull CacheSet opsZSet(@NotNull String key) throws ClassCastException {
+        return new RedisCacheZSet(key, this);
+    }
+
+    @Override
+    public @NotNull CacheMap opsMap(@NotNull String key) throws ClassCastException {
+        return new RedisCacheMap(key, this);
+    }
+
+    /// internal api
+    ///
+    /// 共享连接上的异步命令
+    @Nonnull
+    RedisAsyncCommands<String, String> commands() {
+        return this.connection.async();
+    }
+
+    /// 借出一个独占的连接，用于执行阻塞命令（如 BLPOP），避免阻塞共享连接上的其它命令
+    ///
+    /// 使用完后需要通过 [#release] 归还
+    @Nonnull
+    StatefulRedisConnection<String, String> borrow() {
+        StatefulRedisConnection<String, String> connection;
+        while ((connection = this.idleConnections.poll()) != null) {
+            if (connection.isOpen()) {
+                return connection;
+            }
+        }
+        return this.client.connect();
+    }
+
+    /// 归还独占连接
+    ///
+    /// @param connection 独占连接
+    /// @param reusable   命令是否已经完成。超时或被中断时连接上可能还有未完成的阻塞命令，此时关闭连接而不是放回空闲连接
+    void release(@Nonnull StatefulRedisConnection<String, String> connection, boolean reusable) {
+        if (reusable && !this.closed && connection.isOpen() && this.idleConnections.size() < MAX_IDLE_CONNECTIONS) {
+            this.idleConnections.push(connection);
+            if (!this.closed || !this.idleConnections.remove(connection)) {
+                return;
+            }
+        }
+        connection.close();
+    }
+
+    /// 等待命令执行结果
+    ///
+    /// 将 Redis 的 WRONGTYPE 错误转换为 [ClassCastException]，非整数错误转换为 [NumberFormatException]
+    <T> T await(@Nonnull RedisFuture<T> future) {
+        return this.await(future, this.timeout);
+    }
+
+    <T> T await(@Nonnull RedisFuture<T> future, @Nonnull Duration timeout) {
+        try {
+            return LettuceFutures.awaitOrCancel(future, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RedisCommandExecutionException ex) {
+            var message = ex.getMessage() == null ? "" : ex.getMessage();
+            if (message.startsWith("WRONGTYPE")) {
+                throw new ClassCastException(message);
+            }
+            if (message.contains("not an integer")) {
+                throw new NumberFormatException(message);
+            }
+            if (message.contains("index out of range")) {
+                throw new IndexOutOfBoundsException(message);
+            }
+            throw ex;
+        }
     }
 }
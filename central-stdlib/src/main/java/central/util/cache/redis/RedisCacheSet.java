@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CacheSet;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/// Redis 缓存集合
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheSet implements CacheSet {
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @Nullable
+    @Override
+    public Set<String> values() {
+        return this.repository.await(this.repository.commands().smembers(this.key));
+    }
+
+    @Override
+    public long add(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        return this.repository.await(this.repository.commands().sadd(this.key, values));
+    }
+
+    @Override
+    public long add(@NotNull Collection<String> values) {
+        return this.add(values.toArray(new String[0]));
+    }
+
+    @Override
+    public long remove(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        return this.repository.await(this.repository.commands().srem(this.key, values));
+    }
+
+    @Override
+    public long remove(@NotNull Collection<String> values) {
+        return this.remove(values.toArray(new String[0]));
+    }
+
+    @Nullable
+    @Override
+    public String pop() {
+        return this.repository.await(this.repository.commands().spop(this.key));
+    }
+
+    @NotNull
+    @Override
+    public List<String> pop(long count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        var values = this.repository.await(this.repository.commands().spop(this.key, count));
+        return values == null ? Collections.emptyList() : new ArrayList<>(values);
+    }
+
+    @Override
+    public long size() {
+        return this.repository.await(this.repository.commands().scard(this.key));
+    }
+
+    @Override
+    public boolean contains(@NotNull String value) {
+        return Boolean.TRUE.equals(this.repository.await(this.repository.commands().sismember(this.key, value)));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CacheValue;
+import io.lettuce.core.SetArgs;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/// Redis 缓存值
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheValue implements CacheValue {
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @Nullable
+    @Override
+    public String set(@NotNull String value) {
+        return this.set(value, null);
+    }
+
+    @Nullable
+    @Override
+    public String set(@NotNull String value, @Nullable Duration timeout) {
+        return this.repository.await(this.repository.commands().setGet(this.key, value, this.args(timeout)));
+    }
+
+    @Override
+    public boolean setIfAbsent(@NotNull String value) {
+        return this.setIfAbsent(value, null);
+    }
+
+    @Override
+    public boolean setIfAbsent(@NotNull String value, @Nullable Duration timeout) {
+        return "OK".equals(this.repository.await(this.repository.commands().set(this.key, value, this.args(timeout).nx())));
+    }
+
+    @Override
+    public boolean setIfPresent(@NotNull String value) {
+        // 覆盖值时保留原来的有效期
+        return "OK".equals(this.repository.await(this.repository.commands().set(this.key, value, new SetArgs().xx().keepttl())));
+    }
+
+    @Override
+    public boolean setIfPresent(@NotNull String value, @Nullable Duration timeout) {
+        if (timeout == null) {
+            return this.setIfPresent(value);
+        }
+        return "OK".equals(this.repository.await(this.repository.commands().set(this.key, value, this.args(timeout).xx())));
+    }
+
+    @Nullable
+    @Override
+    public String getValue() {
+        return this.repository.await(this.repository.commands().get(this.key));
+    }
+
+    @Nullable
+    @Override
+    public String getAndDelete() {
+        return this.repository.await(this.repository.commands().getdel(this.key));
+    }
+
+    @NotNull
+    @Override
+    public Long increment() throws NumberFormatException {
+        return this.repository.await(this.repository.commands().incr(this.key));
+    }
+
+    @NotNull
+    @Override
+    public Long increment(long delta) throws NumberFormatException {
+        return this.repository.await(this.repository.commands().incrby(this.key, delta));
+    }
+
+    @NotNull
+    @Override
+    public Long decrement() throws NumberFormatException {
+        return this.repository.await(this.repository.commands().decr(this.key));
+    }
+
+    @NotNull
+    @Override
+    public Long decrement(long delta) throws NumberFormatException {
+        return this.repository.await(this.repository.commands().decrby(this.key, delta));
+    }
+
+    private SetArgs args(@Nullable Duration timeout) {
+        var args = new SetArgs();
+        if (timeout != null) {
+            args.px(timeout);
+        }
+        return args;
+    }
+}
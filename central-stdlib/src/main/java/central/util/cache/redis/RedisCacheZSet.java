@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.CacheSet;
+import io.lettuce.core.ScoredValue;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/// Redis 有序缓存集合
+///
+/// 所有成员的分值均为 0，因此成员按字典序排序
+///
+/// @author Alan Yeh
+@RequiredArgsConstructor
+public class RedisCacheZSet implements CacheSet {
+    private final String key;
+
+    private final RedisCacheRepository repository;
+
+    @Nullable
+    @Override
+    public Set<String> values() {
+        return new LinkedHashSet<>(this.repository.await(this.repository.commands().zrange(this.key, 0, -1)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public long add(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        var members = new ScoredValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            members[i] = ScoredValue.just(0, values[i]);
+        }
+        return this.repository.await(this.repository.commands().zadd(this.key, (ScoredValue<String>[]) members));
+    }
+
+    @Override
+    public long add(@NotNull Collection<String> values) {
+        return this.add(values.toArray(new String[0]));
+    }
+
+    @Override
+    public long remove(@NotNull String... values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        return this.repository.await(this.repository.commands().zrem(this.key, values));
+    }
+
+    @Override
+    public long remove(@NotNull Collection<String> values) {
+        return this.remove(values.toArray(new String[0]));
+    }
+
+    @Nullable
+    @Override
+    public String pop() {
+        var value = this.repository.await(this.repository.commands().zpopmin(this.key));
+        return value == null || !value.hasValue() ? null : value.getValue();
+    }
+
+    @NotNull
+    @Override
+    public List<String> pop(long count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        var values = this.repository.await(this.repository.commands().zpopmin(this.key, count));
+        return values.stream().filter(ScoredValue::hasValue).map(ScoredValue::getValue).toList();
+    }
+
+    @Override
+    public long size() {
+        return this.repository.await(this.repository.commands().zcard(this.key));
+    }
+
+    @Override
+    public boolean contains(@NotNull String value) {
+        return this.repository.await(this.repository.commands().zscore(this.key, value)) != null;
+    }
+}
@@ -24,7 +24,6 @@
 
 package central.util.concurrent;
 
-import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.time.Duration;
@@ -32,8 +31,9 @@ import java.util.concurrent.TimeUnit;
 
 /// 过期元素
 ///
+/// 过期元素按实例比较是否相等，同一个键被重新写入的元素即使内容相同也不会被视为同一个元素
+///
 /// @author Alan Yeh
-@EqualsAndHashCode
 public class ExpiredElement<E> implements Expired {
 
     /// 创建时间
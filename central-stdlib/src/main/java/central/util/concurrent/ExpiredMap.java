@@ -29,49 +29,89 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 /// 元素过期 Map
 ///
+/// 元素的过期由共享的 [TimingWheel] 负责调度，不会为每个 Map 单独创建清理线程
+///
 /// @author Alan Yeh
 public class ExpiredMap<K, V extends Expired> implements Map<K, V>, Closeable {
     private final Map<K, V> data = new ConcurrentHashMap<>();
 
-    private final ConsumableQueue<DelayedElement<K>, DelayedQueue<DelayedElement<K>>> values = new ConsumableQueue<>(new DelayedQueue<>());
+    /// 各个元素的过期任务
+    private final Map<K, TimingWheel.Timeout> timeouts = new ConcurrentHashMap<>();
+
+    private final TimingWheel wheel;
+
+    /// 元素过期监听
+    @Nullable
+    private final BiConsumer<K, V> listener;
 
     public ExpiredMap() {
-        values.addConsumer(queue -> {
-            try {
-                while (true) {
-                    var delayed = queue.take();
-                    data.compute(delayed.getElement(), (key, value) -> {
-                        if (value == null) {
-                            return null;
-                        }
-                        var expires = value.getExpire(TimeUnit.MILLISECONDS);
-                        if (expires <= 0) {
-                            return null;
-                        } else {
-                            // 重新添加到队列里，等待下次检查元素过期
-                            queue.offer(new DelayedElement<>(key, Duration.ofMillis(expires)));
-                            return value;
-                        }
-                    });
-                }
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
+        this(TimingWheel.getDefault());
+    }
+
+    public ExpiredMap(TimingWheel wheel) {
+        this(wheel, null);
+    }
+
+    /// @param wheel    用于调度元素过期的时间轮
+    /// @param listener 元素因过期被移除时的回调
+    public ExpiredMap(TimingWheel wheel, @Nullable BiConsumer<K, V> listener) {
+        this.wheel = wheel;
+        this.listener = listener;
+    }
+
+    /// 调度元素的过期检查
+    private void schedule(K key, V value) {
+        var timeout = this.wheel.schedule(() -> this.expire(key), value.getExpire(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        var old = this.timeouts.put(key, timeout);
+        if (old != null) {
+            old.cancel();
+        }
+    }
+
+    /// 检查元素是否已过期
+    private void expire(K key) {
+        var expired = new ArrayList<V>(1);
+        this.data.compute(key, (k, value) -> {
+            if (value == null) {
+                this.timeouts.remove(k);
+                return null;
+            }
+            var expires = value.getExpire(TimeUnit.MILLISECONDS);
+            if (expires <= 0) {
+                this.timeouts.remove(k);
+                expired.add(value);
+                return null;
+            } else {
+                // 元素的过期时间被延长了，重新等待下次检查
+                this.schedule(k, value);
+                return value;
             }
         });
+        if (this.listener != null && !expired.isEmpty()) {
+            this.listener.accept(key, expired.get(0));
+        }
+    }
+
+    private void cancel(Object key) {
+        var timeout = this.timeouts.remove(key);
+        if (timeout != null) {
+            timeout.cancel();
+        }
     }
 
     @Override
     public void close() throws IOException {
-        this.values.close();
+        this.clear();
     }
 
     @Override
@@ -86,7 +126,7 @@ public class ExpiredMap<K, V extends Expired> implements Map<K, V>, Closeable {
 
     @Override
     public boolean containsKey(Object key) {
-        return this.data.containsKey(key);
+        return this.get(key) != null;
     }
 
     @Override
@@ -96,31 +136,49 @@ public class ExpiredMap<K, V extends Expired> implements Map<K, V>, Closeable {
 
     @Override
     public V get(Object key) {
-        return this.data.get(key);
+        var value = this.data.get(key);
+        if (value != null && value.getExpire(TimeUnit.MILLISECONDS) <= 0) {
+            // 时间轮按刻度批量清理，刻度内已过期的元素视为不存在
+            return null;
+        }
+        return value;
     }
 
     @Nullable
     @Override
     public V put(K key, V value) {
-        this.values.offer(new DelayedElement<>(key, Duration.ofMillis(value.getExpire(TimeUnit.MILLISECONDS))));
-        return this.data.put(key, value);
+        var old = this.data.put(key, value);
+        this.schedule(key, value);
+        return old;
     }
 
     @Override
     public V remove(Object key) {
+        this.cancel(key);
         return this.data.remove(key);
     }
 
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (this.data.remove(key, value)) {
+            this.cancel(key);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void putAll(@NotNull Map<? extends K, ? extends V> m) {
         for (var entry : m.entrySet()) {
-            this.values.offer(new DelayedElement<>(entry.getKey(), Duration.ofMillis(entry.getValue().getExpire(TimeUnit.MILLISECONDS))));
+            this.put(entry.getKey(), entry.getValue());
         }
-        this.data.putAll(m);
     }
 
     @Override
     public void clear() {
+        for (var key : this.timeouts.keySet()) {
+            this.cancel(key);
+        }
         this.data.clear();
     }
 
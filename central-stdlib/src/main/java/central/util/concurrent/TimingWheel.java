@@ -0,0 +1,378 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.concurrent;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/// 分层时间轮
+///
+/// 用于调度大量的定时任务（如缓存过期）。与 [DelayedQueue] 相比，调度与取消均为 O(1) 且无锁，
+/// 所有任务由同一个时钟线程按刻度批量触发。
+///
+/// 时间轮由多层组成，第 0 层每个槽代表一个刻度，第 n 层每个槽代表第 n-1 层一整圈。
+/// 当低层转完一圈时，高层对应槽里的任务会被重新分配到低层（降级），直到最终在第 0 层被触发。
+///
+/// 任务在时钟线程中执行，因此任务应该尽量简短；耗时任务应自行提交到其它线程池。
+///
+/// @author Alan Yeh
+public class TimingWheel implements Closeable {
+
+    /// 默认的时间轮
+    ///
+    /// 整个 JVM 共享同一个时钟线程
+    public static TimingWheel getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    private static class DefaultHolder {
+        private static final TimingWheel INSTANCE = new TimingWheel(Duration.ofMillis(100), 512, 4, "central.timing-wheel");
+    }
+
+    /// 刻度（纳秒）
+    private final long tick;
+    /// 每层的槽位数的位数（槽位数为 2 的幂）
+    private final int bits;
+    private final long mask;
+    /// 层级
+    private final Bucket[][] wheels;
+
+    /// 时间轮启动时间（纳秒）
+    private final long startTime;
+    /// 当前刻度，只由时钟线程修改
+    private long currentTick = 0;
+
+    /// 待加入时间轮的任务
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    /// 待从时间轮移除的任务
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    private final Thread worker;
+    private volatile boolean closed = false;
+
+    /// 未到期的任务数量
+    private final AtomicInteger size = new AtomicInteger();
+
+    /// 创建时间轮
+    ///
+    /// @param tick       刻度
+    /// @param wheelSize  每层槽位数，会向上取整为 2 的幂
+    /// @param levels     层数
+    /// @param threadName 时钟线程名称
+    public TimingWheel(@Nonnull Duration tick, int wheelSize, int levels, @Nonnull String threadName) {
+        if (tick.toNanos() <= 0) {
+            throw new IllegalArgumentException("刻度必须大于 0");
+        }
+        if (wheelSize <= 1) {
+            throw new IllegalArgumentException("槽位数必须大于 1");
+        }
+        if (levels <= 0) {
+            throw new IllegalArgumentException("层数必须大于 0");
+        }
+
+        this.tick = tick.toNanos();
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1L << this.bits) - 1;
+        this.wheels = new Bucket[levels][1 << this.bits];
+        for (var wheel : this.wheels) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new Bucket();
+            }
+        }
+
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /// 调度任务
+    ///
+    /// @param task  任务
+    /// @param delay 延迟时间
+    /// @return 任务句柄，可用于取消任务
+    public @Nonnull Timeout schedule(@Nonnull Runnable task, @Nonnull Duration delay) {
+        return this.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /// 调度任务
+    ///
+    /// @param task  任务
+    /// @param delay 延迟时间
+    /// @param unit  时间单位
+    /// @return 任务句柄，可用于取消任务
+    public @Nonnull Timeout schedule(@Nonnull Runnable task, long delay, @Nonnull TimeUnit unit) {
+        if (this.closed) {
+            throw new IllegalStateException("时间轮已关闭");
+        }
+        var deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+        var timeout = new Timeout(this, task, deadline);
+        this.size.incrementAndGet();
+        this.pending.offer(timeout);
+        return timeout;
+    }
+
+    /// 未到期的任务数量
+    public int size() {
+        return this.size.get();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.worker.interrupt();
+    }
+
+    private void run() {
+        while (!this.closed) {
+            // 等待下一个刻度
+            var next = this.startTime + (this.currentTick + 1) * this.tick;
+            var wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.interrupted() && this.closed) {
+                    break;
+                }
+                continue;
+            }
+
+            this.transferCancelled();
+            this.transferPending();
+
+            // 追赶所有已经走过的刻度
+            var now = (System.nanoTime() - this.startTime) / this.tick;
+            while (this.currentTick < now) {
+                this.currentTick++;
+                this.cascade();
+                this.expire(this.wheels[0][(int) (this.currentTick & this.mask)]);
+            }
+        }
+    }
+
+    /// 当低层转完一圈时，将高层对应槽位的任务降级
+    private void cascade() {
+        for (int level = 1; level < this.wheels.length; level++) {
+            if (((this.currentTick >>> (this.bits * (level - 1))) & this.mask) != 0) {
+                return;
+            }
+            var bucket = this.wheels[level][(int) ((this.currentTick >>> (this.bits * level)) & this.mask)];
+            var timeout = bucket.clear();
+            while (timeout != null) {
+                var next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                timeout.bucket = null;
+                if (!timeout.isCancelled()) {
+                    this.place(timeout);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /// 触发槽位里所有已到期的任务
+    private void expire(Bucket bucket) {
+        var timeout = bucket.clear();
+        while (timeout != null) {
+            var next = timeout.next;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+            if (!timeout.isCancelled()) {
+                if (timeout.deadlineTick <= this.currentTick) {
+                    timeout.expire();
+                } else {
+                    // 超出时间轮范围的任务可能会提前降级到这里，需要重新放置
+                    this.place(timeout);
+                }
+            }
+            timeout = next;
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < 100_000; i++) {
+            var timeout = this.pending.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            // 向上取整，保证任务不会被提前触发
+            timeout.deadlineTick = Math.max(this.currentTick, (timeout.deadline - this.startTime + this.tick - 1) / this.tick);
+            this.place(timeout);
+        }
+    }
+
+    private void transferCancelled() {
+        for (; ; ) {
+            var timeout = this.cancelled.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /// 根据到期刻度将任务放到对应层级的槽位
+    private void place(Timeout timeout) {
+        var remaining = timeout.deadlineTick - this.currentTick;
+        if (remaining <= 0) {
+            // 已到期，放到下一个刻度触发
+            this.wheels[0][(int) ((this.currentTick + 1) & this.mask)].add(timeout);
+            timeout.deadlineTick = this.currentTick + 1;
+            return;
+        }
+
+        int level = 0;
+        while (level < this.wheels.length - 1 && remaining >= (1L << (this.bits * (level + 1)))) {
+            level++;
+        }
+        var index = (int) ((timeout.deadlineTick >>> (this.bits * level)) & this.mask);
+        this.wheels[level][index].add(timeout);
+    }
+
+    /// 任务句柄
+    public static final class Timeout {
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimingWheel wheel;
+        private final Runnable task;
+        /// 到期时间（纳秒）
+        private final long deadline;
+        /// 到期刻度，只由时钟线程访问
+        private long deadlineTick;
+
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // 双向链表，只由时钟线程访问
+        private Timeout prev;
+        private Timeout next;
+        private Bucket bucket;
+
+        private Timeout(TimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /// 取消任务
+        ///
+        /// @return 如果任务在到期前被取消，则返回`true`；否则返回`false`
+        public boolean cancel() {
+            if (!this.state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            this.wheel.size.decrementAndGet();
+            this.wheel.cancelled.offer(this);
+            return true;
+        }
+
+        /// 任务是否已被取消
+        public boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+
+        /// 任务是否已到期
+        public boolean isExpired() {
+            return this.state.get() == EXPIRED;
+        }
+
+        /// 剩余时间
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private void expire() {
+            if (!this.state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            this.wheel.size.decrementAndGet();
+            try {
+                this.task.run();
+            } catch (Throwable throwable) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+        }
+    }
+
+    /// 槽位
+    ///
+    /// 只由时钟线程访问，因此不需要加锁
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            var next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == this.head) {
+                this.head = next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /// 清空槽位，并返回链表头
+        Timeout clear() {
+            var head = this.head;
+            this.head = this.tail = null;
+            return head;
+        }
+    }
+}
@@ -44,7 +44,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /// Http Test Cases
 ///
@@ -175,4 +178,26 @@ public abstract class TestHttp {
             }
         }
     }
+
+    /// Test Async
+    @Test
+    public void case7() throws Throwable {
+        this.client.addProcessor(new AddHeaderProcessor("X-Forwarded-Proto", "https"));
+
+        var ids = List.of(Guidx.nextID(), Guidx.nextID(), Guidx.nextID(), Guidx.nextID());
+        var futures = ids.stream()
+                .map(id -> this.client.executeAsync(HttpRequest.get(HttpUrl.of("/api/accounts").setQuery("id", id))))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        for (int i = 0; i < ids.size(); i++) {
+            try (var response = futures.get(i).get()) {
+                Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+
+                var account = response.getBody().extract(JsonExtractor.of(TypeRef.of(Account.class)));
+                Assertions.assertNotNull(account);
+                Assertions.assertEquals(ids.get(i), account.getId());
+            }
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http;
+
+import central.net.http.executor.java.JavaExecutor;
+import central.net.http.processor.HttpProcessor;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// HttpClient Test Cases
+///
+/// @author Alan Yeh
+public class TestHttpClient {
+
+    private HttpServer server;
+
+    private String baseUrl;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/ping", exchange -> {
+            var body = "pong".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            try (var output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        this.server.start();
+        this.baseUrl = "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void after() {
+        this.server.stop(0);
+    }
+
+    /// 使用 JavaExecutor 异步执行请求，阻塞式处理器在专用线程池中执行
+    @Test
+    public void case1() throws Throwable {
+        var thread = new AtomicReference<Thread>();
+        var client = new HttpClient(JavaExecutor.Default());
+        client.setBaseUrl(this.baseUrl);
+        client.addProcessor((target, chain) -> {
+            thread.set(Thread.currentThread());
+            return chain.process(target);
+        });
+
+        try (var response = client.executeAsync(HttpRequest.get(HttpUrl.of("/ping"))).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertTrue(thread.get().getName().startsWith("central-http-blocking-"));
+    }
+
+    /// 没有需要执行的处理器时，直接使用执行器的异步接口
+    @Test
+    public void case2() throws Throwable {
+        var client = new HttpClient(JavaExecutor.Default());
+        client.setBaseUrl(this.baseUrl);
+        client.addProcessor(new HttpProcessor() {
+            @Override
+            public boolean predicate(HttpRequest target) {
+                return false;
+            }
+
+            @Override
+            public HttpResponse process(HttpRequest target, central.pattern.chain.ProcessChain<HttpRequest, HttpResponse> chain) {
+                throw new IllegalStateException("should not be processed");
+            }
+        });
+
+        try (var response = client.executeAsync(HttpRequest.get(HttpUrl.of("/ping"))).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+    }
+
+    /// 处理器抛出的异常通过 Future 返回
+    @Test
+    public void case3() {
+        var client = new HttpClient(JavaExecutor.Default());
+        client.setBaseUrl(this.baseUrl);
+        client.addProcessor((target, chain) -> {
+            throw new IllegalArgumentException("rejected");
+        });
+
+        var future = client.executeAsync(HttpRequest.get(HttpUrl.of("/ping")));
+        var ex = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+    }
+}
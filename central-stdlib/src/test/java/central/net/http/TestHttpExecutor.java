@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// HttpExecutor Test Cases
+///
+/// @author Alan Yeh
+public class TestHttpExecutor {
+
+    /// 记录执行线程的执行器
+    private static class StubExecutor implements HttpExecutor {
+        private final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            this.thread.set(Thread.currentThread());
+            return new HttpResponse.Builder(request).status(HttpStatus.OK).headers(new HttpHeaders()).build();
+        }
+    }
+
+    /// 默认在专用线程池中执行，不占用公共线程池
+    @Test
+    public void case1() throws Throwable {
+        var executor = new StubExecutor();
+        try (var response = executor.executeAsync(HttpRequest.get(HttpUrl.of("http://127.0.0.1:8080/api/accounts"))).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertTrue(executor.thread.get().getName().startsWith("central-http-blocking-"));
+        Assertions.assertTrue(executor.thread.get().isDaemon());
+    }
+
+    /// 在调用方指定的线程池中执行
+    @Test
+    public void case2() throws Throwable {
+        var executor = new StubExecutor();
+        var pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "caller-pool"));
+        try (var response = executor.executeAsync(HttpRequest.get(HttpUrl.of("http://127.0.0.1:8080/api/accounts")), pool).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+            Assertions.assertEquals("caller-pool", executor.thread.get().getName());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /// 线程池拒绝执行时返回失败的 Future
+    @Test
+    public void case3() throws Throwable {
+        var executor = new StubExecutor();
+        var pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+
+        var future = executor.executeAsync(HttpRequest.get(HttpUrl.of("http://127.0.0.1:8080/api/accounts")), pool);
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        Assertions.assertNull(executor.thread.get());
+    }
+}
@@ -40,14 +40,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -184,6 +189,48 @@ public class TestSpringContract {
         assertNotNull(account.getDept());
     }
 
+    /// Test CompletableFuture / Mono
+    @Test
+    public void case10() throws Exception {
+        var accountId = Guidx.nextID();
+
+        var future = this.server.findByIdAsync(accountId);
+        var account = future.get(30, TimeUnit.SECONDS);
+        assertNotNull(account);
+        assertEquals(accountId, account.getId());
+
+        account = this.server.findByIdMono(accountId).block(Duration.ofSeconds(30));
+        assertNotNull(account);
+        assertEquals(accountId, account.getId());
+
+        var count = this.server.deleteAsync(List.of(Guidx.nextID(), Guidx.nextID())).get(30, TimeUnit.SECONDS);
+        assertEquals(2L, count);
+    }
+
+    /// Test compiled request template
+    @Test
+    public void case11() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            var info = this.server.infoWithHeaders();
+            var headers = Mapx.caseInsensitive((Map<String, Object>) info.get("headers"));
+            assertEquals("static", headers.get("X-Static"));
+        }
+
+        // 每次解析都返回新的请求，修改请求不会影响模板
+        var contract = new SpringContract();
+        var method = Server.class.getMethod("infoWithHeaders");
+        var first = contract.parse(this.server, method, new Object[0]);
+        first.getHeaders().set("X-Static", "modified");
+        first.getUrl().setQuery("q", "1");
+
+        var second = contract.parse(this.server, method, new Object[0]);
+        assertNotSame(first, second);
+        assertEquals(HttpMethod.GET, second.getMethod());
+        assertEquals("static", second.getHeaders().getFirst("X-Static"));
+        assertEquals(List.of(MediaType.APPLICATION_JSON), second.getHeaders().getAccept());
+        assertEquals("/api/info", second.getUrl().getValue());
+    }
+
     @RequestMapping("/api")
     public interface Server {
 
@@ -193,6 +240,15 @@ public class TestSpringContract {
         @GetMapping(value = "/accounts")
         Account findByRequest(HttpRequest request);
 
+        @GetMapping("/accounts")
+        CompletableFuture<Account> findByIdAsync(@RequestParam String id);
+
+        @GetMapping("/accounts")
+        Mono<Account> findByIdMono(@RequestParam String id);
+
+        @DeleteMapping(value = "/accounts")
+        CompletableFuture<Long> deleteAsync(@RequestParam List<String> ids);
+
         @PostMapping(value = "/accounts", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
         Account create(@RequestBody AccountParams params);
 
@@ -205,6 +261,9 @@ public class TestSpringContract {
         @GetMapping("/info")
         Map<String, Object> info();
 
+        @GetMapping(value = "/info", headers = "X-Static=static", produces = MediaType.APPLICATION_JSON_VALUE)
+        Map<String, Object> infoWithHeaders();
+
         @PostMapping(value = "/uploads", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
         Upload upload(@RequestPart File file);
 
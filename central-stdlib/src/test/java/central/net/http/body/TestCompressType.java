@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.body;
+
+import central.net.http.*;
+import central.net.http.body.request.ByteArrayBody;
+import central.net.http.processor.impl.CompressBodyProcessor;
+import central.net.http.processor.impl.DecompressBodyProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/// CompressType Test Cases
+///
+/// @author Alan Yeh
+public class TestCompressType {
+
+    private static byte[] createData(int size) {
+        var data = new byte[size];
+        new Random(1).nextBytes(data);
+        for (int i = 0; i < data.length; i += 3) {
+            data[i] = 'a';
+        }
+        return data;
+    }
+
+    /// 流式压缩的结果可以被 JDK 解压，流式解压可以还原数据
+    @Test
+    public void case1() throws Throwable {
+        var data = createData(3 * 1024 * 1024);
+
+        byte[] gzip;
+        try (var input = CompressType.GZIP.compress(new ByteArrayInputStream(data))) {
+            gzip = input.readAllBytes();
+        }
+        try (var input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+        try (var input = CompressType.GZIP.decompress(new ByteArrayInputStream(gzip))) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+
+        byte[] deflate;
+        try (var input = CompressType.DEFLATE.compress(new ByteArrayInputStream(data))) {
+            deflate = input.readAllBytes();
+        }
+        try (var input = new InflaterInputStream(new ByteArrayInputStream(deflate))) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+        try (var input = CompressType.DEFLATE.decompress(new ByteArrayInputStream(deflate))) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+    }
+
+    /// 空数据流与不带 zlib 头的 DEFLATE 数据
+    @Test
+    public void case2() throws Throwable {
+        for (var type : CompressType.values()) {
+            try (var compressed = type.compress(new ByteArrayInputStream(new byte[0]));
+                 var input = type.decompress(new ByteArrayInputStream(compressed.readAllBytes()))) {
+                Assertions.assertEquals(0, input.readAllBytes().length);
+            }
+        }
+
+        var data = createData(64 * 1024);
+        var output = new ByteArrayOutputStream();
+        try (var deflate = new DeflaterOutputStream(output, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            deflate.write(data);
+        }
+        try (var input = CompressType.DEFLATE.decompress(new ByteArrayInputStream(output.toByteArray()))) {
+            Assertions.assertArrayEquals(data, input.readAllBytes());
+        }
+    }
+
+    /// 压缩请求体，并透明解压响应体
+    @Test
+    public void case3() throws Throwable {
+        var received = new AtomicReference<byte[]>();
+        var executor = new HttpExecutor() {
+            @Override
+            public String getName() {
+                return "echo";
+            }
+
+            @Override
+            public HttpResponse execute(HttpRequest request) throws Exception {
+                try (request) {
+                    Assertions.assertEquals("gzip", request.getBody().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+                    Assertions.assertEquals("gzip, deflate", request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+                    // 原样返回压缩后的请求体
+                    var body = request.getBody().getInputStream().readAllBytes();
+                    received.set(body);
+
+                    var headers = new HttpHeaders();
+                    headers.set(HttpHeaders.CONTENT_ENCODING, "GZIP");
+                    headers.setContentLength(body.length);
+                    return new HttpResponse.Builder(request).status(HttpStatus.OK).headers(headers).body(new InputStreamBody(new ByteArrayInputStream(body), headers)).build();
+                }
+            }
+        };
+
+        var client = new HttpClient(executor);
+        client.setBaseUrl("http://127.0.0.1:8080");
+        client.addProcessor(new CompressBodyProcessor(CompressType.GZIP));
+        client.addProcessor(new DecompressBodyProcessor());
+
+        var text = "hello world ".repeat(1024);
+        var request = HttpRequest.post(HttpUrl.of("/api/echo"));
+        request.setBody(new ByteArrayBody(text.getBytes(StandardCharsets.UTF_8)));
+        try (var response = client.execute(request)) {
+            Assertions.assertTrue(received.get().length < text.length());
+            Assertions.assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+            Assertions.assertEquals(-1, response.getHeaders().getContentLength());
+            Assertions.assertEquals(text, new String(response.getBody().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor;
+
+import central.net.http.*;
+import central.net.http.exception.BulkheadFullHttpException;
+import central.net.http.processor.impl.BulkheadProcessor;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/// BulkheadProcessor Test Cases
+///
+/// @author Alan Yeh
+public class TestBulkheadProcessor {
+
+    /// 等待信号后才返回响应的执行器
+    private static class StubExecutor implements HttpExecutor {
+        private final CountDownLatch started;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private StubExecutor(int concurrent) {
+            this.started = new CountDownLatch(concurrent);
+        }
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            this.started.countDown();
+            this.latch.await(5, TimeUnit.SECONDS);
+            return new HttpResponse.Builder(request).status(HttpStatus.OK).headers(new HttpHeaders()).build();
+        }
+    }
+
+    private static HttpClient createClient(StubExecutor executor, BulkheadProcessor processor) {
+        var client = new HttpClient(executor);
+        client.setBaseUrl("http://127.0.0.1:8080");
+        client.addProcessor(processor);
+        return client;
+    }
+
+    /// 并发数达到上限后拒绝请求，请求完成后释放许可
+    @Test
+    public void case1() throws Throwable {
+        var executor = new StubExecutor(2);
+        var processor = BulkheadProcessor.builder().maxConcurrentCalls(2).maxWait(Duration.ofMillis(10)).build();
+        var client = createClient(executor, processor);
+
+        var pool = Executors.newFixedThreadPool(2);
+        try {
+            var first = pool.submit(() -> client.execute(HttpRequest.get(HttpUrl.of("/api/accounts"))));
+            var second = pool.submit(() -> client.execute(HttpRequest.get(HttpUrl.of("/api/accounts"))));
+            Assertions.assertTrue(executor.started.await(5, TimeUnit.SECONDS));
+
+            Assertions.assertThrows(BulkheadFullHttpException.class, () -> client.execute(HttpRequest.get(HttpUrl.of("/api/accounts"))));
+
+            var metrics = processor.getMetrics().get("127.0.0.1:8080");
+            Assertions.assertEquals(2, metrics.maxConcurrentCalls());
+            Assertions.assertEquals(0, metrics.availableConcurrentCalls());
+            Assertions.assertEquals(1, metrics.rejectedCalls());
+
+            executor.latch.countDown();
+            Assertions.assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatus());
+            Assertions.assertEquals(HttpStatus.OK, second.get(5, TimeUnit.SECONDS).getStatus());
+            Assertions.assertEquals(2, processor.getMetrics().get("127.0.0.1:8080").availableConcurrentCalls());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /// 响应式请求
+    @Test
+    public void case2() throws Throwable {
+        var executor = new StubExecutor(1);
+        var processor = new BulkheadProcessor(1);
+        var client = createClient(executor, processor);
+
+        var first = client.executeAsync(HttpRequest.get(HttpUrl.of("/api/accounts")));
+        Assertions.assertTrue(executor.started.await(5, TimeUnit.SECONDS));
+
+        var rejected = client.executeAsync(HttpRequest.get(HttpUrl.of("/api/accounts")));
+        var error = Assertions.assertThrows(Exception.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(BulkheadFullHttpException.class, error.getCause());
+
+        executor.latch.countDown();
+        Assertions.assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatus());
+        Assertions.assertEquals(1, processor.getMetrics().get("127.0.0.1:8080").availableConcurrentCalls());
+    }
+
+    /// 取消订阅时归还许可
+    @Test
+    public void case3() throws Throwable {
+        var processor = BulkheadProcessor.builder().maxConcurrentCalls(1).maxWait(Duration.ofSeconds(5)).build();
+        var chain = new ReactiveProcessChain<>(List.<ReactiveProcessor<HttpRequest, HttpResponse>>of((target, next) -> Mono.never()));
+        var request = HttpRequest.get(HttpUrl.of("http://127.0.0.1:8080/api/accounts"));
+
+        // 第一个请求占用许可
+        var first = processor.process(request, chain).subscribe();
+        awaitAvailable(processor, 0);
+
+        // 第二个请求在等待许可期间被取消
+        var second = processor.process(request, chain).subscribe();
+        Thread.sleep(100);
+        second.dispose();
+
+        // 第一个请求在执行期间被取消
+        first.dispose();
+        awaitAvailable(processor, 1);
+
+        // 许可没有泄漏，新的请求可以获得许可
+        var third = processor.process(request, chain).subscribe();
+        awaitAvailable(processor, 0);
+        third.dispose();
+        awaitAvailable(processor, 1);
+        Assertions.assertEquals(0, processor.getMetrics().get("127.0.0.1:8080").rejectedCalls());
+    }
+
+    /// 最大并发请求数必须大于 0
+    @Test
+    public void case4() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BulkheadProcessor(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BulkheadProcessor(-1));
+    }
+
+    private static void awaitAvailable(BulkheadProcessor processor, int expected) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var metrics = processor.getMetrics().get("127.0.0.1:8080");
+            if (metrics != null && metrics.availableConcurrentCalls() == expected) {
+                Thread.sleep(50);
+                // 确认状态稳定，没有迟到的许可申请
+                if (processor.getMetrics().get("127.0.0.1:8080").availableConcurrentCalls() == expected) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(expected, processor.getMetrics().get("127.0.0.1:8080").availableConcurrentCalls());
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor;
+
+import central.net.http.*;
+import central.net.http.exception.CircuitBreakerOpenHttpException;
+import central.net.http.exception.IOHttpException;
+import central.net.http.processor.impl.CircuitBreakerProcessor;
+import central.pattern.chain.reactive.ReactiveProcessChain;
+import central.pattern.chain.reactive.ReactiveProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/// CircuitBreakerProcessor Test Cases
+///
+/// @author Alan Yeh
+public class TestCircuitBreakerProcessor {
+
+    /// 返回指定状态码的执行器，状态码为 null 时抛出网络异常
+    private static class StubExecutor implements HttpExecutor {
+        private final AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            this.attempts.incrementAndGet();
+            var status = this.status.get();
+            if (status == null) {
+                throw new IOHttpException(request, new IOException("Connection refused"));
+            }
+            return new HttpResponse.Builder(request).status(status).headers(new HttpHeaders()).build();
+        }
+    }
+
+    private static HttpClient createClient(StubExecutor executor, CircuitBreakerProcessor processor) {
+        var client = new HttpClient(executor);
+        client.setBaseUrl("http://127.0.0.1:8080");
+        client.addProcessor(processor);
+        return client;
+    }
+
+    private static HttpStatus execute(HttpClient client) throws Exception {
+        try (var response = client.execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+            return response.getStatus();
+        }
+    }
+
+    /// 失败率超过阈值后打开熔断器，熔断期间快速失败
+    @Test
+    public void case1() throws Throwable {
+        var executor = new StubExecutor();
+        var processor = CircuitBreakerProcessor.builder().windowSize(10).minimumCalls(4).failureRateThreshold(0.5).openDuration(Duration.ofMinutes(1)).build();
+        var client = createClient(executor, processor);
+
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+
+        executor.status.set(HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, execute(client));
+        executor.status.set(null);
+        Assertions.assertThrows(IOHttpException.class, () -> execute(client));
+
+        // 失败率达到 50%，熔断器打开
+        var metrics = processor.getMetrics().get("127.0.0.1:8080");
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, metrics.state());
+        Assertions.assertEquals(4, metrics.calls());
+        Assertions.assertEquals(0.5, metrics.failureRate());
+
+        executor.status.set(HttpStatus.OK);
+        Assertions.assertThrows(CircuitBreakerOpenHttpException.class, () -> execute(client));
+        Assertions.assertEquals(4, executor.attempts.get());
+        Assertions.assertEquals(1, processor.getMetrics().get("127.0.0.1:8080").notPermittedCalls());
+    }
+
+    /// 4xx 响应不计入失败
+    @Test
+    public void case2() throws Throwable {
+        var executor = new StubExecutor();
+        executor.status.set(HttpStatus.NOT_FOUND);
+        var processor = CircuitBreakerProcessor.builder().windowSize(4).minimumCalls(2).build();
+        var client = createClient(executor, processor);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(HttpStatus.NOT_FOUND, execute(client));
+        }
+
+        var metrics = processor.getMetrics().get("127.0.0.1:8080");
+        Assertions.assertEquals(CircuitBreakerProcessor.State.CLOSED, metrics.state());
+        Assertions.assertEquals(4, metrics.calls());
+        Assertions.assertEquals(0, metrics.failureRate());
+    }
+
+    /// 半开状态下探测成功后关闭熔断器，探测失败后重新打开
+    @Test
+    public void case3() throws Throwable {
+        var executor = new StubExecutor();
+        executor.status.set(HttpStatus.BAD_GATEWAY);
+        var processor = CircuitBreakerProcessor.builder().windowSize(2).minimumCalls(2).openDuration(Duration.ofMillis(50)).halfOpenCalls(2).build();
+        var client = createClient(executor, processor);
+
+        execute(client);
+        execute(client);
+        Assertions.assertThrows(CircuitBreakerOpenHttpException.class, () -> execute(client));
+
+        // 探测失败，重新打开
+        Thread.sleep(60);
+        Assertions.assertEquals(CircuitBreakerProcessor.State.HALF_OPEN, processor.getMetrics().get("127.0.0.1:8080").state());
+        Assertions.assertEquals(HttpStatus.BAD_GATEWAY, execute(client));
+        Assertions.assertThrows(CircuitBreakerOpenHttpException.class, () -> execute(client));
+
+        // 探测成功，关闭
+        Thread.sleep(60);
+        executor.status.set(HttpStatus.OK);
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+        Assertions.assertEquals(CircuitBreakerProcessor.State.CLOSED, processor.getMetrics().get("127.0.0.1:8080").state());
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+    }
+
+    /// 慢请求率超过阈值后打开熔断器
+    @Test
+    public void case4() throws Throwable {
+        var executor = new StubExecutor() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws Exception {
+                Thread.sleep(20);
+                return super.execute(request);
+            }
+        };
+        var processor = CircuitBreakerProcessor.builder().windowSize(2).minimumCalls(2).slowCallDuration(Duration.ofMillis(10)).slowCallRateThreshold(1.0).build();
+        var client = createClient(executor, processor);
+
+        execute(client);
+        execute(client);
+        var metrics = processor.getMetrics().get("127.0.0.1:8080");
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, metrics.state());
+        Assertions.assertEquals(1.0, metrics.slowCallRate());
+    }
+
+    /// 半开状态下探测请求抛出 Error 时，探测名额会被归还
+    @Test
+    public void case5() throws Throwable {
+        var error = new AtomicBoolean();
+        var executor = new StubExecutor() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws Exception {
+                if (error.get()) {
+                    throw new StackOverflowError();
+                }
+                return super.execute(request);
+            }
+        };
+        executor.status.set(HttpStatus.BAD_GATEWAY);
+        var processor = CircuitBreakerProcessor.builder().windowSize(1).minimumCalls(1).openDuration(Duration.ofMillis(50)).halfOpenCalls(1).build();
+        var client = createClient(executor, processor);
+
+        execute(client);
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, processor.getMetrics().get("127.0.0.1:8080").state());
+
+        // 探测请求抛出 Error，视为失败，重新打开
+        Thread.sleep(60);
+        error.set(true);
+        Assertions.assertThrows(StackOverflowError.class, () -> execute(client));
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, processor.getMetrics().get("127.0.0.1:8080").state());
+
+        // 熔断时间过后可以再次探测
+        Thread.sleep(60);
+        error.set(false);
+        executor.status.set(HttpStatus.OK);
+        Assertions.assertEquals(HttpStatus.OK, execute(client));
+        Assertions.assertEquals(CircuitBreakerProcessor.State.CLOSED, processor.getMetrics().get("127.0.0.1:8080").state());
+    }
+
+    /// 半开状态下响应式探测请求没有返回响应时，探测名额会被归还
+    @Test
+    public void case6() throws Throwable {
+        var processor = CircuitBreakerProcessor.builder().windowSize(1).minimumCalls(1).openDuration(Duration.ofMillis(50)).halfOpenCalls(1).build();
+        var request = HttpRequest.get(HttpUrl.of("http://127.0.0.1:8080/api/accounts"));
+        var status = new AtomicReference<>(HttpStatus.BAD_GATEWAY);
+        var chain = new ReactiveProcessChain<>(List.<ReactiveProcessor<HttpRequest, HttpResponse>>of((target, next) -> {
+            var current = status.get();
+            if (current == null) {
+                return Mono.empty();
+            }
+            return Mono.just(new HttpResponse.Builder(target).status(current).headers(new HttpHeaders()).build());
+        }));
+
+        Assertions.assertEquals(HttpStatus.BAD_GATEWAY, processor.process(request, chain).block().getStatus());
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, processor.getMetrics().get("127.0.0.1:8080").state());
+
+        // 探测请求没有返回响应，视为失败，重新打开
+        Thread.sleep(60);
+        status.set(null);
+        Assertions.assertNull(processor.process(request, chain).block());
+        Assertions.assertEquals(CircuitBreakerProcessor.State.OPEN, processor.getMetrics().get("127.0.0.1:8080").state());
+
+        // 熔断时间过后可以再次探测
+        Thread.sleep(60);
+        status.set(HttpStatus.OK);
+        Assertions.assertEquals(HttpStatus.OK, processor.process(request, chain).block().getStatus());
+        Assertions.assertEquals(CircuitBreakerProcessor.State.CLOSED, processor.getMetrics().get("127.0.0.1:8080").state());
+    }
+
+    /// 非标准状态码不计入失败
+    @Test
+    public void case7() throws Throwable {
+        var executor = new StubExecutor() {
+            @Override
+            public HttpResponse execute(HttpRequest request) throws Exception {
+                super.execute(request);
+                return new HttpResponse.Builder(request).headers(new HttpHeaders()).build();
+            }
+        };
+        var processor = CircuitBreakerProcessor.builder().windowSize(2).minimumCalls(2).build();
+        var client = createClient(executor, processor);
+
+        Assertions.assertNull(execute(client));
+        Assertions.assertNull(execute(client));
+
+        var metrics = processor.getMetrics().get("127.0.0.1:8080");
+        Assertions.assertEquals(CircuitBreakerProcessor.State.CLOSED, metrics.state());
+        Assertions.assertEquals(2, metrics.calls());
+        Assertions.assertEquals(0, metrics.failureRate());
+    }
+}
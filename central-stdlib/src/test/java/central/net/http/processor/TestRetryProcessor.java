@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.net.http.processor;
+
+import central.io.IOStreamx;
+import central.net.http.*;
+import central.net.http.body.InputStreamBody;
+import central.net.http.body.request.TextBody;
+import central.net.http.exception.IOHttpException;
+import central.net.http.processor.impl.RetryProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/// RetryProcessor Test Cases
+///
+/// @author Alan Yeh
+public class TestRetryProcessor {
+
+    /// 按顺序返回预设响应的执行器
+    private static class StubExecutor implements HttpExecutor {
+        private final List<Function<HttpRequest, HttpResponse>> responses;
+
+        /// 每次收到的请求体
+        private final List<String> bodies = new ArrayList<>();
+
+        @SafeVarargs
+        private StubExecutor(Function<HttpRequest, HttpResponse>... responses) {
+            this.responses = List.of(responses);
+        }
+
+        @Override
+        public String getName() {
+            return "stub";
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) throws Exception {
+            try (request) {
+                if (request.getBody() != null) {
+                    this.bodies.add(new String(IOStreamx.readBytes(request.getBody().getInputStream()), StandardCharsets.UTF_8));
+                } else {
+                    this.bodies.add(null);
+                }
+                return this.responses.get(Math.min(this.bodies.size(), this.responses.size()) - 1).apply(request);
+            }
+        }
+
+        public int getAttempts() {
+            return this.bodies.size();
+        }
+    }
+
+    private static Function<HttpRequest, HttpResponse> status(HttpStatus status) {
+        return request -> new HttpResponse.Builder(request).status(status).headers(new HttpHeaders()).build();
+    }
+
+    private static Function<HttpRequest, HttpResponse> error() {
+        return request -> {
+            throw new IOHttpException(request, new IOException("Connection reset"));
+        };
+    }
+
+    private static HttpClient createClient(StubExecutor executor, RetryProcessor processor) {
+        var client = new HttpClient(executor);
+        client.setBaseUrl("http://127.0.0.1:8080");
+        client.addProcessor(processor);
+        return client;
+    }
+
+    private static RetryProcessor.Builder builder() {
+        return RetryProcessor.builder().backoff(Duration.ofMillis(1)).maxBackoff(Duration.ofMillis(5));
+    }
+
+    /// 状态码重试
+    @Test
+    public void case1() throws Throwable {
+        var executor = new StubExecutor(status(HttpStatus.SERVICE_UNAVAILABLE), status(HttpStatus.BAD_GATEWAY), status(HttpStatus.OK));
+        var client = createClient(executor, builder().build());
+
+        try (var response = client.execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(3, executor.getAttempts());
+    }
+
+    /// 网络异常重试，且每次重试都能读取到完整的请求体
+    @Test
+    public void case2() throws Throwable {
+        var executor = new StubExecutor(error(), status(HttpStatus.OK));
+        var client = createClient(executor, builder().build());
+
+        var request = HttpRequest.put(HttpUrl.of("/api/accounts"));
+        request.setBody(new TextBody("hello"));
+        try (var response = client.execute(request)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(List.of("hello", "hello"), executor.bodies);
+    }
+
+    /// 超过最大尝试次数后返回最后一次响应
+    @Test
+    public void case3() throws Throwable {
+        var executor = new StubExecutor(status(HttpStatus.SERVICE_UNAVAILABLE));
+        var client = createClient(executor, builder().maxAttempts(2).build());
+
+        try (var response = client.execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+            Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus());
+        }
+        Assertions.assertEquals(2, executor.getAttempts());
+
+        // 非重试状态码
+        var notFound = new StubExecutor(status(HttpStatus.NOT_FOUND));
+        try (var response = createClient(notFound, builder().build()).execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+            Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatus());
+        }
+        Assertions.assertEquals(1, notFound.getAttempts());
+    }
+
+    /// 非幂等请求不重试，除非声明为幂等
+    @Test
+    public void case4() throws Throwable {
+        var executor = new StubExecutor(error(), status(HttpStatus.OK));
+        var client = createClient(executor, builder().build());
+
+        var post = HttpRequest.post(HttpUrl.of("/api/accounts"));
+        post.setBody(new TextBody("hello"));
+        Assertions.assertThrows(IOHttpException.class, () -> client.execute(post));
+        Assertions.assertEquals(1, executor.getAttempts());
+
+        var retried = new StubExecutor(error(), status(HttpStatus.OK));
+        var idempotent = HttpRequest.post(HttpUrl.of("/api/accounts"));
+        idempotent.setBody(new TextBody("hello"));
+        idempotent.setAttribute(RetryProcessor.IDEMPOTENT, true);
+        try (var response = createClient(retried, builder().build()).execute(idempotent)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(2, retried.getAttempts());
+    }
+
+    /// 重试预算耗尽后不再重试
+    @Test
+    public void case5() throws Throwable {
+        var executor = new StubExecutor(status(HttpStatus.SERVICE_UNAVAILABLE));
+        var client = createClient(executor, builder().budget(0).burst(2).build());
+
+        for (int i = 0; i < 3; i++) {
+            try (var response = client.execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+                Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatus());
+            }
+        }
+        // 第一个请求重试 2 次后预算耗尽，后续请求只执行一次
+        Assertions.assertEquals(3 + 1 + 1, executor.getAttempts());
+    }
+
+    /// 响应式重试
+    @Test
+    public void case6() throws Throwable {
+        var executor = new StubExecutor(error(), status(HttpStatus.GATEWAY_TIMEOUT), status(HttpStatus.OK));
+        var client = createClient(executor, builder().build());
+
+        var request = HttpRequest.delete(HttpUrl.of("/api/accounts"));
+        request.setBody(new TextBody("hello"));
+        try (var response = client.executeAsync(request).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(List.of("hello", "hello", "hello"), executor.bodies);
+    }
+
+    /// 小请求体缓存在内存中，不会写入缓存目录；可以重复读取的请求体不会被复制
+    @Test
+    public void case7() throws Throwable {
+        var tmp = Files.createTempDirectory("retry").resolve("http").toFile();
+
+        var executor = new StubExecutor(error(), status(HttpStatus.OK));
+        var client = createClient(executor, builder().tmp(tmp).build());
+
+        var bytes = "hello".getBytes(StandardCharsets.UTF_8);
+        var request = HttpRequest.put(HttpUrl.of("/api/accounts"));
+        request.setBody(new InputStreamBody(new ByteArrayInputStream(bytes), bytes.length, MediaType.TEXT_PLAIN));
+        try (var response = client.execute(request)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(List.of("hello", "hello"), executor.bodies);
+        Assertions.assertFalse(tmp.exists());
+
+        var repeatable = new StubExecutor(error(), status(HttpStatus.OK));
+        var text = new TextBody("hello");
+        var put = HttpRequest.put(HttpUrl.of("/api/accounts"));
+        put.setBody(text);
+        try (var response = createClient(repeatable, builder().tmp(tmp).build()).executeAsync(put).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(List.of("hello", "hello"), repeatable.bodies);
+        Assertions.assertFalse(tmp.exists());
+    }
+
+    /// 重试前关闭异常携带的响应
+    @Test
+    public void case8() throws Throwable {
+        var closed = new AtomicInteger();
+        Function<HttpRequest, HttpResponse> unavailable = request -> {
+            var body = new TextBody("unavailable") {
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            };
+            throw HttpException.of(request, new HttpResponse.Builder(request).status(HttpStatus.SERVICE_UNAVAILABLE).headers(new HttpHeaders()).body(body).build());
+        };
+
+        var executor = new StubExecutor(unavailable, status(HttpStatus.OK));
+        try (var response = createClient(executor, builder().build()).execute(HttpRequest.get(HttpUrl.of("/api/accounts")))) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(2, executor.getAttempts());
+        Assertions.assertEquals(1, closed.get());
+
+        var reactive = new StubExecutor(unavailable, status(HttpStatus.OK));
+        try (var response = createClient(reactive, builder().build()).executeAsync(HttpRequest.get(HttpUrl.of("/api/accounts"))).get(5, TimeUnit.SECONDS)) {
+            Assertions.assertEquals(HttpStatus.OK, response.getStatus());
+        }
+        Assertions.assertEquals(2, reactive.getAttempts());
+        Assertions.assertEquals(2, closed.get());
+    }
+}
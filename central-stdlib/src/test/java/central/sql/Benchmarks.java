@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql;
+
+import central.sql.data.AccountEntity;
+import central.sql.datasource.factory.hikari.HikariDataSourceFactory;
+import central.sql.impl.standard.StandardDataSourceMigrator;
+import central.sql.impl.standard.StandardExecutor;
+import central.sql.impl.standard.StandardMetaManager;
+import central.sql.impl.standard.StandardSource;
+import central.sql.impl.standard.StandardTransformer;
+import central.sql.migration.V1;
+import central.util.Version;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/// 压力测试工具
+///
+/// 为 `*Benchmark` 创建基于 H2 内存数据库的执行器和测试数据。
+/// 通过 `mvn -P benchmark verify` 运行全部压力测试
+///
+/// @author Alan Yeh
+public final class Benchmarks {
+    private Benchmarks() {
+    }
+
+    /// 创建基于 H2 内存数据库的执行器
+    ///
+    /// @param database   数据库名，不同的压力测试应使用不同的数据库，避免互相影响
+    /// @param properties 执行器配置
+    public static SqlExecutor createExecutor(String database, Properties properties) throws Exception {
+        return createExecutor(database, properties, new StandardTransformer());
+    }
+
+    /// 创建基于 H2 内存数据库的执行器
+    ///
+    /// @param database    数据库名，使用相同数据库名的执行器共享同一份数据
+    /// @param properties  执行器配置
+    /// @param transformer 行数据转换器
+    public static SqlExecutor createExecutor(String database, Properties properties, SqlTransformer transformer) throws Exception {
+        var url = "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1";
+        var source = StandardSource.builder()
+                .dataSource(new HikariDataSourceFactory().build("org.h2.Driver", url, "centralx", "central.x"))
+                .dialect(SqlDialect.resolve(url))
+                .migrator(StandardDataSourceMigrator.builder().name("benchmark").target(Version.of("1.0.1")).add(new V1()).build())
+                .build();
+
+        var executor = StandardExecutor.builder()
+                .properties(properties)
+                .source(source)
+                .transformer(transformer)
+                .metaManager(new StandardMetaManager(name -> name.startsWith("XT_")))
+                .build();
+        executor.init();
+        return executor;
+    }
+
+    /// 创建帐户数据
+    ///
+    /// @param count 数量
+    public static List<AccountEntity> createAccounts(int count) {
+        var entities = new ArrayList<AccountEntity>(count);
+        for (int i = 0; i < count; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            entity.setAge(i % 100);
+            entity.setDeptId("");
+            entity.setEnabled(i % 2 == 0);
+            entity.setAvatar(("avatar" + i).getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(i * 10.5d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+        return entities;
+    }
+}
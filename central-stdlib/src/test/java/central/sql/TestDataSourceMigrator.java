@@ -37,6 +37,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -252,4 +254,37 @@ public class TestDataSourceMigrator {
         var testColumn = origin.getColumn("TEST_COL");
         assertNull(testColumn);
     }
+
+    /// 测试批量、并行解析数据库元数据
+    @Test
+    public void case7() throws SQLException {
+        // 升级数据库
+        var migrator = StandardDataSourceMigrator.builder().name("test").target(Version.of("1.0.0")).add(new V1()).add(new V2()).add(new V3()).add(new V4()).add(new V5()).add(new V1_V3()).build();
+        migrator.upgrade(executor);
+
+        var expected = executor.getMetaManager().getMeta(executor, name -> name.startsWith("XT_"));
+
+        var properties = new Properties();
+        properties.setProperty("sql.meta.bulk", "0");
+        properties.setProperty("sql.meta.parallelism", "4");
+        var parallel = StandardExecutor.builder()
+                .properties(properties)
+                .source(executor.getSource())
+                .metaManager(new StandardMetaManager(name -> name.startsWith("XT_")))
+                .build();
+
+        var meta = parallel.getMetaManager().getMeta(parallel, name -> name.startsWith("XT_"));
+        assertEquals(expected.getTables().keySet(), meta.getTables().keySet());
+        for (var table : expected.getTables().values()) {
+            var actual = meta.getTable(table.getName());
+            assertEquals(table.getColumns(), actual.getColumns());
+            assertEquals(table.getIndies(), actual.getIndies());
+        }
+        assertTrue(meta.getTable("XT_ACCOUNT").getColumn("ID").isPrimary());
+
+        // 只解析指定的表
+        var tables = parallel.getMetaManager().getTablesMeta(parallel, List.of("xt_account"));
+        assertEquals(1, tables.getTables().size());
+        assertEquals(expected.getTable("XT_ACCOUNT").getColumns(), tables.getTable("XT_ACCOUNT").getColumns());
+    }
 }
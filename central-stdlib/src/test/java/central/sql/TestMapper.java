@@ -25,6 +25,7 @@
 package central.sql;
 
 import central.lang.Stringx;
+import central.sql.builder.CachedSqlBuilder;
 import central.sql.data.*;
 import central.sql.datasource.factory.hikari.HikariDataSourceFactory;
 import central.sql.impl.standard.StandardDataSourceMigrator;
@@ -43,6 +44,7 @@ import central.sql.query.Conditions;
 import central.sql.query.Orders;
 import central.util.Guidx;
 import central.util.Version;
+import lombok.Data;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +52,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -71,6 +74,8 @@ public class TestMapper {
 
     private SqlSource source;
 
+    private SqlExecutor executor;
+
     @BeforeEach
     public void before() throws Exception {
         // H2
@@ -105,6 +110,8 @@ public class TestMapper {
 
         var properties = new Properties();
         properties.setProperty("sql.in.limit", "20");
+        properties.setProperty("sql.batch.size", "100");
+        properties.setProperty("sql.insert.values", "30");
 
         var executor = StandardExecutor.builder()
                 .properties(properties)
@@ -113,6 +120,7 @@ public class TestMapper {
                 .addInterceptor(new LogInterceptor())
                 .build();
         executor.init();
+        this.executor = executor;
 
         this.accountMapper = executor.getMapper(AccountMapper.class);
         this.deptMapper = executor.getMapper(DeptMapper.class);
@@ -654,4 +662,350 @@ public class TestMapper {
         assertTrue(hrDepts.stream().allMatch(it -> it.getName() != null));
         assertTrue(hrDepts.stream().allMatch(it -> it.getCode() == null));
     }
+
+    /// @see Mapper#streamBy
+    @Test
+    public void case11() {
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 100; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            entity.setAge(i);
+            entity.setDeptId("");
+            entity.setEnabled(i % 2 == 0);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+        this.accountMapper.insertBatch(entities);
+
+        try (var stream = this.accountMapper.streamBy(Conditions.of(AccountEntity.class).eq(AccountEntity::getEnabled, true), Orders.of(AccountEntity.class).asc(AccountEntity::getAge))) {
+            var ages = stream.map(AccountEntity::getAge).toList();
+            assertEquals(50, ages.size());
+            assertEquals(0, ages.get(0));
+            assertEquals(98, ages.get(49));
+        }
+
+        // 提前结束遍历时，关闭流后归还连接
+        for (int i = 0; i < 20; i++) {
+            try (var stream = this.accountMapper.streamBy(null, null, null)) {
+                assertTrue(stream.findFirst().isPresent());
+            }
+        }
+        assertEquals(100, this.accountMapper.count());
+    }
+
+    /// @see Mapper#findSliceBy
+    @Test
+    public void case12() {
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 25; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            // 年龄有重复，需要依靠主键保证顺序唯一
+            entity.setAge(i / 3);
+            entity.setDeptId("");
+            entity.setEnabled(true);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+        this.accountMapper.insertBatch(entities);
+
+        var orders = Orders.of(AccountEntity.class).desc(AccountEntity::getAge);
+        var ids = new ArrayList<String>();
+        var ages = new ArrayList<Integer>();
+        String cursor = null;
+        var pages = 0;
+        do {
+            var slice = this.accountMapper.findSliceBy(cursor, 10L, Columns.of(AccountEntity::getName), Conditions.of(AccountEntity.class).eq(AccountEntity::getEnabled, true), orders, pages == 0);
+            if (pages == 0) {
+                assertEquals(25L, slice.getItemCount());
+            } else {
+                assertNull(slice.getItemCount());
+            }
+            slice.getData().forEach(it -> {
+                ids.add(it.getId());
+                ages.add(it.getAge());
+            });
+            cursor = slice.getNext();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+        for (int i = 1; i < ages.size(); i++) {
+            assertTrue(ages.get(i - 1) >= ages.get(i));
+        }
+
+        // 排序条件不一致时，游标无效
+        var first = this.accountMapper.findSliceBy(null, 10L, null, null);
+        assertThrows(IllegalArgumentException.class, () -> this.accountMapper.findSliceBy(first.getNext(), 10L, null, orders));
+
+        // 分页大小无效
+        assertThrows(IllegalArgumentException.class, () -> this.accountMapper.findSliceBy(null, null, null, orders));
+        assertThrows(IllegalArgumentException.class, () -> this.accountMapper.findSliceBy(null, 0L, null, orders));
+    }
+
+    /// @see CachedSqlBuilder
+    @Test
+    public void case13() throws Exception {
+        var builder = assertInstanceOf(CachedSqlBuilder.class, this.source.getDialect().getBuilder());
+        var meta = this.executor.getMetaManager().getMeta(AccountEntity.class);
+        var orders = Orders.of(AccountEntity.class).desc(AccountEntity::getAge);
+
+        for (int i = 0; i < 3; i++) {
+            var age = i;
+            // IN 参数超过 sql.in.limit，会拆分成多个 IN
+            var ages = new Object[25 + i % 2];
+            for (int j = 0; j < ages.length; j++) {
+                ages[j] = j + i;
+            }
+            var conditions = Conditions.of(AccountEntity.class).like(AccountEntity::getUsername, "user" + i).in(AccountEntity::getAge, ages).or(it -> it.eq(AccountEntity::getAge, age).eq(AccountEntity::getEnabled, true));
+
+            // 命中缓存后，Sql 和参数都应该与方言构建器生成的一致；分页不同时共用同一个模板
+            var find = builder.forFindBy(this.executor, meta, 10L, 10L * i, null, conditions.clone(), orders);
+            var expected = builder.getDelegate().forFindBy(this.executor, meta, 10L, 10L * i, null, conditions.clone(), orders);
+            assertEquals(expected.getSql(), find.getSql());
+            assertEquals(expected.getArgs(), find.getArgs());
+
+            find = builder.forFindBy(this.executor, meta, null, null, null, conditions.clone(), orders);
+            expected = builder.getDelegate().forFindBy(this.executor, meta, null, null, null, conditions.clone(), orders);
+            assertEquals(expected.getSql(), find.getSql());
+            assertEquals(expected.getArgs(), find.getArgs());
+
+            var count = builder.forCountBy(this.executor, meta, conditions.clone());
+            expected = builder.getDelegate().forCountBy(this.executor, meta, conditions.clone());
+            assertEquals(expected.getSql(), count.getSql());
+            assertEquals(expected.getArgs(), count.getArgs());
+
+            var entity = new AccountEntity();
+            entity.setId(Guidx.nextID());
+            entity.setName("用户" + i);
+            if (i > 0) {
+                entity.setAge(i);
+            }
+            var update = builder.forUpdateBy(this.executor, meta, entity, null);
+            expected = builder.getDelegate().forUpdateBy(this.executor, meta, entity, null);
+            assertEquals(expected.getSql(), update.getSql());
+            assertEquals(expected.getArgs(), update.getArgs());
+
+            var insert = builder.forInsert(this.executor, meta, entity);
+            assertEquals(builder.getDelegate().forInsert(this.executor, meta, entity).getSql(), insert.getSql());
+
+            // 多行插入按行数缓存语句，属性值是否为空不影响语句
+            var entities = new ArrayList<Object>();
+            for (int j = 0; j < 35 + i; j++) {
+                var item = new AccountEntity();
+                item.setId(Guidx.nextID());
+                item.setName("用户" + j);
+                if (j % 2 == 0) {
+                    item.setAge(j);
+                }
+                entities.add(item);
+            }
+            var values = builder.forInsertValues(this.executor, meta, entities);
+            var expectedValues = builder.getDelegate().forInsertValues(this.executor, meta, entities);
+            assertEquals(expectedValues.size(), values.size());
+            for (int j = 0; j < values.size(); j++) {
+                assertEquals(expectedValues.get(j).getSql(), values.get(j).getSql());
+                assertEquals(expectedValues.get(j).getArgs(), values.get(j).getArgs());
+            }
+        }
+    }
+
+    /// @see Mapper#insertBatch
+    @Test
+    public void case14() throws Exception {
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 250; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            entity.setAge(i);
+            entity.setDeptId("");
+            entity.setEnabled(true);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+
+        // 每 100 条分一块，每块 3 条 30 行的语句和 1 条 10 行的语句
+        var builder = this.source.getDialect().getBuilder();
+        var meta = this.executor.getMetaManager().getMeta(AccountEntity.class);
+        var scripts = builder.forInsertValues(this.executor, meta, new ArrayList<>(entities.subList(0, 100)));
+        assertEquals(2, scripts.size());
+        assertEquals(3, scripts.get(0).getArgs().size());
+        assertEquals(30 * meta.getProperties().size(), scripts.get(0).getArgs().get(0).size());
+        assertEquals(1, scripts.get(1).getArgs().size());
+        assertEquals(10 * meta.getProperties().size(), scripts.get(1).getArgs().get(0).size());
+
+        assertEquals(250L, this.accountMapper.insertBatch(entities));
+        assertEquals(250L, this.accountMapper.count());
+        assertEquals(250L, entities.stream().map(AccountEntity::getId).filter(Objects::nonNull).distinct().count());
+
+        var found = this.accountMapper.findBy(Conditions.of(AccountEntity.class).eq(AccountEntity::getAge, 249));
+        assertEquals(1, found.size());
+        assertEquals("user249", found.get(0).getUsername());
+    }
+
+    /// 测试 Markdown 中声明的自定义语句
+    @Test
+    public void case15() {
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 5; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            entity.setAge(i);
+            entity.setDeptId("");
+            entity.setEnabled(i % 2 == 0);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+        this.accountMapper.insertBatch(entities);
+
+        // 集合参数展开成 IN (?, ?, ?)
+        var found = this.accountMapper.findByUsernames(List.of("user1", "user2", "user3"), null);
+        assertEquals(List.of("user1", "user2", "user3"), found.stream().map(AccountEntity::getUsername).toList());
+
+        // 可选片段
+        found = this.accountMapper.findByUsernames(List.of("user1", "user2", "user3"), true);
+        assertEquals(List.of("user2"), found.stream().map(AccountEntity::getUsername).toList());
+        found = this.accountMapper.findByUsernames(List.of(), null);
+        assertEquals(5, found.size());
+
+        assertEquals(3L, this.accountMapper.countByMinAge(2));
+
+        // 非查询语句返回受影响行数
+        assertEquals(1, this.accountMapper.updateEnabled("user1", true));
+        found = this.accountMapper.findByUsernames(null, true);
+        assertEquals(List.of("user0", "user1", "user2", "user4"), found.stream().map(AccountEntity::getUsername).toList());
+    }
+
+    /// 排序字段为空时的游标分页
+    ///
+    /// @see Mapper#findSliceBy
+    @Test
+    public void case16() {
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 12; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            // 每 3 条数据有 1 条没有年龄，空值与非空值需要跨页
+            entity.setAge(i % 3 == 0 ? null : i / 2);
+            entity.setDeptId("");
+            entity.setEnabled(true);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(System.currentTimeMillis());
+            entity.updateCreator("sa");
+            entities.add(entity);
+        }
+        this.accountMapper.insertBatch(entities);
+
+        for (var orders : List.of(Orders.of(AccountEntity.class).asc(AccountEntity::getAge), Orders.of(AccountEntity.class).desc(AccountEntity::getAge))) {
+            var expected = this.accountMapper.findBy(null, orders).stream().map(AccountEntity::getAge).toList();
+
+            var ids = new ArrayList<String>();
+            var ages = new ArrayList<Integer>();
+            String cursor = null;
+            do {
+                var slice = this.accountMapper.findSliceBy(cursor, 4L, null, orders);
+                slice.getData().forEach(it -> {
+                    ids.add(it.getId());
+                    ages.add(it.getAge());
+                });
+                cursor = slice.getNext();
+            } while (cursor != null);
+
+            assertEquals(12, ids.size());
+            assertEquals(12, ids.stream().distinct().count());
+            assertEquals(4L, ages.stream().filter(Objects::isNull).count());
+            // 空值的位置与数据库的排序规则一致
+            assertEquals(expected, ages);
+        }
+    }
+
+    /// 排序字段为只差毫秒以下部分的时间戳时的游标分页
+    ///
+    /// @see Mapper#findSliceBy
+    @Test
+    public void case17() {
+        var millis = System.currentTimeMillis();
+        var entities = new ArrayList<AccountEntity>();
+        for (int i = 0; i < 12; i++) {
+            var entity = new AccountEntity();
+            entity.setUsername("user" + i);
+            entity.setName("用户" + i);
+            entity.setAge(i);
+            entity.setDeptId("");
+            entity.setEnabled(true);
+            entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+            entity.setSalary(BigDecimal.valueOf(10086.18d));
+            entity.setHiredate(millis);
+            entity.updateCreator("sa");
+            // 所有数据在同一毫秒内，只有微秒不同
+            var createDate = new Timestamp(millis);
+            createDate.setNanos((int) (millis % 1000) * 1_000_000 + (11 - i) * 1000);
+            entity.setCreateDate(createDate);
+            entities.add(entity);
+        }
+        this.accountMapper.insertBatch(entities);
+
+        var orders = Orders.of(AccountEntity.class).asc(AccountEntity::getCreateDate);
+        var expected = this.accountMapper.findBy(null, orders).stream().map(AccountEntity::getUsername).toList();
+        assertEquals(12, expected.size());
+
+        var usernames = new ArrayList<String>();
+        String cursor = null;
+        do {
+            var slice = this.accountMapper.findSliceBy(cursor, 4L, null, orders);
+            slice.getData().forEach(it -> usernames.add(it.getUsername()));
+            cursor = slice.getNext();
+        } while (cursor != null);
+
+        assertEquals(expected, usernames);
+    }
+
+    /// 非公开的实体类
+    @Data
+    private static class AccountView {
+        private String username;
+        private String name;
+    }
+
+    /// 查询结果转换为非公开的实体类
+    @Test
+    public void case18() throws SQLException {
+        var entity = new AccountEntity();
+        entity.setUsername("syssa");
+        entity.setName("超级管理员");
+        entity.setAge(18);
+        entity.setDeptId("");
+        entity.setEnabled(true);
+        entity.setAvatar(Guidx.nextID().getBytes(StandardCharsets.UTF_8));
+        entity.setSalary(BigDecimal.valueOf(10086.18d));
+        entity.setHiredate(System.currentTimeMillis());
+        entity.updateCreator("sa");
+        this.accountMapper.insert(entity);
+
+        var views = this.executor.select(SqlScript.of("SELECT USERNAME, NAME FROM XT_ACCOUNT"), AccountView.class);
+        assertEquals(1, views.size());
+        assertEquals("syssa", views.get(0).getUsername());
+        assertEquals("超级管理员", views.get(0).getName());
+    }
 }
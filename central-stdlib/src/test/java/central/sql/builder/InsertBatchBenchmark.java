@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.builder;
+
+import central.sql.Benchmarks;
+import central.sql.data.AccountEntity;
+import central.sql.mapper.AccountMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/// 对比逐行 JDBC 批量（`sql.insert.values=1`，原实现）与多行 VALUES 插入的吞吐量
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBatchBenchmark {
+
+    @Param({"1", "20", "100"})
+    private String values;
+
+    @Param({"10000"})
+    private int rows;
+
+    private AccountMapper mapper;
+
+    private List<AccountEntity> entities;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var properties = new Properties();
+        properties.setProperty("sql.insert.values", this.values);
+
+        this.mapper = Benchmarks.createExecutor("insert_batch", properties).getMapper(AccountMapper.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepare() {
+        this.mapper.deleteAll();
+        this.entities = Benchmarks.createAccounts(this.rows);
+    }
+
+    @Benchmark
+    public long insertBatch() {
+        return this.mapper.insertBatch(this.entities);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(InsertBatchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.builder;
+
+import central.sql.Benchmarks;
+import central.sql.SqlBatchScript;
+import central.sql.SqlBuilder;
+import central.sql.SqlExecutor;
+import central.sql.SqlScript;
+import central.sql.data.AccountEntity;
+import central.sql.meta.entity.EntityMeta;
+import central.sql.query.Conditions;
+import central.sql.query.Orders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/// Sql 生成的吞吐量
+///
+/// 对比方言构建器直接生成与使用模板缓存（[CachedSqlBuilder]）生成的开销。
+/// 构建器会修改查询条件，因此每次调用都会复制一份查询条件
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlBuilderBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private SqlExecutor executor;
+
+    private SqlBuilder builder;
+
+    private EntityMeta meta;
+
+    private Conditions<AccountEntity> conditions;
+
+    private Orders<AccountEntity> orders;
+
+    private List<Object> entities;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.executor = Benchmarks.createExecutor("sql_builder", new Properties());
+        this.meta = this.executor.getMetaManager().getMeta(AccountEntity.class);
+
+        var builder = this.executor.getSource().getDialect().getBuilder();
+        if (!this.cached && builder instanceof CachedSqlBuilder cachedBuilder) {
+            builder = cachedBuilder.getDelegate();
+        }
+        this.builder = builder;
+
+        this.conditions = Conditions.of(AccountEntity.class).like(AccountEntity::getUsername, "user").in(AccountEntity::getAge, 18, 19, 20).or(it -> it.eq(AccountEntity::getEnabled, true));
+        this.orders = Orders.of(AccountEntity.class).desc(AccountEntity::getAge);
+        this.entities = new ArrayList<>(Benchmarks.createAccounts(100));
+    }
+
+    @Benchmark
+    public SqlScript forFindBy() throws SQLSyntaxErrorException {
+        return this.builder.forFindBy(this.executor, this.meta, 20L, 0L, null, this.conditions.clone(), this.orders);
+    }
+
+    @Benchmark
+    public SqlBatchScript forInsertBatch() throws SQLSyntaxErrorException {
+        return this.builder.forInsertBatch(this.executor, this.meta, this.entities);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(SqlBuilderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.datasource.dynamic;
+
+import central.sql.SqlConversion;
+import central.sql.SqlDialect;
+import central.sql.SqlSource;
+import central.sql.data.AccountEntity;
+import central.sql.datasource.dynamic.lookup.LookupKeyHolder;
+import central.sql.datasource.factory.hikari.HikariDataSourceFactory;
+import central.sql.datasource.migration.DataSourceMigrator;
+import central.sql.impl.standard.StandardDataSourceMigrator;
+import central.sql.impl.standard.StandardExecutor;
+import central.sql.impl.standard.StandardMetaManager;
+import central.sql.impl.standard.StandardSource;
+import central.sql.mapper.AccountMapper;
+import central.sql.migration.V1;
+import central.util.Version;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// RoutingSqlSource Test Cases
+///
+/// @author Alan Yeh
+public class TestRoutingSqlSource {
+
+    private SqlSource master;
+
+    private SqlSource replica;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.master = this.buildSource("jdbc:h2:mem:routing_master;DB_CLOSE_DELAY=-1");
+        this.replica = this.buildSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+
+        // 副本的表结构
+        this.buildExecutor(this.replica).init();
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        this.buildExecutor(this.master).getMapper(AccountMapper.class).deleteAll();
+        this.buildExecutor(this.replica).getMapper(AccountMapper.class).deleteAll();
+    }
+
+    private SqlSource buildSource(String url) {
+        return StandardSource.builder()
+                .dataSource(new HikariDataSourceFactory().build("org.h2.Driver", url, "centralx", "central.x"))
+                .dialect(SqlDialect.resolve(url))
+                .migrator(StandardDataSourceMigrator.builder().name("test").target(Version.of("1.0.1")).add(new V1()).build())
+                .build();
+    }
+
+    private StandardExecutor buildExecutor(SqlSource source) {
+        return StandardExecutor.builder()
+                .source(source)
+                .metaManager(new StandardMetaManager(name -> name.startsWith("XT_")))
+                .build();
+    }
+
+    private AccountEntity newAccount() {
+        var entity = new AccountEntity();
+        entity.setUsername("routing");
+        entity.setName("读写分离");
+        entity.setAge(18);
+        entity.setDeptId("");
+        entity.setEnabled(true);
+        entity.setAvatar("avatar".getBytes(StandardCharsets.UTF_8));
+        entity.setSalary(BigDecimal.ONE);
+        entity.setHiredate(System.currentTimeMillis());
+        entity.updateCreator("sa");
+        return entity;
+    }
+
+    /// 写主库，读副本，强制主库
+    @Test
+    public void case1() throws Exception {
+        var transactional = new AtomicBoolean(false);
+        try (var source = RoutingSqlSource.builder().master(this.master).addReplica(this.replica).transactional(transactional::get).build()) {
+            var executor = this.buildExecutor(source);
+            // 迁移过程中读取的版本信息必须来自主库，否则主库不会建表
+            executor.init();
+
+            var mapper = executor.getMapper(AccountMapper.class);
+            assertTrue(mapper.insert(this.newAccount()));
+
+            // 查询语句使用副本
+            assertEquals(0L, mapper.count());
+
+            // 强制使用主库
+            LookupKeyHolder.setLookupKey(RoutingSqlSource.MASTER);
+            try {
+                assertEquals(1L, mapper.count());
+            } finally {
+                LookupKeyHolder.setLookupKey(null);
+            }
+
+            // 事务中使用主库
+            transactional.set(true);
+            assertEquals(1L, mapper.count());
+            transactional.set(false);
+
+            // 连接都已归还
+            assertEquals(0, source.getReplicas().get(0).getOutstanding());
+        }
+    }
+
+    /// 副本不可用时摘除，恢复后重新加入
+    @Test
+    public void case2() throws Exception {
+        var broken = new AtomicBoolean(true);
+        var flaky = new SqlSource() {
+            @Override
+            public SqlDialect getDialect() {
+                return replica.getDialect();
+            }
+
+            @Override
+            public SqlConversion getConversion() {
+                return replica.getConversion();
+            }
+
+            @Override
+            public DataSourceMigrator getMigrator() {
+                return replica.getMigrator();
+            }
+
+            @Override
+            public DataSource getDataSource() {
+                return replica.getDataSource();
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (broken.get()) {
+                    throw new SQLTransientConnectionException("replica is down");
+                }
+                return replica.getConnection();
+            }
+
+            @Override
+            public void returnConnection(Connection connection) throws SQLException {
+                replica.returnConnection(connection);
+            }
+        };
+
+        try (var source = RoutingSqlSource.builder().master(this.master).addReplica(flaky).balance(RoutingSqlSource.Balance.LEAST_OUTSTANDING).healthCheckInterval(null).build()) {
+            var executor = this.buildExecutor(source);
+            executor.init();
+
+            var mapper = executor.getMapper(AccountMapper.class);
+            assertTrue(mapper.insert(this.newAccount()));
+
+            // 副本不可用，回退到主库
+            assertEquals(1L, mapper.count());
+            assertFalse(source.getReplicas().get(0).isAvailable());
+
+            // 健康检查恢复副本
+            broken.set(false);
+            source.check();
+            assertTrue(source.getReplicas().get(0).isAvailable());
+            assertEquals(0L, mapper.count());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.impl.standard;
+
+import central.sql.Benchmarks;
+import central.sql.SqlExecutor;
+import central.sql.SqlScript;
+import central.sql.data.AccountEntity;
+import central.sql.mapper.AccountMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/// 查询结果行映射的吞吐量
+///
+/// 对比映射成实体与映射成 Map 的开销
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int rows;
+
+    private SqlExecutor executor;
+
+    private SqlScript script;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.executor = Benchmarks.createExecutor("select", new Properties());
+
+        var mapper = this.executor.getMapper(AccountMapper.class);
+        mapper.deleteAll();
+        mapper.insertBatch(Benchmarks.createAccounts(this.rows));
+
+        this.script = SqlScript.of("SELECT * FROM XT_ACCOUNT");
+    }
+
+    @Benchmark
+    public List<AccountEntity> selectEntity() throws SQLException {
+        return this.executor.select(this.script, AccountEntity.class);
+    }
+
+    @Benchmark
+    public List<Map> selectMap() throws SQLException {
+        return this.executor.select(this.script, Map.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(SelectBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
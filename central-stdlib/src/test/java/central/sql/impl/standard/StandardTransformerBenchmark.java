@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.impl.standard;
+
+import central.sql.Benchmarks;
+import central.sql.SqlExecutor;
+import central.sql.SqlScript;
+import central.sql.SqlTransformer;
+import central.sql.data.AccountEntity;
+import central.sql.mapper.AccountMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/// 对比逐行构建 [Map] 再转换实体（原实现）与预编译行映射器的查询开销，以及将单行数据（Map）转换成实体的开销
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandardTransformerBenchmark {
+
+    @Param({"1000", "50000"})
+    private int rows;
+
+    private SqlExecutor compiled;
+    private SqlExecutor legacy;
+
+    private Map<String, Object> row;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        this.compiled = Benchmarks.createExecutor("transformer", new Properties());
+
+        // 原实现：每一行读取为 Map 后再转换
+        var transformer = new StandardTransformer();
+        this.legacy = Benchmarks.createExecutor("transformer", new Properties(), new SqlTransformer() {
+            @Override
+            public <T> T transform(SqlExecutor executor, Map<String, Object> data, Class<T> type) throws SQLException {
+                return transformer.transform(executor, data, type);
+            }
+        });
+
+        var mapper = this.compiled.getMapper(AccountMapper.class);
+        mapper.deleteAll();
+        mapper.insertBatch(Benchmarks.createAccounts(this.rows));
+
+        this.row = this.compiled.selectSingle(SqlScript.of("SELECT * FROM XT_ACCOUNT WHERE USERNAME = 'user0'"), Map.class);
+    }
+
+    @Benchmark
+    public List<AccountEntity> map() throws SQLException {
+        return this.legacy.select(SqlScript.of("SELECT * FROM XT_ACCOUNT"), AccountEntity.class);
+    }
+
+    @Benchmark
+    public List<AccountEntity> compiled() throws SQLException {
+        return this.compiled.select(SqlScript.of("SELECT * FROM XT_ACCOUNT"), AccountEntity.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public AccountEntity toBean() throws SQLException {
+        return this.compiled.getTransformer().transform(this.compiled, this.row, AccountEntity.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(StandardTransformerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.impl.standard;
+
+import central.sql.data.AccountEntity;
+import central.sql.data.DeptEntity;
+import central.sql.data.RoleAccountEntity;
+import central.sql.data.RoleEntity;
+import central.sql.meta.entity.EntityMeta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// StandardMetaManager Test Cases
+///
+/// @author Alan Yeh
+public class TestStandardMetaManager {
+
+    /// 循环引用的外键关系
+    @Test
+    public void case1() {
+        var manager = new StandardMetaManager();
+
+        var account = manager.getMeta(AccountEntity.class);
+        var dept = manager.getMeta(DeptEntity.class);
+
+        assertSame(dept, account.getForeign("dept").getTarget());
+        assertSame(account, dept.getForeign("account").getTarget());
+        assertSame(manager.getMeta(RoleEntity.class), account.getForeignTable("role").getTarget());
+        assertSame(manager.getMeta(RoleAccountEntity.class), account.getForeignTable("role").getEntity());
+
+        assertNotNull(account.getProperty("username"));
+        assertEquals("username", account.getProperty("username").getName());
+        assertSame(account.getId(), account.getProperty("id"));
+        assertNull(account.getProperty("notExists"));
+        assertNull(account.getForeign("notExists"));
+    }
+
+    /// 并发获取时，只会构建一次，并且拿到的都是构建完成的元数据
+    @Test
+    public void case2() throws Exception {
+        var manager = new StandardMetaManager();
+        var threads = 16;
+        var latch = new CountDownLatch(1);
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<EntityMeta>>();
+            for (int i = 0; i < threads; i++) {
+                var type = i % 2 == 0 ? AccountEntity.class : DeptEntity.class;
+                futures.add(pool.submit(() -> {
+                    latch.await();
+                    var meta = manager.getMeta(type);
+                    // 元数据必须是完整的
+                    assertNotNull(meta.getId());
+                    assertFalse(meta.getForeigns().isEmpty());
+                    return meta;
+                }));
+            }
+            latch.countDown();
+
+            for (int i = 0; i < threads; i++) {
+                var expected = i % 2 == 0 ? manager.getMeta(AccountEntity.class) : manager.getMeta(DeptEntity.class);
+                assertSame(expected, futures.get(i).get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
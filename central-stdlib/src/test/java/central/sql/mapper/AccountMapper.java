@@ -27,8 +27,26 @@ package central.sql.mapper;
 import central.sql.data.AccountEntity;
 import central.sql.proxy.Mapper;
 
+import java.util.List;
+
 /// 帐户操作类
 ///
 /// @author Alan Yeh
 public interface AccountMapper extends Mapper<AccountEntity> {
+    /// 根据用户名查询帐户
+    ///
+    /// @param usernames 用户名，为空时不过滤
+    /// @param enabled   是否启用，为空时不过滤
+    List<AccountEntity> findByUsernames(List<String> usernames, Boolean enabled);
+
+    /// 查询年龄不小于指定值的帐户数量
+    ///
+    /// @param age 年龄
+    Long countByMinAge(Integer age);
+
+    /// 修改帐户启用状态
+    ///
+    /// @param username 用户名
+    /// @param enabled  是否启用
+    int updateEnabled(String username, Boolean enabled);
 }
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.proxy;
+
+import central.sql.Benchmarks;
+import central.sql.SqlExecutor;
+import central.sql.SqlScript;
+import central.sql.data.AccountEntity;
+import central.sql.mapper.AccountMapper;
+import central.sql.query.Conditions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/// Mapper 代理的调用开销
+///
+/// 对比通过 Mapper 代理调用与直接使用执行器执行等价 Sql 的吞吐量，两者的差值即为代理分发、
+/// 元数据查找、Sql 生成和参数绑定的开销
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperProxyBenchmark {
+
+    private SqlExecutor executor;
+
+    private AccountMapper mapper;
+
+    private String id;
+
+    private SqlScript findById;
+
+    private SqlScript countByMinAge;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.executor = Benchmarks.createExecutor("mapper_proxy", new Properties());
+        this.mapper = this.executor.getMapper(AccountMapper.class);
+        this.mapper.deleteAll();
+
+        var entities = Benchmarks.createAccounts(100);
+        this.mapper.insertBatch(entities);
+        this.id = entities.get(0).getId();
+
+        var meta = this.executor.getMetaManager().getMeta(AccountEntity.class);
+        this.findById = this.executor.getSource().getDialect().getBuilder().forFindBy(this.executor, meta, 1L, null, null, Conditions.of(AccountEntity.class).eq(AccountEntity::getId, this.id), null);
+        this.countByMinAge = SqlScript.of("SELECT COUNT(*) FROM XT_ACCOUNT WHERE AGE >= ?", 50);
+    }
+
+    @Benchmark
+    public AccountEntity proxyFindById() {
+        return this.mapper.findById(this.id);
+    }
+
+    @Benchmark
+    public AccountEntity directFindById() throws SQLException {
+        return this.executor.selectSingle(this.findById, AccountEntity.class);
+    }
+
+    @Benchmark
+    public Long proxyStatement() {
+        return this.mapper.countByMinAge(50);
+    }
+
+    @Benchmark
+    public Long directStatement() throws SQLException {
+        return this.executor.selectSingle(this.countByMinAge, Long.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(MapperProxyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/// SqlTemplate Test Cases
+///
+/// @author Alan Yeh
+public class TestSqlTemplate {
+    /// 命名参数
+    @Test
+    public void case1() {
+        var template = SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE USERNAME = #{username} AND AGE IN (#{ages})", List.of("username", "ages"));
+        assertTrue(template.isQuery());
+
+        var script = template.bind(new Object[]{"zhangs", List.of(1, 2, 3)});
+        assertEquals("SELECT * FROM XT_ACCOUNT WHERE USERNAME = ? AND AGE IN (?, ?, ?)", script.getSql());
+        assertEquals(List.of("zhangs", 1, 2, 3), script.getArgs());
+
+        // 数组也会展开，空集合替换为 NULL
+        script = template.bind(new Object[]{"zhangs", new int[0]});
+        assertEquals("SELECT * FROM XT_ACCOUNT WHERE USERNAME = ? AND AGE IN (NULL)", script.getSql());
+        assertEquals(List.of("zhangs"), script.getArgs());
+    }
+
+    /// 可选片段
+    @Test
+    public void case2() {
+        var template = SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE 1 = 1[[ AND USERNAME = #{username}]][[ AND ENABLED = #{enabled}[[ AND AGE = #{age}]]]]", List.of("username", "enabled", "age"));
+
+        var script = template.bind(new Object[]{"zhangs", true, 18});
+        assertEquals("SELECT * FROM XT_ACCOUNT WHERE 1 = 1 AND USERNAME = ? AND ENABLED = ? AND AGE = ?", script.getSql());
+        assertEquals(List.of("zhangs", true, 18), script.getArgs());
+
+        script = template.bind(new Object[]{null, true, null});
+        assertEquals("SELECT * FROM XT_ACCOUNT WHERE 1 = 1 AND ENABLED = ?", script.getSql());
+        assertEquals(List.of(true), script.getArgs());
+
+        // 外层片段不输出时，嵌套片段也不输出
+        script = template.bind(new Object[]{null, null, 18});
+        assertEquals("SELECT * FROM XT_ACCOUNT WHERE 1 = 1", script.getSql());
+        assertTrue(script.getArgs().isEmpty());
+    }
+
+    /// 属性访问
+    @Test
+    public void case3() {
+        record Query(String username, Map<String, Object> dept) {
+        }
+
+        // 方法只有一个参数时，可以直接访问参数的属性
+        var template = SqlTemplate.compile("UPDATE XT_ACCOUNT SET DEPT_ID = #{dept.id} WHERE USERNAME = #{username} AND REMARK = '#{username}'", List.of("query"));
+        assertFalse(template.isQuery());
+
+        var script = template.bind(new Object[]{new Query("zhangs", Map.of("id", "1"))});
+        assertEquals("UPDATE XT_ACCOUNT SET DEPT_ID = ? WHERE USERNAME = ? AND REMARK = '#{username}'", script.getSql());
+        assertEquals(List.of("1", "zhangs"), script.getArgs());
+
+        template = SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE USERNAME = #{query.username}", List.of("query"));
+        script = template.bind(new Object[]{new Query("lis", null)});
+        assertEquals(List.of("lis"), script.getArgs());
+    }
+
+    /// 语法错误
+    @Test
+    public void case4() {
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE 1 = 1 [[AND USERNAME = #{username}", List.of("username")));
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE 1 = 1 AND USERNAME = #{username}]]", List.of("username")));
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE USERNAME = #{username", List.of("username")));
+        assertThrows(IllegalArgumentException.class, () -> SqlTemplate.compile("SELECT * FROM XT_ACCOUNT WHERE USERNAME = #{name}", List.of("username", "age")));
+    }
+}
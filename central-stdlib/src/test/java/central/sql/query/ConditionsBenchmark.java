@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.sql.query;
+
+import central.sql.data.AccountEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/// 构建查询条件的吞吐量
+///
+/// 对比使用 [central.lang.reflect.PropertyRef] 方法引用与直接使用属性名构建查询条件的开销
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionsBenchmark {
+
+    @Benchmark
+    public Conditions<AccountEntity> propertyRef() {
+        return Conditions.of(AccountEntity.class)
+                .eq(AccountEntity::getUsername, "zhangs")
+                .like(AccountEntity::getName, "张")
+                .in(AccountEntity::getAge, 18, 19, 20)
+                .or(it -> it.eq(AccountEntity::getEnabled, true).eq(AccountEntity::getDeptId, "1"));
+    }
+
+    @Benchmark
+    public Conditions<AccountEntity> propertyName() {
+        return Conditions.of(AccountEntity.class)
+                .eq("username", "zhangs")
+                .like("name", "张")
+                .in("age", 18, 19, 20)
+                .or(it -> it.eq("enabled", true).eq("deptId", "1"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(ConditionsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
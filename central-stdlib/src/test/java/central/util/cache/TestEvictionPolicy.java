@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache;
+
+import central.util.cache.memory.EvictionPolicy;
+import central.util.cache.memory.MemoryCacheRepository;
+import central.util.cache.memory.Weigher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.stream.IntStream;
+
+/// Eviction Policy Test Cases
+///
+/// @author Alan Yeh
+public class TestEvictionPolicy {
+
+    /// 热点缓存不会被一次性扫描淘汰
+    @Test
+    public void case1() {
+        var policy = new EvictionPolicy<String, String>(100, 0, null);
+        var caches = new HashMap<String, String>();
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                var key = "hot:" + i;
+                if (caches.containsKey(key)) {
+                    policy.recordAccess(key, caches.get(key)).forEach(it -> caches.remove(it.getKey()));
+                } else {
+                    caches.put(key, key);
+                    policy.recordWrite(key, key).forEach(it -> caches.remove(it.getKey()));
+                }
+            }
+        }
+        for (int i = 0; i < 10000; i++) {
+            var key = "scan:" + i;
+            caches.put(key, key);
+            policy.recordWrite(key, key).forEach(it -> caches.remove(it.getKey()));
+        }
+
+        Assertions.assertEquals(100, caches.size());
+        Assertions.assertEquals(100, policy.size());
+        Assertions.assertTrue(caches.keySet().stream().filter(it -> it.startsWith("hot:")).count() >= 45);
+    }
+
+    /// 按权重限制容量
+    @Test
+    public void case2() {
+        var policy = new EvictionPolicy<String, String>(0, 1000, Weigher.memory());
+        for (int i = 0; i < 1000; i++) {
+            policy.recordWrite("key:" + i, "x".repeat(50));
+        }
+        Assertions.assertTrue(policy.weight() <= 1000);
+    }
+
+    /// 仓库容量限制
+    @Test
+    public void case3() {
+        var repository = MemoryCacheRepository.builder().maximumSize(10).build();
+        for (int i = 0; i < 100; i++) {
+            repository.opsValue("key:" + i).set(String.valueOf(i));
+        }
+        Assertions.assertEquals(10, repository.keys().size());
+    }
+
+    /// 修改容器类缓存后重新计算权重
+    @Test
+    public void case4() {
+        var repository = MemoryCacheRepository.builder().maximumWeight(4096).build();
+        repository.opsValue("value").set("value");
+
+        var list = repository.opsList("list");
+        list.add("x");
+        Assertions.assertTrue(repository.keys().contains("list"));
+
+        // 列表被修改后超出最大权重，不需要再次访问就会被淘汰
+        list.add(IntStream.range(0, 1000).mapToObj(it -> "x".repeat(20)).toList());
+        Assertions.assertFalse(repository.keys().contains("list"));
+    }
+}
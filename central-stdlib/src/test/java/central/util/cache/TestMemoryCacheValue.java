@@ -29,6 +29,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
 /// Memory Cache Value Test Cases
 ///
 /// @author Alan Yeh
@@ -50,4 +56,54 @@ public class TestMemoryCacheValue {
         Assertions.assertEquals(DataType.STRING, repository.type("mcube:test"));
         Assertions.assertEquals("test", verify.getValue());
     }
+
+    /// 并发自增
+    @Test
+    public void case2() throws Exception {
+        var threads = 16;
+        var times = 1000;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var latch = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (int j = 0; j < times; j++) {
+                            repository.opsValue("mcube:counter").increment();
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(String.valueOf(threads * times), repository.opsValue("mcube:counter").getValue());
+    }
+
+    /// 批量操作
+    @Test
+    public void case3() {
+        repository.setValues(Map.of("mcube:a", "1", "mcube:b", "2"), key -> key.endsWith("a") ? Duration.ofMinutes(1) : null);
+        repository.opsList("mcube:list").add("x");
+
+        var values = repository.getValues(List.of("mcube:a", "mcube:b", "mcube:list", "mcube:none"));
+        Assertions.assertEquals(Map.of("mcube:a", "1", "mcube:b", "2"), values);
+        Assertions.assertNotNull(repository.getExpire("mcube:a"));
+        Assertions.assertNull(repository.getExpire("mcube:b"));
+
+        Assertions.assertEquals(2, repository.expire(List.of("mcube:a", "mcube:b", "mcube:none"), Duration.ofMinutes(5)));
+
+        var results = repository.pipelined()
+                .set("mcube:c", "10", Duration.ofMinutes(1))
+                .increment("mcube:c", 5)
+                .get("mcube:c")
+                .delete("mcube:none")
+                .persist("mcube:c")
+                .execute();
+        Assertions.assertEquals(List.of(true, 15L, "15", false, true), results);
+    }
 }
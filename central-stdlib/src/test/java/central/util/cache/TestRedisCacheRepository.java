@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache;
+
+import central.util.cache.redis.RedisCacheRepository;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import org.junit.jupiter.api.*;
+
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/// Redis Cache Repository Test Cases
+///
+/// 需要本地（localhost:6379）运行 Redis，否则跳过。命令与脚本参数的构造由 [central.util.cache.redis.TestRedisCacheCommands] 验证，不依赖 Redis
+///
+/// @author Alan Yeh
+public class TestRedisCacheRepository {
+
+    private static RedisClient client;
+
+    private static RedisCacheRepository repository;
+
+    @BeforeAll
+    public static void setup() {
+        Assumptions.assumeTrue(isReachable("localhost", 6379), "Redis is not available");
+        client = RedisClient.create(RedisURI.create("localhost", 6379));
+        repository = new RedisCacheRepository(client);
+    }
+
+    @AfterAll
+    public static void teardown() {
+        if (repository != null) {
+            repository.delete("central:test:*");
+            repository.close();
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    @BeforeEach
+    public void before() {
+        repository.delete("central:test:*");
+    }
+
+    /// 值
+    @Test
+    public void case1() {
+        var value = repository.opsValue("central:test:value");
+        Assertions.assertNull(value.set("1"));
+        Assertions.assertEquals("1", value.set("2", Duration.ofMinutes(1)));
+        Assertions.assertFalse(value.setIfAbsent("3"));
+        Assertions.assertTrue(value.setIfPresent("4"));
+        Assertions.assertNotNull(repository.getExpire("central:test:value"));
+        Assertions.assertEquals(5L, value.increment());
+        Assertions.assertEquals(DataType.STRING, repository.type("central:test:value"));
+
+        Assertions.assertThrows(ClassCastException.class, () -> repository.opsList("central:test:value").size());
+
+        value.set("abc");
+        Assertions.assertThrows(NumberFormatException.class, value::increment);
+    }
+
+    /// 列表
+    @Test
+    public void case2() {
+        var list = repository.opsList("central:test:list");
+        list.add("a", "b", "c", "d", "e");
+        Assertions.assertEquals(List.of("b", "c"), list.range(1, 3));
+
+        Assertions.assertEquals(2, list.insert(1, "x", "y"));
+        Assertions.assertEquals(List.of("a", "x", "y", "b", "c", "d", "e"), list.values());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.insert(100, "z"));
+
+        var head = repository.opsList("central:test:head");
+        head.add("a", "b", "c");
+        Assertions.assertEquals(2, head.insert(0, "x", "y"));
+        Assertions.assertEquals(List.of("x", "y", "a", "b", "c"), head.values());
+        Assertions.assertEquals(1, head.insert(0, "z"));
+        Assertions.assertEquals(List.of("z", "x", "y", "a", "b", "c"), head.values());
+
+        Assertions.assertEquals("x", list.remove(1));
+        list.trim(1, 3);
+        Assertions.assertEquals(List.of("a", "c", "d", "e"), list.values());
+
+        list.set(0, "z");
+        Assertions.assertEquals("z", list.get(0));
+        Assertions.assertEquals(2, list.indexOf("d"));
+        Assertions.assertEquals(-1, list.lastIndexOf("unknown"));
+    }
+
+    /// 集合、有序集合、键值对
+    @Test
+    public void case3() {
+        var set = repository.opsSet("central:test:set");
+        Assertions.assertEquals(3, set.add("a", "b", "c"));
+        Assertions.assertTrue(set.contains("b"));
+        Assertions.assertEquals(Set.of("a", "b", "c"), set.values());
+
+        var zset = repository.opsZSet("central:test:zset");
+        zset.add("c", "a", "b");
+        Assertions.assertEquals(List.of("a", "b", "c"), List.copyOf(zset.values()));
+        Assertions.assertEquals("a", zset.pop());
+
+        var map = repository.opsMap("central:test:map");
+        Assertions.assertTrue(map.putIfAbsent(Map.of("a", "1", "b", "2")));
+        Assertions.assertFalse(map.putIfAbsent(Map.of("c", "3")));
+        Assertions.assertEquals(List.of("1"), map.get("a", "unknown"));
+        Assertions.assertEquals(Map.of("a", "1", "b", "2"), map.entries());
+    }
+
+    /// 按模式删除
+    @Test
+    public void case4() throws Exception {
+        for (int i = 0; i < 2500; i++) {
+            repository.opsValue("central:test:glob:" + i).set(Integer.toString(i));
+        }
+        repository.opsValue("central:test:other").set("other");
+
+        Assertions.assertTrue(repository.delete("central:test:glob:*"));
+        Assertions.assertFalse(repository.hasKey("central:test:glob:1"));
+        Assertions.assertTrue(repository.hasKey("central:test:other"));
+
+        var queue = repository.opsQueue("central:test:queue");
+        Assertions.assertNull(queue.take(Duration.ofMillis(200)));
+        queue.push("a");
+        Assertions.assertEquals("a", queue.take(Duration.ofSeconds(1)));
+    }
+
+    /// 批量操作
+    @Test
+    public void case5() {
+        repository.setValues(Map.of("central:test:a", "1", "central:test:b", "2"), key -> key.endsWith("a") ? Duration.ofMinutes(1) : null);
+        repository.opsList("central:test:list").add("x");
+
+        var values = repository.getValues(List.of("central:test:a", "central:test:b", "central:test:list", "central:test:none"));
+        Assertions.assertEquals(Map.of("central:test:a", "1", "central:test:b", "2"), values);
+        Assertions.assertNotNull(repository.getExpire("central:test:a"));
+        Assertions.assertNull(repository.getExpire("central:test:b"));
+
+        Assertions.assertEquals(2, repository.expire(List.of("central:test:a", "central:test:b", "central:test:none"), Duration.ofMinutes(5)));
+
+        var results = repository.pipelined()
+                .set("central:test:c", "10", Duration.ofMinutes(1))
+                .increment("central:test:c", 5)
+                .get("central:test:c")
+                .delete("central:test:none")
+                .persist("central:test:c")
+                .execute();
+        Assertions.assertEquals(List.of(true, 15L, "15", false, true), results);
+    }
+
+    private static boolean isReachable(String host, int port) {
+        try (var socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), 500);
+            return true;
+        } catch (Exception ignored) {
+            return false;
+        }
+    }
+}
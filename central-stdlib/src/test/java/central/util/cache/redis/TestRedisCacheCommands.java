@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.cache.redis;
+
+import central.util.cache.DataType;
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/// Redis Cache Commands Test Cases
+///
+/// 通过记录命令的假连接验证 [RedisCacheRepository] 发出的命令与脚本参数，不需要运行 Redis
+///
+/// @author Alan Yeh
+public class TestRedisCacheCommands {
+
+    /// 已发出的命令
+    ///
+    /// @param name 命令方法名
+    /// @param args 命令参数，可变参数以数组形式保存
+    private record Command(String name, Object[] args) {
+    }
+
+    /// 已完成的命令结果
+    private static class Result<T> extends CompletableFuture<T> implements RedisFuture<T> {
+        @Override
+        public String getError() {
+            return null;
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+
+    /// 记录命令并按顺序返回预设结果的假连接
+    private static class FakeRedis implements InvocationHandler {
+        private final List<Command> commands = new ArrayList<>();
+
+        private final Map<String, Deque<Object>> replies = new HashMap<>();
+
+        /// 预设命令的返回结果，结果为 [Throwable] 时命令执行失败
+        public FakeRedis reply(String command, Object... values) {
+            var queue = this.replies.computeIfAbsent(command, key -> new ArrayDeque<>());
+            queue.addAll(Arrays.asList(values));
+            return this;
+        }
+
+        public List<String> names() {
+            return this.commands.stream().map(Command::name).toList();
+        }
+
+        public Command last(String name) {
+            for (int i = this.commands.size() - 1; i >= 0; i--) {
+                if (this.commands.get(i).name().equals(name)) {
+                    return this.commands.get(i);
+                }
+            }
+            return Assertions.fail("Command not sent: " + name);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> "FakeRedis";
+                };
+            }
+
+            this.commands.add(new Command(method.getName(), args == null ? new Object[0] : args));
+
+            var queue = this.replies.get(method.getName());
+            var value = queue == null ? null : queue.poll();
+            var result = new Result<>();
+            if (value instanceof Throwable throwable) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+            return result;
+        }
+    }
+
+    private FakeRedis redis;
+
+    private RedisCacheRepository repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void before() {
+        this.redis = new FakeRedis();
+        var commands = (RedisAsyncCommands<String, String>) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{RedisAsyncCommands.class}, this.redis);
+        var connection = (StatefulRedisConnection<String, String>) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{StatefulRedisConnection.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "async" -> commands;
+            case "getTimeout" -> Duration.ofSeconds(1);
+            case "close" -> null;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        this.repository = new RedisCacheRepository(null, connection);
+    }
+
+    private static KeyScanCursor<String> cursor(String cursor, boolean finished, String... keys) {
+        var result = new KeyScanCursor<String>();
+        result.setCursor(cursor);
+        result.setFinished(finished);
+        result.getKeys().addAll(List.of(keys));
+        return result;
+    }
+
+    private static String toCommandString(SetArgs args) {
+        var command = new CommandArgs<>(StringCodec.UTF8);
+        args.build(command);
+        return command.toCommandString();
+    }
+
+    /// 批量删除：普通键合并为一条 DEL，模式键每扫描一页发出一条 UNLINK，最后统一等待结果
+    @Test
+    public void case1() {
+        this.redis.reply("scan", cursor("1", false, "central:glob:1", "central:glob:2"), cursor("0", true, "central:glob:3"))
+                .reply("unlink", 2L, 1L)
+                .reply("del", 2L);
+
+        Assertions.assertEquals(5, this.repository.delete(List.of("central:glob:*", "central:a", "central:b")));
+        Assertions.assertEquals(List.of("scan", "unlink", "scan", "unlink", "del"), this.redis.names());
+        Assertions.assertArrayEquals(new String[]{"central:glob:1", "central:glob:2"}, (String[]) this.redis.commands.get(1).args()[0]);
+        Assertions.assertArrayEquals(new String[]{"central:glob:3"}, (String[]) this.redis.commands.get(3).args()[0]);
+        Assertions.assertArrayEquals(new String[]{"central:a", "central:b"}, (String[]) this.redis.last("del").args()[0]);
+    }
+
+    /// 批量设置：没有有效期时使用 MSET，有有效期时连续发送带 PX 参数的 SET
+    @Test
+    public void case2() {
+        this.repository.setValues(Map.of("central:a", "1"), (Duration) null);
+        Assertions.assertEquals(List.of("mset"), this.redis.names());
+
+        this.redis.reply("set", "OK", "OK");
+        var values = new LinkedHashMap<String, String>();
+        values.put("central:a", "1");
+        values.put("central:b", "2");
+        this.repository.setValues(values, key -> key.endsWith("a") ? Duration.ofMinutes(1) : null);
+
+        Assertions.assertEquals(List.of("mset", "set", "set"), this.redis.names());
+        Assertions.assertEquals("PX 60000", toCommandString((SetArgs) this.redis.commands.get(1).args()[2]));
+        Assertions.assertEquals("", toCommandString((SetArgs) this.redis.commands.get(2).args()[2]));
+    }
+
+    /// 键值对与列表的复合操作通过 Lua 脚本执行
+    @Test
+    public void case3() {
+        this.redis.reply("eval", 1L, 0L);
+        var map = this.repository.opsMap("central:map");
+        Assertions.assertTrue(map.putIfAbsent(Map.of("a", "1")));
+        Assertions.assertFalse(map.putIfAbsent(Map.of("b", "2")));
+
+        var eval = this.redis.commands.get(0);
+        Assertions.assertTrue(((String) eval.args()[0]).contains("HSET"));
+        Assertions.assertEquals(ScriptOutputType.INTEGER, eval.args()[1]);
+        Assertions.assertArrayEquals(new String[]{"central:map"}, (String[]) eval.args()[2]);
+        Assertions.assertArrayEquals(new String[]{"a", "1"}, (String[]) eval.args()[3]);
+
+        // 空参数不发送命令
+        Assertions.assertFalse(map.putIfAbsent(Map.of()));
+        Assertions.assertEquals(2, this.redis.commands.size());
+
+        var list = this.repository.opsList("central:list");
+        this.redis.reply("eval", 2L, -1L);
+        Assertions.assertEquals(2, list.insert(1, "x", "y"));
+        Assertions.assertArrayEquals(new String[]{"1", "x", "y"}, (String[]) this.redis.last("eval").args()[3]);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.insert(100, "z"));
+
+        // 插入到头部时逆序 LPUSH
+        this.redis.reply("lpush", 5L);
+        Assertions.assertEquals(2, list.insert(0, "p", "q"));
+        Assertions.assertEquals("central:list", this.redis.last("lpush").args()[0]);
+        Assertions.assertArrayEquals(new String[]{"q", "p"}, (String[]) this.redis.last("lpush").args()[1]);
+
+        list.trim(1, 3);
+        var trim = (String[]) this.redis.last("eval").args()[3];
+        Assertions.assertEquals("1", trim[0]);
+        Assertions.assertEquals("3", trim[1]);
+        Assertions.assertTrue(trim[2].startsWith("__central_removed_"));
+
+        this.redis.reply("eval", "x");
+        Assertions.assertEquals("x", list.remove(1));
+        var remove = this.redis.last("eval");
+        Assertions.assertEquals(ScriptOutputType.VALUE, remove.args()[1]);
+        Assertions.assertEquals("1", ((String[]) remove.args()[3])[0]);
+
+        // 空区间不发送命令
+        var count = this.redis.commands.size();
+        list.trim(3, 3);
+        Assertions.assertEquals(count, this.redis.commands.size());
+    }
+
+    /// Redis 错误转换为 Java 异常
+    @Test
+    public void case4() {
+        this.redis.reply("llen", new RedisCommandExecutionException("WRONGTYPE Operation against a key holding the wrong kind of value"))
+                .reply("incr", new RedisCommandExecutionException("ERR value is not an integer or out of range"))
+                .reply("lset", new RedisCommandExecutionException("ERR index out of range"))
+                .reply("get", new RedisCommandExecutionException("ERR unknown"));
+
+        Assertions.assertThrows(ClassCastException.class, () -> this.repository.opsList("central:value").size());
+        Assertions.assertThrows(NumberFormatException.class, () -> this.repository.opsValue("central:value").increment());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> this.repository.opsList("central:list").set(5, "x"));
+        Assertions.assertThrows(RedisCommandExecutionException.class, () -> this.repository.opsValue("central:value").get());
+    }
+
+    /// 单键命令
+    @Test
+    public void case5() {
+        // PERSIST 与 EXISTS 连续发送后再等待结果
+        this.redis.reply("exists", 1L).reply("persist", false);
+        Assertions.assertTrue(this.repository.persist("central:a"));
+        Assertions.assertEquals(List.of("exists", "persist"), this.redis.names());
+
+        this.redis.reply("type", "zset", "hash", "none");
+        Assertions.assertEquals(DataType.ZSET, this.repository.type("central:a"));
+        Assertions.assertEquals(DataType.MAP, this.repository.type("central:a"));
+        Assertions.assertEquals(DataType.NONE, this.repository.type("central:a"));
+
+        this.redis.reply("pttl", -1L, 1500L);
+        Assertions.assertNull(this.repository.getExpire("central:a"));
+        Assertions.assertEquals(Duration.ofMillis(1500), this.repository.getExpire("central:a"));
+
+        this.redis.reply("mget", List.of(KeyValue.just("central:a", "1"), KeyValue.empty("central:b")));
+        Assertions.assertEquals(Map.of("central:a", "1"), this.repository.getValues(List.of("central:a", "central:b")));
+        Assertions.assertArrayEquals(new String[]{"central:a", "central:b"}, (String[]) this.redis.last("mget").args()[0]);
+    }
+
+    /// 阻塞命令复用独占连接，命令未正常完成时关闭连接
+    @Test
+    @SuppressWarnings("unchecked")
+    public void case6() throws Exception {
+        var commands = (RedisAsyncCommands<String, String>) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{RedisAsyncCommands.class}, this.redis);
+        var closed = new boolean[1];
+        var blocking = (StatefulRedisConnection<String, String>) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class[]{StatefulRedisConnection.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "async" -> commands;
+            case "isOpen" -> !closed[0];
+            case "close" -> closed[0] = true;
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+        // 测试中没有 Redis 客户端，如果没有复用空闲连接，则无法创建新连接
+        this.repository.release(blocking, true);
+
+        var queue = this.repository.opsQueue("central:queue");
+        this.redis.reply("blpop", KeyValue.just("central:queue", "a"), KeyValue.empty("central:queue"));
+        Assertions.assertEquals("a", queue.take(Duration.ofSeconds(1)));
+        Assertions.assertNull(queue.take(Duration.ofSeconds(1)));
+        Assertions.assertEquals(List.of("blpop", "blpop"), this.redis.names());
+        Assertions.assertFalse(closed[0]);
+
+        this.redis.reply("blpop", new RedisCommandExecutionException("WRONGTYPE Operation against a key holding the wrong kind of value"));
+        Assertions.assertThrows(ClassCastException.class, () -> queue.take(Duration.ofSeconds(1)));
+        Assertions.assertTrue(closed[0]);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// TimingWheel Test Cases
+///
+/// @author Alan Yeh
+public class TestTimingWheel {
+
+    /// 任务不会被提前触发
+    @Test
+    public void case1() throws Exception {
+        try (var wheel = new TimingWheel(Duration.ofMillis(10), 8, 3, "test.timing-wheel")) {
+            var count = 200;
+            var latch = new CountDownLatch(count);
+            var early = new AtomicInteger();
+            for (int i = 0; i < count; i++) {
+                var delay = i * 5L;
+                var start = System.nanoTime();
+                wheel.schedule(() -> {
+                    if (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(delay)) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, early.get());
+            Assertions.assertEquals(0, wheel.size());
+        }
+    }
+
+    /// 取消任务
+    @Test
+    public void case2() throws Exception {
+        try (var wheel = new TimingWheel(Duration.ofMillis(10), 8, 3, "test.timing-wheel")) {
+            var fired = new AtomicInteger();
+            var timeout = wheel.schedule(fired::incrementAndGet, Duration.ofMillis(100));
+            Assertions.assertTrue(timeout.cancel());
+            Assertions.assertTrue(timeout.isCancelled());
+
+            Thread.sleep(300);
+            Assertions.assertEquals(0, fired.get());
+            Assertions.assertFalse(timeout.cancel());
+        }
+    }
+
+    /// 超出时间轮范围的任务
+    @Test
+    public void case3() throws Exception {
+        // 8 * 8 * 10ms = 640ms
+        try (var wheel = new TimingWheel(Duration.ofMillis(10), 8, 2, "test.timing-wheel")) {
+            var latch = new CountDownLatch(1);
+            var start = System.nanoTime();
+            wheel.schedule(latch::countDown, Duration.ofMillis(1000));
+
+            Assertions.assertTrue(latch.await(3, TimeUnit.SECONDS));
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1000));
+        }
+    }
+}
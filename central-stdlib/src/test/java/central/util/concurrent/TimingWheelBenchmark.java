@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-present Alan Yeh <alan@yeh.cn>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package central.util.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/// 对比 [DelayedQueue] 与 [TimingWheel] 调度过期任务的开销
+///
+/// 模拟缓存写入：每次写入都登记一个 1 ~ 60 分钟后过期的任务，并有一半的概率取消（缓存被覆盖或删除）
+///
+/// @author Alan Yeh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private DelayedQueue<DelayedElement<String>> queue;
+    private TimingWheel wheel;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.queue = new DelayedQueue<>();
+        this.wheel = new TimingWheel(Duration.ofMillis(100), 512, 4, "benchmark.timing-wheel");
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardown() {
+        this.queue.clear();
+        this.wheel.close();
+    }
+
+    @Benchmark
+    public Object delayedQueue() {
+        // DelayedQueue 无法高效取消（remove 为 O(n)），原实现依靠消费时判断缓存是否已失效
+        var element = new DelayedElement<>("key", Duration.ofSeconds(ThreadLocalRandom.current().nextLong(60, 3600)));
+        this.queue.offer(element);
+        return element;
+    }
+
+    @Benchmark
+    public Object timingWheel() {
+        var random = ThreadLocalRandom.current();
+        var timeout = this.wheel.schedule(() -> {
+        }, random.nextLong(60, 3600), TimeUnit.SECONDS);
+        if (random.nextBoolean()) {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(TimingWheelBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}